@@ -4,6 +4,7 @@ plugins {
     id("maven-publish")
     id("io.papermc.paperweight.userdev") version "1.7.1" apply false
     id("io.ktor.plugin") version "3.1.0"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "fr.xyness"
@@ -56,14 +57,29 @@ dependencies {
     compileOnly("com.github.GriefPrevention:GriefPrevention:16.18.2")
     compileOnly("net.md-5:bungeecord-chat:1.16-R0.4")
     implementation("com.flowpowered:flow-math:1.0.3")
+    testImplementation("io.papermc.paper:paper-api:1.20.4-R0.1-SNAPSHOT")
     testImplementation("org.junit.jupiter:junit-jupiter-engine:5.7.1")
     testImplementation("org.junit.jupiter:junit-jupiter-params:5.7.1")
+    testImplementation("org.xerial:sqlite-jdbc:3.45.1.0")
+    jmh("io.papermc.paper:paper-api:1.20.4-R0.1-SNAPSHOT")
+    jmh("org.xerial:sqlite-jdbc:3.45.1.0")
 }
 
 tasks.withType<JavaCompile> {
     options.encoding = "UTF-8"
 }
 
+tasks.test {
+    useJUnitPlatform()
+}
+
+jmh {
+    jmhVersion.set("1.37")
+    includeTests.set(true)
+    // Selected with -Pjmh.includes=<benchmark>, all benchmarks otherwise
+    (project.findProperty("jmh.includes") as String?)?.let { includes.set(listOf(it)) }
+}
+
 tasks.jar {
     manifest {
         attributes["Main-Class"] = "fr.xyness.SCS.SimpleClaimSystem"
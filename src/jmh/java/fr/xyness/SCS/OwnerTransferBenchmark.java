@@ -0,0 +1,139 @@
+package fr.xyness.SCS;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Transfer of the claims of a 500-claim owner with the normalized tables, on a local SQLite file,
+ * as the statements the write queue sends for {@code ClaimMain.setOwner(String, CustomSet, String)}.
+ * <p>
+ * {@code interleaved} sends the three statements of each claim one after the other, so the flush
+ * runs them one at a time; {@code batched} sends each statement for every claim as one JDBC batch.
+ * Both run in one transaction, as a flush does. Each invocation transfers the claims back and forth.
+ * <p>
+ * Run with {@code ./gradlew jmh -Pjmh.includes=OwnerTransferBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OwnerTransferBenchmark {
+
+    private static final int CLAIMS = 500;
+
+    private static final String UPDATE_OWNER = "UPDATE scs_claims_1 SET id_claim = ?, owner_uuid = ?, owner_name = ?, members = ?, claim_name = ?, for_sale = false, sale_price = 0 WHERE owner_uuid = ? AND claim_name = ?";
+
+    private static final String ADD_MEMBER = "INSERT OR IGNORE INTO scs_claim_members (claim_id, member_uuid) SELECT id, ? FROM scs_claims_1 WHERE owner_uuid = ? AND claim_name = ?";
+
+    private static final String REMOVE_MEMBER = "DELETE FROM scs_claim_members WHERE member_uuid = ? AND claim_id = (SELECT id FROM scs_claims_1 WHERE owner_uuid = ? AND claim_name = ?)";
+
+    private static final String BUMP_VERSION = "UPDATE scs_meta SET value = value + 1 WHERE name = 'data_version'";
+
+    private Path file;
+
+    private Connection connection;
+
+    private final String[] owners = {new UUID(1L, 1L).toString(), new UUID(2L, 2L).toString()};
+
+    private int from;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+    	file = TestDatabase.createFile();
+    	connection = TestDatabase.open(file);
+    	try (Statement stmt = connection.createStatement()) {
+    		stmt.execute("PRAGMA synchronous=NORMAL");
+    	}
+    	TestDatabase.createTables(connection);
+    	connection.setAutoCommit(false);
+    	for (int i = 0; i < CLAIMS; i++) {
+    		int id = TestDatabase.insertClaim(connection, owners[0], "claim-" + i, "", owners[0]);
+    		try (PreparedStatement stmt = connection.prepareStatement("INSERT INTO scs_claim_members (claim_id, member_uuid) VALUES (?, ?)")) {
+    			stmt.setInt(1, id);
+    			stmt.setString(2, owners[0]);
+    			stmt.executeUpdate();
+    		}
+    	}
+    	connection.commit();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+    	connection.close();
+    	TestDatabase.delete(file);
+    }
+
+    @Benchmark
+    public void interleaved() throws SQLException {
+    	String oldOwner = owners[from];
+    	String newOwner = owners[from ^= 1];
+    	for (int i = 0; i < CLAIMS; i++) {
+    		String name = "claim-" + i;
+    		executeBatch(UPDATE_OWNER, new Object[][] {{i, newOwner, "owner", newOwner, name, oldOwner, name}});
+    		executeBatch(ADD_MEMBER, new Object[][] {{newOwner, newOwner, name}});
+    		executeBatch(REMOVE_MEMBER, new Object[][] {{oldOwner, newOwner, name}});
+    	}
+    	commit();
+    }
+
+    @Benchmark
+    public void batched() throws SQLException {
+    	String oldOwner = owners[from];
+    	String newOwner = owners[from ^= 1];
+    	Object[][] updates = new Object[CLAIMS][];
+    	Object[][] adds = new Object[CLAIMS][];
+    	Object[][] removes = new Object[CLAIMS][];
+    	for (int i = 0; i < CLAIMS; i++) {
+    		String name = "claim-" + i;
+    		updates[i] = new Object[] {i, newOwner, "owner", newOwner, name, oldOwner, name};
+    		adds[i] = new Object[] {newOwner, newOwner, name};
+    		removes[i] = new Object[] {oldOwner, newOwner, name};
+    	}
+    	executeBatch(UPDATE_OWNER, updates);
+    	executeBatch(ADD_MEMBER, adds);
+    	executeBatch(REMOVE_MEMBER, removes);
+    	commit();
+    }
+
+    /**
+     * Runs a statement as one batch, as the flush does for a group of consecutive writes.
+     */
+    private void executeBatch(String sql, Object[][] rows) throws SQLException {
+    	try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+    		for (Object[] params : rows) {
+    			for (int i = 0; i < params.length; i++) {
+    				stmt.setObject(i + 1, params[i]);
+    			}
+    			stmt.addBatch();
+    		}
+    		stmt.executeBatch();
+    	}
+    }
+
+    private void commit() throws SQLException {
+    	try (PreparedStatement stmt = connection.prepareStatement(BUMP_VERSION)) {
+    		stmt.executeUpdate();
+    	}
+    	connection.commit();
+    }
+}
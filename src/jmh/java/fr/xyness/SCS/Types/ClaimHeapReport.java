@@ -0,0 +1,129 @@
+package fr.xyness.SCS.Types;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Heap used by the territory of 100k claims of 1 to 16 chunks, before and after the packed chunk keys.
+ * <p>
+ * {@code chunk sets} is the territory before: a {@code HashSet} by claim, of one object by chunk with the
+ * fields of a {@code CraftChunk} (the world, a weak reference to the server chunk and the coordinates).
+ * It does not count the server chunks themselves, which the sets kept loaded. {@code chunk keys} is the
+ * territory now: a sorted {@code long[]} by claim. {@code claims} is the whole of the {@link Claim}
+ * objects with their keys and no members, then with the {@link ClaimIndex} of their chunks.
+ * The heap is read after a few collections, so run it with a fixed heap, e.g. {@code -Xms2g -Xmx2g}.
+ * <p>
+ * Run with {@code ./gradlew jmhJar}, then
+ * {@code java -Xms2g -Xmx2g -cp build/libs/<jar>-jmh.jar fr.xyness.SCS.Types.ClaimHeapReport}.
+ */
+public final class ClaimHeapReport {
+
+    private static final long SEED = 0x4EA9L;
+
+    private static final int CLAIMS = 100_000;
+
+    private static final MemoryMXBean MEMORY = ManagementFactory.getMemoryMXBean();
+
+    /**
+     * The fields of a {@code CraftChunk}.
+     */
+    private static final class ChunkRef {
+    	private final Object world;
+    	private final WeakReference<Object> handle;
+    	private final int x;
+    	private final int z;
+
+    	private ChunkRef(Object world, int x, int z) {
+    		this.world = world;
+    		this.handle = new WeakReference<>(null);
+    		this.x = x;
+    		this.z = z;
+    	}
+
+    	@Override
+    	public int hashCode() {
+    		return 31 * x + z;
+    	}
+
+    	@Override
+    	public boolean equals(Object obj) {
+    		return obj instanceof ChunkRef && ((ChunkRef) obj).x == x && ((ChunkRef) obj).z == z && ((ChunkRef) obj).world == world;
+    	}
+    }
+
+    private ClaimHeapReport() {}
+
+    public static void main(String[] args) throws InterruptedException {
+    	long[][] territories = new long[CLAIMS][];
+    	long chunkCount = 0;
+    	Random random = new Random(SEED);
+    	for (int i = 0; i < CLAIMS; i++) {
+    		// A row of chunks, each claim on its own row
+    		int size = 1 + random.nextInt(16);
+    		int x = random.nextInt(20_000) - 10_000;
+    		territories[i] = new long[size];
+    		for (int j = 0; j < size; j++) {
+    			territories[i][j] = ClaimIndex.key(x + j, i - CLAIMS / 2);
+    		}
+    		chunkCount += size;
+    	}
+    	System.out.println(CLAIMS + " claims, " + chunkCount + " chunks");
+
+    	Object world = new Object();
+    	long base = usedHeap();
+    	List<Set<ChunkRef>> sets = new ArrayList<>(CLAIMS);
+    	for (long[] keys : territories) {
+    		Set<ChunkRef> chunks = new HashSet<>();
+    		for (long key : keys) {
+    			chunks.add(new ChunkRef(world, ClaimIndex.keyX(key), ClaimIndex.keyZ(key)));
+    		}
+    		sets.add(chunks);
+    	}
+    	report("chunk sets", usedHeap() - base);
+    	sets = null;
+
+    	base = usedHeap();
+    	List<long[]> keys = new ArrayList<>(CLAIMS);
+    	for (long[] territory : territories) {
+    		keys.add(territory.clone());
+    	}
+    	report("chunk keys", usedHeap() - base);
+    	keys = null;
+
+    	base = usedHeap();
+    	List<Claim> claims = new ArrayList<>(CLAIMS);
+    	for (int i = 0; i < CLAIMS; i++) {
+    		claims.add(TestClaims.claim(i, territories[i].clone()));
+    	}
+    	report("claims", usedHeap() - base);
+    	ClaimIndex index = new ClaimIndex();
+    	for (Claim claim : claims) {
+    		for (long key : claim.getChunkKeys()) {
+    			index.put(ClaimIndex.keyX(key), ClaimIndex.keyZ(key), claim);
+    		}
+    	}
+    	report("claims and index", usedHeap() - base);
+    	if (index.size() != chunkCount) throw new IllegalStateException("Chunks missing from the index");
+    }
+
+    private static void report(String name, long bytes) {
+    	System.out.printf("%-18s %8.1f MB  %6.1f bytes by claim%n", name, bytes / 1048576.0, bytes / (double) CLAIMS);
+    }
+
+    /**
+     * Gets the heap used after a few full collections.
+     */
+    private static long usedHeap() throws InterruptedException {
+    	for (int i = 0; i < 4; i++) {
+    		System.gc();
+    		Thread.sleep(100);
+    	}
+    	return MEMORY.getHeapMemoryUsage().getUsed();
+    }
+}
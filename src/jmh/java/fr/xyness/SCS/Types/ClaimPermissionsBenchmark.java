@@ -0,0 +1,103 @@
+package fr.xyness.SCS.Types;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Permission lookups of a claim with the default permissions of the config, as the listeners run them.
+ * <p>
+ * {@code maps} is the lookup before {@link ClaimPermissions}: the role key lowercased, then the two
+ * nested maps. {@code names} is {@link Claim#getPermission(String, String)}, which finds the id of the
+ * name then tests the bit of the role. {@code ids} is {@link Claim#has(int, ClaimPermissions.Role)},
+ * for callers that resolve the id once. Each invocation looks up the next of 16 permission and role pairs.
+ * <p>
+ * Run with {@code ./gradlew jmh -Pjmh.includes=ClaimPermissionsBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClaimPermissionsBenchmark {
+
+    private static final String[] MEMBERS = {"Build", "Destroy", "Buttons", "Items", "InteractBlocks", "Levers", "Plates", "Doors",
+    		"Trapdoors", "Fencegates", "Tripwires", "RepeatersComparators", "Bells", "Entities", "Frostwalker", "Teleportations",
+    		"Damages", "Fly", "Weather", "GuiTeleport", "Portals", "Enter", "ItemsPickup", "ItemsDrop", "SpecialBlocks", "Elytra", "Windcharges"};
+
+    private static final String[] NATURAL = {"Explosions", "Liquids", "Redstone", "Firespread", "Monsters", "Pvp"};
+
+    /** The pairs looked up, as the block, liquid, explosion, interaction and move listeners check them */
+    private static final String[][] CHECKS = {
+    		{"Destroy", "visitors"}, {"Build", "members"}, {"Liquids", "natural"}, {"Explosions", "natural"},
+    		{"Doors", "visitors"}, {"Trapdoors", "visitors"}, {"Buttons", "members"}, {"Enter", "visitors"},
+    		{"Redstone", "natural"}, {"Pvp", "natural"}, {"Damages", "visitors"}, {"Fly", "members"},
+    		{"InteractBlocks", "visitors"}, {"Firespread", "natural"}, {"Monsters", "natural"}, {"Weather", "visitors"}};
+
+    private Claim claim;
+
+    private Map<String, LinkedHashMap<String, Boolean>> permissions;
+
+    private final int[] ids = new int[CHECKS.length];
+
+    private final ClaimPermissions.Role[] roles = new ClaimPermissions.Role[CHECKS.length];
+
+    private int next;
+
+    @Setup
+    public void setUp() {
+    	permissions = new LinkedHashMap<>();
+    	permissions.put("members", values(MEMBERS, 1));
+    	permissions.put("visitors", values(MEMBERS, 2));
+    	permissions.put("natural", values(NATURAL, 3));
+    	claim = new Claim(new UUID(1L, 1L), new UUID(0L, 1L), new long[0], "owner", Set.of(), null, "claim-1", "", permissions, false, 0L, Set.of(), 1);
+    	for (int i = 0; i < CHECKS.length; i++) {
+    		ids[i] = ClaimPermissions.find(CHECKS[i][0]);
+    		roles[i] = ClaimPermissions.Role.of(CHECKS[i][1]);
+    	}
+    }
+
+    @Benchmark
+    public boolean maps() {
+    	String[] check = CHECKS[next = (next + 1) & 15];
+    	String role = check[1];
+    	return permissions.getOrDefault(role == null ? "natural" : role.toLowerCase(), new LinkedHashMap<>()).getOrDefault(check[0], false);
+    }
+
+    @Benchmark
+    public boolean names() {
+    	String[] check = CHECKS[next = (next + 1) & 15];
+    	return claim.getPermission(check[0], check[1]);
+    }
+
+    @Benchmark
+    public boolean ids() {
+    	int i = next = (next + 1) & 15;
+    	return claim.has(ids[i], roles[i]);
+    }
+
+    /**
+     * Gives each permission a value, true for every few of them.
+     */
+    private static LinkedHashMap<String, Boolean> values(String[] names, int step) {
+    	LinkedHashMap<String, Boolean> values = new LinkedHashMap<>();
+    	for (int i = 0; i < names.length; i++) {
+    		values.put(names[i], i % step == 0);
+    	}
+    	return values;
+    }
+}
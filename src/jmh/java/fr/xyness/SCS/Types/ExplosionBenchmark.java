@@ -0,0 +1,121 @@
+package fr.xyness.SCS.Types;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Filtering of the block lists of 200 TNT going off at once along the border of a claim, as
+ * {@code ClaimEvents.onEntityExplode} runs it.
+ * <p>
+ * Each TNT breaks the blocks within 4 blocks of it, and lies within 8 blocks of the west side of a
+ * 16x16-chunk claim which denies natural explosions, so most lists span claimed and unclaimed chunks.
+ * {@code perBlock} is the handler before {@link ExplosionFilter}: an iterator over the list, with the claim
+ * and the permission looked up and the block removed one at a time. {@code byChunk} is
+ * {@link ExplosionFilter#removeProtected}. Both copy the 200 lists before filtering them.
+ * <p>
+ * Run with {@code ./gradlew jmh -Pjmh.includes=ExplosionBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExplosionBenchmark {
+
+    private static final long SEED = 0x7A7L;
+
+    private static final int TNT = 200;
+
+    private static final int RADIUS = 4;
+
+    /** Chunks on a side of the claim, from chunk 0 */
+    private static final int CLAIM = 16;
+
+    private final Map<UUID, ClaimIndex> indexes = new ConcurrentHashMap<>();
+
+    private final List<List<int[]>> explosions = new ArrayList<>();
+
+    @Setup
+    public void setUp() {
+    	ClaimIndex index = new ClaimIndex();
+    	Claim claim = TestClaims.claim(1);
+    	for (int x = 0; x < CLAIM; x++) {
+    		for (int z = 0; z < CLAIM; z++) {
+    			index.put(x, z, claim);
+    		}
+    	}
+    	indexes.put(TestClaims.WORLD, index);
+    	Random random = new Random(SEED);
+    	for (int i = 0; i < TNT; i++) {
+    		int tntX = random.nextInt(16) - 8;
+    		int tntY = 40 + random.nextInt(20);
+    		int tntZ = random.nextInt(CLAIM * 16);
+    		List<int[]> blocks = new ArrayList<>();
+    		for (int x = -RADIUS; x <= RADIUS; x++) {
+    			for (int y = -RADIUS; y <= RADIUS; y++) {
+    				for (int z = -RADIUS; z <= RADIUS; z++) {
+    					if (x * x + y * y + z * z <= RADIUS * RADIUS) blocks.add(new int[] {tntX + x, tntY + y, tntZ + z});
+    				}
+    			}
+    		}
+    		explosions.add(blocks);
+    	}
+    	if (perBlock() != byChunk()) throw new IllegalStateException("The variants keep different blocks");
+    }
+
+    @Benchmark
+    public int perBlock() {
+    	int kept = 0;
+    	for (List<int[]> explosion : explosions) {
+    		List<int[]> blocks = new ArrayList<>(explosion);
+    		Iterator<int[]> iterator = blocks.iterator();
+    		while (iterator.hasNext()) {
+    			int[] block = iterator.next();
+    			Claim claim = getClaim(TestClaims.WORLD, block[0] >> 4, block[2] >> 4);
+    			if (claim != null && !claim.getPermission("Explosions", "Natural")) iterator.remove();
+    		}
+    		kept += blocks.size();
+    	}
+    	return kept;
+    }
+
+    @Benchmark
+    public int byChunk() {
+    	int kept = 0;
+    	for (List<int[]> explosion : explosions) {
+    		List<int[]> blocks = new ArrayList<>(explosion);
+    		ExplosionFilter.removeProtected(blocks, block -> block[0], block -> block[2], (chunkX, chunkZ) -> {
+    			Claim claim = getClaim(TestClaims.WORLD, chunkX, chunkZ);
+    			return claim != null && !claim.getPermission("Explosions", "Natural");
+    		});
+    		kept += blocks.size();
+    	}
+    	return kept;
+    }
+
+    /**
+     * As {@code ClaimMain.getClaim(World, int, int)}.
+     */
+    private Claim getClaim(UUID world, int chunkX, int chunkZ) {
+    	ClaimIndex index = indexes.get(world);
+    	return index == null ? null : index.get(chunkX, chunkZ);
+    }
+}
@@ -0,0 +1,166 @@
+package fr.xyness.SCS.Types;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of the claim checks of {@code ClaimEvents.onLiquidFlow} (BlockFromToEvent), for liquids
+ * flowing across chunk sides, in a world with a 5000-chunk town at spawn and no world in survival
+ * requiring claims mode.
+ * <p>
+ * {@code lookup} is the handler before the presence bitmaps: the claim of the chunk flowed into and
+ * the mode of the world, then the claim flowed from and the permission when the chunk is claimed.
+ * {@code presence} tests the presence bits and the survival requiring claims flag first, then runs the
+ * same lookups when the chunk is claimed. {@code single} is the handler now: the claim of the chunk
+ * flowed into, then the flag, without the world mode lookup when the chunk is not claimed.
+ * The flows are in the wilderness (within 10k chunks of spawn) or in the town.
+ * <p>
+ * Run with {@code ./gradlew jmh -Pjmh.includes=LiquidFlowBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LiquidFlowBenchmark {
+
+    private static final long SEED = 0xF10L;
+
+    private static final int FLOWS = 4096;
+
+    /** Chunks on a side of the town */
+    private static final int TOWN = 71;
+
+    private static final String WORLD_NAME = "world";
+
+    @Param({"wilderness", "town"})
+    public String area;
+
+    private final Map<UUID, ClaimIndex> indexes = new ConcurrentHashMap<>();
+
+    private final Map<String, WorldMode> modes = new HashMap<>();
+
+    private boolean survivalRequiringClaims;
+
+    /** Block X and Z of the flows, from then to */
+    private final int[] flows = new int[FLOWS * 4];
+
+    private int next;
+
+    @Setup
+    public void setUp() {
+    	ClaimIndex index = new ClaimIndex();
+    	Map<Integer, Claim> plots = new HashMap<>();
+    	for (int x = 0; x < TOWN; x++) {
+    		for (int z = 0; z < TOWN; z++) {
+    			// Plots of 4x4 chunks, of 20 owners
+    			Claim claim = plots.computeIfAbsent((x / 4) * 100 + z / 4, plot -> TestClaims.claim(new UUID(1L, plot % 20), plot));
+    			index.put(x - TOWN / 2, z - TOWN / 2, claim);
+    		}
+    	}
+    	indexes.put(TestClaims.WORLD, index);
+    	modes.put(WORLD_NAME, WorldMode.SURVIVAL);
+    	survivalRequiringClaims = modes.containsValue(WorldMode.SURVIVAL_REQUIRING_CLAIMS);
+    	Random random = new Random(SEED);
+    	for (int i = 0; i < FLOWS; i++) {
+    		int chunkX;
+    		int chunkZ;
+    		if (area.equals("town")) {
+    			chunkX = random.nextInt(TOWN - 1) - TOWN / 2;
+    			chunkZ = random.nextInt(TOWN) - TOWN / 2;
+    		} else {
+    			do {
+    				chunkX = random.nextInt(20_000) - 10_000;
+    				chunkZ = random.nextInt(20_000) - 10_000;
+    			} while (index.contains(chunkX, chunkZ) || index.contains(chunkX + 1, chunkZ));
+    		}
+    		// From the east side of a chunk to the west side of the next one
+    		int blockZ = (chunkZ << 4) + random.nextInt(16);
+    		flows[i * 4] = (chunkX << 4) + 15;
+    		flows[i * 4 + 1] = blockZ;
+    		flows[i * 4 + 2] = (chunkX + 1) << 4;
+    		flows[i * 4 + 3] = blockZ;
+    	}
+    }
+
+    @Benchmark
+    public boolean lookup() {
+    	int i = (next = (next + 1) & (FLOWS - 1)) * 4;
+    	int fromX = flows[i] >> 4, fromZ = flows[i + 1] >> 4, toX = flows[i + 2] >> 4, toZ = flows[i + 3] >> 4;
+    	if (fromX == toX && fromZ == toZ) return false;
+    	Claim claim = getClaim(TestClaims.WORLD, toX, toZ);
+    	WorldMode mode = getWorldMode(WORLD_NAME);
+    	if (claim != null) return isCancelled(claim, getClaim(TestClaims.WORLD, fromX, fromZ));
+    	return mode == WorldMode.SURVIVAL_REQUIRING_CLAIMS;
+    }
+
+    @Benchmark
+    public boolean presence() {
+    	int i = (next = (next + 1) & (FLOWS - 1)) * 4;
+    	int fromX = flows[i] >> 4, fromZ = flows[i + 1] >> 4, toX = flows[i + 2] >> 4, toZ = flows[i + 3] >> 4;
+    	if (fromX == toX && fromZ == toZ) return false;
+    	if (!isClaimed(TestClaims.WORLD, toX, toZ) && !(survivalRequiringClaims && getWorldMode(WORLD_NAME) == WorldMode.SURVIVAL_REQUIRING_CLAIMS)) return false;
+    	Claim claim = getClaim(TestClaims.WORLD, toX, toZ);
+    	WorldMode mode = getWorldMode(WORLD_NAME);
+    	if (claim != null) return isCancelled(claim, getClaim(TestClaims.WORLD, fromX, fromZ));
+    	return mode == WorldMode.SURVIVAL_REQUIRING_CLAIMS;
+    }
+
+    @Benchmark
+    public boolean single() {
+    	int i = (next = (next + 1) & (FLOWS - 1)) * 4;
+    	int fromX = flows[i] >> 4, fromZ = flows[i + 1] >> 4, toX = flows[i + 2] >> 4, toZ = flows[i + 3] >> 4;
+    	if (fromX == toX && fromZ == toZ) return false;
+    	Claim claim = getClaim(TestClaims.WORLD, toX, toZ);
+    	if (claim == null && !(survivalRequiringClaims && getWorldMode(WORLD_NAME) == WorldMode.SURVIVAL_REQUIRING_CLAIMS)) return false;
+    	WorldMode mode = getWorldMode(WORLD_NAME);
+    	if (claim != null) return isCancelled(claim, getClaim(TestClaims.WORLD, fromX, fromZ));
+    	return mode == WorldMode.SURVIVAL_REQUIRING_CLAIMS;
+    }
+
+    /**
+     * As {@code ClaimMain.getClaim(World, int, int)}.
+     */
+    private Claim getClaim(UUID world, int chunkX, int chunkZ) {
+    	ClaimIndex index = indexes.get(world);
+    	return index == null ? null : index.get(chunkX, chunkZ);
+    }
+
+    /**
+     * As {@code ClaimMain.checkIfClaimExists(World, int, int)}.
+     */
+    private boolean isClaimed(UUID world, int chunkX, int chunkZ) {
+    	ClaimIndex index = indexes.get(world);
+    	return index != null && index.isClaimed(chunkX, chunkZ);
+    }
+
+    /**
+     * As {@code ClaimSettings.getWorldMode(String)}.
+     */
+    private WorldMode getWorldMode(String world) {
+    	WorldMode mode = modes.get(world);
+    	return mode == null ? WorldMode.SURVIVAL : mode;
+    }
+
+    private static boolean isCancelled(Claim claim, Claim fromClaim) {
+    	if (ClaimTransition.isSameOwner(claim, fromClaim)) return false;
+    	return !claim.getPermission("Liquids", "Natural");
+    }
+}
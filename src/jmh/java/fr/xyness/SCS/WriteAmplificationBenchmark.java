@@ -0,0 +1,177 @@
+package fr.xyness.SCS;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import fr.xyness.SCS.Types.ClaimCodec;
+
+/**
+ * Member writes of an owner with 50 claims of 200 members each, on a local SQLite file, with the
+ * serialized {@code members} column and with the normalized {@code scs_claim_members} table.
+ * <p>
+ * {@code columnAdd} and {@code tablesAdd} add a member to one claim then remove it, as
+ * {@code ClaimMain.addClaimMember} and {@code removeClaimMember} write it: the whole column encoded
+ * and rewritten, or one row inserted and deleted. {@code columnAddAll} and {@code tablesAddAll} do the
+ * same on every claim of the owner, as {@code addAllClaimsMember} and {@code removeAllClaimsMember}:
+ * one column rewrite per claim sent as a batch, or one statement over the claim rows of the owner.
+ * Each write is a transaction, as a flush of the write queue is.
+ * <p>
+ * Run with {@code ./gradlew jmh -Pjmh.includes=WriteAmplificationBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WriteAmplificationBenchmark {
+
+    private static final int CLAIMS = 50;
+
+    private static final int MEMBERS = 200;
+
+    private static final String UPDATE_MEMBERS = "UPDATE scs_claims_1 SET members = ? WHERE owner_uuid = ? AND claim_name = ?";
+
+    private static final String ADD_MEMBER = "INSERT OR IGNORE INTO scs_claim_members (claim_id, member_uuid) SELECT id, ? FROM scs_claims_1 WHERE owner_uuid = ? AND claim_name = ?";
+
+    private static final String REMOVE_MEMBER = "DELETE FROM scs_claim_members WHERE member_uuid = ? AND claim_id = (SELECT id FROM scs_claims_1 WHERE owner_uuid = ? AND claim_name = ?)";
+
+    private static final String ADD_MEMBER_ALL = "INSERT OR IGNORE INTO scs_claim_members (claim_id, member_uuid) SELECT id, ? FROM scs_claims_1 WHERE owner_uuid = ?";
+
+    private static final String REMOVE_MEMBER_ALL = "DELETE FROM scs_claim_members WHERE member_uuid = ? AND claim_id IN (SELECT id FROM scs_claims_1 WHERE owner_uuid = ?)";
+
+    private static final String BUMP_VERSION = "UPDATE scs_meta SET value = value + 1 WHERE name = 'data_version'";
+
+    private Path file;
+
+    private Connection connection;
+
+    private final String owner = new UUID(1L, 1L).toString();
+
+    private final UUID target = new UUID(3L, 3L);
+
+    /** The members of the claims, as kept in memory */
+    private final List<Set<UUID>> members = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+    	file = TestDatabase.createFile();
+    	connection = TestDatabase.open(file);
+    	try (Statement stmt = connection.createStatement()) {
+    		stmt.execute("PRAGMA synchronous=NORMAL");
+    	}
+    	TestDatabase.createTables(connection);
+    	connection.setAutoCommit(false);
+    	try (PreparedStatement stmt = connection.prepareStatement("INSERT INTO scs_claim_members (claim_id, member_uuid) VALUES (?, ?)")) {
+    		for (int i = 0; i < CLAIMS; i++) {
+    			Set<UUID> claimMembers = new LinkedHashSet<>();
+    			for (int j = 0; j < MEMBERS; j++) {
+    				claimMembers.add(new UUID(2L, i * MEMBERS + j));
+    			}
+    			members.add(claimMembers);
+    			int id = TestDatabase.insertClaim(connection, owner, "claim-" + i, "", ClaimCodec.encodeUuids(claimMembers));
+    			for (UUID member : claimMembers) {
+    				stmt.setInt(1, id);
+    				stmt.setString(2, member.toString());
+    				stmt.addBatch();
+    			}
+    		}
+    		stmt.executeBatch();
+    	}
+    	connection.commit();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+    	connection.close();
+    	TestDatabase.delete(file);
+    }
+
+    @Benchmark
+    public void columnAdd() throws SQLException {
+    	Set<UUID> claimMembers = members.get(0);
+    	claimMembers.add(target);
+    	executeBatch(UPDATE_MEMBERS, new Object[][] {{ClaimCodec.encodeUuids(claimMembers), owner, "claim-0"}});
+    	commit();
+    	claimMembers.remove(target);
+    	executeBatch(UPDATE_MEMBERS, new Object[][] {{ClaimCodec.encodeUuids(claimMembers), owner, "claim-0"}});
+    	commit();
+    }
+
+    @Benchmark
+    public void tablesAdd() throws SQLException {
+    	executeBatch(ADD_MEMBER, new Object[][] {{target.toString(), owner, "claim-0"}});
+    	commit();
+    	executeBatch(REMOVE_MEMBER, new Object[][] {{target.toString(), owner, "claim-0"}});
+    	commit();
+    }
+
+    @Benchmark
+    public void columnAddAll() throws SQLException {
+    	Object[][] rows = new Object[CLAIMS][];
+    	for (int i = 0; i < CLAIMS; i++) {
+    		members.get(i).add(target);
+    		rows[i] = new Object[] {ClaimCodec.encodeUuids(members.get(i)), owner, "claim-" + i};
+    	}
+    	executeBatch(UPDATE_MEMBERS, rows);
+    	commit();
+    	for (int i = 0; i < CLAIMS; i++) {
+    		members.get(i).remove(target);
+    		rows[i] = new Object[] {ClaimCodec.encodeUuids(members.get(i)), owner, "claim-" + i};
+    	}
+    	executeBatch(UPDATE_MEMBERS, rows);
+    	commit();
+    }
+
+    @Benchmark
+    public void tablesAddAll() throws SQLException {
+    	executeBatch(ADD_MEMBER_ALL, new Object[][] {{target.toString(), owner}});
+    	commit();
+    	executeBatch(REMOVE_MEMBER_ALL, new Object[][] {{target.toString(), owner}});
+    	commit();
+    }
+
+    /**
+     * Runs a statement as one batch, as the flush does for a group of consecutive writes.
+     */
+    private void executeBatch(String sql, Object[][] rows) throws SQLException {
+    	try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+    		for (Object[] params : rows) {
+    			for (int i = 0; i < params.length; i++) {
+    				stmt.setObject(i + 1, params[i]);
+    			}
+    			stmt.addBatch();
+    		}
+    		stmt.executeBatch();
+    	}
+    }
+
+    private void commit() throws SQLException {
+    	try (PreparedStatement stmt = connection.prepareStatement(BUMP_VERSION)) {
+    		stmt.executeUpdate();
+    	}
+    	connection.commit();
+    }
+}
@@ -135,7 +135,7 @@ public class SimpleClaimSystemAPI_Impl implements SimpleClaimSystemAPI {
 	public void kickPlayerFromClaim(Claim claim, String targetPlayerName) {
 		Player target = Bukkit.getPlayer(targetPlayerName);
 		if(target != null && target.isOnline()) {
-			if(claim.getChunks().contains(target.getLocation().getChunk())) {
+			if(claim.contains(target.getLocation())) {
 				instance.getMain().teleportPlayer(target, Bukkit.getWorlds().get(0).getSpawnLocation());
 			}
 		}
@@ -22,6 +22,7 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.regex.Pattern;
 
 import org.bukkit.Bukkit;
@@ -38,7 +39,9 @@ import com.google.gson.JsonParser;
 
 import fr.xyness.SCS.Types.CPlayer;
 import fr.xyness.SCS.Types.Claim;
+import fr.xyness.SCS.Types.ClaimPermissions;
 import fr.xyness.SCS.Types.CustomSet;
+import fr.xyness.SCS.Types.ProtectionCache;
 
 /**
  * This class handles CPlayer management and methods
@@ -72,6 +75,12 @@ public class CPlayerMain {
     /** Instance of SimpleClaimSystem */
     private final SimpleClaimSystem instance;
 
+    /** Hits of the protection caches */
+    private final LongAdder decisionHits = new LongAdder();
+
+    /** Misses of the protection caches */
+    private final LongAdder decisionMisses = new LongAdder();
+
     /** Link of the mojang API */
     private final String MOJANG_API_URL = "https://api.mojang.com/users/profiles/minecraft/";
 
@@ -208,7 +217,7 @@ public class CPlayerMain {
                     if (claims != null && !claims.isEmpty()) {
                         claims.forEach(c -> {
                             c.setOwner(playerName);
-                            instance.getBossBars().activateBossBar(c.getChunks());
+                            instance.getBossBars().activateBossBar(c);
                         });
                         instance.getMain().setPlayerClaims(uuid, claims);
                     }
@@ -235,59 +244,23 @@ public class CPlayerMain {
 
             // 2) DB 갱신은 async에서
             if (needRegister) {
-                try (Connection connection = instance.getDataSource().getConnection()) {
-                    String dbProductName = connection.getMetaData().getDatabaseProductName().toLowerCase();
-                    String updateQuery;
-
-                    if (dbProductName.contains("sqlite")) {
-                        updateQuery = "INSERT INTO scs_players(uuid_server, uuid_mojang, player_name, player_head, player_textures) " +
-                                "VALUES(?, ?, ?, ?, ?) ON CONFLICT(uuid_server) DO UPDATE SET player_name = excluded.player_name";
-                    } else if (dbProductName.contains("mysql")) {
-                        updateQuery = "INSERT INTO scs_players(uuid_server, uuid_mojang, player_name, player_head, player_textures) " +
-                                "VALUES(?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE player_name = VALUES(player_name)";
-                    } else {
-                        throw new UnsupportedOperationException("Unsupported database: " + dbProductName);
-                    }
-
-                    try (PreparedStatement preparedStatement = connection.prepareStatement(updateQuery)) {
-                        preparedStatement.setString(1, uuid.toString());
-                        preparedStatement.setString(2, "none".equals(uuidMojangFinal) ? "none" : uuidMojangFinal);
-                        preparedStatement.setString(3, playerName);
-                        preparedStatement.setString(4, "");
-                        preparedStatement.setString(5, texturesFinal);
-                        preparedStatement.executeUpdate();
-                    }
-                } catch (Exception e) {
+                try {
+                    instance.getPlayerRepository().insertPlayer(uuid.toString(), uuidMojangFinal, playerName, texturesFinal);
+                } catch (SQLException e) {
                     e.printStackTrace();
                 }
             } else if (nameChanged) {
-                try (Connection connection = instance.getDataSource().getConnection()) {
-                    String updateQuery = "UPDATE scs_players SET player_name = ? WHERE uuid_server = ?";
-                    try (PreparedStatement preparedStatement = connection.prepareStatement(updateQuery)) {
-                        preparedStatement.setString(1, playerName);
-                        preparedStatement.setString(2, uuid.toString());
-                        preparedStatement.executeUpdate();
-                    }
-
-                    updateQuery = "UPDATE scs_claims_1 SET owner_name = ? WHERE owner_uuid = ?";
-                    try (PreparedStatement preparedStatement = connection.prepareStatement(updateQuery)) {
-                        preparedStatement.setString(1, playerName);
-                        preparedStatement.setString(2, uuid.toString());
-                        preparedStatement.executeUpdate();
-                    }
+                try {
+                    instance.getPlayerRepository().updateName(uuid.toString(), playerName);
+                    instance.getClaimRepository().updateOwnerName(uuid, playerName);
                 } catch (SQLException e) {
                     e.printStackTrace();
                 }
             } else {
                 // 스킨만 변경되었을 가능성: texturesFinal이 유효할 때만 업데이트
                 if (!"none".equals(texturesFinal)) {
-                    try (Connection connection = instance.getDataSource().getConnection()) {
-                        String updateQuery = "UPDATE scs_players SET player_textures = ? WHERE uuid_server = ?";
-                        try (PreparedStatement preparedStatement = connection.prepareStatement(updateQuery)) {
-                            preparedStatement.setString(1, texturesFinal);
-                            preparedStatement.setString(2, uuid.toString());
-                            preparedStatement.executeUpdate();
-                        }
+                    try {
+                        instance.getPlayerRepository().updateTextures(uuid.toString(), texturesFinal);
                     } catch (SQLException e) {
                         e.printStackTrace();
                     }
@@ -306,11 +279,10 @@ public class CPlayerMain {
         int i = 0;
 
         try (Connection connection = instance.getDataSource().getConnection()) {
-            String getQuery = "SELECT * FROM scs_players";
-            try (PreparedStatement preparedStatement = connection.prepareStatement(getQuery);
-                 ResultSet resultSet = preparedStatement.executeQuery()) {
+            try (Repository.Query query = instance.getPlayerRepository().selectPlayers(connection)) {
+                ResultSet resultSet = query.getResultSet();
 
-                while (resultSet.next()) {
+                while (query.next()) {
                     UUID uuid = UUID.fromString(resultSet.getString("uuid_server"));
                     String uuid_mojang = resultSet.getString("uuid_mojang");
                     String playerName = resultSet.getString("player_name");
@@ -589,15 +561,17 @@ public class CPlayerMain {
      */
     public void setPlayersConfigSettings(Map<UUID, Map<String, Double>> p) {
         playersConfigSettings.clear();
-        if (p == null || p.isEmpty()) return;
-
-        // 내부 map도 Concurrent로 감싸서 이후 update에서 안전하게
-        for (Map.Entry<UUID, Map<String, Double>> e : p.entrySet()) {
-            UUID uuid = e.getKey();
-            Map<String, Double> settings = e.getValue();
-            if (uuid == null || settings == null) continue;
-            playersConfigSettings.put(uuid, new ConcurrentHashMap<>(settings));
+        if (p != null) {
+            // 내부 map도 Concurrent로 감싸서 이후 update에서 안전하게
+            for (Map.Entry<UUID, Map<String, Double>> e : p.entrySet()) {
+                UUID uuid = e.getKey();
+                Map<String, Double> settings = e.getValue();
+                if (uuid == null || settings == null) continue;
+                playersConfigSettings.put(uuid, new ConcurrentHashMap<>(settings));
+            }
         }
+        // Set on every config load, right after the groups settings
+        refreshPermissions();
     }
 
     /**
@@ -610,6 +584,7 @@ public class CPlayerMain {
     public void updatePlayerConfigSettings(UUID playerId, String key, Double value) {
         if (playerId == null || key == null || value == null) return;
         playersConfigSettings.computeIfAbsent(playerId, k -> new ConcurrentHashMap<>()).put(key, value);
+        refreshPermissions(playerId);
     }
 
     /**
@@ -621,10 +596,10 @@ public class CPlayerMain {
      */
     public boolean canAddMember(Player player, Claim claim) {
         if (player == null || claim == null) return false;
-        if (player.hasPermission("scs.admin")) return true;
 
         CPlayer cPlayer = players.get(player.getUniqueId());
-        if (cPlayer == null) return false;
+        if (cPlayer == null) return player.hasPermission("scs.admin");
+        if (cPlayer.isAdmin()) return true;
 
         int i = claim.getMembers().size();
         int nb_members = cPlayer.getMaxMembers();
@@ -640,7 +615,83 @@ public class CPlayerMain {
      */
     public boolean checkPermPlayer(Player player, String perm) {
         if (player == null || perm == null) return false;
-        return player.hasPermission("scs.admin") || player.hasPermission(perm);
+        CPlayer cPlayer = players.get(player.getUniqueId());
+        if (cPlayer == null) return player.hasPermission("scs.admin") || player.hasPermission(perm);
+        if (perm.equals("scs.bypass")) return cPlayer.hasBypass();
+        return cPlayer.isAdmin() || player.hasPermission(perm);
+    }
+
+    /**
+     * Checks if a player has the "scs.bypass" permission, from the flags computed for the player.
+     *
+     * @param player The player
+     * @return True if the player can bypass the protections, false otherwise
+     */
+    public boolean hasBypass(Player player) {
+        return checkPermPlayer(player, "scs.bypass");
+    }
+
+    /**
+     * Checks a permission of a claim for a player, from the protection cache of the player.
+     * Same as {@link Claim#getPermissionForPlayer(String, Player)}.
+     *
+     * @param player The player
+     * @param claim The claim
+     * @param permission The permission key
+     * @return The permission value
+     */
+    public boolean checkPermission(Player player, Claim claim, String permission) {
+        int id = ClaimPermissions.find(permission);
+        CPlayer cPlayer = id < 0 ? null : players.get(player.getUniqueId());
+        if (cPlayer == null) return claim.getPermissionForPlayer(permission, player);
+
+        ProtectionCache cache = cPlayer.getProtectionCache();
+        int cached = cache.get(claim, id);
+        if (cached >= 0) {
+            decisionHits.increment();
+            return cached == 1;
+        }
+        decisionMisses.increment();
+        // Read before computing, a change made meanwhile leaves the decision stale
+        int version = claim.getVersion();
+        boolean value = claim.getPermissionForPlayer(permission, player);
+        cache.put(claim, id, version, value);
+        return value;
+    }
+
+    /**
+     * Drops the flags and limits computed for a player, when their permissions may have changed.
+     *
+     * @param playerId The uuid of the player
+     */
+    public void refreshPermissions(UUID playerId) {
+        if (playerId == null) return;
+        CPlayer cPlayer = players.get(playerId);
+        if (cPlayer != null) cPlayer.refreshPermissions();
+    }
+
+    /**
+     * Drops the flags and limits computed for all the players.
+     */
+    public void refreshPermissions() {
+        players.values().forEach(CPlayer::refreshPermissions);
+    }
+
+    /**
+     * Gets the stats of the protection caches.
+     *
+     * @return The number of hits and misses
+     */
+    public long[] getDecisionStats() {
+        return new long[] { decisionHits.sum(), decisionMisses.sum() };
+    }
+
+    /**
+     * Clears the stats of the protection caches.
+     */
+    public void resetDecisionStats() {
+        decisionHits.reset();
+        decisionMisses.reset();
     }
 
     /**
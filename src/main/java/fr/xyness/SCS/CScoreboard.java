@@ -1,5 +1,6 @@
 package fr.xyness.SCS;
 
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
@@ -28,6 +29,9 @@ public class CScoreboard {
     /* The objective instance */
     private Objective objective;
     
+    /* The lines set by updateLines, by score */
+    private final Map<Integer, String> lines = new HashMap<>();
+    
     
     // ******************
     // *  Constructors  *
@@ -95,30 +99,36 @@ public class CScoreboard {
     
     /**
      * Updates specific lines on the scoreboard based on a map of scores and lines.
-     * Removes the old line associated with each score and adds the new line from the map.
+     * Only the lines that changed are sent: the old line of a changed score is removed
+     * (unless it is still used at another score), then the new line is added.
      *
      * @param linesMap The map where keys are scores and values are the new lines to set.
      */
-    public void updateLines(Map<Integer, String> linesMap) {
-        Set<String> existingEntries = new HashSet<>(scoreboard.getEntries());
+    public synchronized void updateLines(Map<Integer, String> linesMap) {
+        Set<String> kept = new HashSet<>(linesMap.values());
+        lines.entrySet().removeIf(entry -> {
+            String oldLine = entry.getValue();
+            String newLine = linesMap.get(entry.getKey());
+            if (newLine == null) return kept.contains(oldLine);
+            if (newLine.equals(oldLine)) return false;
+            if (!kept.contains(oldLine)) scoreboard.resetScores(oldLine);
+            return true;
+        });
         for (Map.Entry<Integer, String> entry : linesMap.entrySet()) {
-            int score = entry.getKey();
-            String newLine = entry.getValue();
-            existingEntries.stream()
-                .filter(line -> objective.getScore(line).getScore() == score)
-                .findFirst()
-                .ifPresent(scoreboard::resetScores);
-            addLine(newLine, score);
+            if (entry.getValue().equals(lines.get(entry.getKey()))) continue;
+            addLine(entry.getValue(), entry.getKey());
+            lines.put(entry.getKey(), entry.getValue());
         }
     }
 
     /**
      * Clears all lines from the scoreboard.
      */
-    public void clear() {
+    public synchronized void clear() {
     	if(scoreboard != null) {
     		scoreboard.getEntries().forEach(scoreboard::resetScores);
     	}
+    	lines.clear();
     }
 	
 }
@@ -90,6 +90,17 @@ public class ClaimBossBar {
      * @param chunk the chunk the player is in.
      */
     public void activeBossBar(Player player, Chunk chunk) {
+        if (player == null) return;
+        activeBossBar(player, instance.getMain().getClaim(chunk));
+    }
+    
+    /**
+     * Activates the BossBar for the player, from the claim already resolved for its chunk.
+     *
+     * @param player the player.
+     * @param claim the claim the player is in, null for the wilderness.
+     */
+    public void activeBossBar(Player player, Claim claim) {
         if (player == null) return;
         instance.executeAsync(() -> {
         	BossBar b = checkBossBar(player);
@@ -99,12 +110,11 @@ public class ClaimBossBar {
                 return;
             }
 
-            if (!instance.getMain().checkIfClaimExists(chunk)) {
+            if (claim == null) {
                 b.setVisible(false);
                 return;
             }
 
-            Claim claim = instance.getMain().getClaim(chunk);
             String owner = claim.getOwner();
             String chunkName = claim.getName();
             String title;
@@ -260,7 +270,55 @@ public class ClaimBossBar {
             		activeBossBar(p,c);
             	}
             });
-    	}
+    	}
+    }
+    
+    /**
+     * Activates the boss bar for players inside the specified claim.
+     *
+     * @param claim the claim to activate the boss bar in
+     */
+    public void activateBossBar(Claim claim) {
+    	if (!instance.getSettings().getBooleanSetting("bossbar")) return;
+    	if(instance.isFolia()) {
+            Bukkit.getOnlinePlayers().stream().forEach(p -> {
+            	Bukkit.getRegionScheduler().run(instance, p.getLocation(), task -> {
+                	if(claim.contains(p.getLocation())) {
+                		activeBossBar(p,p.getLocation().getChunk());
+                	}
+            	});
+            });
+    	} else {
+            Bukkit.getOnlinePlayers().stream().forEach(p -> {
+            	if(claim.contains(p.getLocation())) {
+            		activeBossBar(p,p.getLocation().getChunk());
+            	}
+            });
+    	}
+    }
+    
+    /**
+     * Deactivates the boss bar for players inside the specified claim.
+     *
+     * @param claim the claim to deactivate the boss bar in
+     */
+    public void deactivateBossBar(Claim claim) {
+    	if (!instance.getSettings().getBooleanSetting("bossbar")) return;
+    	if(instance.isFolia()) {
+            Bukkit.getOnlinePlayers().stream().forEach(p -> {
+            	Bukkit.getRegionScheduler().run(instance, p.getLocation(), task -> {
+                	if(claim.contains(p.getLocation())) {
+                		disableBossBar(p);
+                	}
+            	});
+            });
+    	} else {
+            Bukkit.getOnlinePlayers().stream().forEach(p -> {
+            	if(claim.contains(p.getLocation())) {
+            		disableBossBar(p);
+            	}
+            });
+    	}
     }
     
     /**
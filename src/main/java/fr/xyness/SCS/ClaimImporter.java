@@ -0,0 +1,624 @@
+package fr.xyness.SCS;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.command.CommandSender;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import fr.xyness.SCS.Types.ClaimCodec;
+import fr.xyness.SCS.Types.ClaimIndex;
+import me.ryanhamshire.GriefPrevention.GriefPrevention;
+
+/**
+ * This class handles the import of the claims of other plugins (GriefPrevention, XClaims).
+ * <p>
+ * The import runs in three stages: the source claims are converted in parallel, checked in one
+ * pass against the loaded claims, the claim names in the database and each other, then inserted
+ * in transactions of {@link #BATCH_SIZE} claims. Each transaction also stores the position reached
+ * in the source in {@code scs_meta}, so an interrupted import resumes where it stopped.
+ * A dry run does every stage but the insert.
+ */
+public class ClaimImporter {
+
+
+    // ***************
+    // *  Variables  *
+    // ***************
+
+
+    /** Name of the GriefPrevention source */
+    public static final String GRIEFPREVENTION = "griefprevention";
+
+    /** Name of the XClaims source */
+    public static final String XCLAIMS = "xclaims";
+
+    /** Number of claims converted per task and inserted per transaction */
+    private static final int BATCH_SIZE = 1000;
+
+    /** Min time between two progress messages */
+    private static final long PROGRESS_INTERVAL_MILLIS = 5000L;
+
+    /** Instance of SimpleClaimSystem */
+    private final SimpleClaimSystem instance;
+
+    /** Whether an import is running */
+    private final AtomicBoolean running = new AtomicBoolean();
+
+
+    // ******************
+    // *  Constructors  *
+    // ******************
+
+
+    /**
+     * Main constructor.
+     *
+     * @param instance The instance of SimpleClaimSystem
+     */
+    public ClaimImporter(SimpleClaimSystem instance) {
+    	this.instance = instance;
+    }
+
+
+    // *************
+    // *  Methods  *
+    // *************
+
+
+    /**
+     * Imports the claims from GriefPrevention.
+     *
+     * @param sender The sender receiving the progress
+     * @param dryRun True to only report what would be imported
+     */
+    public void importFromGriefPrevention(CommandSender sender, boolean dryRun) {
+    	if (!start(sender)) return;
+    	instance.executeAsync(() -> {
+    		try {
+    			List<me.ryanhamshire.GriefPrevention.Claim> claims = new ArrayList<>(GriefPrevention.instance.dataStore.getClaims());
+    			claims.sort(Comparator.comparing(me.ryanhamshire.GriefPrevention.Claim::getID, Comparator.nullsLast(Comparator.naturalOrder())));
+    			run(sender, GRIEFPREVENTION, claims, this::convert, dryRun);
+    		} finally {
+    			running.set(false);
+    		}
+    	});
+    }
+
+    /**
+     * Imports the claims from XClaims ({@code plugins/SimpleClaimSystem/xclaims.yml}).
+     *
+     * @param sender The sender receiving the progress
+     * @param dryRun True to only report what would be imported
+     */
+    public void importFromXClaims(CommandSender sender, boolean dryRun) {
+    	if (!start(sender)) return;
+    	instance.executeAsync(() -> {
+    		try {
+    			FileConfiguration config = YamlConfiguration.loadConfiguration(new File("plugins/SimpleClaimSystem/xclaims.yml"));
+    			List<String> keys = new ArrayList<>(new TreeSet<>(config.getKeys(false)));
+    			run(sender, XCLAIMS, keys, key -> convert(config, key), dryRun);
+    		} finally {
+    			running.set(false);
+    		}
+    	});
+    }
+
+    /**
+     * Marks an import as running.
+     *
+     * @param sender The sender of the import
+     * @return False if an import is already running
+     */
+    private boolean start(CommandSender sender) {
+    	if (running.compareAndSet(false, true)) return true;
+    	sender.sendMessage("An import is already running.");
+    	return false;
+    }
+
+    /**
+     * Converts a GriefPrevention claim, without loading its chunks.
+     *
+     * @param claim The GriefPrevention claim
+     * @return The converted claim, or null if it cannot be imported
+     */
+    private Entry convert(me.ryanhamshire.GriefPrevention.Claim claim) {
+    	UUID owner = claim.getOwnerID();
+    	if (owner == null) return null;
+    	Location lesser = claim.getLesserBoundaryCorner();
+    	Location greater = claim.getGreaterBoundaryCorner();
+    	World world = lesser.getWorld();
+    	if (world == null) return null;
+    	int minX = lesser.getBlockX() >> 4;
+    	int minZ = lesser.getBlockZ() >> 4;
+    	int maxX = greater.getBlockX() >> 4;
+    	int maxZ = greater.getBlockZ() >> 4;
+    	long[] chunks = new long[(maxX - minX + 1) * (maxZ - minZ + 1)];
+    	int i = 0;
+    	for (int x = minX; x <= maxX; x++) {
+    		for (int z = minZ; z <= maxZ; z++) {
+    			chunks[i++] = ClaimIndex.key(x, z);
+    		}
+    	}
+    	return new Entry(owner, claim.getOwnerName(), null, world, chunks, Set.of(owner));
+    }
+
+    /**
+     * Converts a XClaims claim, without loading its chunks.
+     *
+     * @param config The XClaims file
+     * @param key The key of the claim
+     * @return The converted claim, or null if it cannot be imported
+     */
+    private Entry convert(FileConfiguration config, String key) {
+    	String name = config.getString(key + ".name");
+    	String owner = config.getString(key + ".owner");
+    	String worldName = config.getString(key + ".world");
+    	ConfigurationSection chunkSection = config.getConfigurationSection(key + ".chunks");
+    	if (name == null || owner == null || worldName == null || chunkSection == null) return null;
+
+    	UUID ownerId;
+    	try {
+    		ownerId = UUID.fromString(owner);
+    	} catch (IllegalArgumentException e) {
+    		return null;
+    	}
+
+    	World world = Bukkit.getWorld(worldName);
+    	if (world == null) {
+    		File dir = new File(Bukkit.getWorldContainer(), worldName);
+    		if (new File(dir, "level.dat").isFile()) {
+    			instance.getLogger().warning("XClaims import skipped: world is unloaded (exists on disk): " + worldName + " (claimKey=" + key + ")");
+    		} else {
+    			instance.getLogger().warning("XClaims import skipped: world data not found on disk: " + worldName + " (claimKey=" + key + ")");
+    		}
+    		return null;
+    	}
+
+    	Set<String> chunkIds = chunkSection.getKeys(false);
+    	if (chunkIds.isEmpty()) return null;
+    	long[] chunks = new long[chunkIds.size()];
+    	int i = 0;
+    	for (String chunkId : chunkIds) {
+    		chunks[i++] = ClaimIndex.key(chunkSection.getInt(chunkId + ".x"), chunkSection.getInt(chunkId + ".z"));
+    	}
+
+    	Set<UUID> members = new LinkedHashSet<>();
+    	members.add(ownerId);
+    	ConfigurationSection userSection = config.getConfigurationSection(key + ".users");
+    	if (userSection != null) {
+    		for (String user : userSection.getKeys(false)) {
+    			try {
+    				members.add(UUID.fromString(user));
+    			} catch (IllegalArgumentException e) {
+    				// Not a uuid, the member is dropped
+    			}
+    		}
+    	}
+    	return new Entry(ownerId, Bukkit.getOfflinePlayer(ownerId).getName(), name.replace(" ", "_"), world, chunks, members);
+    }
+
+    /**
+     * Runs the import pipeline.
+     *
+     * @param sender The sender receiving the progress
+     * @param source The name of the source
+     * @param sourceClaims The claims of the source, in a stable order
+     * @param converter The converter of a source claim (returns null if it cannot be imported)
+     * @param dryRun True to only report what would be imported
+     */
+    private <T> void run(CommandSender sender, String source, List<T> sourceClaims, Function<T, Entry> converter, boolean dryRun) {
+    	long start = System.nanoTime();
+    	int total = sourceClaims.size();
+    	send(sender, (dryRun ? "Dry run of the import of " : "Importing ") + format(total) + " claims from " + source + "..");
+
+    	// Position reached by an interrupted import
+    	int position;
+    	try (Connection connection = instance.getDataSource().getConnection()) {
+    		position = Math.min(readPosition(connection, source), total);
+    	} catch (SQLException e) {
+    		e.printStackTrace();
+    		send(sender, "Import failed: " + e.getMessage());
+    		return;
+    	}
+    	if (position > 0) send(sender, "Resuming the interrupted import at claim " + format(position) + "/" + format(total) + ".");
+
+    	// Stage 1: convert
+    	List<Entry> entries = convert(sender, sourceClaims, converter);
+    	if (entries == null) return;
+    	int invalid = total - entries.size();
+
+    	// Stage 2: conflicts
+    	instance.getWriteQueue().awaitFlush();
+    	Map<UUID, Integer> nextIds = new HashMap<>();
+    	Map<UUID, Set<String>> names = new HashMap<>();
+    	try (Connection connection = instance.getReadDataSource().getConnection();
+    			PreparedStatement stmt = connection.prepareStatement("SELECT owner_uuid, id_claim, claim_name FROM scs_claims_1")) {
+    		stmt.setFetchSize(BATCH_SIZE);
+    		try (ResultSet resultSet = stmt.executeQuery()) {
+    			while (resultSet.next()) {
+    				UUID owner;
+    				try {
+    					owner = UUID.fromString(resultSet.getString(1));
+    				} catch (IllegalArgumentException e) {
+    					continue;
+    				}
+    				nextIds.merge(owner, resultSet.getInt(2) + 1, Math::max);
+    				names.computeIfAbsent(owner, k -> new HashSet<>()).add(resultSet.getString(3));
+    			}
+    		}
+    	} catch (SQLException e) {
+    		e.printStackTrace();
+    		send(sender, "Import failed: " + e.getMessage());
+    		return;
+    	}
+    	Map<UUID, Set<Long>> taken = new HashMap<>();
+    	List<Entry> accepted = new ArrayList<>();
+    	int done = 0;
+    	int chunkConflicts = 0;
+    	int nameConflicts = 0;
+    	for (Entry entry : entries) {
+    		if (!reserveChunks(entry, taken)) {
+    			if (entry.index >= position) chunkConflicts++;
+    			continue;
+    		}
+    		// Imported before the interruption, only its chunks are kept
+    		if (entry.index < position) {
+    			done++;
+    			continue;
+    		}
+    		int id = nextIds.computeIfAbsent(entry.owner, owner -> instance.getMain().findFreeId(owner));
+    		Set<String> ownerNames = names.computeIfAbsent(entry.owner, k -> new HashSet<>());
+    		if (entry.name == null) {
+    			while (ownerNames.contains("claim-" + id)) id++;
+    			entry.name = "claim-" + id;
+    		} else if (ownerNames.contains(entry.name)) {
+    			nameConflicts++;
+    			continue;
+    		}
+    		entry.id = id;
+    		nextIds.put(entry.owner, id + 1);
+    		ownerNames.add(entry.name);
+    		accepted.add(entry);
+    	}
+    	send(sender, format(accepted.size()) + " claims to import, " + format(chunkConflicts) + " overlapping a claim, "
+    			+ format(nameConflicts) + " with a name already used, " + format(invalid) + " invalid or in an unloaded world"
+    			+ (done > 0 ? ", " + format(done) + " already imported." : "."));
+
+    	if (dryRun) {
+    		send(sender, "Dry run done in " + elapsed(start) + "s, nothing was written.");
+    		return;
+    	}
+
+    	// Stage 3: insert
+    	Progress progress = new Progress(sender, "Inserted", accepted.size());
+    	int imported = 0;
+    	for (int i = 0; i < accepted.size(); i += BATCH_SIZE) {
+    		List<Entry> batch = accepted.subList(i, Math.min(i + BATCH_SIZE, accepted.size()));
+    		locate(batch);
+    		try {
+    			insert(source, batch);
+    		} catch (SQLException e) {
+    			e.printStackTrace();
+    			send(sender, "Import interrupted after " + format(imported) + " claims: " + e.getMessage() + ". Run the import again to resume it.");
+    			return;
+    		}
+    		imported += batch.size();
+    		progress.update(imported);
+    	}
+    	try (Connection connection = instance.getDataSource().getConnection();
+    			PreparedStatement stmt = connection.prepareStatement("DELETE FROM scs_meta WHERE name = ?")) {
+    		stmt.setString(1, marker(source));
+    		stmt.executeUpdate();
+    	} catch (SQLException e) {
+    		e.printStackTrace();
+    	}
+
+    	String message = format(imported) + " imported claims in " + elapsed(start) + "s, reloading..";
+    	instance.executeSync(() -> {
+    		sender.sendMessage(message);
+    		Bukkit.dispatchCommand(sender, "scs reload");
+    	});
+    }
+
+    /**
+     * Converts the source claims in parallel, keeping their order.
+     *
+     * @return The converted claims, or null if the conversion failed
+     */
+    private <T> List<Entry> convert(CommandSender sender, List<T> sourceClaims, Function<T, Entry> converter) {
+    	int workers = Runtime.getRuntime().availableProcessors();
+    	ExecutorService converters = Executors.newFixedThreadPool(workers, r -> {
+    		Thread thread = new Thread(r, "SimpleClaimSystem-Importer");
+    		thread.setDaemon(true);
+    		return thread;
+    	});
+    	try {
+    		List<Future<List<Entry>>> futures = new ArrayList<>();
+    		for (int i = 0; i < sourceClaims.size(); i += BATCH_SIZE) {
+    			int from = i;
+    			List<T> part = sourceClaims.subList(from, Math.min(from + BATCH_SIZE, sourceClaims.size()));
+    			futures.add(converters.submit(() -> {
+    				List<Entry> entries = new ArrayList<>(part.size());
+    				for (int j = 0; j < part.size(); j++) {
+    					try {
+    						Entry entry = converter.apply(part.get(j));
+    						if (entry == null) continue;
+    						entry.index = from + j;
+    						entries.add(entry);
+    					} catch (RuntimeException e) {
+    						instance.info("Error when converting the claim " + String.valueOf(from + j) + ": " + e.getMessage());
+    					}
+    				}
+    				return entries;
+    			}));
+    		}
+    		Progress progress = new Progress(sender, "Converted", sourceClaims.size());
+    		List<Entry> entries = new ArrayList<>(sourceClaims.size());
+    		int converted = 0;
+    		for (Future<List<Entry>> future : futures) {
+    			entries.addAll(future.get());
+    			converted = Math.min(converted + BATCH_SIZE, sourceClaims.size());
+    			progress.update(converted);
+    		}
+    		return entries;
+    	} catch (InterruptedException | ExecutionException e) {
+    		e.printStackTrace();
+    		send(sender, "Import failed: " + e.getMessage());
+    		return null;
+    	} finally {
+    		converters.shutdownNow();
+    	}
+    }
+
+    /**
+     * Reserves the chunks of a claim if none of them is claimed or reserved by another imported claim.
+     *
+     * @param entry The claim
+     * @param taken The reserved chunks by world
+     * @return True if the chunks were reserved
+     */
+    private boolean reserveChunks(Entry entry, Map<UUID, Set<Long>> taken) {
+    	Set<Long> worldTaken = taken.computeIfAbsent(entry.world.getUID(), k -> new HashSet<>());
+    	for (long key : entry.chunks) {
+    		if (worldTaken.contains(key) || instance.getMain().checkIfClaimExists(entry.world, ClaimIndex.keyX(key), ClaimIndex.keyZ(key))) return false;
+    	}
+    	for (long key : entry.chunks) {
+    		worldTaken.add(key);
+    	}
+    	return true;
+    }
+
+    /**
+     * Sets the location of the claims (center of their first chunk, on the highest block).
+     * Only this chunk is loaded, asynchronously when the server allows it.
+     *
+     * @param batch The claims
+     */
+    private void locate(List<Entry> batch) {
+    	if (instance.isFolia() || instance.isPaper()) {
+    		CompletableFuture.allOf(batch.stream()
+    				.map(entry -> entry.world.getChunkAtAsync(ClaimIndex.keyX(entry.chunks[0]), ClaimIndex.keyZ(entry.chunks[0]))
+    						.thenAccept(chunk -> entry.location = instance.getMain().getCenterLocationOfChunk(chunk))
+    						.exceptionally(ex -> {
+    							ex.printStackTrace();
+    							return null;
+    						}))
+    				.toArray(CompletableFuture[]::new)).join();
+    	} else {
+    		CompletableFuture<Void> located = new CompletableFuture<>();
+    		instance.executeSync(() -> {
+    			try {
+    				for (Entry entry : batch) {
+    					Chunk chunk = entry.world.getChunkAt(ClaimIndex.keyX(entry.chunks[0]), ClaimIndex.keyZ(entry.chunks[0]));
+    					entry.location = instance.getMain().getCenterLocationOfChunk(chunk);
+    				}
+    			} finally {
+    				located.complete(null);
+    			}
+    		});
+    		located.join();
+    	}
+    	for (Entry entry : batch) {
+    		if (entry.location != null) continue;
+    		int x = (ClaimIndex.keyX(entry.chunks[0]) << 4) + 8;
+    		int z = (ClaimIndex.keyZ(entry.chunks[0]) << 4) + 8;
+    		entry.location = new Location(entry.world, x, entry.world.getSeaLevel(), z);
+    	}
+    }
+
+    /**
+     * Inserts a batch of claims and stores the position reached in the source, in one transaction.
+     *
+     * @param source The name of the source
+     * @param batch The claims
+     * @throws SQLException If a statement fails (the transaction is rolled back)
+     */
+    private void insert(String source, List<Entry> batch) throws SQLException {
+    	String description = instance.getLanguage().getMessage("default-description");
+    	String permissions = instance.getSettings().getDefaultValuesCode("all");
+    	boolean journal = instance.getClaimSync().isEnabled();
+    	try (Connection connection = instance.getDataSource().getConnection()) {
+    		connection.setAutoCommit(false);
+    		try (PreparedStatement insert = connection.prepareStatement(ClaimRepository.INSERT);
+    				PreparedStatement changes = connection.prepareStatement(ClaimJournal.JOURNAL)) {
+    			long now = System.currentTimeMillis();
+    			for (Entry entry : batch) {
+    				insert.setInt(1, entry.id);
+    				insert.setString(2, entry.owner.toString());
+    				insert.setString(3, entry.ownerName);
+    				insert.setString(4, entry.name);
+    				insert.setString(5, description);
+    				insert.setString(6, ClaimCodec.encodeChunks(entry.chunks));
+    				insert.setString(7, entry.world.getName());
+    				insert.setString(8, instance.getMain().getLocationString(entry.location));
+    				insert.setString(9, ClaimCodec.encodeUuids(entry.members));
+    				insert.setString(10, permissions);
+    				insert.setString(11, "");
+    				insert.addBatch();
+    				if (journal) {
+    					changes.setString(1, instance.getClaimSync().getServerId());
+    					changes.setString(2, entry.owner.toString());
+    					changes.setString(3, entry.name);
+    					changes.setLong(4, now);
+    					changes.addBatch();
+    				}
+    			}
+    			long start = System.nanoTime();
+    			insert.executeBatch();
+    			instance.getClaimRepository().record(ClaimRepository.INSERT, System.nanoTime() - start, batch.size());
+    			if (journal) changes.executeBatch();
+    			writePosition(connection, source, batch.get(batch.size() - 1).index + 1);
+    			connection.commit();
+    		} catch (SQLException e) {
+    			connection.rollback();
+    			throw e;
+    		} finally {
+    			connection.setAutoCommit(true);
+    		}
+    	}
+    }
+
+    /**
+     * Gets the key of the position of a source in {@code scs_meta}.
+     */
+    private String marker(String source) {
+    	return "import_" + source;
+    }
+
+    /**
+     * Reads the position reached by an interrupted import of a source.
+     *
+     * @return The position, 0 if there is no interrupted import
+     */
+    private int readPosition(Connection connection, String source) throws SQLException {
+    	try (PreparedStatement stmt = connection.prepareStatement("SELECT value FROM scs_meta WHERE name = ?")) {
+    		stmt.setString(1, marker(source));
+    		try (ResultSet resultSet = stmt.executeQuery()) {
+    			return resultSet.next() ? resultSet.getInt(1) : 0;
+    		}
+    	}
+    }
+
+    /**
+     * Stores the position reached by the import of a source.
+     */
+    private void writePosition(Connection connection, String source, int position) throws SQLException {
+    	try (PreparedStatement update = connection.prepareStatement("UPDATE scs_meta SET value = ? WHERE name = ?")) {
+    		update.setLong(1, position);
+    		update.setString(2, marker(source));
+    		if (update.executeUpdate() > 0) return;
+    	}
+    	try (PreparedStatement insert = connection.prepareStatement("INSERT INTO scs_meta (name, value) VALUES (?, ?)")) {
+    		insert.setString(1, marker(source));
+    		insert.setLong(2, position);
+    		insert.executeUpdate();
+    	}
+    }
+
+    /**
+     * Sends a message to the sender from the main thread.
+     */
+    private void send(CommandSender sender, String message) {
+    	instance.executeSync(() -> sender.sendMessage(message));
+    }
+
+    /**
+     * Formats a number with separators.
+     */
+    private String format(long number) {
+    	return instance.getMain().getNumberSeparate(String.valueOf(number));
+    }
+
+    /**
+     * Gets the time elapsed since the given time, in seconds.
+     */
+    private String elapsed(long start) {
+    	return String.format("%.1f", (System.nanoTime() - start) / 1e9);
+    }
+
+
+    // *******************
+    // *  Inner classes  *
+    // *******************
+
+
+    /**
+     * A claim converted from the source.
+     */
+    private static final class Entry {
+
+    	/** Position of the claim in the source */
+    	int index;
+    	final UUID owner;
+    	final String ownerName;
+    	/** Name of the claim, null to name it after its id */
+    	String name;
+    	final World world;
+    	final long[] chunks;
+    	final Set<UUID> members;
+    	int id;
+    	Location location;
+
+    	Entry(UUID owner, String ownerName, String name, World world, long[] chunks, Set<UUID> members) {
+    		this.owner = owner;
+    		this.ownerName = ownerName == null ? "" : ownerName;
+    		this.name = name;
+    		this.world = world;
+    		this.chunks = chunks;
+    		this.members = members;
+    	}
+    }
+
+    /**
+     * Reports the progress and the throughput of a stage, at most every {@link #PROGRESS_INTERVAL_MILLIS}.
+     */
+    private final class Progress {
+
+    	private final CommandSender sender;
+    	private final String stage;
+    	private final int total;
+    	private final long start = System.nanoTime();
+    	private long lastReport = System.currentTimeMillis();
+
+    	Progress(CommandSender sender, String stage, int total) {
+    		this.sender = sender;
+    		this.stage = stage;
+    		this.total = total;
+    	}
+
+    	void update(int done) {
+    		long now = System.currentTimeMillis();
+    		if (done < total && now - lastReport < PROGRESS_INTERVAL_MILLIS) return;
+    		lastReport = now;
+    		double seconds = Math.max(1e-3, (System.nanoTime() - start) / 1e9);
+    		send(sender, stage + " " + format(done) + "/" + format(total) + " claims (" + format(Math.round(done / seconds)) + " claims/s)");
+    	}
+    }
+}
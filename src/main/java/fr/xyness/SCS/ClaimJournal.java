@@ -0,0 +1,231 @@
+package fr.xyness.SCS;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * This class reads and writes the journal of the claim changes ({@code scs_claims_changes}),
+ * for the claims sync between servers (see {@link ClaimSync}).
+ * <p>
+ * Versions are given on insert but become visible on commit, so a version can appear after a
+ * higher one. A missing version holds the read position back until it appears, or until
+ * {@link #GAP_TIMEOUT_MILLIS} has passed (the transaction was rolled back).
+ */
+public class ClaimJournal {
+
+
+    // ***************
+    // *  Variables  *
+    // ***************
+
+
+    /** Statement journaling a changed claim */
+    public static final String JOURNAL = "INSERT INTO scs_claims_changes (server_id, owner_uuid, claim_name, changed_at) VALUES (?, ?, ?, ?)";
+
+    /** Max number of journal entries read at once */
+    static final int READ_LIMIT = 1000;
+
+    /** Time after which a missing version is skipped */
+    static final long GAP_TIMEOUT_MILLIS = 10_000L;
+
+    /** Time the journal entries are kept */
+    static final long RETENTION_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    /** Id of this server in the journal */
+    private final String serverId = UUID.randomUUID().toString();
+
+    /** Clock of the journal times, in milliseconds */
+    private final LongSupplier clock;
+
+    /** Every version up to this one has been seen */
+    private long lastVersion;
+
+    /** Versions seen above the last version */
+    private final TreeSet<Long> seenVersions = new TreeSet<>();
+
+    /** Time the current missing version was noticed, 0 if none */
+    private long gapSince;
+
+    /** Time of the last journal cleanup */
+    private long lastPrune;
+
+
+    // ******************
+    // *  Constructors  *
+    // ******************
+
+
+    /**
+     * Main constructor.
+     */
+    public ClaimJournal() {
+    	this(System::currentTimeMillis);
+    }
+
+    /**
+     * Constructor with a clock.
+     *
+     * @param clock The clock of the journal times, in milliseconds
+     */
+    ClaimJournal(LongSupplier clock) {
+    	this.clock = clock;
+    }
+
+
+    // *************
+    // *  Methods  *
+    // *************
+
+
+    /**
+     * Gets the id of this server in the journal.
+     *
+     * @return The server id
+     */
+    public String getServerId() {
+    	return serverId;
+    }
+
+    /**
+     * Gets the version up to which every entry has been read.
+     *
+     * @return The version
+     */
+    public synchronized long getLastVersion() {
+    	return lastVersion;
+    }
+
+    /**
+     * Checks if a list of changes contains a change of every claim, which needs a full reload.
+     *
+     * @param changes The changes, as {owner uuid, claim name}
+     * @return True if one of them has no owner
+     */
+    public static boolean isFullReload(Collection<String[]> changes) {
+    	for (String[] change : changes) {
+    		if (change[0] == null) return true;
+    	}
+    	return false;
+    }
+
+    /**
+     * Starts reading from the current end of the journal.
+     *
+     * @param connection The connection to the database
+     * @throws SQLException If the query fails
+     */
+    public synchronized void init(Connection connection) throws SQLException {
+    	try (PreparedStatement stmt = connection.prepareStatement("SELECT COALESCE(MAX(version), 0) FROM scs_claims_changes");
+    			ResultSet resultSet = stmt.executeQuery()) {
+    		lastVersion = resultSet.next() ? resultSet.getLong(1) : 0;
+    	}
+    	seenVersions.clear();
+    	gapSince = 0;
+    }
+
+    /**
+     * Reads the new journal entries and gets the claims changed by the other servers.
+     *
+     * @param connection The connection to the database
+     * @return The changes, as {owner uuid, claim name}, the name being null for every claim
+     *         of the owner and the owner null for every claim
+     * @throws SQLException If the query fails
+     */
+    public synchronized List<String[]> read(Connection connection) throws SQLException {
+    	Map<String, String[]> changes = new LinkedHashMap<>();
+    	try (PreparedStatement stmt = connection.prepareStatement(
+    			"SELECT version, server_id, owner_uuid, claim_name FROM scs_claims_changes WHERE version > ? ORDER BY version LIMIT " + READ_LIMIT)) {
+    		stmt.setLong(1, lastVersion);
+    		try (ResultSet resultSet = stmt.executeQuery()) {
+    			while (resultSet.next()) {
+    				if (!seenVersions.add(resultSet.getLong(1))) continue;
+    				if (serverId.equals(resultSet.getString(2))) continue;
+    				String owner = resultSet.getString(3);
+    				String name = resultSet.getString(4);
+    				changes.putIfAbsent(owner + "\0" + name, new String[] {owner, name});
+    			}
+    		}
+    	}
+    	advance();
+    	return new ArrayList<>(changes.values());
+    }
+
+    /**
+     * Moves the read position over the contiguous versions seen.
+     */
+    private void advance() {
+    	while (!seenVersions.isEmpty()) {
+    		while (!seenVersions.isEmpty() && seenVersions.first() == lastVersion + 1) {
+    			lastVersion = seenVersions.pollFirst();
+    		}
+    		if (seenVersions.isEmpty()) break;
+    		long now = clock.getAsLong();
+    		if (gapSince == 0) {
+    			gapSince = now;
+    			return;
+    		}
+    		if (now - gapSince < GAP_TIMEOUT_MILLIS) return;
+    		lastVersion = seenVersions.first() - 1;
+    		gapSince = 0;
+    	}
+    	gapSince = 0;
+    }
+
+    /**
+     * Checks if the journal cleanup is due, at most once per retention, and records it.
+     *
+     * @return True if {@link #prune(Connection)} should be called
+     */
+    public synchronized boolean isPruneDue() {
+    	long now = clock.getAsLong();
+    	if (now - lastPrune < RETENTION_MILLIS) return false;
+    	lastPrune = now;
+    	return true;
+    }
+
+    /**
+     * Deletes the journal entries older than the retention.
+     *
+     * @param connection The connection to the database
+     * @throws SQLException If the query fails
+     */
+    public void prune(Connection connection) throws SQLException {
+    	try (PreparedStatement stmt = connection.prepareStatement("DELETE FROM scs_claims_changes WHERE changed_at < ?")) {
+    		stmt.setLong(1, clock.getAsLong() - RETENTION_MILLIS);
+    		stmt.executeUpdate();
+    	}
+    }
+
+    /**
+     * Journals changed claims, as one batch.
+     *
+     * @param connection The connection the claims were written with
+     * @param changes The changes, as {owner uuid, claim name}
+     * @throws SQLException If the query fails
+     */
+    public void journal(Connection connection, Collection<String[]> changes) throws SQLException {
+    	if (changes.isEmpty()) return;
+    	try (PreparedStatement stmt = connection.prepareStatement(JOURNAL)) {
+    		long now = clock.getAsLong();
+    		for (String[] change : changes) {
+    			stmt.setString(1, serverId);
+    			stmt.setString(2, change[0]);
+    			stmt.setString(3, change[1]);
+    			stmt.setLong(4, now);
+    			stmt.addBatch();
+    		}
+    		stmt.executeBatch();
+    	}
+    }
+}
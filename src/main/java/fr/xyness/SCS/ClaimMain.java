@@ -1,11 +1,6 @@
 package fr.xyness.SCS;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
-import java.io.EOFException;
 import java.io.File;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -14,19 +9,22 @@ import java.sql.Statement;
 import java.util.*;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import org.bukkit.*;
+import org.bukkit.block.Block;
 import org.bukkit.boss.BarColor;
 import org.bukkit.boss.BossBar;
 import org.bukkit.command.CommandSender;
-import org.bukkit.configuration.ConfigurationSection;
-import org.bukkit.configuration.file.FileConfiguration;
-import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.Player;
 import org.bukkit.event.player.PlayerTeleportEvent;
 import org.bukkit.scheduler.BukkitRunnable;
@@ -40,11 +38,14 @@ import fr.xyness.SCS.API.Listeners.UnclaimEvent;
 import fr.xyness.SCS.API.Listeners.UnclaimallEvent;
 import fr.xyness.SCS.Types.CPlayer;
 import fr.xyness.SCS.Types.Claim;
+import fr.xyness.SCS.Types.ClaimBorder;
+import fr.xyness.SCS.Types.ClaimCodec;
+import fr.xyness.SCS.Types.ClaimIndex;
+import fr.xyness.SCS.Types.ClaimMapCache;
 import fr.xyness.SCS.Types.CustomSet;
 
 import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
 
-import me.ryanhamshire.GriefPrevention.GriefPrevention;
 
 import net.md_5.bungee.api.ChatMessageType;
 import net.md_5.bungee.api.chat.TextComponent;
@@ -57,18 +58,30 @@ public class ClaimMain {
     // ***************
 
 
-    /** List of claims by chunk. */
-    private final Map<Chunk, Claim> listClaims = new ConcurrentHashMap<>();
+    /** Claims index by world uid, keyed by packed chunk coordinates. */
+    private final Map<UUID, ClaimIndex> claimIndexes = new ConcurrentHashMap<>();
 
     /** Mapping of player uuid to their claims. */
     private final Map<UUID, CustomSet<Claim>> playerClaims = new ConcurrentHashMap<>();
 
+    /** Names of the worlds whose claims are loaded. */
+    private final Set<String> claimWorlds = ConcurrentHashMap.newKeySet();
+
+    /** Number, highest id and names of the claims of each owner, by world not loaded. */
+    private final Map<String, Map<UUID, UnloadedClaims>> unloadedWorldClaims = new ConcurrentHashMap<>();
+
     private final ConcurrentHashMap<String, Object> worldReloadLocks = new ConcurrentHashMap<>();
     private final ConcurrentHashMap<String, Object> claimLocks = new ConcurrentHashMap<>();
 
     /** Key UUID for protected areas */
     public static final UUID SERVER_UUID = UUID.fromString("00000000-0000-0000-0000-000000000000");
 
+    /** Number of chunks force-loaded per tick by the keep-chunks-loaded stage. */
+    private static final int KEEP_LOADED_CHUNKS_PER_TICK = 32;
+
+    /** Number of claims decoded and published together by the claims loader. */
+    private static final int LOAD_BATCH_SIZE = 512;
+
     /** Mapping of players to their original locations. */
     private final Map<Player, Location> playerLocations = new HashMap<>();
 
@@ -81,6 +94,15 @@ public class ClaimMain {
     /** Set of chunks particles */
     private CustomSet<Chunk> chunksParticles = new CustomSet<>();
 
+    /** Set of claims particles */
+    private final Set<Claim> claimsParticles = ConcurrentHashMap.newKeySet();
+
+    /** Horizontal distance around the viewer where the border particles are shown (the clients don't get them further) */
+    private static final int PARTICLES_RADIUS = 32;
+
+    /** Vertical distance around the viewer where the border particles are shown */
+    private static final int PARTICLES_HEIGHT = 16;
+
     /** Set of command arguments for /claim. */
     private CustomSet<String> commandArgsClaim = new CustomSet<>(Set.of("add", "autoclaim", "automap", "list",
             "map", "members", "remove", "see", "setdesc", "setname", "setspawn", "settings",
@@ -127,7 +149,9 @@ public class ClaimMain {
     public void clearAll() {
         playerClaims.clear();
         playerLocations.clear();
-        listClaims.clear();
+        claimIndexes.clear();
+        claimWorlds.clear();
+        unloadedWorldClaims.clear();
         activeTasks.values().stream().forEach(t -> t.cancel());
         activeTasks.clear();
         if(instance.isFolia()) {
@@ -386,7 +410,136 @@ public class ClaimMain {
      */
     public Claim getClaim(Chunk chunk) {
         if (chunk == null) return null;
-        return listClaims.get(chunk);
+        return getClaim(chunk.getWorld(), chunk.getX(), chunk.getZ());
+    }
+
+    /**
+     * Gets a claim by chunk coordinates, without loading the chunk.
+     *
+     * @param world The world of the chunk
+     * @param chunkX The chunk X coordinate
+     * @param chunkZ The chunk Z coordinate
+     * @return The claim associated with the chunk, or null if none exists
+     */
+    public Claim getClaim(World world, int chunkX, int chunkZ) {
+        if (world == null) return null;
+        ClaimIndex index = claimIndexes.get(world.getUID());
+        return index == null ? null : index.get(chunkX, chunkZ);
+    }
+
+    /**
+     * Gets a claim by block coordinates, without loading the chunk.
+     *
+     * @param world The world of the block
+     * @param blockX The block X coordinate
+     * @param blockZ The block Z coordinate
+     * @return The claim covering the block, or null if none exists
+     */
+    public Claim getClaimAtBlock(World world, int blockX, int blockZ) {
+        return getClaim(world, blockX >> 4, blockZ >> 4);
+    }
+
+    /**
+     * Gets the claim covering a block, without loading its chunk.
+     *
+     * @param block The block
+     * @return The claim covering the block, or null if none exists
+     */
+    public Claim getClaimAt(Block block) {
+        if (block == null) return null;
+        return getClaim(block.getWorld(), block.getX() >> 4, block.getZ() >> 4);
+    }
+
+    /**
+     * Gets the claim covering a location, without loading its chunk.
+     *
+     * @param location The location
+     * @return The claim covering the location, or null if none exists
+     */
+    public Claim getClaimAt(Location location) {
+        if (location == null) return null;
+        return getClaim(location.getWorld(), location.getBlockX() >> 4, location.getBlockZ() >> 4);
+    }
+
+    /**
+     * Checks if the chunk of a block is claimed, from the presence bitmaps of its world.
+     * The natural events use it to leave the wilderness before any other lookup.
+     *
+     * @param block The block
+     * @return True if the chunk of the block is claimed
+     */
+    public boolean isClaimedAt(Block block) {
+        if (block == null) return false;
+        return checkIfClaimExists(block.getWorld(), block.getX() >> 4, block.getZ() >> 4);
+    }
+
+    /**
+     * Checks if the chunk of a location is claimed, from the presence bitmaps of its world.
+     *
+     * @param location The location
+     * @return True if the chunk of the location is claimed
+     */
+    public boolean isClaimedAt(Location location) {
+        if (location == null) return false;
+        return checkIfClaimExists(location.getWorld(), location.getBlockX() >> 4, location.getBlockZ() >> 4);
+    }
+
+    /**
+     * Adds a chunk of a claim to the index of its world.
+     *
+     * @param chunk The claimed chunk
+     * @param claim The claim owning the chunk
+     */
+    private void indexChunk(Chunk chunk, Claim claim) {
+        claimIndexes.computeIfAbsent(chunk.getWorld().getUID(), k -> new ClaimIndex()).put(chunk.getX(), chunk.getZ(), claim);
+    }
+
+    /**
+     * Removes a chunk from the index of its world.
+     *
+     * @param chunk The chunk to remove
+     */
+    private void unindexChunk(Chunk chunk) {
+        ClaimIndex index = claimIndexes.get(chunk.getWorld().getUID());
+        if (index != null) index.remove(chunk.getX(), chunk.getZ());
+    }
+
+    /**
+     * Adds every chunk of a claim to the index of its world.
+     *
+     * @param claim The claim to index
+     */
+    private void indexClaim(Claim claim) {
+        if (claim.getWorldId() == null) return;
+        ClaimIndex index = claimIndexes.computeIfAbsent(claim.getWorldId(), k -> new ClaimIndex());
+        for (long key : claim.getChunkKeys()) {
+            index.put(ClaimIndex.keyX(key), ClaimIndex.keyZ(key), claim);
+        }
+    }
+
+    /**
+     * Removes every chunk of a claim from the index of its world.
+     *
+     * @param claim The claim to remove
+     */
+    private void unindexClaim(Claim claim) {
+        if (claim.getWorldId() == null) return;
+        ClaimIndex index = claimIndexes.get(claim.getWorldId());
+        if (index == null) return;
+        for (long key : claim.getChunkKeys()) {
+            index.remove(ClaimIndex.keyX(key), ClaimIndex.keyZ(key));
+        }
+    }
+
+    /**
+     * Gets a stream of all indexed claims, each claim appearing once.
+     *
+     * @return A stream of claims
+     */
+    private Stream<Claim> indexedClaims() {
+        Set<Claim> claims = Collections.newSetFromMap(new IdentityHashMap<>());
+        claimIndexes.values().forEach(index -> claims.addAll(index.getClaims()));
+        return claims.stream();
     }
 
     /**
@@ -450,23 +603,34 @@ public class ClaimMain {
      * @return A set of chunks
      */
     public CustomSet<Chunk> getAllChunksFromAllClaims(String owner) {
-        return listClaims.entrySet()
-                .stream()
-                .filter(entry -> entry.getValue().getOwner().equals(owner))
-                .map(Map.Entry::getKey)
+        return indexedClaims()
+                .filter(claim -> claim.getOwner().equals(owner))
+                .flatMap(claim -> claim.getChunks().stream())
                 .collect(Collectors.toCollection(CustomSet::new));
     }
 
+    /**
+     * Gets the number of chunks of all claims of a player, without creating chunk objects
+     *
+     * @param owner The name of the owner of claims
+     * @return The number of chunks
+     */
+    public int getAllChunksCountFromAllClaims(String owner) {
+        return indexedClaims()
+                .filter(claim -> claim.getOwner().equals(owner))
+                .mapToInt(Claim::getChunkCount)
+                .sum();
+    }
+
     /**
      * Gets all chunks of all protected areas
      *
      * @return A set of chunks
      */
     public CustomSet<Chunk> getAllChunksFromAllProtectedAreas() {
-        return listClaims.entrySet()
-                .stream()
-                .filter(entry -> entry.getValue().getUUID().equals(SERVER_UUID))
-                .map(Map.Entry::getKey)
+        return indexedClaims()
+                .filter(claim -> claim.getUUID().equals(SERVER_UUID))
+                .flatMap(claim -> claim.getChunks().stream())
                 .collect(Collectors.toCollection(CustomSet::new));
     }
 
@@ -477,8 +641,7 @@ public class ClaimMain {
      * @return A set of claims in sale
      */
     public CustomSet<Claim> getClaimsInSale(String owner) {
-        return listClaims.values()
-                .stream()
+        return indexedClaims()
                 .filter(claim -> claim.getOwner().equals(owner) && claim.getSale())
                 .collect(Collectors.toCollection(CustomSet::new));
     }
@@ -490,8 +653,7 @@ public class ClaimMain {
      * @return A list of claims belonging to the specified owner.
      */
     public CustomSet<Claim> getPlayerClaims(String owner) {
-        return listClaims.values()
-                .stream()
+        return indexedClaims()
                 .filter(claim -> claim.getOwner().equalsIgnoreCase(owner))
                 .collect(Collectors.toCollection(CustomSet::new));
     }
@@ -523,8 +685,7 @@ public class ClaimMain {
      * @return the claim, or null if no claim exists for the chunk
      */
     public Claim getClaimFromChunk(Chunk chunk) {
-        if (chunk == null) return null;
-        return listClaims.get(chunk);
+        return getClaim(chunk);
     }
 
     /**
@@ -534,9 +695,14 @@ public class ClaimMain {
      * @return the set of chunk information strings, or an empty set if no chunks are present
      */
     public CustomSet<String> getStringChunkFromClaim(Claim claim) {
-        return claim.getChunks().stream()
-                .map(chunk -> chunk.getWorld().getName() + ";" + chunk.getX() + ";" + chunk.getZ())
-                .collect(Collectors.toCollection(CustomSet::new));
+        CustomSet<String> result = new CustomSet<>();
+        World world = claim.getWorld();
+        if (world == null) return result;
+        String worldName = world.getName();
+        for (long key : claim.getChunkKeys()) {
+            result.add(worldName + ";" + ClaimIndex.keyX(key) + ";" + ClaimIndex.keyZ(key));
+        }
+        return result;
     }
 
     /**
@@ -546,7 +712,49 @@ public class ClaimMain {
      * @return the number of claims the player has
      */
     public int getPlayerClaimsCount(UUID targetUUID) {
-        return playerClaims.getOrDefault(targetUUID, new CustomSet<>()).size();
+        return playerClaims.getOrDefault(targetUUID, new CustomSet<>()).size() + getUnloadedClaims(targetUUID)[0];
+    }
+
+    /**
+     * Gets the number and the highest id of the claims an owner has in the worlds not loaded.
+     *
+     * @param owner the uuid of the owner
+     * @return the number of claims and the highest id (-1 if none)
+     */
+    private int[] getUnloadedClaims(UUID owner) {
+        int[] total = {0, -1};
+        for (Map<UUID, UnloadedClaims> world : unloadedWorldClaims.values()) {
+            UnloadedClaims stats = world.get(owner);
+            if (stats == null) continue;
+            total[0] += stats.count;
+            total[1] = Math.max(total[1], stats.maxId);
+        }
+        return total;
+    }
+
+    /**
+     * Checks if an owner has a claim with the given name in a world not loaded.
+     *
+     * @param owner the uuid of the owner
+     * @param name the name of the claim
+     * @return true if the name is used in a world not loaded
+     */
+    private boolean isUnloadedClaimName(UUID owner, String name) {
+        String lowerName = name.toLowerCase();
+        for (Map<UUID, UnloadedClaims> world : unloadedWorldClaims.values()) {
+            UnloadedClaims stats = world.get(owner);
+            if (stats != null && stats.names.contains(lowerName)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Gets the names of the worlds whose claims are loaded.
+     *
+     * @return the names of the worlds
+     */
+    public Set<String> getClaimWorlds() {
+        return claimWorlds;
     }
 
     /**
@@ -584,7 +792,8 @@ public class ClaimMain {
      * @return a set of all claimed chunks
      */
     public CustomSet<Chunk> getAllClaimsChunk() {
-        return listClaims.keySet().stream()
+        return indexedClaims()
+                .flatMap(claim -> claim.getChunks().stream())
                 .collect(Collectors.toCollection(CustomSet::new));
     }
 
@@ -594,7 +803,7 @@ public class ClaimMain {
      * @return a set of all claims
      */
     public CustomSet<Claim> getAllClaims() {
-        return listClaims.values().stream()
+        return indexedClaims()
                 .collect(Collectors.toCollection(CustomSet::new));
     }
 
@@ -604,7 +813,7 @@ public class ClaimMain {
      * @return an integer of the total claims count
      */
     public int getAllClaimsCount() {
-        return listClaims.values().size();
+        return claimIndexes.values().stream().mapToInt(ClaimIndex::size).sum();
     }
 
     /**
@@ -623,7 +832,7 @@ public class ClaimMain {
      * @return a set of all members of the owner's claims
      */
     public CustomSet<String> getAllMembersOfAllPlayerClaim(String owner) {
-        return listClaims.values().stream()
+        return indexedClaims()
                 .filter(claim -> claim.getOwner().equals(owner))
                 .flatMap(claim -> claim.getMembers().stream())
                 .map(uuid -> instance.getPlayerMain().getPlayerName(uuid))
@@ -699,9 +908,8 @@ public class ClaimMain {
     public CustomSet<Claim> getClaimsWhereMemberNotOwner(Player player) {
         UUID playerId = player.getUniqueId();
         String playerName = player.getName();
-        return listClaims.entrySet().stream()
-                .filter(entry -> !entry.getValue().getOwner().equals(playerName) && entry.getValue().getMembers().contains(playerId))
-                .map(Map.Entry::getValue)
+        return indexedClaims()
+                .filter(claim -> !claim.getOwner().equals(playerName) && claim.getMembers().contains(playerId))
                 .collect(Collectors.toCollection(CustomSet::new));
     }
 
@@ -712,16 +920,16 @@ public class ClaimMain {
      * @return a set of claim names owned by the owner
      */
     public CustomSet<String> getClaimsNameFromOwner(String owner) {
-        return listClaims.entrySet().stream()
-                .filter(entry -> entry.getValue().getOwner().equalsIgnoreCase(owner))
-                .map(entry -> entry.getValue().getName())
+        return indexedClaims()
+                .filter(claim -> claim.getOwner().equalsIgnoreCase(owner))
+                .map(Claim::getName)
                 .collect(Collectors.toCollection(CustomSet::new));
     }
 
     public CustomSet<String> getClaimsNameFromOwner(UUID uuid) {
-        return listClaims.entrySet().stream()
-                .filter(entry -> entry.getValue().getUUID().equals(uuid))
-                .map(entry -> entry.getValue().getName())
+        return indexedClaims()
+                .filter(claim -> claim.getUUID().equals(uuid))
+                .map(Claim::getName)
                 .collect(Collectors.toCollection(CustomSet::new));
     }
 
@@ -732,9 +940,9 @@ public class ClaimMain {
      * @return a set of claim names in sale owned by the owner
      */
     public CustomSet<String> getClaimsNameInSaleFromOwner(String owner) {
-        return listClaims.entrySet().stream()
-                .filter(entry -> entry.getValue().getOwner().equalsIgnoreCase(owner) && entry.getValue().getSale())
-                .map(entry -> entry.getValue().getName())
+        return indexedClaims()
+                .filter(claim -> claim.getOwner().equalsIgnoreCase(owner) && claim.getSale())
+                .map(Claim::getName)
                 .collect(Collectors.toCollection(CustomSet::new));
     }
 
@@ -745,7 +953,7 @@ public class ClaimMain {
      * @return a list of all members in claim chat mode for the player
      */
     public List<String> getAllMembersWithPlayerParallel(String playerName) {
-        return listClaims.values().stream()
+        return indexedClaims()
                 .filter(claim -> claim.getMembers().contains(instance.getPlayerMain().getPlayerUUID(playerName)))
                 .flatMap(claim -> claim.getMembers().stream())
                 .map(uuid -> instance.getPlayerMain().getPlayerName(uuid))
@@ -821,6 +1029,46 @@ public class ClaimMain {
         return false;
     }
 
+    /**
+     * Checks if at least one chunk of the claim is adjacent to the specified chunk.
+     *
+     * @param claim The claim to check.
+     * @param targetChunk The chunk to check adjacency against.
+     * @return true if at least one chunk of the claim is adjacent to the target chunk, false otherwise.
+     */
+    public boolean isAnyChunkAdjacent(Claim claim, Chunk targetChunk) {
+        if (!targetChunk.getWorld().getUID().equals(claim.getWorldId())) return false;
+        int x = targetChunk.getX();
+        int z = targetChunk.getZ();
+        return claim.containsChunk(x + 1, z) || claim.containsChunk(x - 1, z)
+                || claim.containsChunk(x, z + 1) || claim.containsChunk(x, z - 1);
+    }
+
+    /**
+     * Checks if at least one chunk of the first claim is adjacent to a chunk of the second claim.
+     *
+     * @param claim1 The first claim.
+     * @param claim2 The second claim.
+     * @return true if the claims touch each other, false otherwise.
+     */
+    public boolean isAnyChunkAdjacentBetweenClaims(Claim claim1, Claim claim2) {
+        if (claim1.getWorldId() == null || !claim1.getWorldId().equals(claim2.getWorldId())) return false;
+        if (claim1.getChunkCount() > claim2.getChunkCount()) {
+            Claim swap = claim1;
+            claim1 = claim2;
+            claim2 = swap;
+        }
+        for (long key : claim1.getChunkKeys()) {
+            int x = ClaimIndex.keyX(key);
+            int z = ClaimIndex.keyZ(key);
+            if (claim2.containsChunk(x + 1, z) || claim2.containsChunk(x - 1, z)
+                    || claim2.containsChunk(x, z + 1) || claim2.containsChunk(x, z - 1)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Checks if all chunks in a set are adjacent (connected).
      *
@@ -862,6 +1110,47 @@ public class ClaimMain {
         return false;
     }
 
+    /**
+     * Checks if the chunks of a claim stay connected once a chunk is removed.
+     *
+     * @param claim The claim to check.
+     * @param removedChunk The chunk that would be removed.
+     * @return true if the remaining chunks are connected, false otherwise.
+     */
+    public boolean areChunksConnected(Claim claim, Chunk removedChunk) {
+        long[] keys = claim.getChunkKeys();
+        long removed = ClaimIndex.key(removedChunk.getX(), removedChunk.getZ());
+        int remaining = keys.length - (Arrays.binarySearch(keys, removed) >= 0 ? 1 : 0);
+        if (remaining < 2) return true; // 0 or 1 chunk => always connected
+
+        // Perform BFS (Breadth-First Search) over the sorted coordinates
+        boolean[] visited = new boolean[keys.length];
+        int[] queue = new int[keys.length];
+        int head = 0, tail = 0, count = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] == removed) {
+                visited[i] = true;
+            } else if (tail == 0) {
+                visited[i] = true;
+                queue[tail++] = i;
+            }
+        }
+        while (head < tail) {
+            long current = keys[queue[head++]];
+            count++;
+            int x = ClaimIndex.keyX(current), z = ClaimIndex.keyZ(current);
+            long[] neighbours = { ClaimIndex.key(x + 1, z), ClaimIndex.key(x - 1, z), ClaimIndex.key(x, z + 1), ClaimIndex.key(x, z - 1) };
+            for (long neighbour : neighbours) {
+                int j = Arrays.binarySearch(keys, neighbour);
+                if (j >= 0 && !visited[j]) {
+                    visited[j] = true;
+                    queue[tail++] = j;
+                }
+            }
+        }
+        return count == remaining;
+    }
+
     /**
      * Checks if at least one chunk in the first set is adjacent to any chunk in the second set.
      *
@@ -1016,7 +1305,8 @@ public class ClaimMain {
      */
     public boolean checkName(UUID ownerId, String name) {
         return playerClaims.getOrDefault(ownerId, new CustomSet<>()).stream()
-                .noneMatch(claim -> claim.getName().toLowerCase().equals(name.toLowerCase()));
+                .noneMatch(claim -> claim.getName().toLowerCase().equals(name.toLowerCase()))
+                && !isUnloadedClaimName(ownerId, name);
     }
 
     /**
@@ -1026,7 +1316,7 @@ public class ClaimMain {
      * @return the claim name
      */
     public String getClaimNameByChunk(Chunk chunk) {
-        Claim claim = listClaims.getOrDefault(chunk, null);
+        Claim claim = getClaim(chunk);
         return claim == null ? "" : claim.getName();
     }
 
@@ -1052,11 +1342,25 @@ public class ClaimMain {
      * @return the next available ID
      */
     public int findFreeId(UUID targetUUID) {
-        return playerClaims.getOrDefault(targetUUID, new CustomSet<>())
+        int id = Math.max(playerClaims.getOrDefault(targetUUID, new CustomSet<>())
                 .stream()
                 .mapToInt(Claim::getId)
                 .max()
-                .orElse(-1) + 1;
+                .orElse(-1), getUnloadedClaims(targetUUID)[1]) + 1;
+        return nextFreeId(targetUUID, id);
+    }
+
+    /**
+     * Gets the first ID from the given one whose default name is not used in a world not loaded.
+     *
+     * @param targetUUID The target player uuid
+     * @param id The first ID to check
+     * @return the first available ID from the given one
+     */
+    private int nextFreeId(UUID targetUUID, int id) {
+        // A renamed claim of a world not loaded can hold the default name of this id
+        while (isUnloadedClaimName(targetUUID, "claim-" + id)) id++;
+        return id;
     }
 
     /**
@@ -1065,11 +1369,7 @@ public class ClaimMain {
      * @return the next available ID
      */
     public int findFreeIdProtectedArea() {
-        return playerClaims.getOrDefault(SERVER_UUID, new CustomSet<>())
-                .stream()
-                .mapToInt(Claim::getId)
-                .max()
-                .orElse(-1) + 1;
+        return findFreeId(SERVER_UUID);
     }
 
     /**
@@ -1522,171 +1822,6 @@ public class ClaimMain {
         }
     }
 
-    /**
-     * Imports the claims from XClaims
-     */
-    public void importFromXClaims(CommandSender sender) {
-        instance.executeAsync(() -> {
-            File file = new File("plugins/SimpleClaimSystem/xclaims.yml");
-            int[] i = {0};
-
-            FileConfiguration config = YamlConfiguration.loadConfiguration(file);
-
-            Set<String> claimKeys = config.getKeys(false);
-
-            for (String key : claimKeys) {
-                String claim_name = config.getString(key + ".name").replace(" ", "_");
-                String owner = config.getString(key + ".owner");
-                UUID uuid_owner = UUID.fromString(owner);
-                String owner_name = Bukkit.getOfflinePlayer(uuid_owner).getName();
-                int id = findFreeId(uuid_owner);
-                String world_name = config.getString(key + ".world");
-                World world = Bukkit.getWorld(world_name);
-
-                if (world == null) {
-                    File dir = new File(Bukkit.getWorldContainer(), world_name);
-                    boolean hasLevelDat = new File(dir, "level.dat").isFile();
-
-                    if (hasLevelDat) {
-                        instance.getLogger().warning("XClaims import skipped: world is unloaded (exists on disk): " + world_name + " (claimKey=" + key + ")");
-                    } else {
-                        instance.getLogger().warning("XClaims import skipped: world data not found on disk: " + world_name + " (claimKey=" + key + ")");
-                    }
-                    continue;
-                }
-
-                ConfigurationSection userSection = config.getConfigurationSection(key + ".users");
-                Set<String> list_users = userSection.getKeys(false);
-                list_users.add(owner_name);
-                String users = String.join(";", list_users);
-                ConfigurationSection chunkSection = config.getConfigurationSection(key + ".chunks");
-                Set<Chunk> chunks = ConcurrentHashMap.newKeySet();
-
-                Runnable task = () -> {
-
-                    Location loc = getCenterLocationOfChunk(chunks.iterator().next());
-                    String chunksData = serializeChunks(chunks);
-                    try (Connection connection = instance.getDataSource().getConnection();
-                         PreparedStatement stmt = connection.prepareStatement(
-                                 "INSERT INTO scs_claims_1 (id_claim, owner_uuid, owner_name, claim_name, claim_description, chunks, world_name, location, members, permissions) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
-                        stmt.setInt(1, id);
-                        stmt.setString(2, owner);
-                        stmt.setString(3, owner_name);
-                        stmt.setString(4, claim_name);
-                        stmt.setString(5, instance.getLanguage().getMessage("default-description"));
-                        stmt.setString(6, chunksData);
-                        stmt.setString(7, world_name);
-                        stmt.setString(8, getLocationString(loc));
-                        stmt.setString(9, users);
-                        stmt.setString(10, instance.getSettings().getDefaultValuesCode("all"));
-                        stmt.executeUpdate();
-                        i[0]++;
-                    } catch (SQLException e) {
-                        e.printStackTrace();
-                    }
-                };
-
-                List<CompletableFuture<Void>> futures = new ArrayList<>();
-                for (String chunkId : chunkSection.getKeys(false)) {
-                    int x = chunkSection.getInt(chunkId + ".x");
-                    int z = chunkSection.getInt(chunkId + ".z");
-                    CompletableFuture<Void> future;
-                    if (instance.isFolia()) {
-                        future = world.getChunkAtAsync(x, z).thenAccept(chunk -> {
-                            synchronized (chunks) {
-                                chunks.add(chunk);
-                            }
-                        }).exceptionally(ex -> {
-                            ex.printStackTrace();
-                            return null;
-                        });
-                    } else {
-                        Chunk chunk = world.getChunkAt(x, z);
-                        chunks.add(chunk);
-                        future = CompletableFuture.completedFuture(null);
-                    }
-                    futures.add(future);
-                }
-
-                CompletableFuture<Void> allOf = CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
-                allOf.thenRun(() -> instance.executeSync(task))
-                .exceptionally(ex -> {
-                    ex.printStackTrace();
-                    return null;
-                });
-            }
-
-            instance.executeSync(() -> {
-                sender.sendMessage(getNumberSeparate(String.valueOf(i[0]))+" imported claims, reloading..");
-                Bukkit.dispatchCommand(sender, "scs reload");
-            });
-        });
-    }
-
-    /**
-     * Imports the claims from GriefPrevention
-     */
-    public void importFromGriefPrevention(CommandSender sender) {
-        instance.executeAsync(() -> {
-            int[] i = {0};
-            for (me.ryanhamshire.GriefPrevention.Claim claim : GriefPrevention.instance.dataStore.getClaims()) {
-                // Get data of the claim
-                Set<Chunk> chunks = new CustomSet<>(claim.getChunks());
-                String owner = claim.getOwnerName();
-                UUID trueUUID = claim.getOwnerID();
-                if(trueUUID == null) continue;
-                String uuid = trueUUID.toString();
-                int id = findFreeId(trueUUID);
-                String claim_name = "claim-"+ String.valueOf(id);
-
-                // Check if the chunks are in the same world, even skip
-                if(!instance.getMain().areChunksInSameWorld(chunks)) continue;
-
-                // Check if one of the chunk is not already taken by an other claim, even skip
-                boolean check = false;
-                Chunk last_chunk = null;
-                for(Chunk c : chunks) {
-                    last_chunk = c;
-                    if(listClaims.containsKey(c)) {
-                        check = true;
-                    }
-                }
-                if(check) continue;
-
-                // Check if the selected chunk is not null, even get chunk data
-                if(last_chunk == null);
-                Location loc = getCenterLocationOfChunk(last_chunk);
-                String world = last_chunk.getWorld().getName();
-
-                String chunksData = serializeChunks(chunks);
-
-                // Update database
-                try (Connection connection = instance.getDataSource().getConnection();
-                     PreparedStatement stmt = connection.prepareStatement(
-                             "INSERT INTO scs_claims_1 (id_claim, owner_uuid, owner_name, claim_name, claim_description, chunks, world_name, location, members, permissions) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
-                    stmt.setInt(1, id);
-                    stmt.setString(2, uuid);
-                    stmt.setString(3, owner);
-                    stmt.setString(4, claim_name);
-                    stmt.setString(5, instance.getLanguage().getMessage("default-description"));
-                    stmt.setString(6, chunksData);
-                    stmt.setString(7, world);
-                    stmt.setString(8, getLocationString(loc));
-                    stmt.setString(9, owner);
-                    stmt.setString(10, instance.getSettings().getDefaultValuesCode("all"));
-                    stmt.executeUpdate();
-                    i[0]++;
-                } catch (SQLException e) {
-                    e.printStackTrace();
-                }
-            }
-            instance.executeSync(() -> {
-                sender.sendMessage(getNumberSeparate(String.valueOf(i[0]))+" imported claims, reloading..");
-                Bukkit.dispatchCommand(sender, "scs reload");
-            });
-        });
-    }
-
     /**
      * Transfers local claims database to a distant database.
      */
@@ -1786,25 +1921,45 @@ public class ClaimMain {
     }
 
     /**
-     * Serializes a set of chunks into a Base64 encoded string.
+     * Serializes a set of chunks into the storage format.
      *
      * @param chunks The set of chunks to serialize.
-     * @return A Base64 encoded string representing the serialized chunks, or null if an error occurs.
+     * @return The encoded chunks (see {@link ClaimCodec}).
      */
     private String serializeChunks(Set<Chunk> chunks) {
-        try (ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
-             ObjectOutputStream objectOutputStream = new ObjectOutputStream(byteArrayOutputStream)) {
-            for (Chunk chunk : chunks) {
-                objectOutputStream.writeInt(chunk.getX());
-                objectOutputStream.writeInt(chunk.getZ());
-            }
-            objectOutputStream.flush();
-            String encoded = Base64.getEncoder().encodeToString(byteArrayOutputStream.toByteArray());
-            return encoded;
-        } catch (Exception e) {
-            e.printStackTrace();
-            return null;
+        long[] keys = new long[chunks.size()];
+        int i = 0;
+        for (Chunk chunk : chunks) {
+            keys[i++] = ClaimIndex.key(chunk.getX(), chunk.getZ());
         }
+        return serializeChunks(keys);
+    }
+
+    /**
+     * Deserializes stored chunks (current or legacy format) into packed
+     * chunk coordinates, without loading any chunk.
+     * <p>
+     * A corrupted value is logged and gives null: the claim must then be skipped,
+     * as loading it without chunks would overwrite the stored chunks on its next save.
+     *
+     * @param chunksData The encoded chunks.
+     * @param id The id of the claim, for the log.
+     * @return The packed chunk coordinates, or null if the value is corrupted.
+     */
+    private long[] deserializeChunks(String chunksData, int id) {
+        long[] chunks = ClaimCodec.decodeChunksOrNull(chunksData);
+        if (chunks == null) instance.getLogger().warning("Corrupted chunks, claim not loaded, id claim: " + String.valueOf(id));
+        return chunks;
+    }
+
+    /**
+     * Serializes packed chunk coordinates into the storage format.
+     *
+     * @param keys The packed chunk coordinates to serialize.
+     * @return The encoded chunks (see {@link ClaimCodec}).
+     */
+    private String serializeChunks(long[] keys) {
+        return ClaimCodec.encodeChunks(keys);
     }
 
     /**
@@ -1872,7 +2027,9 @@ public class ClaimMain {
                         // Members data
                         String s_members = resultSet.getString("members");
                         CustomSet<UUID> members = new CustomSet<>();
-                        if (!s_members.isBlank()) {
+                        if (ClaimCodec.isEncoded(s_members)) {
+                            ClaimCodec.decodeUuids(s_members, members);
+                        } else if (!s_members.isBlank()) {
                             parts = s_members.split(";");
                             for (String m : parts) {
                                 UUID uuid = null;
@@ -1889,7 +2046,9 @@ public class ClaimMain {
                         // Banned players data
                         String s_bans = resultSet.getString("bans");
                         CustomSet<UUID> bans = new CustomSet<>();
-                        if (!s_bans.isBlank()) {
+                        if (ClaimCodec.isEncoded(s_bans)) {
+                            ClaimCodec.decodeUuids(s_bans, bans);
+                        } else if (!s_bans.isBlank()) {
                             parts = s_bans.split(";");
                             for (String m : parts) {
                                 UUID uuid = null;
@@ -1904,14 +2063,8 @@ public class ClaimMain {
                         }
 
                         if(isToUpdate[0]) {
-                            String members_new = members.stream()
-                                    .map(UUID::toString)
-                                    .collect(Collectors.joining(";"));
-                            preparedStatement2.setString(1, members_new);
-                            String bans_new = bans.stream()
-                                    .map(UUID::toString)
-                                    .collect(Collectors.joining(";"));
-                            preparedStatement2.setString(2, bans_new);
+                            preparedStatement2.setString(1, ClaimCodec.encodeUuids(members));
+                            preparedStatement2.setString(2, ClaimCodec.encodeUuids(bans));
                             preparedStatement2.setInt(3, id);
                             preparedStatement2.addBatch();
                             batchCount2++;
@@ -1986,6 +2139,14 @@ public class ClaimMain {
                         preparedStatement.executeBatch();
                         connection.commit(); // Commit transaction
                     }
+
+                    // Invalidate the startup snapshot if something was rewritten
+                    if (batchCount > 0 || batchCount2 > 0) {
+                        try (Statement stmt = connection.createStatement()) {
+                            stmt.executeUpdate(ClaimSnapshot.BUMP_VERSION);
+                        }
+                        connection.commit();
+                    }
                 }
             } catch (SQLException e) {
                 connection.rollback(); // Rollback transaction in case of error
@@ -1995,215 +2156,636 @@ public class ClaimMain {
             e.printStackTrace();
         }
 
-        int[] i = {0};
         int max_i = 0;
         int protected_areas_count = 0;
-        Map<String,String> owners = new HashMap<>();
+        List<Claim> loadedClaims = new ArrayList<>();
+        AtomicLong decodeTime = new AtomicLong();
+        long indexTime = 0;
+        long loadStart = System.nanoTime();
+
+        // Synchronize the normalized tables with the setting (writer), then load (readers)
         try (Connection connection = instance.getDataSource().getConnection()) {
-            String getQuery = "SELECT * FROM scs_claims_1";
-            try (PreparedStatement preparedStatement = connection.prepareStatement(getQuery)) {
-                try (ResultSet resultSet = preparedStatement.executeQuery()) {
-                    while (resultSet.next()) {
-                        max_i++;
+            instance.getClaimTables().synchronize(connection);
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
 
-                        // General data
-                        String uuid_string = resultSet.getString("owner_uuid");
-                        UUID uuid_owner = (uuid_string.equals("none") || uuid_string.equals("aucun")) ? SERVER_UUID : UUID.fromString(uuid_string);
-                        String permissions = resultSet.getString("permissions");
-                        String name = resultSet.getString("claim_name");
-                        String description = resultSet.getString("claim_description");
-                        int id = resultSet.getInt("id_claim");
-                        String owner = resultSet.getString("owner_name");
-                        if (uuid_owner.equals(SERVER_UUID)) protected_areas_count++;
-
-                        // World data
-                        String world_name = resultSet.getString("world_name");
-                        World world = Bukkit.getWorld(world_name);
-                        if (world == null) {
-                            // ✅ 언로드/존재여부 판단(폴더 존재 = 언로드로 간주, 폴더도 없으면 진짜 없음 가능성)
-                            File wc = Bukkit.getWorldContainer();
-                            File dir = new File(wc, world_name);
-                            boolean hasLevelDat = new File(dir, "level.dat").isFile();
-
-                            if (hasLevelDat) {
-                                instance.info("World is unloaded (exists on disk). Skipping claim load: " + world_name + " (id_claim=" + id + ")");
-                            } else {
-                                instance.info("World data not found on disk. Skipping claim load: " + world_name + " (id_claim=" + id + ")");
-                            }
-                            continue;
-                        }
+        // Changes from the other servers are polled from here
+        if (instance.getClaimSync().isEnabled()) {
+            try (Connection connection = instance.getReadDataSource().getConnection()) {
+                instance.getClaimSync().init(connection);
+            } catch (SQLException e) {
+                e.printStackTrace();
+            }
+        }
 
+        // Only the loaded worlds, the others are loaded with their world (see ClaimWorldEvents)
+        List<String> loadedWorlds = Bukkit.getWorlds().stream().map(World::getName).toList();
+        int unloaded_count = 0;
+        try (Connection connection = instance.getReadDataSource().getConnection()) {
+            unloaded_count = loadUnloadedWorldClaims(connection, loadedWorlds);
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
 
-                        // Location data
-                        String[] parts = resultSet.getString("location").split(";");
-                        double L_X = Double.parseDouble(parts[0]);
-                        double L_Y = Double.parseDouble(parts[1]);
-                        double L_Z = Double.parseDouble(parts[2]);
-                        float L_Yaw = (float) Double.parseDouble(parts[3]);
-                        float L_Pitch = (float) Double.parseDouble(parts[4]);
-                        Location location = new Location(world, L_X, L_Y, L_Z, L_Yaw, L_Pitch);
+        // Startup snapshot, used if the database did not change since it was written
+        List<Claim> snapshot = null;
+        if (instance.getSnapshot().isEnabled()) {
+            try (Connection connection = instance.getReadDataSource().getConnection()) {
+                long[] state = instance.getSnapshot().getDatabaseState(connection);
+                snapshot = instance.getSnapshot().load(state, loadedWorlds);
+                if (snapshot != null) max_i = (int) state[1] - unloaded_count;
+            } catch (SQLException e) {
+                e.printStackTrace();
+            }
+        }
 
-                        // Members data
-                        String s_members = resultSet.getString("members");
-                        CustomSet<UUID> members = new CustomSet<>();
-                        if (!s_members.isBlank()) {
-                            parts = s_members.split(";");
-                            for (String m : parts) {
-                                UUID uuid = null;
-                                try {
-                                    uuid = UUID.fromString(m);
-                                } catch (IllegalArgumentException e) {
-                                    instance.info("Error when loading uuid, id claim: " + String.valueOf(id) + ", uuid: " + m);
-                                    continue;
-                                }
-                                members.add(uuid);
-                            }
+        int workers = Runtime.getRuntime().availableProcessors();
+        if (snapshot != null) {
+            long stageStart = System.nanoTime();
+            for (Claim claim : snapshot) {
+                indexClaim(claim);
+                playerClaims.computeIfAbsent(claim.getUUID(), k -> new CustomSet<>()).add(claim);
+                if (claim.getUUID().equals(SERVER_UUID)) protected_areas_count++;
+                loadedClaims.add(claim);
+            }
+            indexTime = System.nanoTime() - stageStart;
+        } else {
+            // Decode workers, the reader decodes the batch itself when they are all busy
+            ThreadPoolExecutor decoders = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(workers * 2), r -> {
+                        Thread thread = new Thread(r, "SimpleClaimSystem-Loader");
+                        thread.setDaemon(true);
+                        return thread;
+                    }, new ThreadPoolExecutor.CallerRunsPolicy());
+            ArrayDeque<Future<List<Claim>>> decoding = new ArrayDeque<>();
+            try (Connection connection = instance.getReadDataSource().getConnection()) {
+
+                // Normalized members, bans and chunks
+                Map<Integer, ClaimTables.Rows> normalized = null;
+                if (instance.getClaimTables().isEnabled()) {
+                    try {
+                        normalized = instance.getClaimTables().load(connection, loadedWorlds);
+                    } catch (SQLException e) {
+                        e.printStackTrace();
+                    }
+                }
+                Map<Integer, ClaimTables.Rows> normalizedRows = normalized;
+
+                // Stream the rows instead of buffering the whole table
+                try (Repository.Query query = instance.getClaimRepository().selectClaims(connection, loadedWorlds)) {
+                    ResultSet resultSet = query.getResultSet();
+                    Map<String, World> worlds = new HashMap<>();
+                    List<ClaimRow> batch = new ArrayList<>(LOAD_BATCH_SIZE);
+                    while (query.next()) {
+                        max_i++;
+                        ClaimRow row = readClaimRow(resultSet, worlds, normalizedRows);
+                        if (row == null) continue;
+                        if (row.ownerId.equals(SERVER_UUID)) protected_areas_count++;
+                        batch.add(row);
+
+                        if (batch.size() == LOAD_BATCH_SIZE) {
+                            List<ClaimRow> toDecode = batch;
+                            decoding.add(decoders.submit(() -> decodeClaimRows(toDecode, decodeTime)));
+                            batch = new ArrayList<>(LOAD_BATCH_SIZE);
+                            indexTime += publishClaims(decoding, false, loadedClaims);
                         }
+                    }
+                    if (!batch.isEmpty()) {
+                        List<ClaimRow> toDecode = batch;
+                        decoding.add(decoders.submit(() -> decodeClaimRows(toDecode, decodeTime)));
+                    }
+                } catch (SQLException e) {
+                    e.printStackTrace();
+                }
+                indexTime += publishClaims(decoding, true, loadedClaims);
 
-                        // Banned players data
-                        String s_bans = resultSet.getString("bans");
-                        CustomSet<UUID> bans = new CustomSet<>();
-                        if (!s_bans.isBlank()) {
-                            parts = s_bans.split(";");
-                            for (String m : parts) {
-                                UUID uuid = null;
-                                try {
-                                    uuid = UUID.fromString(m);
-                                } catch (IllegalArgumentException e) {
-                                    instance.info("Error when loading uuid, id claim: " + String.valueOf(id) + ", uuid: " + m);
-                                    continue;
-                                }
-                                bans.add(uuid);
-                            }
-                        }
+            } catch (SQLException e1) {
+                e1.printStackTrace();
+            } finally {
+                decoders.shutdown();
+            }
+        }
 
-                        // Permissions data
-                        Map<String,LinkedHashMap<String, Boolean>> perms = new HashMap<>();
-                        parts = permissions.split(";");
-                        if(parts.length != 3) {
-                            instance.info("Error when loading perms, id claim: " + String.valueOf(id));
-                            continue;
-                        }
-                        Map<String,String> permList = new HashMap<>();
-                        for(String s : parts) {
-                            String[] parts2 = s.split(":");
-                            if(parts2.length != 2) continue;
-                            permList.put(parts2[0], parts2[1]);
-                        }
+        claimWorlds.addAll(loadedWorlds);
+        long queryTime = System.nanoTime() - loadStart - indexTime;
 
-                        for (Map.Entry<String, String> entry : permList.entrySet()) {
-                            String key = entry.getKey();
-                            String perm = entry.getValue();
-                            int count_i = 0;
-                            LinkedHashMap<String, Boolean> perm_value = new LinkedHashMap<>();
-                            for (String perm_key : instance.getSettings().getDefaultValues().get(key).keySet()) {
-                                char currentChar = perm.charAt(count_i);
-                                count_i++;
-                                perm_value.put(perm_key, currentChar == '1');
-                            }
-                            perms.put(key, perm_value);
-                        }
+        // Post-processing (maps and bossbars)
+        long postStart = System.nanoTime();
+        boolean dynmap = instance.getSettings().getBooleanSetting("dynmap");
+        for (Claim claim : loadedClaims) {
+            if (dynmap) instance.getDynmap().createClaimZone(claim);
+            instance.getBossBars().activateBossBar(claim);
+        }
+        long postTime = System.nanoTime() - postStart;
 
-                        // Economy data
-                        boolean sale = resultSet.getBoolean("for_sale");
-                        long price = resultSet.getLong("sale_price");
+        // Keep chunks loaded, in background
+        if (instance.getSettings().getBooleanSetting("keep-chunks-loaded")) keepChunksLoaded(loadedClaims);
 
-                        // Chunks data
-                        String chunksData = resultSet.getString("chunks");
-                        Set<Chunk> chunks = ConcurrentHashMap.newKeySet();
-                        i[0]++;
+        // Convert the remaining legacy rows, in background
+        instance.executeAsync(this::migrateClaimsEncoding);
 
-                        Runnable task = () -> {
-                            Claim claim = new Claim(uuid_owner, new CustomSet<>(chunks), owner, new CustomSet<>(members), location, name, description, new LinkedHashMap<>(perms), sale, price, new CustomSet<>(bans), id);
+        instance.info(getNumberSeparate(String.valueOf(loadedClaims.size()))+"/"+getNumberSeparate(String.valueOf(max_i))+" claims loaded.");
+        instance.info("> including "+getNumberSeparate(String.valueOf(protected_areas_count))+" protected areas.");
+        if (unloaded_count > 0) {
+            instance.info("> "+getNumberSeparate(String.valueOf(unloaded_count))+" claims in "+unloadedWorldClaims.size()+" worlds not loaded, loaded with their world.");
+        }
+        if (snapshot != null) {
+            instance.info("> from snapshot, read: "+TimeUnit.NANOSECONDS.toMillis(queryTime)+"ms, index: "+TimeUnit.NANOSECONDS.toMillis(indexTime)
+                    +"ms, post-processing: "+TimeUnit.NANOSECONDS.toMillis(postTime)+"ms.");
+        } else {
+            instance.info("> read: "+TimeUnit.NANOSECONDS.toMillis(queryTime)+"ms, decode: "+TimeUnit.NANOSECONDS.toMillis(decodeTime.get())
+                    +"ms on "+workers+" workers, index: "+TimeUnit.NANOSECONDS.toMillis(indexTime)+"ms, post-processing: "+TimeUnit.NANOSECONDS.toMillis(postTime)+"ms.");
+        }
+        return;
+    }
 
-                            // Add chunks
-                            chunks.forEach(c -> listClaims.put(c, claim));
+    /**
+     * Counts the claims of each owner in the worlds not loaded, so claim limits, new
+     * claim ids and claim names take them into account.
+     *
+     * @param connection The connection to the database
+     * @param loadedWorlds The names of the loaded worlds
+     * @return The number of claims in the worlds not loaded
+     * @throws SQLException If the query fails
+     */
+    private int loadUnloadedWorldClaims(Connection connection, Collection<String> loadedWorlds) throws SQLException {
+        int count = 0;
+        try (Repository.Query query = instance.getClaimRepository().selectClaimKeys(connection)) {
+            ResultSet resultSet = query.getResultSet();
+            while (query.next()) {
+                String world_name = resultSet.getString(1);
+                if (loadedWorlds.contains(world_name)) continue;
+                String uuid_string = resultSet.getString(2);
+                UUID owner;
+                try {
+                    owner = (uuid_string.equals("none") || uuid_string.equals("aucun")) ? SERVER_UUID : UUID.fromString(uuid_string);
+                } catch (IllegalArgumentException e) {
+                    continue;
+                }
+                unloadedWorldClaims.computeIfAbsent(world_name, k -> new ConcurrentHashMap<>())
+                        .computeIfAbsent(owner, k -> new UnloadedClaims())
+                        .add(resultSet.getInt(3), resultSet.getString(4));
+                count++;
+            }
+        }
+        return count;
+    }
 
-                            // Dynmap
-                            if (instance.getSettings().getBooleanSetting("dynmap")) instance.getDynmap().createClaimZone(claim);
+    /**
+     * Releases the claims of a world being unloaded: bossbars, map markers, index and owner sets.
+     * Their number, highest id and names are kept by owner until the world is loaded again.
+     *
+     * @param world The world being unloaded
+     */
+    public void unloadClaimsForWorld(World world) {
+        claimWorlds.remove(world.getName());
+        Map<UUID, UnloadedClaims> unloaded = new ConcurrentHashMap<>();
+        ClaimIndex index = claimIndexes.get(world.getUID());
+        if (index != null) {
+            for (Claim claim : index.getClaims()) {
+                removeLoadedClaim(claim);
+                unloaded.computeIfAbsent(claim.getUUID(), k -> new UnloadedClaims()).add(claim.getId(), claim.getName());
+            }
+        }
+        claimIndexes.remove(world.getUID());
+        unloadedWorldClaims.put(world.getName(), unloaded);
+    }
 
-                            // Keep chunks loaded
-                            if (instance.getSettings().getBooleanSetting("keep-chunks-loaded")) {
-                                if (instance.isFolia()) {
-                                    chunks.forEach(c -> Bukkit.getRegionScheduler().execute(instance, world, c.getX(), c.getZ(), () -> c.setForceLoaded(true)));
-                                } else {
-                                    List<CompletableFuture<Void>> keepLoadedFutures = chunks.stream()
-                                            .map(chunk -> CompletableFuture.runAsync(() -> {
-                                                Bukkit.getScheduler().callSyncMethod(instance, (Callable<Void>) () -> {
-                                                    chunk.setForceLoaded(true);
-                                                    return null;
-                                                });
-                                            }))
-                                            .collect(Collectors.toList());
-
-                                    CompletableFuture<Void> allKeptLoaded = CompletableFuture.allOf(keepLoadedFutures.toArray(new CompletableFuture[0]));
-                                    allKeptLoaded.join();
-                                }
-                            }
+    /**
+     * Reads the claim row at the cursor, without decoding it.
+     *
+     * @param resultSet The result set, on a row of scs_claims_1
+     * @param worlds The worlds already resolved, by name
+     * @param normalizedRows The normalized members, bans and chunks, or null
+     * @return The claim row, or null if its world is not loaded
+     * @throws SQLException If a column cannot be read
+     */
+    private ClaimRow readClaimRow(ResultSet resultSet, Map<String, World> worlds, Map<Integer, ClaimTables.Rows> normalizedRows) throws SQLException {
+        // World data
+        String world_name = resultSet.getString("world_name");
+        World world = worlds.containsKey(world_name) ? worlds.get(world_name) : Bukkit.getWorld(world_name);
+        worlds.put(world_name, world);
+        if (world == null) return null;
+
+        // General data
+        ClaimRow row = new ClaimRow();
+        row.rowId = resultSet.getInt("id");
+        String uuid_string = resultSet.getString("owner_uuid");
+        row.ownerId = (uuid_string.equals("none") || uuid_string.equals("aucun")) ? SERVER_UUID : UUID.fromString(uuid_string);
+        row.id = resultSet.getInt("id_claim");
+        row.owner = resultSet.getString("owner_name");
+        row.world = world;
+
+        // Raw data, decoded by the workers
+        row.name = resultSet.getString("claim_name");
+        row.description = resultSet.getString("claim_description");
+        row.location = resultSet.getString("location");
+        row.permissions = resultSet.getString("permissions");
+        row.sale = resultSet.getBoolean("for_sale");
+        row.price = resultSet.getLong("sale_price");
+        ClaimTables.Rows rows = normalizedRows == null ? null : normalizedRows.get(row.rowId);
+        if (rows == null) {
+            row.members = resultSet.getString("members");
+            row.bans = resultSet.getString("bans");
+            row.chunks = resultSet.getString("chunks");
+        } else {
+            row.normalized = rows;
+        }
+        return row;
+    }
 
-                            // Add claim to owner
-                            if (owner != null) {
-                                if(!owner.equals("*")) owners.put(owner, uuid_owner.toString());
-                                playerClaims.computeIfAbsent(uuid_owner, k -> new CustomSet<>()).add(claim);
-                            }
+    /**
+     * Applies the claim changes made by another server: the claims matching each change
+     * are read again from the database, or removed if their row is gone.
+     *
+     * @param changes The changes, as owner uuid and claim name (null name for every claim
+     *                of the owner, null owner for every claim)
+     */
+    public void applyClaimChanges(Collection<String[]> changes) {
+        // A change of every claim reloads the loaded worlds
+        if (ClaimJournal.isFullReload(changes)) {
+            claimWorlds.forEach(this::reloadClaimsFromDatabaseForWorld);
+            return;
+        }
 
-                            // Enable bossbar
-                            instance.getBossBars().activateBossBar(chunks);
-                        };
+        // Our own pending writes go first, the database is then the reference
+        instance.getWriteQueue().awaitFlush();
+        List<Claim> claims;
+        try (Connection connection = instance.getReadDataSource().getConnection()) {
+            Map<String, World> worlds = new HashMap<>();
+            Map<Integer, ClaimRow> rows = new LinkedHashMap<>();
+            for (String[] change : changes) {
+                try (Repository.Query query = instance.getClaimRepository().selectClaims(connection, change[0], change[1])) {
+                    while (query.next()) {
+                        ClaimRow row = readClaimRow(query.getResultSet(), worlds, null);
+                        if (row != null) rows.put(row.rowId, row);
+                    }
+                }
+            }
+            if (instance.getClaimTables().isEnabled() && !rows.isEmpty()) {
+                instance.getClaimTables().loadClaims(connection, rows.keySet()).forEach((rowId, normalized) -> rows.get(rowId).normalized = normalized);
+            }
+            claims = decodeClaimRows(new ArrayList<>(rows.values()), new AtomicLong());
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return;
+        }
 
-                        List<CompletableFuture<Void>> futures = new ArrayList<>();
-                        try {
-                            byte[] data = Base64.getDecoder().decode(chunksData);
-                            try (ObjectInputStream objectInputStream = new ObjectInputStream(new ByteArrayInputStream(data))) {
-                                while (true) {
-                                    try {
-                                        int x = objectInputStream.readInt();
-                                        int z = objectInputStream.readInt();
-                                        CompletableFuture<Void> future;
-                                        if (instance.isFolia()) {
-                                            future = world.getChunkAtAsync(x, z).thenAccept(chunk -> {
-                                                synchronized (chunks) {
-                                                    chunks.add(chunk);
-                                                }
-                                            }).exceptionally(ex -> {
-                                                ex.printStackTrace();
-                                                return null;
-                                            });
-                                        } else {
-                                            Chunk chunk = world.getChunkAt(x, z);
-                                            chunks.add(chunk);
-                                            future = CompletableFuture.completedFuture(null);
-                                        }
-                                        futures.add(future);
-                                    } catch (EOFException e) {
-                                        break;
-                                    }
-                                }
-                            }
-                        } catch (Exception e) {
-                            e.printStackTrace();
-                        }
+        instance.executeSync(() -> {
+            Set<UUID> owners = new HashSet<>();
+            for (String[] change : changes) {
+                UUID owner;
+                try {
+                    owner = UUID.fromString(change[0]);
+                } catch (IllegalArgumentException e) {
+                    continue;
+                }
+                owners.add(owner);
+                CustomSet<Claim> set = playerClaims.get(owner);
+                if (set == null) continue;
+                for (Claim claim : new ArrayList<>(set)) {
+                    if (change[1] == null || claim.getName().equals(change[1])) removeLoadedClaim(claim);
+                }
+            }
 
-                        CompletableFuture<Void> allOf = CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
-                        allOf.thenRun(() -> instance.executeSync(task))
-                                .exceptionally(ex -> {
-                                    ex.printStackTrace();
-                                    return null;
-                                });
+            // Claims still holding a chunk of a changed claim are stale, they are read again
+            List<String[]> stale = new ArrayList<>();
+            List<Claim> published = new ArrayList<>(claims.size());
+            for (Claim claim : claims) {
+                World world = Bukkit.getWorld(claim.getWorldId());
+                if (world == null) continue;
+                for (long key : claim.getChunkKeys()) {
+                    Claim other = getClaim(world, ClaimIndex.keyX(key), ClaimIndex.keyZ(key));
+                    if (other == null) continue;
+                    removeLoadedClaim(other);
+                    stale.add(new String[] {other.getUUID().toString(), other.getName()});
+                }
+                addLoadedClaim(claim);
+                owners.add(claim.getUUID());
+                published.add(claim);
+            }
+            if (instance.getSettings().getBooleanSetting("keep-chunks-loaded") && !published.isEmpty()) {
+                keepChunksLoaded(published);
+            }
+            owners.forEach(owner -> {
+                CPlayer cPlayer = instance.getPlayerMain().getCPlayer(owner);
+                if (cPlayer != null) cPlayer.setClaimsCount(getPlayerClaimsCount(owner));
+            });
+            if (!stale.isEmpty()) instance.executeAsync(() -> applyClaimChanges(stale));
+        });
+    }
+
+    /**
+     * Adds a loaded claim to the index, the owner claims, the maps and the bossbars.
+     * Must be called on the main thread.
+     *
+     * @param claim The claim
+     */
+    private void addLoadedClaim(Claim claim) {
+        indexClaim(claim);
+        playerClaims.computeIfAbsent(claim.getUUID(), k -> new CustomSet<>()).add(claim);
+        if (instance.getSettings().getBooleanSetting("dynmap") && instance.getDynmap() != null) {
+            instance.getDynmap().createClaimZone(claim);
+        }
+        if (instance.getSettings().getBooleanSetting("bluemap") && instance.getBluemap() != null) {
+            instance.getBluemap().createClaimZone(claim);
+        }
+        if (instance.getSettings().getBooleanSetting("pl3xmap") && instance.getPl3xMap() != null) {
+            instance.getPl3xMap().createClaimZone(claim);
+        }
+        instance.getBossBars().activateBossBar(claim);
+        updateWeatherChunk(claim);
+        updateFlyChunk(claim);
+        getMapAutoForClaim(claim);
+    }
+
+    /**
+     * Removes a loaded claim from the index, the owner claims, the maps and the bossbars.
+     * Must be called on the main thread.
+     *
+     * @param claim The claim
+     */
+    private void removeLoadedClaim(Claim claim) {
+        instance.getBossBars().deactivateBossBar(claim);
+        if (instance.getSettings().getBooleanSetting("dynmap") && instance.getDynmap() != null) {
+            instance.getDynmap().deleteMarker(claim);
+        }
+        if (instance.getSettings().getBooleanSetting("bluemap") && instance.getBluemap() != null) {
+            instance.getBluemap().deleteMarker(claim);
+        }
+        if (instance.getSettings().getBooleanSetting("pl3xmap") && instance.getPl3xMap() != null) {
+            instance.getPl3xMap().deleteMarker(claim);
+        }
+        unindexClaim(claim);
+        UUID owner = claim.getUUID();
+        CustomSet<Claim> set = playerClaims.get(owner);
+        if (set != null) {
+            set.remove(claim);
+            if (set.isEmpty()) playerClaims.remove(owner);
+        }
+    }
+
+    /**
+     * A claim row read from the database, waiting to be decoded.
+     */
+    private static final class ClaimRow {
+        int rowId;
+        int id;
+        UUID ownerId;
+        String owner;
+        String name;
+        String description;
+        World world;
+        String location;
+        String permissions;
+        boolean sale;
+        long price;
+        String members;
+        String bans;
+        String chunks;
+        ClaimTables.Rows normalized;
+    }
+
+    /**
+     * The number, highest id and names (lower case) of the claims of an owner in a world not loaded.
+     */
+    private static final class UnloadedClaims {
+        int count;
+        int maxId = -1;
+        final Set<String> names = ConcurrentHashMap.newKeySet();
+
+        synchronized void add(int id, String name) {
+            count++;
+            maxId = Math.max(maxId, id);
+            if (name != null) names.add(name.toLowerCase());
+        }
+    }
+
+    /**
+     * Decodes a batch of claim rows (called by the loader workers).
+     *
+     * @param rows The rows to decode
+     * @param decodeTime The total decoding time, in nanoseconds
+     * @return The decoded claims, the invalid rows being skipped
+     */
+    private List<Claim> decodeClaimRows(List<ClaimRow> rows, AtomicLong decodeTime) {
+        long start = System.nanoTime();
+        List<Claim> claims = new ArrayList<>(rows.size());
+        for (ClaimRow row : rows) {
+            try {
+                Claim claim = decodeClaimRow(row);
+                if (claim != null) claims.add(claim);
+            } catch (Exception e) {
+                instance.info("Error when loading claim, id claim: " + String.valueOf(row.id));
+            }
+        }
+        decodeTime.addAndGet(System.nanoTime() - start);
+        return claims;
+    }
+
+    /**
+     * Decodes a claim row.
+     *
+     * @param row The row
+     * @return The claim, or null if the row is invalid
+     */
+    private Claim decodeClaimRow(ClaimRow row) {
+        int id = row.id;
+
+        // Location data
+        String[] parts = row.location.split(";");
+        double L_X = Double.parseDouble(parts[0]);
+        double L_Y = Double.parseDouble(parts[1]);
+        double L_Z = Double.parseDouble(parts[2]);
+        float L_Yaw = (float) Double.parseDouble(parts[3]);
+        float L_Pitch = (float) Double.parseDouble(parts[4]);
+        Location location = new Location(row.world, L_X, L_Y, L_Z, L_Yaw, L_Pitch);
+
+        // Members and banned players data
+        CustomSet<UUID> members = row.normalized == null ? new CustomSet<>() : row.normalized.members;
+        CustomSet<UUID> bans = row.normalized == null ? new CustomSet<>() : row.normalized.bans;
+        if (row.normalized == null) {
+            try {
+                ClaimCodec.decodeUuidsLenient(row.members, members)
+                        .forEach(m -> instance.info("Error when loading uuid, id claim: " + String.valueOf(id) + ", uuid: " + m));
+                ClaimCodec.decodeUuidsLenient(row.bans, bans)
+                        .forEach(m -> instance.info("Error when loading uuid, id claim: " + String.valueOf(id) + ", uuid: " + m));
+            } catch (IllegalArgumentException e) {
+                instance.info("Error when loading members/bans, id claim: " + String.valueOf(id));
+            }
+        }
+
+        // Permissions data
+        Map<String,LinkedHashMap<String, Boolean>> perms = new HashMap<>();
+        parts = row.permissions.split(";");
+        if(parts.length != 3) {
+            instance.info("Error when loading perms, id claim: " + String.valueOf(id));
+            return null;
+        }
+        Map<String,String> permList = new HashMap<>();
+        for(String s : parts) {
+            String[] parts2 = s.split(":");
+            if(parts2.length != 2) continue;
+            permList.put(parts2[0], parts2[1]);
+        }
+
+        for (Map.Entry<String, String> entry : permList.entrySet()) {
+            String key = entry.getKey();
+            String perm = entry.getValue();
+            int count_i = 0;
+            LinkedHashMap<String, Boolean> perm_value = new LinkedHashMap<>();
+            for (String perm_key : instance.getSettings().getDefaultValues().get(key).keySet()) {
+                char currentChar = perm.charAt(count_i);
+                count_i++;
+                perm_value.put(perm_key, currentChar == '1');
+            }
+            perms.put(key, perm_value);
+        }
+
+        // Chunks data (coordinates only, the world storage is never touched)
+        long[] chunks = row.normalized == null ? deserializeChunks(row.chunks, id) : row.normalized.getChunks();
+        if (chunks == null) return null;
+
+        return new Claim(row.ownerId, row.world.getUID(), chunks, row.owner, members, location, row.name, row.description, perms, row.sale, row.price, bans, id);
+    }
+
+    /**
+     * Adds the decoded batches to the index, in order, one batch at a time.
+     *
+     * @param decoding The batches being decoded
+     * @param wait Whether to wait for every batch, or to stop at the first one not decoded yet
+     * @param loadedClaims The list receiving the added claims
+     * @return The time spent, in nanoseconds
+     */
+    private long publishClaims(ArrayDeque<Future<List<Claim>>> decoding, boolean wait, List<Claim> loadedClaims) {
+        long start = System.nanoTime();
+        while (!decoding.isEmpty() && (wait || decoding.peek().isDone())) {
+            try {
+                for (Claim claim : decoding.poll().get()) {
+                    indexClaim(claim);
+                    if (claim.getOwner() != null) playerClaims.computeIfAbsent(claim.getUUID(), k -> new CustomSet<>()).add(claim);
+                    loadedClaims.add(claim);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException e) {
+                e.printStackTrace();
+            }
+        }
+        return System.nanoTime() - start;
+    }
 
+    /**
+     * Rewrites the chunks, members and bans columns still stored in the legacy
+     * format with the current {@link ClaimCodec} format. Rows modified in the meantime
+     * are left untouched (the update only applies if the values did not change).
+     */
+    public void migrateClaimsEncoding() {
+        String like = ClaimCodec.PREFIX + "%";
+        String getQuery = "SELECT id, chunks, members, bans FROM scs_claims_1 WHERE chunks NOT LIKE ? "
+                + "OR (members <> '' AND members NOT LIKE ?) OR (bans <> '' AND bans NOT LIKE ?)";
+        String updateQuery = "UPDATE scs_claims_1 SET chunks = ?, members = ?, bans = ? WHERE id = ? AND chunks = ? AND members = ? AND bans = ?";
+        int migrated = 0;
+        try (Connection connection = instance.getDataSource().getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement select = connection.prepareStatement(getQuery);
+                 PreparedStatement update = connection.prepareStatement(updateQuery)) {
+                select.setString(1, like);
+                select.setString(2, like);
+                select.setString(3, like);
+                try (ResultSet resultSet = select.executeQuery()) {
+                    while (resultSet.next()) {
+                        String chunks = resultSet.getString("chunks");
+                        String members = resultSet.getString("members");
+                        String bans = resultSet.getString("bans");
+                        String newChunks, newMembers, newBans;
+                        try {
+                            newChunks = ClaimCodec.isEncoded(chunks) ? chunks : ClaimCodec.encodeChunks(ClaimCodec.decodeChunks(chunks));
+                            Set<UUID> uuids = new LinkedHashSet<>();
+                            ClaimCodec.decodeUuidsLenient(members, uuids);
+                            newMembers = ClaimCodec.encodeUuids(uuids);
+                            uuids.clear();
+                            ClaimCodec.decodeUuidsLenient(bans, uuids);
+                            newBans = ClaimCodec.encodeUuids(uuids);
+                        } catch (IllegalArgumentException e) {
+                            instance.info("Error when converting claim data, id: " + resultSet.getInt("id"));
+                            continue;
+                        }
+                        update.setString(1, newChunks);
+                        update.setString(2, newMembers);
+                        update.setString(3, newBans);
+                        update.setInt(4, resultSet.getInt("id"));
+                        update.setString(5, chunks);
+                        update.setString(6, members);
+                        update.setString(7, bans);
+                        update.addBatch();
+                        migrated++;
                     }
                 }
+                // The batch is executed once the result set is closed (SQLite cursors)
+                if (migrated > 0) {
+                    update.executeBatch();
+                    connection.commit();
+                }
             } catch (SQLException e) {
+                connection.rollback();
                 e.printStackTrace();
+                return;
+            } finally {
+                connection.setAutoCommit(true);
             }
-
-        } catch (SQLException e1) {
-            e1.printStackTrace();
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return;
         }
+        if (migrated > 0) instance.info(getNumberSeparate(String.valueOf(migrated)) + " claims converted to the storage format v" + ClaimCodec.VERSION + ".");
+    }
 
-        instance.info(getNumberSeparate(String.valueOf(i[0]))+"/"+getNumberSeparate(String.valueOf(max_i))+" claims loaded.");
-        instance.info("> including "+getNumberSeparate(String.valueOf(protected_areas_count))+" protected areas.");
-        return;
+    /**
+     * Force-loads the chunks of the given claims in background, a few chunks per tick,
+     * so the startup never waits for the world storage.
+     *
+     * @param claims The claims whose chunks must be kept loaded
+     */
+    public void keepChunksLoaded(Collection<Claim> claims) {
+        List<Claim> queue = new ArrayList<>(claims);
+        if (queue.isEmpty()) return;
+        int[] cursor = {0, 0}; // claim, chunk
+        Function<Integer, Boolean> step = budget -> {
+            while (budget > 0 && cursor[0] < queue.size()) {
+                Claim claim = queue.get(cursor[0]);
+                long[] keys = claim.getChunkKeys();
+                World world = claim.getWorld();
+                if (world == null || cursor[1] >= keys.length) {
+                    cursor[0]++;
+                    cursor[1] = 0;
+                    continue;
+                }
+                int x = ClaimIndex.keyX(keys[cursor[1]]);
+                int z = ClaimIndex.keyZ(keys[cursor[1]]);
+                cursor[1]++;
+                budget--;
+                if (instance.isFolia()) {
+                    Bukkit.getRegionScheduler().execute(instance, world, x, z, () -> world.setChunkForceLoaded(x, z, true));
+                } else {
+                    world.setChunkForceLoaded(x, z, true);
+                }
+            }
+            return cursor[0] >= queue.size();
+        };
+        if (instance.isFolia()) {
+            Bukkit.getGlobalRegionScheduler().runAtFixedRate(instance, task -> {
+                if (step.apply(KEEP_LOADED_CHUNKS_PER_TICK)) task.cancel();
+            }, 1L, 1L);
+        } else {
+            new BukkitRunnable() {
+                public void run() {
+                    if (step.apply(KEEP_LOADED_CHUNKS_PER_TICK)) this.cancel();
+                }
+            }.runTaskTimer(instance, 1L, 1L);
+        }
     }
 
     /**
@@ -2227,7 +2809,7 @@ public class ClaimMain {
         Runnable syncCreate = () -> {
             synchronized (lock) {
                 try {
-                    if (listClaims.containsKey(chunk)) {
+                    if (checkIfClaimExists(chunk)) {
                         createdFuture.complete(null);
                         return;
                     }
@@ -2262,7 +2844,7 @@ public class ClaimMain {
                     );
 
                     // ✅ 캐시 반영(메인에서만)
-                    listClaims.put(chunk, created);
+                    indexChunk(chunk, created);
                     playerClaims.computeIfAbsent(playerId, k -> new CustomSet<>()).add(created);
 
                     // 부가 작업(메인에서만)
@@ -2308,38 +2890,15 @@ public class ClaimMain {
             if (created == null) return CompletableFuture.completedFuture(false);
 
             return CompletableFuture.supplyAsync(() -> {
-                boolean dbOk;
-                try (Connection connection = instance.getDataSource().getConnection();
-                     PreparedStatement stmt = connection.prepareStatement(
-                             "INSERT INTO scs_claims_1 (id_claim, owner_uuid, owner_name, claim_name, claim_description, chunks, world_name, location, members, permissions, bans) " +
-                                     "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)"
-                     )) {
-
-                    final String ownerUuidStr = created.getUUID().toString();
-
-                    stmt.setInt(1, created.getId());
-                    stmt.setString(2, ownerUuidStr);
-                    stmt.setString(3, created.getOwner());
-                    stmt.setString(4, created.getName());
-                    stmt.setString(5, created.getDescription());
-                    stmt.setString(6, serializeChunks(Set.of(chunk)));
-                    stmt.setString(7, worldName);
-                    stmt.setString(8, getLocationString(created.getLocation()));
-                    stmt.setString(9, ownerUuidStr);
-                    stmt.setString(10, instance.getSettings().getDefaultValuesCode("all"));
-                    stmt.setString(11, "");
-                    stmt.executeUpdate();
-
-                    dbOk = true;
-                } catch (SQLException e) {
-                    e.printStackTrace();
-                    dbOk = false;
-                }
+                boolean dbOk = instance.getClaimRepository().insertClaim(created.getId(), created.getUUID().toString(), created.getOwner(),
+                        created.getName(), created.getDescription(), serializeChunks(Set.of(chunk)), worldName,
+                        getLocationString(created.getLocation()), getMemberString(created));
+                if (dbOk) instance.getClaimTables().insertClaim(created);
 
                 // ✅ DB 실패 시 롤백은 메인에서만
                 if (!dbOk) {
                     instance.executeSync(() -> {
-                        listClaims.remove(chunk);
+                        unindexChunk(chunk);
 
                         CustomSet<Claim> set = playerClaims.get(created.getUUID());
                         if (set != null) {
@@ -2372,7 +2931,7 @@ public class ClaimMain {
     public void handleClaimConflict(Player player, Chunk chunk) {
         if (player == null || chunk == null) return;
 
-        Claim claim = listClaims.get(chunk);
+        Claim claim = getClaim(chunk);
         if (claim == null) {
             // 여기서 메시지를 보낼지/말지는 정책인데,
             // 기존 로직 유지하려면 그냥 return이 안전함.
@@ -2395,7 +2954,7 @@ public class ClaimMain {
      * @param location the location to get the string for
      * @return the location string
      */
-    private String getLocationString(Location location) {
+    public String getLocationString(Location location) {
         return String.format("%s;%s;%s;%s;%s", location.getX(), location.getY(), location.getZ(), location.getYaw(), location.getPitch());
     }
 
@@ -2418,7 +2977,7 @@ public class ClaimMain {
                 Claim newClaim = new Claim(SERVER_UUID, new CustomSet<>(Set.of(chunk)), "*", new CustomSet<>(), player.getLocation(), claimName, description, new HashMap<>(perms), false, 0, new CustomSet<>(),id);
 
                 // Add claim to claims list and protected areas list ("*" in playerClaims)
-                listClaims.put(chunk, newClaim);
+                indexChunk(chunk, newClaim);
                 playerClaims.computeIfAbsent(SERVER_UUID, k -> new CustomSet<>()).add(newClaim);
 
                 // Create bossbars and maps
@@ -2445,7 +3004,9 @@ public class ClaimMain {
                 instance.executeSync(() -> Bukkit.getPluginManager().callEvent(event));
 
                 // Updata database
-                return insertClaimIntoDatabase(id, uuid, "*", claimName, description, chunk, locationString);
+                if (!insertClaimIntoDatabase(id, uuid, "*", claimName, description, chunk, locationString)) return false;
+                instance.getClaimTables().insertClaim(newClaim);
+                return true;
             } catch (Exception e) {
                 e.printStackTrace();
                 return false;
@@ -2465,26 +3026,8 @@ public class ClaimMain {
      * @param locationString the location string of the claim
      */
     private boolean insertClaimIntoDatabase(int id, String uuid, String owner, String claimName, String description, Chunk chunk, String locationString) {
-        try (Connection connection = instance.getDataSource().getConnection();
-             PreparedStatement stmt = connection.prepareStatement(
-                     "INSERT INTO scs_claims_1 (id_claim, owner_uuid, owner_name, claim_name, claim_description, chunks, world_name, location, members, permissions, bans) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
-            stmt.setInt(1, id);
-            stmt.setString(2, uuid);
-            stmt.setString(3, owner);
-            stmt.setString(4, claimName);
-            stmt.setString(5, description);
-            stmt.setString(6, serializeChunks(Set.of(chunk)));
-            stmt.setString(7, chunk.getWorld().getName());
-            stmt.setString(8, locationString);
-            stmt.setString(9, owner.equals("*") ? "" : uuid);
-            stmt.setString(10, instance.getSettings().getDefaultValuesCode("all"));
-            stmt.setString(11, "");
-            stmt.executeUpdate();
-            return true;
-        } catch (SQLException e) {
-            e.printStackTrace();
-            return false;
-        }
+        return instance.getClaimRepository().insertClaim(id, uuid, owner, claimName, description, serializeChunks(Set.of(chunk)),
+                chunk.getWorld().getName(), locationString, owner.equals("*") ? "" : ClaimCodec.encodeUuids(Set.of(UUID.fromString(uuid))));
     }
 
     /**
@@ -2525,7 +3068,7 @@ public class ClaimMain {
                 List<Integer> Z = Collections.synchronizedList(new ArrayList<>());
                 instance.executeSync(() -> instance.getBossBars().activateBossBar(chunks));
                 chunks.forEach(c -> {
-                    listClaims.put(c, newClaim);
+                    indexChunk(c, newClaim);
                     X.add(c.getX());
                     Z.add(c.getZ());
                 });
@@ -2551,26 +3094,10 @@ public class ClaimMain {
                 instance.executeSync(() -> Bukkit.getPluginManager().callEvent(event));
 
                 // Update database
-                try (Connection connection = instance.getDataSource().getConnection();
-                     PreparedStatement stmt = connection.prepareStatement(
-                             "INSERT INTO scs_claims_1 (id_claim, owner_uuid, owner_name, claim_name, claim_description, chunks, world_name, location, members, permissions, bans) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
-                    stmt.setInt(1, id);
-                    stmt.setString(2, uuid);
-                    stmt.setString(3, playerName);
-                    stmt.setString(4, claimName);
-                    stmt.setString(5, description);
-                    stmt.setString(6, serializeChunks(chunks));
-                    stmt.setString(7, player.getWorld().getName());
-                    stmt.setString(8, locationString);
-                    stmt.setString(9, uuid);
-                    stmt.setString(10, instance.getSettings().getDefaultValuesCode("all"));
-                    stmt.setString(11, "");
-                    stmt.executeUpdate();
-                    return true;
-                } catch (SQLException e) {
-                    e.printStackTrace();
-                    return false;
-                }
+                if (!instance.getClaimRepository().insertClaim(id, uuid, playerName, claimName, description, serializeChunks(chunks),
+                        player.getWorld().getName(), locationString, ClaimCodec.encodeUuids(Set.of(UUID.fromString(uuid))))) return false;
+                instance.getClaimTables().insertClaim(newClaim);
+                return true;
             } catch (Exception e) {
                 e.printStackTrace();
                 return false;
@@ -2608,7 +3135,7 @@ public class ClaimMain {
                 List<Integer> Z = Collections.synchronizedList(new ArrayList<>());
                 instance.executeSync(() -> instance.getBossBars().activateBossBar(chunks));
                 chunks.stream().forEach(c -> {
-                    listClaims.put(c, newClaim);
+                    indexChunk(c, newClaim);
                     X.add(c.getX());
                     Z.add(c.getZ());
                 });
@@ -2634,26 +3161,10 @@ public class ClaimMain {
                 instance.executeSync(() -> Bukkit.getPluginManager().callEvent(event));
 
                 // Update database
-                try (Connection connection = instance.getDataSource().getConnection();
-                     PreparedStatement stmt = connection.prepareStatement(
-                             "INSERT INTO scs_claims_1 (id_claim, owner_uuid, owner_name, claim_name, claim_description, chunks, world_name, location, members, permissions, bans) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
-                    stmt.setInt(1, id);
-                    stmt.setString(2, SERVER_UUID.toString());
-                    stmt.setString(3, "*");
-                    stmt.setString(4, claimName);
-                    stmt.setString(5, description);
-                    stmt.setString(6, serializeChunks(chunks));
-                    stmt.setString(7, player.getWorld().getName());
-                    stmt.setString(8, locationString);
-                    stmt.setString(9, "");
-                    stmt.setString(10, instance.getSettings().getDefaultValuesCode("all"));
-                    stmt.setString(11, "");
-                    stmt.executeUpdate();
-                    return true;
-                } catch (SQLException e) {
-                    e.printStackTrace();
-                    return false;
-                }
+                if (!instance.getClaimRepository().insertClaim(id, SERVER_UUID.toString(), "*", claimName, description, serializeChunks(chunks),
+                        player.getWorld().getName(), locationString, "")) return false;
+                instance.getClaimTables().insertClaim(newClaim);
+                return true;
             } catch (Exception e) {
                 e.printStackTrace();
                 return false;
@@ -2682,8 +3193,21 @@ public class ClaimMain {
      * @return true if a claim exists in the chunk, false otherwise
      */
     public boolean checkIfClaimExists(Chunk chunk) {
-        if (chunk == null) return false;
-        return listClaims.containsKey(chunk);
+        return getClaim(chunk) != null;
+    }
+
+    /**
+     * Checks if a claim exists at the given chunk coordinates.
+     *
+     * @param world the world of the chunk
+     * @param chunkX the chunk X coordinate
+     * @param chunkZ the chunk Z coordinate
+     * @return true if a claim exists at the coordinates, false otherwise
+     */
+    public boolean checkIfClaimExists(World world, int chunkX, int chunkZ) {
+        if (world == null) return false;
+        ClaimIndex index = claimIndexes.get(world.getUID());
+        return index != null && index.isClaimed(chunkX, chunkZ);
     }
 
     /**
@@ -2693,7 +3217,7 @@ public class ClaimMain {
      * @return true if a claim exists, false otherwise
      */
     public boolean checkIfClaimExists(Claim claim) {
-        return listClaims.containsValue(claim);
+        return claimIndexes.values().stream().anyMatch(index -> index.containsClaim(claim));
     }
 
     /**
@@ -2706,13 +3230,30 @@ public class ClaimMain {
     public boolean canPermCheck(Chunk chunk, String perm, String role) {
         if (chunk == null || perm == null || perm.isBlank()) return false;
 
-        Claim claim = listClaims.get(chunk);
+        Claim claim = getClaim(chunk);
         if (claim == null) return false;
 
         String roleKey = (role == null ? "natural" : role.toLowerCase());
         return claim.getPermission(perm, roleKey);
     }
 
+    /**
+     * Checks if a permission is allowed at the given chunk coordinates.
+     *
+     * @param world the world of the chunk
+     * @param chunkX the chunk X coordinate
+     * @param chunkZ the chunk Z coordinate
+     * @param perm  the permission to check
+     * @param role  the role to check
+     * @return true if the permission is allowed, false otherwise
+     */
+    public boolean canPermCheck(World world, int chunkX, int chunkZ, String perm, String role) {
+        if (perm == null || perm.isBlank()) return false;
+
+        Claim claim = getClaim(world, chunkX, chunkZ);
+        return claim != null && claim.getPermission(perm, role);
+    }
+
     /**
      * Gets the owner of a claim by the chunk.
      *
@@ -2720,8 +3261,31 @@ public class ClaimMain {
      * @return the owner of the claim, or an empty string if no claim exists for the chunk
      */
     public String getOwnerInClaim(Chunk chunk) {
-        if (chunk == null) return "";
-        Claim claim = listClaims.get(chunk);
+        Claim claim = getClaim(chunk);
+        return claim == null ? "" : claim.getOwner();
+    }
+
+    /**
+     * Gets the owner of a claim by chunk coordinates.
+     *
+     * @param world the world of the chunk
+     * @param chunkX the chunk X coordinate
+     * @param chunkZ the chunk Z coordinate
+     * @return the owner of the claim, or an empty string if no claim exists at the coordinates
+     */
+    public String getOwnerInClaim(World world, int chunkX, int chunkZ) {
+        Claim claim = getClaim(world, chunkX, chunkZ);
+        return claim == null ? "" : claim.getOwner();
+    }
+
+    /**
+     * Gets the owner of the claim covering a location.
+     *
+     * @param location the location
+     * @return the owner of the claim, or an empty string if unclaimed
+     */
+    public String getOwnerInClaim(Location location) {
+        Claim claim = getClaimAt(location);
         return claim == null ? "" : claim.getOwner();
     }
 
@@ -2810,31 +3374,27 @@ public class ClaimMain {
     }
 
     /**
-     * Converts a set of UUIDs to a single string where each UUID is separated by a semicolon.
+     * Converts the bans of a claim to their storage format.
      *
      * @param claim The claim containing the bans.
-     * @return A string representation of the bans, or an empty string if there are no bans.
+     * @return The encoded bans (see {@link ClaimCodec}), or an empty string if there are no bans.
      */
     public String getBanString(Claim claim) {
         if (claim != null) {
-            return claim.getBans().stream()
-                    .map(UUID::toString)
-                    .collect(Collectors.joining(";"));
+            return ClaimCodec.encodeUuids(claim.getBans());
         }
         return "";
     }
 
     /**
-     * Converts a set of UUIDs to a single string where each UUID is separated by a semicolon.
+     * Converts the members of a claim to their storage format.
      *
      * @param claim The claim containing the members.
-     * @return A string representation of the members, or an empty string if there are no members.
+     * @return The encoded members (see {@link ClaimCodec}), or an empty string if there are no members.
      */
     public String getMemberString(Claim claim) {
         if (claim != null) {
-            return claim.getMembers().stream()
-                    .map(UUID::toString)
-                    .collect(Collectors.joining(";"));
+            return ClaimCodec.encodeUuids(claim.getMembers());
         }
         return "";
     }
@@ -2875,18 +3435,8 @@ public class ClaimMain {
                         .collect(Collectors.joining(";"));
 
                 // Update the database
-                String updateQuery = "UPDATE scs_claims_1 SET permissions = ? WHERE owner_uuid = ? AND claim_name = ?";
-                try (Connection connection = instance.getDataSource().getConnection();
-                     PreparedStatement preparedStatement = connection.prepareStatement(updateQuery)) {
-                    preparedStatement.setString(1, permissionsString);
-                    preparedStatement.setString(2, uuid);
-                    preparedStatement.setString(3, claim.getName());
-                    preparedStatement.executeUpdate();
-                    return true;
-                } catch (SQLException e) {
-                    e.printStackTrace();
-                    return false;
-                }
+                instance.getWriteQueue().updateRow("UPDATE scs_claims_1 SET permissions = ? WHERE owner_uuid = ? AND claim_name = ?", permissionsString, uuid, claim.getName());
+                return true;
             } catch (Exception e) {
                 e.printStackTrace();
                 return false;
@@ -2909,16 +3459,9 @@ public class ClaimMain {
                 // Get the owner's name
                 String owner = claim.getOwner();
 
-                // Get the current permissions map for the specified role
+                // Update the permission (the map of the role is cloned, to avoid affecting other claims)
                 String roleKey = (role == null ? "natural" : role.toLowerCase());
-                LinkedHashMap<String, Boolean> currentPermissions = claim.getPermissions().get(roleKey);
-
-                // Clone the current permissions map to avoid affecting other claims
-                LinkedHashMap<String, Boolean> newPermissions = new LinkedHashMap<>(currentPermissions);
-                newPermissions.put(permission, value);
-
-                // Update the permissions map in the claim with the cloned and updated map
-                claim.getPermissions().put(roleKey, newPermissions);
+                claim.updatePermission(roleKey, permission, value);
 
                 // Check if permission is Weather, then update weather for players in the chunks
                 if (permission.equals("Weather")) updateWeatherChunk(claim);
@@ -2936,18 +3479,8 @@ public class ClaimMain {
                         .collect(Collectors.joining(";"));
 
                 // Update the database
-                String updateQuery = "UPDATE scs_claims_1 SET permissions = ? WHERE owner_uuid = ? AND claim_name = ?";
-                try (Connection connection = instance.getDataSource().getConnection();
-                     PreparedStatement preparedStatement = connection.prepareStatement(updateQuery)) {
-                    preparedStatement.setString(1, permissions);
-                    preparedStatement.setString(2, uuid);
-                    preparedStatement.setString(3, claim.getName());
-                    preparedStatement.executeUpdate();
-                    return true;
-                } catch (SQLException e) {
-                    e.printStackTrace();
-                    return false;
-                }
+                instance.getWriteQueue().updateRow("UPDATE scs_claims_1 SET permissions = ? WHERE owner_uuid = ? AND claim_name = ?", permissions, uuid, claim.getName());
+                return true;
             } catch (Exception e) {
                 e.printStackTrace();
                 return false;
@@ -2986,18 +3519,9 @@ public class ClaimMain {
                         .collect(Collectors.joining(";"));
 
                 // Update database
-                try (Connection connection = instance.getDataSource().getConnection()) {
-                    String updateQuery = "UPDATE scs_claims_1 SET permissions = ? WHERE owner_uuid = ?";
-                    try (PreparedStatement preparedStatement = connection.prepareStatement(updateQuery)) {
-                        preparedStatement.setString(1, permissions);
-                        preparedStatement.setString(2, uuid.toString());
-                        preparedStatement.executeUpdate();
-                    }
-                    return true;
-                } catch (SQLException e) {
-                    e.printStackTrace();
-                    return false;
-                }
+                instance.getWriteQueue().execute("UPDATE scs_claims_1 SET permissions = ? WHERE owner_uuid = ?", permissions, uuid.toString());
+                instance.getWriteQueue().changed(uuid.toString(), null);
+                return true;
             } catch (Exception e) {
                 e.printStackTrace();
                 return false;
@@ -3025,22 +3549,15 @@ public class ClaimMain {
                 claim.removeMember(targetUUID);
 
                 // Update database
+                if (instance.getClaimTables().isEnabled()) {
+                    instance.getClaimTables().addBan(claim, targetUUID);
+                    instance.getClaimTables().removeMember(claim, targetUUID);
+                    return true;
+                }
                 String banString = getBanString(claim);
                 String memberString = getMemberString(claim);
-                try (Connection connection = instance.getDataSource().getConnection()) {
-                    String updateQuery = "UPDATE scs_claims_1 SET bans = ?, members = ? WHERE owner_uuid = ? AND claim_name = ?";
-                    try (PreparedStatement preparedStatement = connection.prepareStatement(updateQuery)) {
-                        preparedStatement.setString(1, banString);
-                        preparedStatement.setString(2, memberString);
-                        preparedStatement.setString(3, uuid.toString());
-                        preparedStatement.setString(4, claimName);
-                        preparedStatement.executeUpdate();
-                    }
-                    return true;
-                } catch (SQLException e) {
-                    e.printStackTrace();
-                    return false;
-                }
+                instance.getWriteQueue().updateRow("UPDATE scs_claims_1 SET bans = ?, members = ? WHERE owner_uuid = ? AND claim_name = ?", banString, memberString, uuid.toString(), claimName);
+                return true;
             } catch (Exception e) {
                 e.printStackTrace();
                 return false;
@@ -3067,20 +3584,13 @@ public class ClaimMain {
                 claim.removeBan(targetUUID);
 
                 // Update database
-                String banString = getBanString(claim);
-                try (Connection connection = instance.getDataSource().getConnection()) {
-                    String updateQuery = "UPDATE scs_claims_1 SET bans = ? WHERE owner_uuid = ? AND claim_name = ?";
-                    try (PreparedStatement preparedStatement = connection.prepareStatement(updateQuery)) {
-                        preparedStatement.setString(1, banString);
-                        preparedStatement.setString(2, uuid.toString());
-                        preparedStatement.setString(3, claimName);
-                        preparedStatement.executeUpdate();
-                    }
+                if (instance.getClaimTables().isEnabled()) {
+                    instance.getClaimTables().removeBan(claim, targetUUID);
                     return true;
-                } catch (SQLException e) {
-                    e.printStackTrace();
-                    return false;
                 }
+                String banString = getBanString(claim);
+                instance.getWriteQueue().updateRow("UPDATE scs_claims_1 SET bans = ? WHERE owner_uuid = ? AND claim_name = ?", banString, uuid.toString(), claimName);
+                return true;
             } catch (Exception e) {
                 e.printStackTrace();
                 return false;
@@ -3105,29 +3615,24 @@ public class ClaimMain {
                 UUID targetUUID = instance.getPlayerMain().getPlayerUUID(name);
 
                 // Add banned and remove member
-                playerClaims.computeIfAbsent(uuid, k -> new CustomSet<>()).stream().forEach(claim -> {
+                CustomSet<Claim> claims = playerClaims.getOrDefault(uuid, new CustomSet<>());
+                claims.forEach(claim -> {
                     claim.addBan(targetUUID);
                     claim.removeMember(targetUUID);
                 });
 
                 // Update database
-                try (Connection connection = instance.getDataSource().getConnection()) {
-                    String updateQuery = "UPDATE scs_claims_1 SET bans = ?, members = ? WHERE owner_uuid = ? AND claim_name = ?";
-                    try (PreparedStatement preparedStatement = connection.prepareStatement(updateQuery)) {
-                        for (Claim claim : playerClaims.computeIfAbsent(uuid, k -> new CustomSet<>())) {
-                            preparedStatement.setString(1, getBanString(claim));
-                            preparedStatement.setString(2, getMemberString(claim));
-                            preparedStatement.setString(3, uuid_string);
-                            preparedStatement.setString(4, claim.getName());
-                            preparedStatement.addBatch();
-                        }
-                        preparedStatement.executeBatch();
-                    }
+                if (instance.getClaimTables().isEnabled()) {
+                    instance.getClaimTables().addBanToAll(uuid, targetUUID);
+                    instance.getClaimTables().removeMemberFromAll(uuid, targetUUID);
                     return true;
-                } catch (SQLException e) {
-                    e.printStackTrace();
-                    return false;
                 }
+                List<Object[]> rows = new ArrayList<>(claims.size());
+                for (Claim claim : claims) {
+                    rows.add(new Object[] {getBanString(claim), getMemberString(claim), uuid_string, claim.getName()});
+                }
+                instance.getWriteQueue().updateRows("UPDATE scs_claims_1 SET bans = ?, members = ? WHERE owner_uuid = ? AND claim_name = ?", rows);
+                return true;
             } catch (Exception e) {
                 e.printStackTrace();
                 return false;
@@ -3151,25 +3656,20 @@ public class ClaimMain {
                 String uuid_string = uuid.toString();
                 UUID targetUUID = instance.getPlayerMain().getPlayerUUID(name);
 
-                playerClaims.computeIfAbsent(uuid, k -> new CustomSet<>()).stream().forEach(claim -> claim.removeBan(targetUUID));
+                CustomSet<Claim> claims = playerClaims.getOrDefault(uuid, new CustomSet<>());
+                claims.forEach(claim -> claim.removeBan(targetUUID));
 
                 // Updata database
-                try (Connection connection = instance.getDataSource().getConnection()) {
-                    String updateQuery = "UPDATE scs_claims_1 SET bans = ? WHERE owner_uuid = ? AND claim_name = ?";
-                    try (PreparedStatement preparedStatement = connection.prepareStatement(updateQuery)) {
-                        for (Claim claim : playerClaims.computeIfAbsent(uuid, k -> new CustomSet<>())) {
-                            preparedStatement.setString(1, getBanString(claim));
-                            preparedStatement.setString(2, uuid_string);
-                            preparedStatement.setString(3, claim.getName());
-                            preparedStatement.addBatch();
-                        }
-                        preparedStatement.executeBatch();
-                    }
+                if (instance.getClaimTables().isEnabled()) {
+                    instance.getClaimTables().removeBanFromAll(uuid, targetUUID);
                     return true;
-                } catch (SQLException e) {
-                    e.printStackTrace();
-                    return false;
                 }
+                List<Object[]> rows = new ArrayList<>(claims.size());
+                for (Claim claim : claims) {
+                    rows.add(new Object[] {getBanString(claim), uuid_string, claim.getName()});
+                }
+                instance.getWriteQueue().updateRows("UPDATE scs_claims_1 SET bans = ? WHERE owner_uuid = ? AND claim_name = ?", rows);
+                return true;
             } catch (Exception e) {
                 e.printStackTrace();
                 return false;
@@ -3196,20 +3696,13 @@ public class ClaimMain {
                 claim.addMember(targetUUID);
 
                 // Update database
-                String membersString = getMemberString(claim);
-                try (Connection connection = instance.getDataSource().getConnection()) {
-                    String updateQuery = "UPDATE scs_claims_1 SET members = ? WHERE owner_uuid = ? AND claim_name = ?";
-                    try (PreparedStatement preparedStatement = connection.prepareStatement(updateQuery)) {
-                        preparedStatement.setString(1, membersString);
-                        preparedStatement.setString(2, uuid.toString());
-                        preparedStatement.setString(3, claim.getName());
-                        preparedStatement.executeUpdate();
-                    }
+                if (instance.getClaimTables().isEnabled()) {
+                    instance.getClaimTables().addMember(claim, targetUUID);
                     return true;
-                } catch (SQLException e) {
-                    e.printStackTrace();
-                    return false;
                 }
+                String membersString = getMemberString(claim);
+                instance.getWriteQueue().updateRow("UPDATE scs_claims_1 SET members = ? WHERE owner_uuid = ? AND claim_name = ?", membersString, uuid.toString(), claim.getName());
+                return true;
             } catch (Exception e) {
                 e.printStackTrace();
                 return false;
@@ -3233,26 +3726,21 @@ public class ClaimMain {
                 String uuid_string = uuid.toString();
                 UUID targetUUID = instance.getPlayerMain().getPlayerUUID(name);
 
-                // Remove member
-                playerClaims.computeIfAbsent(uuid, k -> new CustomSet<>()).stream().forEach(claim -> claim.addMember(targetUUID));
+                // Add member
+                CustomSet<Claim> claims = playerClaims.getOrDefault(uuid, new CustomSet<>());
+                claims.forEach(claim -> claim.addMember(targetUUID));
 
                 // Update database
-                try (Connection connection = instance.getDataSource().getConnection()) {
-                    String updateQuery = "UPDATE scs_claims_1 SET members = ? WHERE owner_uuid = ? AND claim_name = ?";
-                    try (PreparedStatement preparedStatement = connection.prepareStatement(updateQuery)) {
-                        for (Claim claim : playerClaims.computeIfAbsent(uuid, k -> new CustomSet<>())) {
-                            preparedStatement.setString(1, getMemberString(claim));
-                            preparedStatement.setString(2, uuid_string);
-                            preparedStatement.setString(3, claim.getName());
-                            preparedStatement.addBatch();
-                        }
-                        preparedStatement.executeBatch();
-                    }
+                if (instance.getClaimTables().isEnabled()) {
+                    instance.getClaimTables().addMemberToAll(uuid, targetUUID);
                     return true;
-                } catch (SQLException e) {
-                    e.printStackTrace();
-                    return false;
                 }
+                List<Object[]> rows = new ArrayList<>(claims.size());
+                for (Claim claim : claims) {
+                    rows.add(new Object[] {getMemberString(claim), uuid_string, claim.getName()});
+                }
+                instance.getWriteQueue().updateRows("UPDATE scs_claims_1 SET members = ? WHERE owner_uuid = ? AND claim_name = ?", rows);
+                return true;
             } catch (Exception e) {
                 e.printStackTrace();
                 return false;
@@ -3278,20 +3766,13 @@ public class ClaimMain {
                 claim.removeMember(targetUUID);
 
                 // Update database
-                String membersString = getMemberString(claim);
-                try (Connection connection = instance.getDataSource().getConnection()) {
-                    String updateQuery = "UPDATE scs_claims_1 SET Members = ? WHERE owner_uuid = ? AND claim_name = ?";
-                    try (PreparedStatement preparedStatement = connection.prepareStatement(updateQuery)) {
-                        preparedStatement.setString(1, membersString);
-                        preparedStatement.setString(2, uuid.toString());
-                        preparedStatement.setString(3, claim.getName());
-                        preparedStatement.executeUpdate();
-                    }
+                if (instance.getClaimTables().isEnabled()) {
+                    instance.getClaimTables().removeMember(claim, targetUUID);
                     return true;
-                } catch (SQLException e) {
-                    e.printStackTrace();
-                    return false;
                 }
+                String membersString = getMemberString(claim);
+                instance.getWriteQueue().updateRow("UPDATE scs_claims_1 SET members = ? WHERE owner_uuid = ? AND claim_name = ?", membersString, uuid.toString(), claim.getName());
+                return true;
             } catch (Exception e) {
                 e.printStackTrace();
                 return false;
@@ -3309,20 +3790,13 @@ public class ClaimMain {
                 claim.removeMember(targetUUID);
 
                 // Update database
-                String membersString = getMemberString(claim);
-                try (Connection connection = instance.getDataSource().getConnection()) {
-                    String updateQuery = "UPDATE scs_claims_1 SET Members = ? WHERE owner_uuid = ? AND claim_name = ?";
-                    try (PreparedStatement preparedStatement = connection.prepareStatement(updateQuery)) {
-                        preparedStatement.setString(1, membersString);
-                        preparedStatement.setString(2, uuid.toString());
-                        preparedStatement.setString(3, claim.getName());
-                        preparedStatement.executeUpdate();
-                    }
+                if (instance.getClaimTables().isEnabled()) {
+                    instance.getClaimTables().removeMember(claim, targetUUID);
                     return true;
-                } catch (SQLException e) {
-                    e.printStackTrace();
-                    return false;
                 }
+                String membersString = getMemberString(claim);
+                instance.getWriteQueue().updateRow("UPDATE scs_claims_1 SET members = ? WHERE owner_uuid = ? AND claim_name = ?", membersString, uuid.toString(), claim.getName());
+                return true;
             } catch (Exception e) {
                 e.printStackTrace();
                 return false;
@@ -3345,25 +3819,20 @@ public class ClaimMain {
                 UUID uuid = owner.equals("*") ? SERVER_UUID : instance.getPlayerMain().getPlayerUUID(owner);
                 String uuid_string = uuid.toString();
                 UUID targetUUID = instance.getPlayerMain().getPlayerUUID(name);
-                playerClaims.computeIfAbsent(uuid, k -> new CustomSet<>()).stream().forEach(claim -> claim.removeMember(targetUUID));
+                CustomSet<Claim> claims = playerClaims.getOrDefault(uuid, new CustomSet<>());
+                claims.forEach(claim -> claim.removeMember(targetUUID));
 
                 // Update database
-                try (Connection connection = instance.getDataSource().getConnection()) {
-                    String updateQuery = "UPDATE scs_claims_1 SET Members = ? WHERE owner_uuid = ? AND claim_name = ?";
-                    try (PreparedStatement preparedStatement = connection.prepareStatement(updateQuery)) {
-                        for (Claim claim : playerClaims.computeIfAbsent(uuid, k -> new CustomSet<>())) {
-                            preparedStatement.setString(1, getMemberString(claim));
-                            preparedStatement.setString(2, uuid_string);
-                            preparedStatement.setString(3, claim.getName());
-                            preparedStatement.addBatch();
-                        }
-                        preparedStatement.executeBatch();
-                    }
+                if (instance.getClaimTables().isEnabled()) {
+                    instance.getClaimTables().removeMemberFromAll(uuid, targetUUID);
                     return true;
-                } catch (SQLException e) {
-                    e.printStackTrace();
-                    return false;
                 }
+                List<Object[]> rows = new ArrayList<>(claims.size());
+                for (Claim claim : claims) {
+                    rows.add(new Object[] {getMemberString(claim), uuid_string, claim.getName()});
+                }
+                instance.getWriteQueue().updateRows("UPDATE scs_claims_1 SET members = ? WHERE owner_uuid = ? AND claim_name = ?", rows);
+                return true;
             } catch (Exception e) {
                 e.printStackTrace();
                 return false;
@@ -3388,27 +3857,17 @@ public class ClaimMain {
                 claim.setName(name);
 
                 // Update name on bossbars and maps
-                Set<Chunk> chunks = claim.getChunks();
-                instance.executeSync(() -> instance.getBossBars().activateBossBar(chunks));
-                getMapAutoForChunks(chunks);
+                instance.executeSync(() -> instance.getBossBars().activateBossBar(claim));
+                getMapAutoForClaim(claim);
                 if (instance.getSettings().getBooleanSetting("dynmap")) instance.getDynmap().updateName(claim);
                 if (instance.getSettings().getBooleanSetting("bluemap")) instance.getBluemap().updateName(claim);
                 if (instance.getSettings().getBooleanSetting("pl3xmap")) instance.getPl3xMap().updateName(claim);
 
                 // Update database
-                try (Connection connection = instance.getDataSource().getConnection()) {
-                    String updateQuery = "UPDATE scs_claims_1 SET claim_name = ? WHERE owner_uuid = ? AND claim_name = ?";
-                    try (PreparedStatement preparedStatement = connection.prepareStatement(updateQuery)) {
-                        preparedStatement.setString(1, name);
-                        preparedStatement.setString(2, uuid.toString());
-                        preparedStatement.setString(3, old_name);
-                        preparedStatement.executeUpdate();
-                    }
-                    return true;
-                } catch (SQLException e) {
-                    e.printStackTrace();
-                    return false;
-                }
+                instance.getWriteQueue().execute("UPDATE scs_claims_1 SET claim_name = ? WHERE owner_uuid = ? AND claim_name = ?", name, uuid.toString(), old_name);
+                instance.getWriteQueue().changed(uuid.toString(), old_name);
+                instance.getWriteQueue().changed(uuid.toString(), name);
+                return true;
             } catch (Exception e) {
                 e.printStackTrace();
                 return false;
@@ -3433,19 +3892,8 @@ public class ClaimMain {
 
                 // Update database
                 String loc_string = String.valueOf(loc.getX()) + ";" + String.valueOf(loc.getY()) + ";" + String.valueOf(loc.getZ()) + ";" + String.valueOf(loc.getYaw()) + ";" + String.valueOf(loc.getPitch());
-                try (Connection connection = instance.getDataSource().getConnection()) {
-                    String updateQuery = "UPDATE scs_claims_1 SET Location = ? WHERE owner_uuid = ? AND claim_name = ?";
-                    try (PreparedStatement preparedStatement = connection.prepareStatement(updateQuery)) {
-                        preparedStatement.setString(1, loc_string);
-                        preparedStatement.setString(2, uuid.toString());
-                        preparedStatement.setString(3, claim.getName());
-                        preparedStatement.executeUpdate();
-                    }
-                    return true;
-                } catch (SQLException e) {
-                    e.printStackTrace();
-                    return false;
-                }
+                instance.getWriteQueue().updateRow("UPDATE scs_claims_1 SET Location = ? WHERE owner_uuid = ? AND claim_name = ?", loc_string, uuid.toString(), claim.getName());
+                return true;
             } catch (Exception e) {
                 e.printStackTrace();
                 return false;
@@ -3467,15 +3915,14 @@ public class ClaimMain {
                 UUID uuid = claim.getUUID();
 
                 // Delete all chunks and deactivate bossbars
-                Set<Chunk> chunks = claim.getChunks();
-                instance.executeSync(() -> instance.getBossBars().deactivateBossBar(chunks));
-                if (instance.getSettings().getBooleanSetting("dynmap")) instance.getDynmap().deleteMarker(chunks);
-                if (instance.getSettings().getBooleanSetting("bluemap")) instance.getBluemap().deleteMarker(chunks);
-                if (instance.getSettings().getBooleanSetting("pl3xmap")) instance.getPl3xMap().deleteMarker(chunks);
-                chunks.stream().forEach(c -> listClaims.remove(c));
+                instance.executeSync(() -> instance.getBossBars().deactivateBossBar(claim));
+                if (instance.getSettings().getBooleanSetting("dynmap")) instance.getDynmap().deleteMarker(claim);
+                if (instance.getSettings().getBooleanSetting("bluemap")) instance.getBluemap().deleteMarker(claim);
+                if (instance.getSettings().getBooleanSetting("pl3xmap")) instance.getPl3xMap().deleteMarker(claim);
+                unindexClaim(claim);
                 resetWeatherChunk(claim);
                 resetFlyChunk(claim);
-                getMapAutoForChunks(chunks);
+                getMapAutoForClaim(claim);
 
                 // Update player's claims count if its not a protected area
                 if(!claim.getOwner().equals("*")) {
@@ -3495,18 +3942,10 @@ public class ClaimMain {
                 instance.executeSync(() -> Bukkit.getPluginManager().callEvent(event));
 
                 // Update database
-                try (Connection connection = instance.getDataSource().getConnection()) {
-                    String deleteQuery = "DELETE FROM scs_claims_1 WHERE owner_uuid = ? AND claim_name = ?";
-                    try (PreparedStatement preparedStatement = connection.prepareStatement(deleteQuery)) {
-                        preparedStatement.setString(1, uuid.toString());
-                        preparedStatement.setString(2, claim.getName());
-                        preparedStatement.executeUpdate();
-                    }
-                    return true;
-                } catch (SQLException e) {
-                    e.printStackTrace();
-                    return false;
-                }
+                instance.getClaimTables().deleteClaim(uuid, claim.getName());
+                instance.getWriteQueue().execute("DELETE FROM scs_claims_1 WHERE owner_uuid = ? AND claim_name = ?", uuid.toString(), claim.getName());
+                instance.getWriteQueue().changed(uuid.toString(), claim.getName());
+                return true;
             } catch (Exception e) {
                 e.printStackTrace();
                 return false;
@@ -3536,34 +3975,25 @@ public class ClaimMain {
 
                 // Delete all claims of target player, and remove him from data
                 CustomSet<Claim> claims = playerClaims.getOrDefault(uuid, new CustomSet<>());
-                playerClaims.computeIfAbsent(uuid, k -> new CustomSet<>()).stream().forEach(claim -> {
-                    Set<Chunk> chunks = claim.getChunks();
-                    instance.executeSync(() -> instance.getBossBars().deactivateBossBar(chunks));
-                    if (instance.getSettings().getBooleanSetting("dynmap")) instance.getDynmap().deleteMarker(chunks);
-                    if (instance.getSettings().getBooleanSetting("bluemap")) instance.getBluemap().deleteMarker(chunks);
-                    if (instance.getSettings().getBooleanSetting("pl3xmap")) instance.getPl3xMap().deleteMarker(chunks);
-                    chunks.stream().forEach(c -> listClaims.remove(c));
-                    updateWeatherChunk(claim);
-                    updateFlyChunk(claim);
-                    getMapAutoForChunks(chunks);
+                claims.forEach(claim -> {
+                    if (instance.getSettings().getBooleanSetting("dynmap")) instance.getDynmap().deleteMarker(claim);
+                    if (instance.getSettings().getBooleanSetting("bluemap")) instance.getBluemap().deleteMarker(claim);
+                    if (instance.getSettings().getBooleanSetting("pl3xmap")) instance.getPl3xMap().deleteMarker(claim);
+                    unindexClaim(claim);
                 });
                 playerClaims.remove(uuid);
+                instance.executeSync(() -> claims.forEach(claim -> instance.getBossBars().deactivateBossBar(claim)));
+                updatePlayersInClaims(claims, true, true);
+                unloadedWorldClaims.values().forEach(world -> world.remove(uuid));
 
                 // Call event
                 UnclaimallEvent event = new UnclaimallEvent(claims);
                 instance.executeSync(() -> Bukkit.getPluginManager().callEvent(event));
 
                 // Update database
-                try (Connection connection = instance.getDataSource().getConnection()) {
-                    String deleteQuery = "DELETE FROM scs_claims_1 WHERE owner_uuid = ?";
-                    try (PreparedStatement preparedStatement = connection.prepareStatement(deleteQuery)) {
-                        preparedStatement.setString(1, uuid.toString());
-                        preparedStatement.executeUpdate();
-                    }
-                } catch (SQLException e) {
-                    e.printStackTrace();
-                    return false;
-                }
+                instance.getClaimTables().deleteAllClaims(uuid);
+                instance.getWriteQueue().execute("DELETE FROM scs_claims_1 WHERE owner_uuid = ?", uuid.toString());
+                instance.getWriteQueue().changed(uuid.toString(), null);
 
                 return true;
             } catch (Exception e) {
@@ -3590,19 +4020,8 @@ public class ClaimMain {
                 claim.setDescription(description);
 
                 // Update database
-                try (Connection connection = instance.getDataSource().getConnection()) {
-                    String updateQuery = "UPDATE scs_claims_1 SET claim_description = ? WHERE owner_uuid = ? AND claim_name = ?";
-                    try (PreparedStatement preparedStatement = connection.prepareStatement(updateQuery)) {
-                        preparedStatement.setString(1, description);
-                        preparedStatement.setString(2, uuid.toString());
-                        preparedStatement.setString(3, claim.getName());
-                        preparedStatement.executeUpdate();
-                    }
-                    return true;
-                } catch (SQLException e) {
-                    e.printStackTrace();
-                    return false;
-                }
+                instance.getWriteQueue().updateRow("UPDATE scs_claims_1 SET claim_description = ? WHERE owner_uuid = ? AND claim_name = ?", description, uuid.toString(), claim.getName());
+                return true;
             } catch (Exception e) {
                 e.printStackTrace();
                 return false;
@@ -3628,19 +4047,8 @@ public class ClaimMain {
                 claim.setPrice(price);
 
                 // Update database
-                try (Connection connection = instance.getDataSource().getConnection()) {
-                    String updateQuery = "UPDATE scs_claims_1 SET for_sale = true, sale_price = ? WHERE owner_uuid = ? AND claim_name = ?";
-                    try (PreparedStatement preparedStatement = connection.prepareStatement(updateQuery)) {
-                        preparedStatement.setString(1, String.valueOf(price));
-                        preparedStatement.setString(2, uuid.toString());
-                        preparedStatement.setString(3, claim.getName());
-                        preparedStatement.executeUpdate();
-                    }
-                    return true;
-                } catch (SQLException e) {
-                    e.printStackTrace();
-                    return false;
-                }
+                instance.getWriteQueue().updateRow("UPDATE scs_claims_1 SET for_sale = true, sale_price = ? WHERE owner_uuid = ? AND claim_name = ?", String.valueOf(price), uuid.toString(), claim.getName());
+                return true;
             } catch (Exception e) {
                 e.printStackTrace();
                 return false;
@@ -3665,18 +4073,8 @@ public class ClaimMain {
                 claim.setPrice(0);
 
                 // Update database
-                try (Connection connection = instance.getDataSource().getConnection()) {
-                    String updateQuery = "UPDATE scs_claims_1 SET for_sale = false, sale_price = 0 WHERE owner_uuid = ? AND claim_name = ?";
-                    try (PreparedStatement preparedStatement = connection.prepareStatement(updateQuery)) {
-                        preparedStatement.setString(1, uuid.toString());
-                        preparedStatement.setString(2, claim.getName());
-                        preparedStatement.executeUpdate();
-                    }
-                    return true;
-                } catch (SQLException e) {
-                    e.printStackTrace();
-                    return false;
-                }
+                instance.getWriteQueue().updateRow("UPDATE scs_claims_1 SET for_sale = false, sale_price = 0 WHERE owner_uuid = ? AND claim_name = ?", uuid.toString(), claim.getName());
+                return true;
             } catch (Exception e) {
                 e.printStackTrace();
                 return false;
@@ -3701,24 +4099,13 @@ public class ClaimMain {
                 UUID uuid = owner.equals("*") ? SERVER_UUID : instance.getPlayerMain().getPlayerUUID(owner);
 
                 // Update perms
-                playerClaims.computeIfAbsent(uuid, k -> new CustomSet<>()).stream().forEach(c -> {
-                    c.setPermissions(new HashMap<>(perm));
-                    updateWeatherChunk(c);
-                    updateFlyChunk(c);
-                });
+                CustomSet<Claim> claims = playerClaims.getOrDefault(uuid, new CustomSet<>());
+                claims.forEach(c -> c.setPermissions(new HashMap<>(perm)));
+                updatePlayersInClaims(claims, true, false);
 
-                try (Connection connection = instance.getDataSource().getConnection()) {
-                    String updateQuery = "UPDATE scs_claims_1 SET permissions = ? WHERE owner_uuid = ?";
-                    try (PreparedStatement preparedStatement = connection.prepareStatement(updateQuery)) {
-                        preparedStatement.setString(1, defaultValue);
-                        preparedStatement.setString(2, uuid.toString());
-                        preparedStatement.executeUpdate();
-                    }
-                    return true;
-                } catch (SQLException e) {
-                    e.printStackTrace();
-                    return false;
-                }
+                instance.getWriteQueue().execute("UPDATE scs_claims_1 SET permissions = ? WHERE owner_uuid = ?", defaultValue, uuid.toString());
+                instance.getWriteQueue().changed(uuid.toString(), null);
+                return true;
             } catch (Exception e) {
                 e.printStackTrace();
                 return false;
@@ -3749,19 +4136,8 @@ public class ClaimMain {
                 updateWeatherChunk(claim);
                 updateFlyChunk(claim);
 
-                try (Connection connection = instance.getDataSource().getConnection()) {
-                    String updateQuery = "UPDATE scs_claims_1 SET Permissions = ? WHERE owner_uuid = ? AND claim_name = ?";
-                    try (PreparedStatement preparedStatement = connection.prepareStatement(updateQuery)) {
-                        preparedStatement.setString(1, defaultValue);
-                        preparedStatement.setString(2, uuid.toString());
-                        preparedStatement.setString(3, claim.getName());
-                        preparedStatement.executeUpdate();
-                    }
-                    return true;
-                } catch (SQLException e) {
-                    e.printStackTrace();
-                    return false;
-                }
+                instance.getWriteQueue().updateRow("UPDATE scs_claims_1 SET permissions = ? WHERE owner_uuid = ? AND claim_name = ?", defaultValue, uuid.toString(), claim.getName());
+                return true;
             } catch (Exception e) {
                 e.printStackTrace();
                 return false;
@@ -3779,26 +4155,13 @@ public class ClaimMain {
             try {
                 String defaultValue = instance.getSettings().getDefaultValuesCode("all");
                 Map<String,LinkedHashMap<String,Boolean>> perm = new HashMap<>(instance.getSettings().getDefaultValues());
-                listClaims.values().stream().forEach(c -> {
-                    if(!c.getUUID().equals(SERVER_UUID)) {
-                        c.setPermissions(new HashMap<>(perm));
-                        // Update weather and fly
-                        updateWeatherChunk(c);
-                        updateFlyChunk(c);
-                    }
-                });
-                try (Connection connection = instance.getDataSource().getConnection()) {
-                    String updateQuery = "UPDATE scs_claims_1 SET permissions = ? WHERE owner_uuid <> ?";
-                    try (PreparedStatement preparedStatement = connection.prepareStatement(updateQuery)) {
-                        preparedStatement.setString(1, defaultValue);
-                        preparedStatement.setString(2, SERVER_UUID.toString());
-                        preparedStatement.executeUpdate();
-                    }
-                    return true;
-                } catch (SQLException e) {
-                    e.printStackTrace();
-                    return false;
-                }
+                List<Claim> claims = indexedClaims().filter(c -> !c.getUUID().equals(SERVER_UUID)).toList();
+                claims.forEach(c -> c.setPermissions(new HashMap<>(perm)));
+                // Update weather and fly
+                updatePlayersInClaims(claims, true, false);
+                instance.getWriteQueue().execute("UPDATE scs_claims_1 SET permissions = ? WHERE owner_uuid <> ?", defaultValue, SERVER_UUID.toString());
+                instance.getWriteQueue().changed(null, null);
+                return true;
             } catch (Exception e) {
                 e.printStackTrace();
                 return false;
@@ -3873,31 +4236,19 @@ public class ClaimMain {
                 playerClaims.computeIfAbsent(playerId, k -> new CustomSet<>()).add(claim);
 
                 // Update the bossbars, and maps
-                Set<Chunk> chunks = claim.getChunks();
-                instance.executeSync(() -> instance.getBossBars().activateBossBar(chunks));
-                getMapAutoForChunks(chunks);
+                instance.executeSync(() -> instance.getBossBars().activateBossBar(claim));
+                getMapAutoForClaim(claim);
                 if (instance.getSettings().getBooleanSetting("dynmap")) instance.getDynmap().updateName(claim);
                 if (instance.getSettings().getBooleanSetting("bluemap")) instance.getBluemap().updateName(claim);
                 if (instance.getSettings().getBooleanSetting("pl3xmap")) instance.getPl3xMap().updateName(claim);
 
                 // Update database
-                try (Connection connection = instance.getDataSource().getConnection()) {
-                    String updateQuery = "UPDATE scs_claims_1 SET id_claim = ?, owner_uuid = ?, owner_name = ?, members = ?, claim_name = ?, for_sale = false, sale_price = 0 WHERE owner_uuid = ? AND claim_name = ?";
-                    try (PreparedStatement preparedStatement = connection.prepareStatement(updateQuery)) {
-                        preparedStatement.setInt(1, id);
-                        preparedStatement.setString(2, playerId.toString());
-                        preparedStatement.setString(3, playerName);
-                        preparedStatement.setString(4, members_string);
-                        preparedStatement.setString(5, new_name);
-                        preparedStatement.setString(6, uuid.toString());
-                        preparedStatement.setString(7, old_name);
-                        preparedStatement.executeUpdate();
-                    }
-                    return true;
-                } catch (SQLException e) {
-                    e.printStackTrace();
-                    return false;
-                }
+                instance.getWriteQueue().execute("UPDATE scs_claims_1 SET id_claim = ?, owner_uuid = ?, owner_name = ?, members = ?, claim_name = ?, for_sale = false, sale_price = 0 WHERE owner_uuid = ? AND claim_name = ?", id, playerId.toString(), playerName, members_string, new_name, uuid.toString(), old_name);
+                instance.getWriteQueue().changed(uuid.toString(), old_name);
+                instance.getWriteQueue().changed(playerId.toString(), new_name);
+                instance.getClaimTables().addMember(claim, playerId);
+                instance.getClaimTables().removeMember(claim, uuid);
+                return true;
             } catch (Exception e) {
                 e.printStackTrace();
                 return false;
@@ -3970,31 +4321,19 @@ public class ClaimMain {
                 playerClaims.computeIfAbsent(uuidNewOwner, k -> new CustomSet<>()).add(claim);
 
                 // Update the bossbars, and maps
-                Set<Chunk> chunks = claim.getChunks();
-                instance.executeSync(() -> instance.getBossBars().activateBossBar(chunks));
-                getMapAutoForChunks(chunks);
+                instance.executeSync(() -> instance.getBossBars().activateBossBar(claim));
+                getMapAutoForClaim(claim);
                 if (instance.getSettings().getBooleanSetting("dynmap")) instance.getDynmap().updateName(claim);
                 if (instance.getSettings().getBooleanSetting("bluemap")) instance.getBluemap().updateName(claim);
                 if (instance.getSettings().getBooleanSetting("pl3xmap")) instance.getPl3xMap().updateName(claim);
 
                 // Updata database
-                try (Connection connection = instance.getDataSource().getConnection()) {
-                    String updateQuery = "UPDATE scs_claims_1 SET id_claim = ?, owner_uuid = ?, owner_name = ?, members = ?, claim_name = ?, for_sale = false, sale_price = 0 WHERE owner_uuid = ? AND claim_name = ?";
-                    try (PreparedStatement preparedStatement = connection.prepareStatement(updateQuery)) {
-                        preparedStatement.setInt(1, id);
-                        preparedStatement.setString(2, uuid_new_owner);
-                        preparedStatement.setString(3, playerName);
-                        preparedStatement.setString(4, members_string);
-                        preparedStatement.setString(5, new_name);
-                        preparedStatement.setString(6, uuid.toString());
-                        preparedStatement.setString(7, old_name);
-                        preparedStatement.executeUpdate();
-                    }
-                    return true;
-                } catch (SQLException e) {
-                    e.printStackTrace();
-                    return false;
-                }
+                instance.getWriteQueue().execute("UPDATE scs_claims_1 SET id_claim = ?, owner_uuid = ?, owner_name = ?, members = ?, claim_name = ?, for_sale = false, sale_price = 0 WHERE owner_uuid = ? AND claim_name = ?", id, uuid_new_owner, playerName, members_string, new_name, uuid.toString(), old_name);
+                instance.getWriteQueue().changed(uuid.toString(), old_name);
+                instance.getWriteQueue().changed(uuid_new_owner, new_name);
+                instance.getClaimTables().addMember(claim, uuidNewOwner);
+                instance.getClaimTables().removeMember(claim, uuid);
+                return true;
             } catch (Exception e) {
                 e.printStackTrace();
                 return false;
@@ -4039,67 +4378,63 @@ public class ClaimMain {
                     cTarget.setClaimsCount(cTarget.getClaimsCount() + claims.size());
                 }
 
-                // Updata database
-                try (Connection connection = instance.getDataSource().getConnection()) {
-                    String updateQuery = "UPDATE scs_claims_1 SET id_claim = ?, owner_uuid = ?, owner_name = ?, members = ?, claim_name = ?, for_sale = false, sale_price = 0 WHERE owner_uuid = ? AND claim_name = ?";
-                    try (PreparedStatement preparedStatement = connection.prepareStatement(updateQuery)) {
+                // Update the claims, with the free ids from the first one
+                String updateQuery = "UPDATE scs_claims_1 SET id_claim = ?, owner_uuid = ?, owner_name = ?, members = ?, claim_name = ?, for_sale = false, sale_price = 0 WHERE owner_uuid = ? AND claim_name = ?";
+                List<Object[]> rows = new ArrayList<>(claims.size());
+                List<String[]> changes = new ArrayList<>(claims.size() * 2);
+                CustomSet<Claim> newOwnerClaims = playerClaims.computeIfAbsent(uuidNewOwner, k -> new CustomSet<>());
+                int id = findFreeId(uuidNewOwner);
 
-                        for(Claim claim : claims) {
+                for(Claim claim : claims) {
 
-                            int id = findFreeId(uuidNewOwner);
-                            String old_name = claim.getName();
+                    String old_name = claim.getName();
+                    id = nextFreeId(uuidNewOwner, id);
 
-                            // Set the new owner to him
-                            claim.setOwner(newOwner);
+                    // Set the new owner to him
+                    claim.setOwner(newOwner);
 
-                            // Set new id and uuid
-                            claim.setUUID(uuidNewOwner);
-                            claim.setId(id);
+                    // Set new id and uuid
+                    claim.setUUID(uuidNewOwner);
+                    claim.setId(id);
 
-                            // Set the new name of the bought claim
-                            String new_name = "claim-" + String.valueOf(id);
-                            claim.setName(new_name);
+                    // Set the new name of the bought claim
+                    String new_name = "claim-" + String.valueOf(id);
+                    claim.setName(new_name);
 
-                            // Add the new owner to members if not member, and remove the old owner
-                            CustomSet<UUID> members = new CustomSet<>(claim.getMembers());
-                            if (!members.contains(uuidNewOwner)) {
-                                members.add(uuidNewOwner);
-                            }
-                            members.remove(uuid_real);
-                            claim.setMembers(members);
-                            String members_string = getMemberString(claim);
-
-                            // Add claim
-                            playerClaims.computeIfAbsent(uuidNewOwner, k -> new CustomSet<>()).add(claim);
-
-                            // Update the bossbars, and maps
-                            Set<Chunk> chunks = claim.getChunks();
-                            getMapAutoForChunks(chunks);
-                            instance.executeSync(() -> instance.getBossBars().activateBossBar(chunks));
-                            if (instance.getSettings().getBooleanSetting("dynmap")) instance.getDynmap().updateName(claim);
-                            if (instance.getSettings().getBooleanSetting("bluemap")) instance.getBluemap().updateName(claim);
-                            if (instance.getSettings().getBooleanSetting("pl3xmap")) instance.getPl3xMap().updateName(claim);
-
-                            preparedStatement.setInt(1, id);
-                            preparedStatement.setString(2, uuid_new_owner);
-                            preparedStatement.setString(3, newOwner);
-                            preparedStatement.setString(4, members_string);
-                            preparedStatement.setString(5, new_name);
-                            preparedStatement.setString(6, uuid_real.toString());
-                            preparedStatement.setString(7, old_name);
-                            preparedStatement.addBatch();
-                        }
-
-                        int[] n = preparedStatement.executeBatch();
-                        return n[0]>0;
-                    } catch (SQLException e) {
-                        e.printStackTrace();
-                        return false;
+                    // Add the new owner to members if not member, and remove the old owner
+                    CustomSet<UUID> members = new CustomSet<>(claim.getMembers());
+                    if (!members.contains(uuidNewOwner)) {
+                        members.add(uuidNewOwner);
                     }
-                } catch (Exception e) {
-                    e.printStackTrace();
-                    return false;
+                    members.remove(uuid_real);
+                    claim.setMembers(members);
+                    String members_string = getMemberString(claim);
+
+                    // Add claim
+                    newOwnerClaims.add(claim);
+
+                    // Update the maps
+                    if (instance.getSettings().getBooleanSetting("dynmap")) instance.getDynmap().updateName(claim);
+                    if (instance.getSettings().getBooleanSetting("bluemap")) instance.getBluemap().updateName(claim);
+                    if (instance.getSettings().getBooleanSetting("pl3xmap")) instance.getPl3xMap().updateName(claim);
+
+                    rows.add(new Object[] {id, uuid_new_owner, newOwner, members_string, new_name, uuid_real.toString(), old_name});
+                    changes.add(new String[] {uuid_real.toString(), old_name});
+                    changes.add(new String[] {uuid_new_owner, new_name});
+                    id++;
                 }
+
+                // Update the bossbars and the automaps once
+                instance.executeSync(() -> claims.forEach(claim -> instance.getBossBars().activateBossBar(claim)));
+                updatePlayersInClaims(claims, false, true);
+
+                // Updata database, as one batch per statement
+                instance.getWriteQueue().executeAll(updateQuery, rows);
+                changes.forEach(change -> instance.getWriteQueue().changed(change[0], change[1]));
+                instance.getClaimTables().addMemberToClaims(claims, uuidNewOwner);
+                instance.getClaimTables().removeMemberFromClaims(claims, uuid_real);
+
+                return !claims.isEmpty();
             } catch (Exception e) {
                 e.printStackTrace();
                 return false;
@@ -4136,11 +4471,9 @@ public class ClaimMain {
                     CompletableFuture<Boolean> future = world.getChunkAtAsync(X_, Z_).thenApply(chunk -> {
 
                         // Remove chunk
-                        Set<Chunk> chunks = new CustomSet<>(claim.getChunks());
-                        if(!chunks.contains(chunk)) return false;
-                        chunks.remove(chunk);
-                        claim.setChunks(chunks);
-                        listClaims.remove(chunk);
+                        if(!claim.containsChunk(chunk)) return false;
+                        claim.removeChunk(chunk.getX(), chunk.getZ());
+                        unindexChunk(chunk);
 
                         // Remove bossbar and maps
                         if (instance.getSettings().getBooleanSetting("dynmap")) instance.getDynmap().deleteMarker(Set.of(chunk));
@@ -4149,37 +4482,30 @@ public class ClaimMain {
                         instance.executeSync(() -> instance.getBossBars().deactivateBossBar(Set.of(chunk)));
                         updateWeatherChunk(claim);
                         updateFlyChunk(claim);
-                        getMapAutoForChunks(chunks);
+                        getMapAutoForClaim(claim);
+
+                        // Update database
+                        if (instance.getClaimTables().isEnabled()) {
+                            instance.getClaimTables().removeChunk(claim, chunk.getX(), chunk.getZ());
+                            return true;
+                        }
 
                         // Serialize chunks
-                        String chunksData = serializeChunks(chunks);
+                        String chunksData = serializeChunks(claim.getChunkKeys());
 
                         // Get uuid of the owner
                         UUID uuid = claim.getUUID();
 
                         // Update database
-                        try (Connection connection = instance.getDataSource().getConnection()) {
-                            String updateQuery = "UPDATE scs_claims_1 SET chunks = ? WHERE owner_uuid = ? AND claim_name = ?";
-                            try (PreparedStatement preparedStatement = connection.prepareStatement(updateQuery)) {
-                                preparedStatement.setString(1, chunksData);
-                                preparedStatement.setString(2, uuid.toString());
-                                preparedStatement.setString(3, claim.getName());
-                                preparedStatement.executeUpdate();
-                            }
-                            return true;
-                        } catch (SQLException e) {
-                            e.printStackTrace();
-                            return false;
-                        }
+                        instance.getWriteQueue().updateRow("UPDATE scs_claims_1 SET chunks = ? WHERE owner_uuid = ? AND claim_name = ?", chunksData, uuid.toString(), claim.getName());
+                        return true;
                     });
                     return future.join();
                 } else {
                     Chunk chunk = world.getChunkAt(X_, Z_);
                     // Remove chunk
-                    Set<Chunk> chunks = new CustomSet<>(claim.getChunks());
-                    chunks.remove(chunk);
-                    claim.setChunks(chunks);
-                    listClaims.remove(chunk);
+                    claim.removeChunk(chunk.getX(), chunk.getZ());
+                    unindexChunk(chunk);
 
                     // Remove bossbar and maps
                     if (instance.getSettings().getBooleanSetting("dynmap")) instance.getDynmap().deleteMarker(Set.of(chunk));
@@ -4189,26 +4515,21 @@ public class ClaimMain {
                     updateWeatherChunk(claim);
                     updateFlyChunk(claim);
 
+                    // Update database
+                    if (instance.getClaimTables().isEnabled()) {
+                        instance.getClaimTables().removeChunk(claim, chunk.getX(), chunk.getZ());
+                        return true;
+                    }
+
                     // Serialize chunks
-                    String chunksData = serializeChunks(chunks);
+                    String chunksData = serializeChunks(claim.getChunkKeys());
 
                     // Get uuid of the owner
                     UUID uuid = claim.getUUID();
 
                     // Update database
-                    try (Connection connection = instance.getDataSource().getConnection()) {
-                        String updateQuery = "UPDATE scs_claims_1 SET chunks = ? WHERE owner_uuid = ? AND claim_name = ?";
-                        try (PreparedStatement preparedStatement = connection.prepareStatement(updateQuery)) {
-                            preparedStatement.setString(1, chunksData);
-                            preparedStatement.setString(2, uuid.toString());
-                            preparedStatement.setString(3, claim.getName());
-                            preparedStatement.executeUpdate();
-                        }
-                        return true;
-                    } catch (SQLException e) {
-                        e.printStackTrace();
-                        return false;
-                    }
+                    instance.getWriteQueue().updateRow("UPDATE scs_claims_1 SET chunks = ? WHERE owner_uuid = ? AND claim_name = ?", chunksData, uuid.toString(), claim.getName());
+                    return true;
                 }
             } catch (Exception e) {
                 e.printStackTrace();
@@ -4228,10 +4549,8 @@ public class ClaimMain {
         return CompletableFuture.supplyAsync(() -> {
             try {
                 // Remove chunk
-                Set<Chunk> chunks = new CustomSet<>(claim.getChunks());
-                chunks.remove(chunk);
-                claim.setChunks(chunks);
-                listClaims.remove(chunk);
+                claim.removeChunk(chunk.getX(), chunk.getZ());
+                unindexChunk(chunk);
 
                 // Remove bossbar and maps
                 if (instance.getSettings().getBooleanSetting("dynmap")) instance.getDynmap().deleteMarker(Set.of(chunk));
@@ -4240,28 +4559,23 @@ public class ClaimMain {
                 instance.executeSync(() -> instance.getBossBars().deactivateBossBar(Set.of(chunk)));
                 updateWeatherChunk(claim);
                 updateFlyChunk(claim);
-                getMapAutoForChunks(chunks);
+                getMapAutoForClaim(claim);
+
+                // Update database
+                if (instance.getClaimTables().isEnabled()) {
+                    instance.getClaimTables().removeChunk(claim, chunk.getX(), chunk.getZ());
+                    return true;
+                }
 
                 // Serialize chunks
-                String chunksData = serializeChunks(chunks);
+                String chunksData = serializeChunks(claim.getChunkKeys());
 
                 // Get uuid of the owner
                 UUID uuid = claim.getUUID();
 
                 // Update database
-                try (Connection connection = instance.getDataSource().getConnection()) {
-                    String updateQuery = "UPDATE scs_claims_1 SET chunks = ? WHERE owner_uuid = ? AND claim_name = ?";
-                    try (PreparedStatement preparedStatement = connection.prepareStatement(updateQuery)) {
-                        preparedStatement.setString(1, chunksData);
-                        preparedStatement.setString(2, uuid.toString());
-                        preparedStatement.setString(3, claim.getName());
-                        preparedStatement.executeUpdate();
-                    }
-                    return true;
-                } catch (SQLException e) {
-                    e.printStackTrace();
-                    return false;
-                }
+                instance.getWriteQueue().updateRow("UPDATE scs_claims_1 SET chunks = ? WHERE owner_uuid = ? AND claim_name = ?", chunksData, uuid.toString(), claim.getName());
+                return true;
             } catch (Exception e) {
                 e.printStackTrace();
                 return false;
@@ -4280,11 +4594,9 @@ public class ClaimMain {
         return CompletableFuture.supplyAsync(() -> {
             try {
                 // Add chunk
-                Set<Chunk> chunks = new CustomSet<>(claim.getChunks());
-                if(chunks.contains(chunk)) return false;
-                chunks.add(chunk);
-                claim.setChunks(chunks);
-                listClaims.put(chunk,claim);
+                if(claim.containsChunk(chunk)) return false;
+                claim.addChunk(chunk);
+                indexChunk(chunk, claim);
 
                 // Add bossbar and maps
                 if (instance.getSettings().getBooleanSetting("dynmap")) instance.getDynmap().createClaimZone(claim);
@@ -4293,28 +4605,23 @@ public class ClaimMain {
                 instance.executeSync(() -> instance.getBossBars().activateBossBar(Set.of(chunk)));
                 updateWeatherChunk(claim);
                 updateFlyChunk(claim);
-                getMapAutoForChunks(chunks);
+                getMapAutoForClaim(claim);
+
+                // Update database
+                if (instance.getClaimTables().isEnabled()) {
+                    instance.getClaimTables().addChunk(claim, chunk.getX(), chunk.getZ());
+                    return true;
+                }
 
                 // Serialize chunks
-                String chunksData = serializeChunks(chunks);
+                String chunksData = serializeChunks(claim.getChunkKeys());
 
                 // Get uuid of the owner
                 UUID uuid = claim.getUUID();
 
                 // Update database
-                try (Connection connection = instance.getDataSource().getConnection()) {
-                    String updateQuery = "UPDATE scs_claims_1 SET chunks = ? WHERE owner_uuid = ? AND claim_name = ?";
-                    try (PreparedStatement preparedStatement = connection.prepareStatement(updateQuery)) {
-                        preparedStatement.setString(1, chunksData);
-                        preparedStatement.setString(2, uuid.toString());
-                        preparedStatement.setString(3, claim.getName());
-                        preparedStatement.executeUpdate();
-                    }
-                    return true;
-                } catch (SQLException e) {
-                    e.printStackTrace();
-                    return false;
-                }
+                instance.getWriteQueue().updateRow("UPDATE scs_claims_1 SET chunks = ? WHERE owner_uuid = ? AND claim_name = ?", chunksData, uuid.toString(), claim.getName());
+                return true;
             } catch (Exception e) {
                 e.printStackTrace();
                 return false;
@@ -4333,18 +4640,17 @@ public class ClaimMain {
         return CompletableFuture.supplyAsync(() -> {
             try {
 
-                // Collect chunks from claims and update listClaims map and add new chunks
+                // Collect chunks from claims and update the claims index and add new chunks
                 claims.stream().forEach(claim -> {
-                    Set<Chunk> chunks = claim.getChunks();
-                    chunks.stream().forEach(c -> listClaims.put(c, claim1));
-                    claim1.addChunks(chunks);
-                    instance.executeSync(() -> instance.getBossBars().activateBossBar(chunks));
+                    claim1.addChunks(claim.getChunkKeys());
+                    indexClaim(claim1);
+                    instance.executeSync(() -> instance.getBossBars().activateBossBar(claim1));
                     if (instance.getSettings().getBooleanSetting("dynmap")) instance.getDynmap().updateName(claim1);
                     if (instance.getSettings().getBooleanSetting("bluemap")) instance.getBluemap().updateName(claim1);
                     if (instance.getSettings().getBooleanSetting("pl3xmap")) instance.getPl3xMap().updateName(claim1);
                     updateWeatherChunk(claim1);
                     updateFlyChunk(claim1);
-                    getMapAutoForChunks(chunks);
+                    getMapAutoForClaim(claim1);
                 });
 
                 // Get uuid of the owner
@@ -4366,32 +4672,19 @@ public class ClaimMain {
                     playerClaims.computeIfAbsent(uuid, k -> new CustomSet<>()).removeAll(toRemove);
                 });
 
-                // Serialize chunks
-                String chunksData = serializeChunks(claim1.getChunks());
-
                 // Update database
-                try (Connection connection = instance.getDataSource().getConnection()) {
-                    String updateQuery = "UPDATE scs_claims_1 SET chunks = ? WHERE owner_uuid = ? AND claim_name = ?";
-                    try (PreparedStatement preparedStatement = connection.prepareStatement(updateQuery)) {
-                        preparedStatement.setString(1, chunksData);
-                        preparedStatement.setString(2, uuid_string);
-                        preparedStatement.setString(3, claim1.getName());
-                        preparedStatement.executeUpdate();
-                    }
-                    String deleteQuery = "DELETE FROM scs_claims_1 WHERE owner_uuid = ? AND claim_name = ?";
-                    try (PreparedStatement preparedStatement = connection.prepareStatement(deleteQuery)) {
-                        for(Claim claim : claims) {
-                            preparedStatement.setString(1, uuid_string);
-                            preparedStatement.setString(2, claim.getName());
-                            preparedStatement.addBatch();
-                        };
-                        preparedStatement.executeBatch();
-                    }
-                    return true;
-                } catch (SQLException e) {
-                    e.printStackTrace();
-                    return false;
+                if (instance.getClaimTables().isEnabled()) {
+                    claims.forEach(claim -> instance.getClaimTables().moveChunks(claim1, claim));
+                } else {
+                    String chunksData = serializeChunks(claim1.getChunkKeys());
+                    instance.getWriteQueue().updateRow("UPDATE scs_claims_1 SET chunks = ? WHERE owner_uuid = ? AND claim_name = ?", chunksData, uuid_string, claim1.getName());
                 }
+                for(Claim claim : claims) {
+                    instance.getClaimTables().deleteClaim(uuid, claim.getName());
+                    instance.getWriteQueue().execute("DELETE FROM scs_claims_1 WHERE owner_uuid = ? AND claim_name = ?", uuid_string, claim.getName());
+                    instance.getWriteQueue().changed(uuid_string, claim.getName());
+                }
+                return true;
             } catch (Exception e) {
                 e.printStackTrace();
                 return false;
@@ -4405,8 +4698,6 @@ public class ClaimMain {
      *
      * @param player the player claiming the chunks
      * @param chunks the set of chunks to be displayed
-     * @param claim  whether the chunks are being claimed or not
-     * @param see if its from the /claim see command
      */
     public void displayChunksNotEnter(Player player, CustomSet<Chunk> chunks) {
 
@@ -4415,39 +4706,21 @@ public class ClaimMain {
         chunksParticles.addAll(chunks);
         Particle.DustOptions dustOptions = new Particle.DustOptions(Color.fromRGB(255, 0, 0), 1.5f);
 
-        CompletableFuture<Set<Location>> futureLocations = getParticleLocations(chunks);
-
-        futureLocations.thenAccept(particleLocations -> {
-            if (instance.isFolia()) {
-                final int[] counter = {0};
-                Bukkit.getAsyncScheduler().runAtFixedRate(instance, task -> {
-                    if (counter[0] >= 10) {
-                        task.cancel();
-                        chunksParticles.removeAll(chunks);
-                        return;
-                    }
-                    World world = player.getWorld();
-                    particleLocations.stream().forEach(location -> world.spawnParticle(Particle.REDSTONE, location, 1, 0, 0, 0, 0, dustOptions));
-                    counter[0]++;
-                }, 0, 500, TimeUnit.MILLISECONDS);
-            } else {
-                new BukkitRunnable() {
-                    int counter = 0;
+        World world = player.getWorld();
+        displayBorder(player, world, getBorder(world, chunks), dustOptions, () -> chunksParticles.removeAll(chunks));
+    }
 
-                    @Override
-                    public void run() {
-                        if (counter >= 10) {
-                            this.cancel();
-                            chunksParticles.removeAll(chunks);
-                            return;
-                        }
-                        World world = player.getWorld();
-                        particleLocations.stream().forEach(location -> world.spawnParticle(Particle.REDSTONE, location, 1, 0, 0, 0, 0, dustOptions));
-                        counter++;
-                    }
-                }.runTaskTimerAsynchronously(instance, 0, 10L);
-            }
-        });
+    /**
+     * Displays particles around the border of a claim the player cannot enter.
+     *
+     * @param player the player
+     * @param claim the claim
+     */
+    public void displayChunksNotEnter(Player player, Claim claim) {
+        World world = claim.getWorld();
+        if (world == null || !claimsParticles.add(claim)) return;
+        Particle.DustOptions dustOptions = new Particle.DustOptions(Color.fromRGB(255, 0, 0), 1.5f);
+        displayBorder(player, world, claim.getBorder(), dustOptions, () -> claimsParticles.remove(claim));
     }
 
     /**
@@ -4466,41 +4739,97 @@ public class ClaimMain {
         chunksParticles.addAll(chunks);
         Particle.DustOptions dustOptions = getDustOptions(player, claim, see);
 
-        CompletableFuture<Set<Location>> futureLocations = getParticleLocations(chunks);
+        World world = player.getWorld();
+        displayBorder(player, world, getBorder(world, chunks), dustOptions, () -> instance.executeSync(() -> chunksParticles.removeAll(chunks)));
+    }
 
-        futureLocations.thenAccept(particleLocations -> {
-            if (instance.isFolia()) {
-                final int[] counter = {0};
-                Bukkit.getAsyncScheduler().runAtFixedRate(instance, task -> {
-                    if (counter[0] >= 10) {
-                        task.cancel();
-                        chunksParticles.removeAll(chunks);
-                        return;
-                    }
-                    World world = player.getWorld();
-                    particleLocations.stream().forEach(location -> world.spawnParticle(Particle.REDSTONE, location, 1, 0, 0, 0, 0, dustOptions));
-                    counter[0]++;
-                }, 0, 500, TimeUnit.MILLISECONDS);
-            } else {
-                new BukkitRunnable() {
-                    int counter = 0;
+    /**
+     * Displays particles around the border of a claim, from its cached border.
+     *
+     * @param player the player
+     * @param target the claim to be displayed
+     * @param claim whether the chunks are being claimed or not
+     * @param see if its from the /claim see command
+     */
+    public void displayChunks(Player player, Claim target, boolean claim, boolean see) {
+        displayClaims(player, Set.of(target), claim, see);
+    }
 
-                    @Override
-                    public void run() {
-                        if (counter >= 10) {
-                            this.cancel();
-                            instance.executeSync(() -> {
-                                chunksParticles.removeAll(chunks);
-                            });
-                            return;
-                        }
-                        World world = player.getWorld();
-                        particleLocations.stream().forEach(location -> world.spawnParticle(Particle.REDSTONE, location, 1, 0, 0, 0, 0, dustOptions));
-                        counter++;
+    /**
+     * Displays particles around the borders of claims. Only the claims of the player's world are shown.
+     *
+     * @param player the player
+     * @param claims the claims to be displayed
+     * @param claim whether the chunks are being claimed or not
+     * @param see if its from the /claim see command
+     */
+    public void displayClaims(Player player, Collection<Claim> claims, boolean claim, boolean see) {
+        World world = player.getWorld();
+        UUID worldId = world.getUID();
+        List<Claim> targets = claims.stream()
+                .filter(target -> target != null && worldId.equals(target.getWorldId()))
+                .collect(Collectors.toList());
+        if (targets.isEmpty() || claimsParticles.containsAll(targets)) return;
+
+        claimsParticles.addAll(targets);
+        Particle.DustOptions dustOptions = getDustOptions(player, claim, see);
+
+        ClaimBorder border;
+        if (targets.size() == 1) {
+            border = targets.get(0).getBorder();
+        } else {
+            border = ClaimBorder.of(targets.stream().flatMapToLong(target -> Arrays.stream(target.getChunkKeys())).distinct().toArray(), 0);
+        }
+        displayBorder(player, world, border, dustOptions, () -> claimsParticles.removeAll(targets));
+    }
+
+    /**
+     * Displays the particles of a border around a player, 10 times every 500 ms.
+     * Only the points close to the player are spawned, without allocating their locations.
+     *
+     * @param player the player
+     * @param world the world of the border
+     * @param border the border
+     * @param dustOptions the dust options for the particles
+     * @param onEnd the task to run once the display is over
+     */
+    private void displayBorder(Player player, World world, ClaimBorder border, Particle.DustOptions dustOptions, Runnable onEnd) {
+        int minY = world.getMinHeight();
+        int maxY = world.getMaxHeight();
+        ClaimBorder.PointConsumer spawn = (x, y, z) -> world.spawnParticle(Particle.REDSTONE, x, y, z, 1, 0, 0, 0, 0, dustOptions);
+        Runnable show = () -> {
+            Location location = player.getLocation();
+            if (!world.equals(location.getWorld())) return;
+            border.forEachPoint(location.getX(), location.getY(), location.getZ(), PARTICLES_RADIUS, PARTICLES_HEIGHT, minY, maxY, spawn);
+        };
+
+        if (instance.isFolia()) {
+            final int[] counter = {0};
+            Bukkit.getAsyncScheduler().runAtFixedRate(instance, task -> {
+                if (counter[0] >= 10) {
+                    task.cancel();
+                    onEnd.run();
+                    return;
+                }
+                show.run();
+                counter[0]++;
+            }, 0, 500, TimeUnit.MILLISECONDS);
+        } else {
+            new BukkitRunnable() {
+                int counter = 0;
+
+                @Override
+                public void run() {
+                    if (counter >= 10) {
+                        this.cancel();
+                        onEnd.run();
+                        return;
                     }
-                }.runTaskTimerAsynchronously(instance, 0, 10L);
-            }
-        });
+                    show.run();
+                    counter++;
+                }
+            }.runTaskTimerAsynchronously(instance, 0, 10L);
+        }
     }
 
     /**
@@ -4516,7 +4845,7 @@ public class ClaimMain {
             Chunk chunk = player.getLocation().getChunk();
             if (checkIfClaimExists(chunk)) {
                 String playerName = player.getName();
-                if (listClaims.get(chunk).getOwner().equals(playerName)) {
+                if (getClaim(chunk).getOwner().equals(playerName)) {
                     return new Particle.DustOptions(Color.fromRGB(0, 255, 0), 1.5f);
                 } else {
                     return new Particle.DustOptions(Color.fromRGB(255, 0, 0), 1.5f);
@@ -4532,122 +4861,19 @@ public class ClaimMain {
     }
 
     /**
-     * Generates a set of locations for particle spawning around the specified chunks.
+     * Computes the border of the specified chunks of a world, from their coordinates only.
      * Particles are shown only at the borders of the chunks and not between adjacent chunks.
      *
+     * @param world the world
      * @param chunks the set of chunks
-     * @return the set of locations for particle spawning
+     * @return the border
      */
-    private CompletableFuture<Set<Location>> getParticleLocations(Set<Chunk> chunks) {
-        CustomSet<Location> locations = new CustomSet<>();
-        CompletableFuture<Set<Location>> resultFuture = new CompletableFuture<>();
-
-        if (instance.isFolia()) {
-            List<CompletableFuture<Void>> futures = new ArrayList<>();
-            for (Chunk chunk : chunks) {
-                World world = chunk.getWorld();
-                int xStart = chunk.getX() << 4;
-                int zStart = chunk.getZ() << 4;
-                int xEnd = xStart + 15;
-                int zEnd = zStart + 15;
-                int yStart = world.getMinHeight();
-                int yEnd = world.getMaxHeight() - 1;
-
-                // Asynchronously add border locations only if adjacent chunks are not present
-                futures.add(world.getChunkAtAsync(chunk.getX() - 1, chunk.getZ()).thenAccept(adjChunk -> {
-                    if (!chunks.contains(adjChunk)) {
-                        for (int y = yStart; y <= yEnd; y += 2) {
-                            for (int z = zStart; z <= zEnd; z += 2) {
-                                locations.add(new Location(world, xStart, y, z));
-                            }
-                        }
-                    }
-                }));
-
-                futures.add(world.getChunkAtAsync(chunk.getX() + 1, chunk.getZ()).thenAccept(adjChunk -> {
-                    if (!chunks.contains(adjChunk)) {
-                        for (int y = yStart; y <= yEnd; y += 2) {
-                            for (int z = zStart; z <= zEnd; z += 2) {
-                                locations.add(new Location(world, xEnd + 1, y, z));
-                            }
-                        }
-                    }
-                }));
-
-                futures.add(world.getChunkAtAsync(chunk.getX(), chunk.getZ() - 1).thenAccept(adjChunk -> {
-                    if (!chunks.contains(adjChunk)) {
-                        for (int y = yStart; y <= yEnd; y += 2) {
-                            for (int x = xStart; x <= xEnd; x += 2) {
-                                locations.add(new Location(world, x, y, zStart));
-                            }
-                        }
-                    }
-                }));
-
-                futures.add(world.getChunkAtAsync(chunk.getX(), chunk.getZ() + 1).thenAccept(adjChunk -> {
-                    if (!chunks.contains(adjChunk)) {
-                        for (int y = yStart; y <= yEnd; y += 2) {
-                            for (int x = xStart; x <= xEnd; x += 2) {
-                                locations.add(new Location(world, x, y, zEnd + 1));
-                            }
-                        }
-                    }
-                }));
-            }
-            // Wait for all async chunk loads to complete
-            CompletableFuture<Void> allOf = CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
-            allOf.thenRun(() -> {
-                // CustomSet/비동기 add가 섞일 수 있으니 스냅샷으로 고정
-                Set<Location> snapshot = new HashSet<>(locations);
-                resultFuture.complete(snapshot);
-            }).exceptionally(ex -> {
-                ex.printStackTrace();
-                resultFuture.completeExceptionally(ex);
-                return null;
-            });
-        } else {
-            for (Chunk chunk : chunks) {
-                World world = chunk.getWorld();
-                int xStart = chunk.getX() << 4;
-                int zStart = chunk.getZ() << 4;
-                int xEnd = xStart + 15;
-                int zEnd = zStart + 15;
-                int yStart = world.getMinHeight();
-                int yEnd = world.getMaxHeight() - 1;
-
-                if (!chunks.contains(world.getChunkAt(chunk.getX() - 1, chunk.getZ()))) {
-                    for (int y = yStart; y <= yEnd; y += 2) {
-                        for (int z = zStart; z <= zEnd; z += 2) {
-                            locations.add(new Location(world, xStart, y, z));
-                        }
-                    }
-                }
-                if (!chunks.contains(world.getChunkAt(chunk.getX() + 1, chunk.getZ()))) {
-                    for (int y = yStart; y <= yEnd; y += 2) {
-                        for (int z = zStart; z <= zEnd; z += 2) {
-                            locations.add(new Location(world, xEnd + 1, y, z));
-                        }
-                    }
-                }
-                if (!chunks.contains(world.getChunkAt(chunk.getX(), chunk.getZ() - 1))) {
-                    for (int y = yStart; y <= yEnd; y += 2) {
-                        for (int x = xStart; x <= xEnd; x += 2) {
-                            locations.add(new Location(world, x, y, zStart));
-                        }
-                    }
-                }
-                if (!chunks.contains(world.getChunkAt(chunk.getX(), chunk.getZ() + 1))) {
-                    for (int y = yStart; y <= yEnd; y += 2) {
-                        for (int x = xStart; x <= xEnd; x += 2) {
-                            locations.add(new Location(world, x, y, zEnd + 1));
-                        }
-                    }
-                }
-            }
-            resultFuture.complete(locations); // Complete the result future with the locations set
-        }
-
-        return resultFuture;
+    private ClaimBorder getBorder(World world, Set<Chunk> chunks) {
+        long[] keys = chunks.stream()
+                .filter(chunk -> chunk.getWorld().equals(world))
+                .mapToLong(chunk -> ClaimIndex.key(chunk.getX(), chunk.getZ()))
+                .toArray();
+        return ClaimBorder.of(keys, 0);
     }
 
 
@@ -4807,29 +5033,11 @@ public class ClaimMain {
                 return true;
             }
 
-            World world = centerChunk.getWorld();
-            int centerX = centerChunk.getX();
-            int centerZ = centerChunk.getZ();
-
-            // Iterate through the listClaims to find claims within the distance
-            for (Map.Entry<Chunk, Claim> entry : listClaims.entrySet()) {
-                Chunk chunk = entry.getKey();
-                Claim claim = entry.getValue();
-                if (chunk.getWorld().equals(world)) {
-                    int chunkX = chunk.getX();
-                    int chunkZ = chunk.getZ();
+            ClaimIndex index = claimIndexes.get(centerChunk.getWorld().getUID());
+            if (index == null) return true;
 
-                    int deltaX = Math.abs(chunkX - centerX);
-                    int deltaZ = Math.abs(chunkZ - centerZ);
-
-                    // Check if the chunk is within the specified distance and does not belong to the player
-                    if (deltaX <= distance && deltaZ <= distance && !claim.getOwner().equals(playerName)) {
-                        return false; // A conflicting claim is found
-                    }
-                }
-            }
-
-            return true; // No conflicting claims found
+            // Look for a claim within the distance which does not belong to the player
+            return !index.anyInRadius(centerChunk.getX(), centerChunk.getZ(), distance, claim -> !claim.getOwner().equals(playerName));
         });
     }
 
@@ -4858,6 +5066,20 @@ public class ClaimMain {
      * @param check if its automap or not
      */
     public void getMap(Player player, Chunk to, boolean check) {
+        getMap(player, to.getX(), to.getZ(), check);
+    }
+
+    /**
+     * Method to get the map for a player, from the claim index only (no chunk is loaded).
+     * The cells are kept by the player between two maps, so moving by one chunk only resolves
+     * the new row or column, and the scoreboard only receives the lines that changed.
+     *
+     * @param player the player requesting the map
+     * @param centerX the X coordinate of the chunk to be displayed on the map
+     * @param centerZ the Z coordinate of the chunk to be displayed on the map
+     * @param check if its automap or not
+     */
+    public void getMap(Player player, int centerX, int centerZ, boolean check) {
         instance.executeAsync(() -> {
             CPlayer cPlayer = instance.getPlayerMain().getCPlayer(player.getUniqueId());
             if (cPlayer == null) return;
@@ -4873,76 +5095,79 @@ public class ClaimMain {
             }
 
             String direction = getDirection(player.getLocation().getYaw());
-            Chunk centerChunk = to;
-            int centerX = centerChunk.getX();
-            int centerZ = centerChunk.getZ();
-            boolean isClaimed = checkIfClaimExists(centerChunk);
-
-            String name = isClaimed
-                    ? instance.getLanguage().getMessage("map-actual-claim-name-message").replace("%name%", getClaimNameByChunk(centerChunk))
-                    : instance.getLanguage().getMessage("map-no-claim-name-message");
+            // The map is a rotation of the world, so the offsets of a cell are a combination of two axes
+            int[] axisX = adjustDirection(1, 0, direction);
+            int[] axisZ = adjustDirection(0, 1, direction);
+            World world = player.getWorld();
+            UUID playerId = player.getUniqueId();
+
             String coords = instance.getLanguage().getMessage("map-coords-message")
                     .replace("%coords%", centerX + "," + centerZ)
                     .replace("%direction%", direction);
             String colorRelationNoClaim = instance.getLanguage().getMessage("map-no-claim-color");
             String colorCursor = instance.getLanguage().getMessage("map-cursor-color");
-            String symbolNoClaim = instance.getLanguage().getMessage("map-symbol-no-claim");
+            String relationMember = instance.getLanguage().getMessage("map-claim-relation-member");
+            String relationVisitor = instance.getLanguage().getMessage("map-claim-relation-visitor");
             String symbolClaim = instance.getLanguage().getMessage("map-symbol-claim");
-            String mapCursor = instance.getLanguage().getMessage("map-cursor");
-            World world = player.getWorld();
 
-            // Function to get chunk symbols
-            Function<Chunk, String> getChunkSymbol = chunk -> chunk.equals(centerChunk)
-                    ? colorCursor + mapCursor + colorRelationNoClaim
-                    : checkIfClaimExists(chunk)
-                    ? getRelation(player, chunk) + symbolClaim + colorRelationNoClaim
-                    : colorRelationNoClaim + symbolNoClaim;
-
-            Map<Integer, String> legendMap = new HashMap<>();
-            legendMap.put(-3, "  " + name + (isClaimed ? " " + instance.getLanguage().getMessage("map-actual-claim-name-message-owner")
-                    .replace("%owner%", listClaims.get(centerChunk).getOwner()) : ""));
-            legendMap.put(-2, "  " + coords);
-            legendMap.put(0, "  " + instance.getLanguage().getMessage("map-legend-you").replace("%cursor-color%", colorCursor));
-            legendMap.put(1, "  " + instance.getLanguage().getMessage("map-legend-free").replace("%no-claim-color%", colorRelationNoClaim));
-            legendMap.put(2, "  " + instance.getLanguage().getMessage("map-legend-yours").replace("%claim-relation-member%", instance.getLanguage().getMessage("map-claim-relation-member")));
-            legendMap.put(3, "  " + instance.getLanguage().getMessage("map-legend-other").replace("%claim-relation-visitor%", instance.getLanguage().getMessage("map-claim-relation-visitor")));
+            // Symbols of the cells
+            String cursorSymbol = colorCursor + instance.getLanguage().getMessage("map-cursor") + colorRelationNoClaim;
+            String noClaimSymbol = colorRelationNoClaim + instance.getLanguage().getMessage("map-symbol-no-claim");
+            String memberSymbol = relationMember + symbolClaim + colorRelationNoClaim;
+            String visitorSymbol = relationVisitor + symbolClaim + colorRelationNoClaim;
 
             StringBuilder mapMessage = new StringBuilder("\n").append(colorRelationNoClaim);
 
-            Runnable mapLogic = () -> IntStream.rangeClosed(-4, 4).forEach(dz -> {
-                StringBuilder line = new StringBuilder(colorRelationNoClaim);
-                IntStream.rangeClosed(-10, 10).forEach(dx -> {
-                    int[] offset = adjustDirection(dx, dz, direction);
-                    Chunk chunk = world.getChunkAt(centerX + offset[0], centerZ + offset[1]);
-                    String symbol = getChunkSymbol.apply(chunk);
-                    mapMessage.append(symbol);
-                    line.append(symbol);
-                });
-                if (legendMap.containsKey(dz)) {
+            ClaimMapCache cache = cPlayer.getMapCache();
+            synchronized (cache) {
+                cache.moveTo(claimIndexes.get(world.getUID()), centerX, centerZ);
+                Claim centerClaim = cache.getClaim(centerX, centerZ);
+
+                String name = centerClaim != null
+                        ? instance.getLanguage().getMessage("map-actual-claim-name-message").replace("%name%", centerClaim.getName())
+                        : instance.getLanguage().getMessage("map-no-claim-name-message");
+
+                Map<Integer, String> legendMap = new HashMap<>();
+                legendMap.put(-3, "  " + name + (centerClaim != null ? " " + instance.getLanguage().getMessage("map-actual-claim-name-message-owner")
+                        .replace("%owner%", centerClaim.getOwner()) : ""));
+                legendMap.put(-2, "  " + coords);
+                legendMap.put(0, "  " + instance.getLanguage().getMessage("map-legend-you").replace("%cursor-color%", colorCursor));
+                legendMap.put(1, "  " + instance.getLanguage().getMessage("map-legend-free").replace("%no-claim-color%", colorRelationNoClaim));
+                legendMap.put(2, "  " + instance.getLanguage().getMessage("map-legend-yours").replace("%claim-relation-member%", relationMember));
+                legendMap.put(3, "  " + instance.getLanguage().getMessage("map-legend-other").replace("%claim-relation-visitor%", relationVisitor));
+
+                for (int dz = -4; dz <= 4; dz++) {
+                    StringBuilder line = new StringBuilder(colorRelationNoClaim);
+                    for (int dx = -ClaimMapCache.RADIUS; dx <= ClaimMapCache.RADIUS; dx++) {
+                        String symbol;
+                        if (dx == 0 && dz == 0) {
+                            symbol = cursorSymbol;
+                        } else {
+                            Claim claim = cache.getClaim(centerX + dx * axisX[0] + dz * axisZ[0], centerZ + dx * axisX[1] + dz * axisZ[1]);
+                            symbol = claim == null ? noClaimSymbol : cache.isMember(claim, playerId) ? memberSymbol : visitorSymbol;
+                        }
+                        mapMessage.append(symbol);
+                        line.append(symbol);
+                    }
                     String legend = legendMap.get(dz);
-                    mapMessage.append(legend);
-                    line.append(legend);
+                    if (legend != null) {
+                        mapMessage.append(legend);
+                        line.append(legend);
+                    }
+                    mapMessage.append("\n");
+                    lines.add(line.toString());
                 }
-                mapMessage.append("\n");
-                lines.add(line.toString());
-            });
+            }
 
-            if (instance.isFolia()) {
-                Bukkit.getRegionScheduler().run(instance, player.getLocation(), task -> {
-                    mapLogic.run();
-                    if (scoreboard) {
-                        updateScoreboard(cScoreboard, lines);
-                    } else {
-                        instance.executeEntitySync(player, () -> player.sendMessage(mapMessage.toString()));
-                    }
-                });
-            } else {
-                mapLogic.run();
-                if (scoreboard) {
-                    updateScoreboard(cScoreboard, lines);
+            if (scoreboard) {
+                if (cScoreboard == null) return;
+                if (instance.isFolia()) {
+                    instance.executeEntitySync(player, () -> updateScoreboard(cScoreboard, lines));
                 } else {
-                    instance.executeEntitySync(player, () -> player.sendMessage(mapMessage.toString()));
+                    updateScoreboard(cScoreboard, lines);
                 }
+            } else {
+                instance.executeEntitySync(player, () -> player.sendMessage(mapMessage.toString()));
             }
         });
     }
@@ -5027,7 +5252,7 @@ public class ClaimMain {
      * @return the relation as a string
      */
     public String getRelation(Player player, Chunk chunk) {
-        Claim claim = listClaims.get(chunk);
+        Claim claim = getClaim(chunk);
         if(claim == null) return instance.getLanguage().getMessage("map-claim-relation-visitor");
         return checkMembre(claim, player) ? instance.getLanguage().getMessage("map-claim-relation-member") : instance.getLanguage().getMessage("map-claim-relation-visitor");
     }
@@ -5039,12 +5264,10 @@ public class ClaimMain {
      * @param result the new weather state
      */
     public void updateWeatherChunk(Claim claim) {
-        Set<Chunk> chunks = claim.getChunks();
         if(instance.isFolia()) {
             Bukkit.getOnlinePlayers().stream().forEach(p -> {
                 Bukkit.getRegionScheduler().run(instance, p.getLocation(), task -> {
-                    Chunk c = p.getLocation().getChunk();
-                    if(chunks.contains(c)) {
+                    if(claim.contains(p.getLocation())) {
                         boolean value = claim.getPermissionForPlayer("Weather", p);
                         if(value) {
                             p.resetPlayerWeather();
@@ -5056,8 +5279,7 @@ public class ClaimMain {
             });
         } else {
             Bukkit.getOnlinePlayers().stream().forEach(p -> {
-                Chunk c = p.getLocation().getChunk();
-                if(chunks.contains(c)) {
+                if(claim.contains(p.getLocation())) {
                     boolean value = claim.getPermissionForPlayer("Weather", p);
                     if(value) {
                         p.resetPlayerWeather();
@@ -5076,11 +5298,9 @@ public class ClaimMain {
      * @param result the new fly state
      */
     public void updateFlyChunk(Claim claim) {
-        Set<Chunk> chunks = claim.getChunks();
         if(!instance.isFolia()) {
             Bukkit.getOnlinePlayers().stream().forEach(p -> {
-                Chunk c = p.getLocation().getChunk();
-                if(chunks.contains(c)) {
+                if(claim.contains(p.getLocation())) {
                     boolean value = claim.getPermissionForPlayer("Fly", p);
                     CPlayer cPlayer = instance.getPlayerMain().getCPlayer(p.getUniqueId());
                     if(value) {
@@ -5098,6 +5318,56 @@ public class ClaimMain {
         }
     }
 
+    /**
+     * Updates the players standing in some claims, looking each online player up once
+     * instead of once per claim.
+     *
+     * @param claims The claims
+     * @param weatherAndFly Whether to update the weather and the fly of the players
+     * @param map Whether to update the automap of the players
+     */
+    public void updatePlayersInClaims(Collection<Claim> claims, boolean weatherAndFly, boolean map) {
+        if (claims.isEmpty()) return;
+        Map<UUID, Map<Long, Claim>> byChunk = new HashMap<>();
+        for (Claim claim : claims) {
+            Map<Long, Claim> chunks = byChunk.computeIfAbsent(claim.getWorldId(), k -> new HashMap<>());
+            for (long key : claim.getChunkKeys()) {
+                chunks.put(key, claim);
+            }
+        }
+        Bukkit.getOnlinePlayers().stream().forEach(p -> {
+            Runnable update = () -> {
+                Location location = p.getLocation();
+                Map<Long, Claim> chunks = byChunk.get(location.getWorld().getUID());
+                Claim claim = chunks == null ? null : chunks.get(ClaimIndex.key(location.getBlockX() >> 4, location.getBlockZ() >> 4));
+                if (claim == null) return;
+                CPlayer cPlayer = instance.getPlayerMain().getCPlayer(p.getUniqueId());
+                if (weatherAndFly) {
+                    if (claim.getPermissionForPlayer("Weather", p)) {
+                        p.resetPlayerWeather();
+                    } else {
+                        p.setPlayerWeather(WeatherType.CLEAR);
+                    }
+                    if (!instance.isFolia() && cPlayer != null) {
+                        if (claim.getPermissionForPlayer("Fly", p)) {
+                            if (cPlayer.getClaimAutofly()) instance.getPlayerMain().activePlayerFly(p);
+                        } else if (cPlayer.getClaimFly()) {
+                            instance.getPlayerMain().removePlayerFly(p);
+                        }
+                    }
+                }
+                if (map && cPlayer != null && cPlayer.getClaimAutomap()) {
+                    getMap(p, p.getLocation().getChunk(), true);
+                }
+            };
+            if (instance.isFolia()) {
+                Bukkit.getRegionScheduler().run(instance, p.getLocation(), task -> update.run());
+            } else {
+                update.run();
+            }
+        });
+    }
+
     /**
      * Method to reset the weather in the claim.
      *
@@ -5105,20 +5375,17 @@ public class ClaimMain {
      * @param result the new weather state
      */
     public void resetWeatherChunk(Claim claim) {
-        Set<Chunk> chunks = claim.getChunks();
         if(instance.isFolia()) {
             Bukkit.getOnlinePlayers().stream().forEach(p -> {
                 Bukkit.getRegionScheduler().run(instance, p.getLocation(), task -> {
-                    Chunk c = p.getLocation().getChunk();
-                    if(chunks.contains(c)) {
+                    if(claim.contains(p.getLocation())) {
                         p.resetPlayerWeather();
                     }
                 });
             });
         } else {
             Bukkit.getOnlinePlayers().stream().forEach(p -> {
-                Chunk c = p.getLocation().getChunk();
-                if(chunks.contains(c)) {
+                if(claim.contains(p.getLocation())) {
                     p.resetPlayerWeather();
                 }
             });
@@ -5132,12 +5399,10 @@ public class ClaimMain {
      * @param result the new fly state
      */
     public void resetFlyChunk(Claim claim) {
-        Set<Chunk> chunks = claim.getChunks();
         if(instance.isFolia()) {
             Bukkit.getOnlinePlayers().stream().forEach(p -> {
                 Bukkit.getRegionScheduler().run(instance, p.getLocation(), task -> {
-                    Chunk c = p.getLocation().getChunk();
-                    if(chunks.contains(c)) {
+                    if(claim.contains(p.getLocation())) {
                         CPlayer cPlayer = instance.getPlayerMain().getCPlayer(p.getUniqueId());
                         if (cPlayer.getClaimFly()) {
                             instance.getPlayerMain().removePlayerFly(p);
@@ -5147,8 +5412,7 @@ public class ClaimMain {
             });
         } else {
             Bukkit.getOnlinePlayers().stream().forEach(p -> {
-                Chunk c = p.getLocation().getChunk();
-                if(chunks.contains(c)) {
+                if(claim.contains(p.getLocation())) {
                     CPlayer cPlayer = instance.getPlayerMain().getCPlayer(p.getUniqueId());
                     if (cPlayer.getClaimFly()) {
                         instance.getPlayerMain().removePlayerFly(p);
@@ -5158,6 +5422,35 @@ public class ClaimMain {
         }
     }
 
+    /**
+     * Sends the automap to the players inside a claim
+     *
+     * @param claim the claim
+     */
+    public void getMapAutoForClaim(Claim claim) {
+        if(instance.isFolia()) {
+            Bukkit.getOnlinePlayers().stream().forEach(p -> {
+                Bukkit.getRegionScheduler().run(instance, p.getLocation(), task -> {
+                    if(claim.contains(p.getLocation())) {
+                        CPlayer cPlayer = instance.getPlayerMain().getCPlayer(p.getUniqueId());
+                        if(cPlayer.getClaimAutomap()) {
+                            getMap(p,p.getLocation().getChunk(),true);
+                        }
+                    }
+                });
+            });
+        } else {
+            Bukkit.getOnlinePlayers().stream().forEach(p -> {
+                if(claim.contains(p.getLocation())) {
+                    CPlayer cPlayer = instance.getPlayerMain().getCPlayer(p.getUniqueId());
+                    if(cPlayer.getClaimAutomap()) {
+                        getMap(p,p.getLocation().getChunk(),true);
+                    }
+                }
+            });
+        }
+    }
+
     /**
      * Sends the automap to the players
      *
@@ -5204,17 +5497,14 @@ public class ClaimMain {
                 try {
                     // 1) DB에서 해당 월드 claims rows 읽기 (Async thread)
                     final List<Object[]> rows = new ArrayList<>();
+                    Map<Integer, ClaimTables.Rows> normalizedRows = null;
 
-                    try (final Connection connection = instance.getDataSource().getConnection();
-                         final PreparedStatement ps = connection.prepareStatement(
-                                 "SELECT id_claim, owner_uuid, owner_name, claim_name, claim_description, chunks, location, members, permissions, for_sale, sale_price, bans " +
-                                         "FROM scs_claims_1 WHERE world_name = ?"
-                         )) {
+                    instance.getWriteQueue().awaitFlush();
+                    try (final Connection connection = instance.getReadDataSource().getConnection()) {
 
-                        ps.setString(1, worldName);
-
-                        try (final ResultSet rs = ps.executeQuery()) {
-                            while (rs.next()) {
+                        try (final Repository.Query query = instance.getClaimRepository().selectWorldClaims(connection, worldName)) {
+                            final ResultSet rs = query.getResultSet();
+                            while (query.next()) {
                                 rows.add(new Object[]{
                                         rs.getInt("id_claim"),
                                         rs.getString("owner_uuid"),
@@ -5227,11 +5517,14 @@ public class ClaimMain {
                                         rs.getString("permissions"),
                                         rs.getBoolean("for_sale"),
                                         rs.getLong("sale_price"),
-                                        rs.getString("bans")
+                                        rs.getString("bans"),
+                                        rs.getInt("id")
                                 });
                             }
                         }
 
+                        if (instance.getClaimTables().isEnabled()) normalizedRows = instance.getClaimTables().load(connection, List.of(worldName));
+
                     } catch (final SQLException e) {
                         e.printStackTrace();
                         result.complete(false);
@@ -5246,82 +5539,35 @@ public class ClaimMain {
                     });
 
                     final World world = worldFuture.join();
+                    final Map<Integer, ClaimTables.Rows> normalized = normalizedRows;
                     if (world == null) {
                         result.complete(false);
                         return;
                     }
 
                     instance.executeSync(() -> {
-                        // 해당 월드의 Chunk key 목록 수집
-                        final List<Chunk> keysToRemove = new ArrayList<>();
-                        for (final Map.Entry<Chunk, Claim> e : listClaims.entrySet()) {
-                            final Chunk ck = e.getKey();
-                            if (ck == null) continue;
-                            final World cw = ck.getWorld();
-                            if (cw == null) continue;
-                            if (worldName.equals(cw.getName())) {
-                                keysToRemove.add(ck);
-                            }
-                        }
-
-                        if (!keysToRemove.isEmpty()) {
-                            // Claim별로 묶어서 bossbar/맵 마커 정리
-                            final Map<Claim, Set<Chunk>> byClaim = new HashMap<>();
-                            for (final Chunk ck : keysToRemove) {
-                                final Claim cl = listClaims.get(ck);
-                                if (cl == null) continue;
-                                byClaim.computeIfAbsent(cl, k -> new HashSet<>()).add(ck);
-                            }
-
-                            for (final Map.Entry<Claim, Set<Chunk>> entry : byClaim.entrySet()) {
-                                final Claim claim = entry.getKey();
-                                final Set<Chunk> chunks = entry.getValue();
-                                if (claim == null || chunks == null || chunks.isEmpty()) continue;
-
-                                // bossbar/markers 제거
-                                instance.getBossBars().deactivateBossBar(chunks);
-
-                                if (instance.getSettings().getBooleanSetting("dynmap") && instance.getDynmap() != null) {
-                                    instance.getDynmap().deleteMarker(chunks);
-                                }
-                                if (instance.getSettings().getBooleanSetting("bluemap") && instance.getBluemap() != null) {
-                                    instance.getBluemap().deleteMarker(chunks);
-                                }
-                                if (instance.getSettings().getBooleanSetting("pl3xmap") && instance.getPl3xMap() != null) {
-                                    instance.getPl3xMap().deleteMarker(chunks);
-                                }
-
-                                // listClaims에서 제거
-                                for (final Chunk ck : chunks) {
-                                    listClaims.remove(ck);
-                                }
-
-                                // claim 객체 chunks에서도 해당 월드 chunk들 제거
-                                final CustomSet<Chunk> updated = new CustomSet<>(claim.getChunks());
-                                updated.removeIf(ch -> ch == null || ch.getWorld() == null || worldName.equals(ch.getWorld().getName()));
-                                claim.setChunks(updated);
-
-                                // owner set에서도 claim 제거(해당 월드 chunks가 빠져 claim이 비었으면 제거)
-                                if (updated.isEmpty()) {
-                                    final UUID ownerUuid = claim.getUUID();
-                                    final CustomSet<Claim> set = playerClaims.get(ownerUuid);
-                                    if (set != null) {
-                                        set.remove(claim);
-                                        if (set.isEmpty()) playerClaims.remove(ownerUuid);
-                                    }
-                                }
+                        unloadedWorldClaims.remove(worldName);
+
+                        // 해당 월드의 claim 목록 수집
+                        final ClaimIndex index = claimIndexes.get(world.getUID());
+                        if (index != null) {
+                            // Claim별로 bossbar/맵 마커 정리 (claim은 한 월드에만 속함)
+                            for (final Claim claim : index.getClaims()) {
+                                // bossbar/markers, index, owner set에서 제거
+                                removeLoadedClaim(claim);
                             }
                         }
                     });
 
                     // 3) 로드할 row가 없으면 끝(정리만 하고 성공)
                     if (rows.isEmpty()) {
+                        claimWorlds.add(worldName);
                         result.complete(true);
                         return;
                     }
 
                     // 4) rows → Claim 객체 로드(Chunk 로드 완료 후 Sync에서 캐시 반영)
-                    final List<CompletableFuture<Void>> claimFutures = new ArrayList<>(rows.size());
+                    final List<Claim> decoded = new ArrayList<>(rows.size());
 
                     for (final Object[] row : rows) {
                         final int idClaim = (Integer) row[0];
@@ -5336,6 +5582,7 @@ public class ClaimMain {
                         final boolean forSale = (Boolean) row[9];
                         final long salePrice = (Long) row[10];
                         final String bansString = (String) row[11];
+                        final ClaimTables.Rows normalizedRow = normalized == null ? null : normalized.get((Integer) row[12]);
 
                         // owner uuid 파싱
                         final UUID ownerUuid;
@@ -5370,23 +5617,14 @@ public class ClaimMain {
                             continue;
                         }
 
-                        // members/bans 파싱
-                        final CustomSet<UUID> members = new CustomSet<>();
-                        if (membersString != null && !membersString.isBlank()) {
-                            final String[] parts = membersString.split(";");
-                            for (final String p : parts) {
-                                if (p == null || p.isBlank()) continue;
-                                try { members.add(UUID.fromString(p)); } catch (final IllegalArgumentException ignore) {}
-                            }
-                        }
-
-                        final CustomSet<UUID> bans = new CustomSet<>();
-                        if (bansString != null && !bansString.isBlank()) {
-                            final String[] parts = bansString.split(";");
-                            for (final String p : parts) {
-                                if (p == null || p.isBlank()) continue;
-                                try { bans.add(UUID.fromString(p)); } catch (final IllegalArgumentException ignore) {}
-                            }
+                        // members/bans 파싱 (v1 / legacy)
+                        final CustomSet<UUID> members = normalizedRow == null ? new CustomSet<>() : normalizedRow.members;
+                        final CustomSet<UUID> bans = normalizedRow == null ? new CustomSet<>() : normalizedRow.bans;
+                        if (normalizedRow == null) {
+                            try {
+                                ClaimCodec.decodeUuidsLenient(membersString, members);
+                                ClaimCodec.decodeUuidsLenient(bansString, bans);
+                            } catch (final IllegalArgumentException ignore) {}
                         }
 
                         // permissions 파싱(roles 3개 가정)
@@ -5426,129 +5664,63 @@ public class ClaimMain {
 
                         if (!permsOk) continue;
 
-                        // chunks 디코드(좌표 목록)
-                        if (chunksBase64 == null || chunksBase64.isBlank()) continue;
-
-                        final List<int[]> coords = new ArrayList<>();
-                        try {
-                            final byte[] data = Base64.getDecoder().decode(chunksBase64);
-                            try (final ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(data))) {
-                                while (true) {
-                                    try {
-                                        final int cx = in.readInt();
-                                        final int cz = in.readInt();
-                                        coords.add(new int[]{cx, cz});
-                                    } catch (final EOFException eof) {
-                                        break;
-                                    }
-                                }
-                            }
-                        } catch (final Exception ex) {
-                            continue;
-                        }
-                        if (coords.isEmpty()) continue;
-
-                        final Set<Chunk> chunks = ConcurrentHashMap.newKeySet();
-
-                        final CompletableFuture<Void> chunksFuture;
-                        if (instance.isFolia()) {
-                            final List<CompletableFuture<Void>> futures = new ArrayList<>(coords.size());
-                            for (final int[] pos : coords) {
-                                futures.add(world.getChunkAtAsync(pos[0], pos[1]).thenAccept(chunks::add));
-                            }
-                            chunksFuture = CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
+                        // chunks 디코드(좌표 목록, 청크 로드 없음)
+                        final long[] chunks;
+                        if (normalizedRow != null) {
+                            chunks = normalizedRow.getChunks();
                         } else {
-                            // ⚠️ 비-Folia는 sync에서 chunk 접근 권장 (안전/정합성)
-                            chunksFuture = new CompletableFuture<>();
-                            instance.executeSync(() -> {
-                                for (final int[] pos : coords) {
-                                    chunks.add(world.getChunkAt(pos[0], pos[1]));
-                                }
-                                chunksFuture.complete(null);
-                            });
+                            if (chunksBase64 == null || chunksBase64.isBlank()) continue;
+                            chunks = deserializeChunks(chunksBase64, idClaim);
                         }
+                        if (chunks == null || chunks.length == 0) continue;
 
-                        final UUID ownerUuidFinal = ownerUuid;
-                        final Location locFinal = loc;
-                        final CustomSet<UUID> membersFinal = members;
-                        final CustomSet<UUID> bansFinal = bans;
-                        final Map<String, LinkedHashMap<String, Boolean>> permsFinal = perms;
-                        final String ownerNameFinal = ownerName;
-                        final String claimNameFinal = claimName;
-                        final String claimDescFinal = claimDesc;
-
-                        // ✅ 최종 반영은 무조건 sync
-                        final CompletableFuture<Void> claimFuture = chunksFuture.thenRun(() -> instance.executeSync(() -> {
-                            if (chunks.isEmpty()) return;
-
-                            // (선택) 중복 청크 방지: 이미 다른 claim이 잡고 있으면 스킵
-                            // -> "두 명이 같은 청크 점유" DB 오염 상황에서도 캐시 오염을 방지
-                            for (final Chunk ck : chunks) {
-                                final Claim existing = listClaims.get(ck);
-                                if (existing != null) {
-                                    // 기존 claim이 있으면 이 청크는 스킵 (필요하면 로그)
-                                    // return; // 전체 claim 스킵
-                                    // 또는 continue로 일부만 제외하는 방식도 가능하나, 여기선 전체 스킵이 안전
-                                    return;
-                                }
-                            }
-
-                            final Claim claim = new Claim(
-                                    ownerUuidFinal,
-                                    new CustomSet<>(chunks),
-                                    ownerNameFinal,
-                                    new CustomSet<>(membersFinal),
-                                    locFinal,
-                                    claimNameFinal,
-                                    claimDescFinal,
-                                    new LinkedHashMap<>(permsFinal),
-                                    forSale,
-                                    salePrice,
-                                    new CustomSet<>(bansFinal),
-                                    idClaim
-                            );
-
-                            for (final Chunk ck : chunks) {
-                                listClaims.put(ck, claim);
-                            }
-
-                            playerClaims.computeIfAbsent(ownerUuidFinal, k -> new CustomSet<>()).add(claim);
+                        decoded.add(new Claim(ownerUuid, world.getUID(), chunks, ownerName, members, loc, claimName, claimDesc,
+                                perms, forSale, salePrice, bans, idClaim));
+                    }
 
-                            if (instance.getSettings().getBooleanSetting("dynmap") && instance.getDynmap() != null) {
-                                instance.getDynmap().createClaimZone(claim);
-                            }
-                            if (instance.getSettings().getBooleanSetting("bluemap") && instance.getBluemap() != null) {
-                                instance.getBluemap().createClaimZone(claim);
-                            }
-                            if (instance.getSettings().getBooleanSetting("pl3xmap") && instance.getPl3xMap() != null) {
-                                instance.getPl3xMap().createClaimZone(claim);
-                            }
+                    // ✅ 최종 반영은 무조건 sync (batch당 한 번)
+                    final List<CompletableFuture<Void>> claimFutures = new ArrayList<>();
+                    for (int from = 0; from < decoded.size(); from += LOAD_BATCH_SIZE) {
+                        final List<Claim> batch = decoded.subList(from, Math.min(decoded.size(), from + LOAD_BATCH_SIZE));
+                        final CompletableFuture<Void> batchFuture = new CompletableFuture<>();
+                        instance.executeSync(() -> {
+                            try {
+                                // 로드 중에 월드가 언로드된 경우 반영하지 않음
+                                if (Bukkit.getWorld(world.getUID()) != world) return;
+
+                                final List<Claim> published = new ArrayList<>(batch.size());
+                                for (final Claim claim : batch) {
+                                    // (선택) 중복 청크 방지: 이미 다른 claim이 잡고 있으면 스킵
+                                    // -> "두 명이 같은 청크 점유" DB 오염 상황에서도 캐시 오염을 방지
+                                    boolean taken = false;
+                                    for (final long key : claim.getChunkKeys()) {
+                                        if (getClaim(world, ClaimIndex.keyX(key), ClaimIndex.keyZ(key)) != null) {
+                                            taken = true;
+                                            break;
+                                        }
+                                    }
+                                    // 기존 claim이 있으면 전체 스킵이 안전
+                                    if (taken) continue;
 
-                            instance.getBossBars().activateBossBar(chunks);
+                                    addLoadedClaim(claim);
+                                    published.add(claim);
+                                }
 
-                            if (instance.getSettings().getBooleanSetting("keep-chunks-loaded")) {
-                                if (instance.isFolia()) {
-                                    for (final Chunk ck : chunks) {
-                                        Bukkit.getRegionScheduler().execute(instance, world, ck.getX(), ck.getZ(), () -> ck.setForceLoaded(true));
-                                    }
-                                } else {
-                                    for (final Chunk ck : chunks) {
-                                        ck.setForceLoaded(true);
-                                    }
+                                if (instance.getSettings().getBooleanSetting("keep-chunks-loaded") && !published.isEmpty()) {
+                                    keepChunksLoaded(published);
                                 }
+                            } finally {
+                                batchFuture.complete(null);
                             }
+                        });
 
-                            updateWeatherChunk(claim);
-                            updateFlyChunk(claim);
-                            getMapAutoForChunks(chunks);
-                        }));
-
-                        claimFutures.add(claimFuture);
+                        claimFutures.add(batchFuture);
                     }
 
                     CompletableFuture.allOf(claimFutures.toArray(new CompletableFuture[0]))
                             .whenComplete((v, ex) -> {
                                 if (ex != null) ex.printStackTrace();
+                                if (ex == null && Bukkit.getWorld(world.getUID()) == world) claimWorlds.add(worldName);
                                 result.complete(ex == null);
                             });
 
@@ -0,0 +1,139 @@
+package fr.xyness.SCS;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * This class owns the SQL of the claim rows ({@code scs_claims_1}).
+ * <p>
+ * Inserts and reads are run here. The other writes go through the {@link ClaimWriteQueue},
+ * which records them in the stats of this repository.
+ */
+public class ClaimRepository extends Repository {
+
+
+    // ***************
+    // *  Variables  *
+    // ***************
+
+
+    /** Statement inserting a claim row */
+    public static final String INSERT = "INSERT INTO scs_claims_1 (id_claim, owner_uuid, owner_name, claim_name, claim_description, chunks, world_name, location, members, permissions, bans) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    /** Columns read by the world reload */
+    private static final String WORLD_COLUMNS = "id_claim, owner_uuid, owner_name, claim_name, claim_description, chunks, location, members, permissions, for_sale, sale_price, bans, id";
+
+
+    // ******************
+    // *  Constructors  *
+    // ******************
+
+
+    /**
+     * Main constructor.
+     *
+     * @param instance The instance of SimpleClaimSystem
+     */
+    public ClaimRepository(SimpleClaimSystem instance) {
+    	super(instance);
+    }
+
+
+    // *************
+    // *  Methods  *
+    // *************
+
+
+    /**
+     * Inserts a claim row once the pending writes are written, and journals it.
+     * The claim gets the default permissions and no ban.
+     *
+     * @param id The id of the claim for its owner
+     * @param owner The uuid of the owner
+     * @param ownerName The name of the owner
+     * @param name The name of the claim
+     * @param description The description of the claim
+     * @param chunks The encoded chunks
+     * @param world The name of the world
+     * @param location The location string
+     * @param members The encoded members
+     * @return True if the row was inserted
+     */
+    public boolean insertClaim(int id, String owner, String ownerName, String name, String description, String chunks, String world, String location, String members) {
+    	instance.getWriteQueue().awaitFlush();
+    	try (Connection connection = instance.getDataSource().getConnection()) {
+    		update(connection, INSERT, id, owner, ownerName, name, description, chunks, world, location, members,
+    				instance.getSettings().getDefaultValuesCode("all"), "");
+    		instance.getClaimSync().journal(connection, owner, name);
+    		return true;
+    	} catch (SQLException e) {
+    		e.printStackTrace();
+    		return false;
+    	}
+    }
+
+    /**
+     * Streams the claim rows of some worlds.
+     *
+     * @param connection The connection to the database
+     * @param worlds The names of the worlds
+     * @return The query
+     * @throws SQLException If the query fails
+     */
+    public Query selectClaims(Connection connection, List<String> worlds) throws SQLException {
+    	return stream(connection, "SELECT * FROM scs_claims_1 WHERE world_name IN ("
+    			+ String.join(",", Collections.nCopies(worlds.size(), "?")) + ")", worlds.toArray());
+    }
+
+    /**
+     * Reads the claim rows of an owner, or one of them.
+     *
+     * @param connection The connection to the database
+     * @param owner The uuid of the owner
+     * @param name The name of the claim, null for all the claims of the owner
+     * @return The query
+     * @throws SQLException If the query fails
+     */
+    public Query selectClaims(Connection connection, String owner, String name) throws SQLException {
+    	return name == null
+    			? query(connection, "SELECT * FROM scs_claims_1 WHERE owner_uuid = ?", owner)
+    			: query(connection, "SELECT * FROM scs_claims_1 WHERE owner_uuid = ? AND claim_name = ?", owner, name);
+    }
+
+    /**
+     * Reads the claim rows of a world.
+     *
+     * @param connection The connection to the database
+     * @param world The name of the world
+     * @return The query
+     * @throws SQLException If the query fails
+     */
+    public Query selectWorldClaims(Connection connection, String world) throws SQLException {
+    	return stream(connection, "SELECT " + WORLD_COLUMNS + " FROM scs_claims_1 WHERE world_name = ?", world);
+    }
+
+    /**
+     * Reads the world, owner, id and name of every claim, streamed.
+     *
+     * @param connection The connection to the database
+     * @return The query (world name, owner uuid, id, name)
+     * @throws SQLException If the query fails
+     */
+    public Query selectClaimKeys(Connection connection) throws SQLException {
+    	return stream(connection, "SELECT world_name, owner_uuid, id_claim, claim_name FROM scs_claims_1");
+    }
+
+    /**
+     * Queues the update of the owner name of all the claims of an owner.
+     *
+     * @param owner The uuid of the owner
+     * @param ownerName The new name
+     */
+    public void updateOwnerName(UUID owner, String ownerName) {
+    	instance.getWriteQueue().execute("UPDATE scs_claims_1 SET owner_name = ? WHERE owner_uuid = ?", ownerName, owner.toString());
+    	instance.getWriteQueue().changed(owner.toString(), null);
+    }
+}
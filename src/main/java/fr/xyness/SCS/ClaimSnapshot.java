@@ -0,0 +1,404 @@
+package fr.xyness.SCS;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.scheduler.BukkitTask;
+
+import fr.xyness.SCS.Types.Claim;
+import fr.xyness.SCS.Types.CustomSet;
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
+
+/**
+ * This class handles the startup snapshot of the claims.
+ * <p>
+ * The claims in memory are written to {@code claims.snapshot} on clean shutdown and
+ * periodically, with the data version of the database (bumped by every flush of the
+ * write queue), its number of claim rows, its highest row id and the worlds whose claims
+ * were loaded. On startup, the file is memory-mapped and the claims are rebuilt in one
+ * pass, unless the database changed since the snapshot (or the snapshot does not cover
+ * every loaded world), in which case the claims are loaded from the database.
+ * <p>
+ * Layout: a header ({@code SCSS} magic, format version, data version, row count, max row id,
+ * covered worlds, claim count), the claims, then the CRC32 of everything before it.
+ */
+public class ClaimSnapshot {
+
+
+    // ***************
+    // *  Variables  *
+    // ***************
+
+
+    /** Magic number of the file ("SCSS") */
+    private static final int MAGIC = 0x53435353;
+
+    /** Current version of the format */
+    private static final int VERSION = 2;
+
+    /** Statement bumping the data version, run in the same transaction as the changes */
+    public static final String BUMP_VERSION = "UPDATE scs_meta SET value = value + 1 WHERE name = 'data_version'";
+
+    /** Instance of SimpleClaimSystem */
+    private final SimpleClaimSystem instance;
+
+    /** The snapshot file */
+    private final File file;
+
+    /** Periodic save task (Bukkit) */
+    private BukkitTask bukkitTask;
+
+    /** Periodic save task (Folia) */
+    private ScheduledTask foliaTask;
+
+
+    // ******************
+    // *  Constructors  *
+    // ******************
+
+
+    /**
+     * Main constructor.
+     *
+     * @param instance The instance of SimpleClaimSystem
+     */
+    public ClaimSnapshot(SimpleClaimSystem instance) {
+    	this.instance = instance;
+    	this.file = new File(instance.getDataFolder(), "claims.snapshot");
+    }
+
+
+    // *************
+    // *  Methods  *
+    // *************
+
+
+    /**
+     * Checks if the startup snapshot is enabled.
+     *
+     * @return True if enabled
+     */
+    public boolean isEnabled() {
+    	return instance.getSettings().getBooleanSetting("startup-snapshot");
+    }
+
+    /**
+     * Starts the periodic save (stops the previous one).
+     *
+     * @param minutes The interval in minutes, 0 to only save on shutdown
+     */
+    public void start(int minutes) {
+    	stop();
+    	if (minutes < 1 || !isEnabled()) return;
+    	if (instance.isFolia()) {
+    		foliaTask = Bukkit.getAsyncScheduler().runAtFixedRate(instance, task -> save(), minutes, minutes, TimeUnit.MINUTES);
+    	} else {
+    		long ticks = minutes * 60L * 20L;
+    		bukkitTask = Bukkit.getScheduler().runTaskTimerAsynchronously(instance, this::save, ticks, ticks);
+    	}
+    }
+
+    /**
+     * Stops the periodic save.
+     */
+    public void stop() {
+    	if (bukkitTask != null) {
+    		bukkitTask.cancel();
+    		bukkitTask = null;
+    	}
+    	if (foliaTask != null) {
+    		foliaTask.cancel();
+    		foliaTask = null;
+    	}
+    }
+
+    /**
+     * Gets the state of the database: data version, number of claim rows and highest row id.
+     *
+     * @param connection The connection to the database
+     * @return The state of the database
+     * @throws SQLException If a query fails
+     */
+    public long[] getDatabaseState(Connection connection) throws SQLException {
+    	long[] state = new long[3];
+    	try (PreparedStatement stmt = connection.prepareStatement("SELECT value FROM scs_meta WHERE name = 'data_version'");
+    			ResultSet resultSet = stmt.executeQuery()) {
+    		if (resultSet.next()) state[0] = resultSet.getLong(1);
+    	}
+    	try (PreparedStatement stmt = connection.prepareStatement("SELECT COUNT(*), COALESCE(MAX(id), 0) FROM scs_claims_1");
+    			ResultSet resultSet = stmt.executeQuery()) {
+    		if (resultSet.next()) {
+    			state[1] = resultSet.getLong(1);
+    			state[2] = resultSet.getLong(2);
+    		}
+    	}
+    	return state;
+    }
+
+    /**
+     * Writes the claims in memory to the snapshot.
+     * The pending writes are flushed first, then the claims are copied between two reads of
+     * the state of the database. A change is queued as soon as it is made in memory, so if
+     * the state moved or a write is still queued after the copy, the copy may hold data the
+     * database does not have under this state: the snapshot is discarded, and the next save
+     * retries. The claims are read while they change, so a failing copy is discarded too.
+     */
+    public synchronized void save() {
+    	if (!isEnabled() || instance.getDataSource() == null) return;
+    	ClaimWriteQueue writeQueue = instance.getWriteQueue();
+    	writeQueue.awaitFlush();
+    	long[] state = readDatabaseState();
+    	if (state == null) return;
+    	List<String> worlds = new ArrayList<>(instance.getMain().getClaimWorlds());
+    	List<Claim> claims = new ArrayList<>(instance.getMain().getAllClaims());
+    	File tmp = new File(file.getPath() + ".tmp");
+    	CRC32 crc = new CRC32();
+    	try (DataOutputStream out = new DataOutputStream(new CheckedOutputStream(new BufferedOutputStream(new FileOutputStream(tmp), 1 << 16), crc))) {
+    		out.writeInt(MAGIC);
+    		out.writeInt(VERSION);
+    		out.writeLong(state[0]);
+    		out.writeLong(state[1]);
+    		out.writeLong(state[2]);
+    		out.writeInt(worlds.size());
+    		for (String world : worlds) {
+    			writeString(out, world);
+    		}
+    		out.writeInt(claims.size());
+    		for (Claim claim : claims) {
+    			writeClaim(out, claim);
+    		}
+    		out.flush();
+    		out.writeLong(crc.getValue());
+    	} catch (IOException | RuntimeException e) {
+    		instance.getLogger().warning("Claims snapshot could not be written: " + e);
+    		tmp.delete();
+    		return;
+    	}
+    	long[] after = readDatabaseState();
+    	if (after == null || !Arrays.equals(state, after) || !writeQueue.isIdle()) {
+    		if (after != null) instance.info("Claims changed during the snapshot, it will be saved again later.");
+    		tmp.delete();
+    		return;
+    	}
+    	try {
+    		try {
+    			Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    		} catch (AtomicMoveNotSupportedException e) {
+    			Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    		}
+    	} catch (IOException e) {
+    		e.printStackTrace();
+    	}
+    }
+
+    /**
+     * Reads the state of the database on a read connection.
+     *
+     * @return The state of the database, or null if it could not be read
+     */
+    private long[] readDatabaseState() {
+    	try (Connection connection = instance.getReadDataSource().getConnection()) {
+    		return getDatabaseState(connection);
+    	} catch (SQLException e) {
+    		e.printStackTrace();
+    		return null;
+    	}
+    }
+
+    private void writeClaim(DataOutputStream out, Claim claim) throws IOException {
+    	writeUuid(out, claim.getUUID());
+    	writeUuid(out, claim.getWorldId());
+    	out.writeInt(claim.getId());
+    	writeString(out, claim.getOwner());
+    	writeString(out, claim.getName());
+    	writeString(out, claim.getDescription());
+    	Location location = claim.getLocation();
+    	out.writeDouble(location.getX());
+    	out.writeDouble(location.getY());
+    	out.writeDouble(location.getZ());
+    	out.writeFloat(location.getYaw());
+    	out.writeFloat(location.getPitch());
+    	Map<String, LinkedHashMap<String, Boolean>> perms = claim.getPermissions();
+    	out.writeInt(perms.size());
+    	for (Map.Entry<String, LinkedHashMap<String, Boolean>> role : perms.entrySet()) {
+    		writeString(out, role.getKey());
+    		out.writeInt(role.getValue().size());
+    		for (Map.Entry<String, Boolean> perm : role.getValue().entrySet()) {
+    			writeString(out, perm.getKey());
+    			out.writeBoolean(perm.getValue());
+    		}
+    	}
+    	out.writeBoolean(claim.getSale());
+    	out.writeLong(claim.getPrice());
+    	writeUuids(out, claim.getMembers());
+    	writeUuids(out, claim.getBans());
+    	long[] chunks = claim.getChunkKeys();
+    	out.writeInt(chunks.length);
+    	for (long key : chunks) {
+    		out.writeLong(key);
+    	}
+    }
+
+    private static void writeUuid(DataOutputStream out, UUID uuid) throws IOException {
+    	out.writeLong(uuid.getMostSignificantBits());
+    	out.writeLong(uuid.getLeastSignificantBits());
+    }
+
+    private static void writeUuids(DataOutputStream out, Set<UUID> uuids) throws IOException {
+    	out.writeInt(uuids.size());
+    	for (UUID uuid : uuids) {
+    		writeUuid(out, uuid);
+    	}
+    }
+
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+    	byte[] bytes = (s == null ? "" : s).getBytes(StandardCharsets.UTF_8);
+    	out.writeInt(bytes.length);
+    	out.write(bytes);
+    }
+
+    /**
+     * Reads the claims from the snapshot, if it matches the state of the database.
+     * Claims of worlds that are not loaded are skipped, as with a database load.
+     *
+     * @param state The state of the database (see {@link #getDatabaseState(Connection)})
+     * @param loadedWorlds The names of the loaded worlds
+     * @return The claims, or null if the snapshot is missing, corrupted or stale
+     */
+    public List<Claim> load(long[] state, Collection<String> loadedWorlds) {
+    	if (!isEnabled() || !file.isFile()) return null;
+    	try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+    		long size = channel.size();
+    		if (size < 48 || size > Integer.MAX_VALUE) return null;
+    		MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+
+    		// Checksum
+    		CRC32 crc = new CRC32();
+    		crc.update(buffer.duplicate().limit((int) size - 8));
+    		if (crc.getValue() != buffer.getLong((int) size - 8)) {
+    			instance.info("Claims snapshot is corrupted, loading from the database.");
+    			return null;
+    		}
+
+    		// Header
+    		if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) return null;
+    		long version = buffer.getLong();
+    		long rows = buffer.getLong();
+    		long maxId = buffer.getLong();
+    		int worldCount = buffer.getInt();
+    		if (worldCount < 0 || worldCount > buffer.remaining()) return null;
+    		Set<String> worlds = new HashSet<>();
+    		for (int i = 0; i < worldCount; i++) {
+    			worlds.add(readString(buffer));
+    		}
+    		if (version != state[0] || rows != state[1] || maxId != state[2] || !worlds.containsAll(loadedWorlds)) {
+    			instance.info("Claims snapshot is stale, loading from the database.");
+    			return null;
+    		}
+    		int count = buffer.getInt();
+
+    		// Claims
+    		List<Claim> claims = new ArrayList<>(count);
+    		for (int i = 0; i < count; i++) {
+    			Claim claim = readClaim(buffer);
+    			if (claim != null) claims.add(claim);
+    		}
+    		return claims;
+    	} catch (IOException | BufferUnderflowException | IllegalArgumentException e) {
+    		instance.info("Claims snapshot could not be read, loading from the database.");
+    		return null;
+    	}
+    }
+
+    private Claim readClaim(ByteBuffer buffer) {
+    	UUID owner = readUuid(buffer);
+    	UUID worldId = readUuid(buffer);
+    	int id = buffer.getInt();
+    	String ownerName = readString(buffer);
+    	String name = readString(buffer);
+    	String description = readString(buffer);
+    	double x = buffer.getDouble();
+    	double y = buffer.getDouble();
+    	double z = buffer.getDouble();
+    	float yaw = buffer.getFloat();
+    	float pitch = buffer.getFloat();
+    	int roles = buffer.getInt();
+    	Map<String, LinkedHashMap<String, Boolean>> perms = new LinkedHashMap<>();
+    	for (int i = 0; i < roles; i++) {
+    		String role = readString(buffer);
+    		int n = buffer.getInt();
+    		LinkedHashMap<String, Boolean> values = new LinkedHashMap<>();
+    		for (int j = 0; j < n; j++) {
+    			String key = readString(buffer);
+    			values.put(key, buffer.get() != 0);
+    		}
+    		perms.put(role, values);
+    	}
+    	boolean sale = buffer.get() != 0;
+    	long price = buffer.getLong();
+    	CustomSet<UUID> members = readUuids(buffer);
+    	CustomSet<UUID> bans = readUuids(buffer);
+    	int n = buffer.getInt();
+    	if (n < 0 || n > buffer.remaining() / 8) throw new IllegalArgumentException("Invalid chunk count: " + n);
+    	long[] chunks = new long[n];
+    	buffer.asLongBuffer().get(chunks);
+    	buffer.position(buffer.position() + n * 8);
+
+    	World world = Bukkit.getWorld(worldId);
+    	if (world == null) return null;
+    	return new Claim(owner, worldId, chunks, ownerName, members, new Location(world, x, y, z, yaw, pitch), name, description, perms, sale, price, bans, id);
+    }
+
+    private static UUID readUuid(ByteBuffer buffer) {
+    	return new UUID(buffer.getLong(), buffer.getLong());
+    }
+
+    private static CustomSet<UUID> readUuids(ByteBuffer buffer) {
+    	int n = buffer.getInt();
+    	if (n < 0 || n > buffer.remaining() / 16) throw new IllegalArgumentException("Invalid uuid count: " + n);
+    	CustomSet<UUID> uuids = new CustomSet<>();
+    	for (int i = 0; i < n; i++) {
+    		uuids.add(readUuid(buffer));
+    	}
+    	return uuids;
+    }
+
+    private static String readString(ByteBuffer buffer) {
+    	int n = buffer.getInt();
+    	if (n < 0 || n > buffer.remaining()) throw new IllegalArgumentException("Invalid string length: " + n);
+    	byte[] bytes = new byte[n];
+    	buffer.get(bytes);
+    	return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
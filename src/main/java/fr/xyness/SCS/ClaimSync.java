@@ -0,0 +1,182 @@
+package fr.xyness.SCS;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
+
+/**
+ * This class handles the claims sync between servers sharing the same database.
+ * <p>
+ * Every write of a claim is journaled in {@code scs_claims_changes} (see {@link ClaimWriteQueue}),
+ * with the id of the server that made it. Each server polls the journal from the last version
+ * it has seen (see {@link ClaimJournal}), and reads again only the claims changed by the other servers.
+ */
+public class ClaimSync {
+
+
+    // ***************
+    // *  Variables  *
+    // ***************
+
+
+    /** Instance of SimpleClaimSystem */
+    private final SimpleClaimSystem instance;
+
+    /** Journal of the claim changes */
+    private final ClaimJournal journal = new ClaimJournal();
+
+    /** Number of changes applied since the start */
+    private long appliedChanges;
+
+    /** Periodic poll task (Bukkit) */
+    private BukkitTask bukkitTask;
+
+    /** Periodic poll task (Folia) */
+    private ScheduledTask foliaTask;
+
+
+    // ******************
+    // *  Constructors  *
+    // ******************
+
+
+    /**
+     * Main constructor.
+     *
+     * @param instance The instance of SimpleClaimSystem
+     */
+    public ClaimSync(SimpleClaimSystem instance) {
+    	this.instance = instance;
+    }
+
+
+    // *************
+    // *  Methods  *
+    // *************
+
+
+    /**
+     * Checks if the claims sync is enabled.
+     *
+     * @return True if enabled
+     */
+    public boolean isEnabled() {
+    	return instance.getSettings().getBooleanSetting("claims-sync");
+    }
+
+    /**
+     * Gets the id of this server in the journal.
+     *
+     * @return The server id
+     */
+    public String getServerId() {
+    	return journal.getServerId();
+    }
+
+    /**
+     * Gets the journal of the claim changes.
+     *
+     * @return The journal
+     */
+    public ClaimJournal getJournal() {
+    	return journal;
+    }
+
+    /**
+     * Gets the number of changes from the other servers applied since the start.
+     *
+     * @return The number of applied changes
+     */
+    public synchronized long getAppliedChanges() {
+    	return appliedChanges;
+    }
+
+    /**
+     * Starts polling from the current end of the journal. Must be called before
+     * the claims are loaded, so no change made during the load is missed.
+     *
+     * @param connection The connection to the database
+     * @throws SQLException If the query fails
+     */
+    public void init(Connection connection) throws SQLException {
+    	journal.init(connection);
+    }
+
+    /**
+     * Starts the periodic poll (stops the previous one).
+     *
+     * @param seconds The interval in seconds
+     */
+    public void start(int seconds) {
+    	stop();
+    	if (!isEnabled()) return;
+    	int interval = Math.max(1, seconds);
+    	if (instance.isFolia()) {
+    		foliaTask = Bukkit.getAsyncScheduler().runAtFixedRate(instance, task -> poll(), interval, interval, TimeUnit.SECONDS);
+    	} else {
+    		long ticks = interval * 20L;
+    		bukkitTask = Bukkit.getScheduler().runTaskTimerAsynchronously(instance, this::poll, ticks, ticks);
+    	}
+    }
+
+    /**
+     * Stops the periodic poll.
+     */
+    public void stop() {
+    	if (bukkitTask != null) {
+    		bukkitTask.cancel();
+    		bukkitTask = null;
+    	}
+    	if (foliaTask != null) {
+    		foliaTask.cancel();
+    		foliaTask = null;
+    	}
+    }
+
+    /**
+     * Reads the new journal entries and applies the changes made by the other servers.
+     */
+    public void poll() {
+    	if (!isEnabled() || instance.getDataSource() == null) return;
+    	List<String[]> changes;
+    	try (Connection connection = instance.getReadDataSource().getConnection()) {
+    		changes = journal.read(connection);
+    	} catch (SQLException e) {
+    		e.printStackTrace();
+    		return;
+    	}
+    	synchronized (this) {
+    		appliedChanges += changes.size();
+    	}
+    	if (!changes.isEmpty()) instance.getMain().applyClaimChanges(changes);
+    	if (!journal.isPruneDue()) return;
+    	try (Connection connection = instance.getDataSource().getConnection()) {
+    		journal.prune(connection);
+    	} catch (SQLException e) {
+    		e.printStackTrace();
+    	}
+    }
+
+    /**
+     * Journals a claim written outside of the write queue (such as a claim insert).
+     * A failure is only logged, the claim itself is already written.
+     *
+     * @param connection The connection the claim was written with
+     * @param owner The uuid of the owner
+     * @param name The name of the claim
+     */
+    public void journal(Connection connection, String owner, String name) {
+    	if (!isEnabled()) return;
+    	try {
+    		journal.journal(connection, List.<String[]>of(new String[] {owner, name}));
+    	} catch (SQLException e) {
+    		e.printStackTrace();
+    	}
+    }
+}
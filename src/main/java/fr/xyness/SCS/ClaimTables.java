@@ -0,0 +1,514 @@
+package fr.xyness.SCS;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import fr.xyness.SCS.Types.Claim;
+import fr.xyness.SCS.Types.ClaimCodec;
+import fr.xyness.SCS.Types.ClaimIndex;
+import fr.xyness.SCS.Types.CustomSet;
+
+/**
+ * This class handles the normalized storage of the members, bans and chunks of the claims.
+ * <p>
+ * When {@code database-normalized} is enabled, the {@code scs_claim_members},
+ * {@code scs_claim_bans} and {@code scs_claim_chunks} tables (keyed by the id of the
+ * claim row) are the source of truth for these values: adding a member or a chunk
+ * inserts one row instead of rewriting the whole serialized column. Every statement
+ * goes through the write queue, and claim rows are resolved by owner uuid and claim name
+ * when the statement is flushed, so the order of renames and ownership changes is kept.
+ * <p>
+ * The serialized columns are still written on inserts and whole-row updates. Rows without
+ * any chunk in the normalized tables (existing or imported claims) are migrated from their
+ * columns on startup, and disabling the mode writes the tables back into the columns.
+ */
+public class ClaimTables {
+
+
+    // ***************
+    // *  Variables  *
+    // ***************
+
+
+    /** Tables holding a set of uuids */
+    private static final String MEMBERS = "scs_claim_members";
+    private static final String BANS = "scs_claim_bans";
+
+    /** Resolves the id of a claim row from its owner uuid and claim name */
+    private static final String CLAIM_ID = "(SELECT id FROM scs_claims_1 WHERE owner_uuid = ? AND claim_name = ?)";
+
+    /** Resolves the ids of the claim rows of an owner */
+    private static final String OWNER_IDS = "(SELECT id FROM scs_claims_1 WHERE owner_uuid = ?)";
+
+    /** Instance of SimpleClaimSystem */
+    private final SimpleClaimSystem instance;
+
+
+    // ******************
+    // *  Constructors  *
+    // ******************
+
+
+    /**
+     * Main constructor.
+     *
+     * @param instance The instance of SimpleClaimSystem
+     */
+    public ClaimTables(SimpleClaimSystem instance) {
+    	this.instance = instance;
+    }
+
+
+    // *************
+    // *  Classes  *
+    // *************
+
+
+    /**
+     * The normalized values of a claim row.
+     */
+    public static final class Rows {
+    	public final CustomSet<UUID> members = new CustomSet<>();
+    	public final CustomSet<UUID> bans = new CustomSet<>();
+    	private long[] chunks = new long[8];
+    	private int chunkCount;
+
+    	private void addChunk(long key) {
+    		if (chunkCount == chunks.length) chunks = Arrays.copyOf(chunks, chunkCount << 1);
+    		chunks[chunkCount++] = key;
+    	}
+
+    	/**
+    	 * Gets the packed chunk coordinates of the claim.
+    	 *
+    	 * @return The packed chunk coordinates
+    	 */
+    	public long[] getChunks() {
+    		return Arrays.copyOf(chunks, chunkCount);
+    	}
+    }
+
+
+    // *************
+    // *  Methods  *
+    // *************
+
+
+    /**
+     * Checks if the normalized tables are enabled.
+     *
+     * @return True if enabled
+     */
+    public boolean isEnabled() {
+    	return instance.getSettings().getBooleanSetting("database-normalized");
+    }
+
+    /**
+     * Gets the insert statement ignoring duplicates, for the current database.
+     */
+    private String insertIgnore() {
+    	return instance.getClaimRepository().insertIgnore();
+    }
+
+    /**
+     * Adds a member to a claim.
+     *
+     * @param claim The claim
+     * @param target The uuid of the member
+     */
+    public void addMember(Claim claim, UUID target) {
+    	addUuid(MEMBERS, "member_uuid", claim, target);
+    }
+
+    /**
+     * Removes a member from a claim.
+     *
+     * @param claim The claim
+     * @param target The uuid of the member
+     */
+    public void removeMember(Claim claim, UUID target) {
+    	removeUuid(MEMBERS, "member_uuid", claim, target);
+    }
+
+    /**
+     * Adds a member to all the claims of an owner, in one statement.
+     *
+     * @param owner The uuid of the owner
+     * @param target The uuid of the member
+     */
+    public void addMemberToAll(UUID owner, UUID target) {
+    	addUuidToAll(MEMBERS, "member_uuid", owner, target);
+    }
+
+    /**
+     * Removes a member from all the claims of an owner, in one statement.
+     *
+     * @param owner The uuid of the owner
+     * @param target The uuid of the member
+     */
+    public void removeMemberFromAll(UUID owner, UUID target) {
+    	removeUuidFromAll(MEMBERS, "member_uuid", owner, target);
+    }
+
+    /**
+     * Bans a player from a claim.
+     *
+     * @param claim The claim
+     * @param target The uuid of the player
+     */
+    public void addBan(Claim claim, UUID target) {
+    	addUuid(BANS, "banned_uuid", claim, target);
+    }
+
+    /**
+     * Unbans a player from a claim.
+     *
+     * @param claim The claim
+     * @param target The uuid of the player
+     */
+    public void removeBan(Claim claim, UUID target) {
+    	removeUuid(BANS, "banned_uuid", claim, target);
+    }
+
+    /**
+     * Bans a player from all the claims of an owner, in one statement.
+     *
+     * @param owner The uuid of the owner
+     * @param target The uuid of the player
+     */
+    public void addBanToAll(UUID owner, UUID target) {
+    	addUuidToAll(BANS, "banned_uuid", owner, target);
+    }
+
+    /**
+     * Unbans a player from all the claims of an owner, in one statement.
+     *
+     * @param owner The uuid of the owner
+     * @param target The uuid of the player
+     */
+    public void removeBanFromAll(UUID owner, UUID target) {
+    	removeUuidFromAll(BANS, "banned_uuid", owner, target);
+    }
+
+    /**
+     * Adds a member to some claims, as one batch.
+     *
+     * @param claims The claims
+     * @param target The uuid of the member
+     */
+    public void addMemberToClaims(Collection<Claim> claims, UUID target) {
+    	if (!isEnabled() || claims.isEmpty()) return;
+    	instance.getWriteQueue().executeAll(insertIgnore() + MEMBERS + " (claim_id, member_uuid) SELECT id, ? FROM scs_claims_1 WHERE owner_uuid = ? AND claim_name = ?",
+    			claimParams(claims, target));
+    	claims.forEach(claim -> instance.getWriteQueue().changed(claim.getUUID().toString(), claim.getName()));
+    }
+
+    /**
+     * Removes a member from some claims, as one batch.
+     *
+     * @param claims The claims
+     * @param target The uuid of the member
+     */
+    public void removeMemberFromClaims(Collection<Claim> claims, UUID target) {
+    	if (!isEnabled() || claims.isEmpty()) return;
+    	instance.getWriteQueue().executeAll("DELETE FROM " + MEMBERS + " WHERE member_uuid = ? AND claim_id = " + CLAIM_ID,
+    			claimParams(claims, target));
+    	claims.forEach(claim -> instance.getWriteQueue().changed(claim.getUUID().toString(), claim.getName()));
+    }
+
+    private static List<Object[]> claimParams(Collection<Claim> claims, UUID target) {
+    	List<Object[]> params = new ArrayList<>(claims.size());
+    	for (Claim claim : claims) {
+    		params.add(new Object[] {target.toString(), claim.getUUID().toString(), claim.getName()});
+    	}
+    	return params;
+    }
+
+    private void addUuid(String table, String column, Claim claim, UUID target) {
+    	if (!isEnabled()) return;
+    	instance.getWriteQueue().execute(insertIgnore() + table + " (claim_id, " + column + ") SELECT id, ? FROM scs_claims_1 WHERE owner_uuid = ? AND claim_name = ?",
+    			target.toString(), claim.getUUID().toString(), claim.getName());
+    	instance.getWriteQueue().changed(claim.getUUID().toString(), claim.getName());
+    }
+
+    private void removeUuid(String table, String column, Claim claim, UUID target) {
+    	if (!isEnabled()) return;
+    	instance.getWriteQueue().execute("DELETE FROM " + table + " WHERE " + column + " = ? AND claim_id = " + CLAIM_ID,
+    			target.toString(), claim.getUUID().toString(), claim.getName());
+    	instance.getWriteQueue().changed(claim.getUUID().toString(), claim.getName());
+    }
+
+    private void addUuidToAll(String table, String column, UUID owner, UUID target) {
+    	if (!isEnabled()) return;
+    	instance.getWriteQueue().execute(insertIgnore() + table + " (claim_id, " + column + ") SELECT id, ? FROM scs_claims_1 WHERE owner_uuid = ?",
+    			target.toString(), owner.toString());
+    	instance.getWriteQueue().changed(owner.toString(), null);
+    }
+
+    private void removeUuidFromAll(String table, String column, UUID owner, UUID target) {
+    	if (!isEnabled()) return;
+    	instance.getWriteQueue().execute("DELETE FROM " + table + " WHERE " + column + " = ? AND claim_id IN " + OWNER_IDS,
+    			target.toString(), owner.toString());
+    	instance.getWriteQueue().changed(owner.toString(), null);
+    }
+
+    /**
+     * Adds a chunk to a claim.
+     *
+     * @param claim The claim
+     * @param x The chunk X coordinate
+     * @param z The chunk Z coordinate
+     */
+    public void addChunk(Claim claim, int x, int z) {
+    	if (!isEnabled()) return;
+    	instance.getWriteQueue().execute(insertIgnore() + "scs_claim_chunks (claim_id, chunk_x, chunk_z) SELECT id, ?, ? FROM scs_claims_1 WHERE owner_uuid = ? AND claim_name = ?",
+    			x, z, claim.getUUID().toString(), claim.getName());
+    	instance.getWriteQueue().changed(claim.getUUID().toString(), claim.getName());
+    }
+
+    /**
+     * Removes a chunk from a claim.
+     *
+     * @param claim The claim
+     * @param x The chunk X coordinate
+     * @param z The chunk Z coordinate
+     */
+    public void removeChunk(Claim claim, int x, int z) {
+    	if (!isEnabled()) return;
+    	instance.getWriteQueue().execute("DELETE FROM scs_claim_chunks WHERE chunk_x = ? AND chunk_z = ? AND claim_id = " + CLAIM_ID,
+    			x, z, claim.getUUID().toString(), claim.getName());
+    	instance.getWriteQueue().changed(claim.getUUID().toString(), claim.getName());
+    }
+
+    /**
+     * Moves the chunks of a claim to another claim of the same owner (used by merges).
+     * Must be called before the source claim row is deleted.
+     *
+     * @param target The claim receiving the chunks
+     * @param source The merged claim
+     */
+    public void moveChunks(Claim target, Claim source) {
+    	if (!isEnabled()) return;
+    	instance.getWriteQueue().execute("UPDATE scs_claim_chunks SET claim_id = " + CLAIM_ID + " WHERE claim_id = " + CLAIM_ID,
+    			target.getUUID().toString(), target.getName(), source.getUUID().toString(), source.getName());
+    	instance.getWriteQueue().changed(target.getUUID().toString(), target.getName());
+    }
+
+    /**
+     * Inserts the members, bans and chunks of a newly inserted claim row.
+     *
+     * @param claim The claim
+     */
+    public void insertClaim(Claim claim) {
+    	if (!isEnabled()) return;
+    	claim.getMembers().forEach(member -> addMember(claim, member));
+    	claim.getBans().forEach(ban -> addBan(claim, ban));
+    	for (long key : claim.getChunkKeys()) {
+    		addChunk(claim, ClaimIndex.keyX(key), ClaimIndex.keyZ(key));
+    	}
+    }
+
+    /**
+     * Deletes the members, bans and chunks of a claim.
+     * Must be called before the claim row is deleted.
+     *
+     * @param owner The uuid of the owner
+     * @param name The name of the claim
+     */
+    public void deleteClaim(UUID owner, String name) {
+    	if (!isEnabled()) return;
+    	for (String table : new String[] {MEMBERS, BANS, "scs_claim_chunks"}) {
+    		instance.getWriteQueue().execute("DELETE FROM " + table + " WHERE claim_id = " + CLAIM_ID, owner.toString(), name);
+    	}
+    }
+
+    /**
+     * Deletes the members, bans and chunks of all the claims of an owner.
+     * Must be called before the claim rows are deleted.
+     *
+     * @param owner The uuid of the owner
+     */
+    public void deleteAllClaims(UUID owner) {
+    	if (!isEnabled()) return;
+    	for (String table : new String[] {MEMBERS, BANS, "scs_claim_chunks"}) {
+    		instance.getWriteQueue().execute("DELETE FROM " + table + " WHERE claim_id IN " + OWNER_IDS, owner.toString());
+    	}
+    }
+
+    /**
+     * Brings the normalized tables in line with the setting, on startup:
+     * when enabled, the claim rows without chunks in the tables are migrated from their columns;
+     * when disabled, the tables are written back into the columns and cleared.
+     *
+     * @param connection The connection to the database
+     * @throws SQLException If a statement fails (the transaction is rolled back)
+     */
+    public void synchronize(Connection connection) throws SQLException {
+    	boolean autoCommit = connection.getAutoCommit();
+    	connection.setAutoCommit(false);
+    	try {
+    		int count = isEnabled() ? normalize(connection) : denormalize(connection);
+    		connection.commit();
+    		if (count > 0) instance.info(instance.getMain().getNumberSeparate(String.valueOf(count)) + (isEnabled() ? " claims migrated to the normalized tables." : " claims migrated back from the normalized tables."));
+    	} catch (SQLException e) {
+    		connection.rollback();
+    		throw e;
+    	} finally {
+    		connection.setAutoCommit(autoCommit);
+    	}
+    }
+
+    /**
+     * Copies the serialized columns of the claim rows that are not in the tables yet.
+     */
+    private int normalize(Connection connection) throws SQLException {
+    	String getQuery = "SELECT id, chunks, members, bans FROM scs_claims_1 WHERE id NOT IN (SELECT claim_id FROM scs_claim_chunks)";
+    	int count = 0;
+    	try (PreparedStatement select = connection.prepareStatement(getQuery);
+    			PreparedStatement members = connection.prepareStatement("INSERT INTO " + MEMBERS + " (claim_id, member_uuid) VALUES (?, ?)");
+    			PreparedStatement bans = connection.prepareStatement("INSERT INTO " + BANS + " (claim_id, banned_uuid) VALUES (?, ?)");
+    			PreparedStatement chunks = connection.prepareStatement("INSERT INTO scs_claim_chunks (claim_id, chunk_x, chunk_z) VALUES (?, ?, ?)");
+    			ResultSet resultSet = select.executeQuery()) {
+    		while (resultSet.next()) {
+    			int id = resultSet.getInt("id");
+    			try {
+    				// Decoded first, so a corrupted row adds nothing to the tables
+    				long[] keys = ClaimCodec.decodeChunks(resultSet.getString("chunks"));
+    				CustomSet<UUID> uuids = new CustomSet<>();
+    				ClaimCodec.decodeUuidsLenient(resultSet.getString("members"), uuids);
+    				for (UUID uuid : uuids) {
+    					members.setInt(1, id);
+    					members.setString(2, uuid.toString());
+    					members.addBatch();
+    				}
+    				uuids.clear();
+    				ClaimCodec.decodeUuidsLenient(resultSet.getString("bans"), uuids);
+    				for (UUID uuid : uuids) {
+    					bans.setInt(1, id);
+    					bans.setString(2, uuid.toString());
+    					bans.addBatch();
+    				}
+    				for (long key : keys) {
+    					chunks.setInt(1, id);
+    					chunks.setInt(2, ClaimIndex.keyX(key));
+    					chunks.setInt(3, ClaimIndex.keyZ(key));
+    					chunks.addBatch();
+    				}
+    				count++;
+    			} catch (IllegalArgumentException e) {
+    				instance.info("Error when migrating the claim data, id: " + String.valueOf(id));
+    			}
+    		}
+    		members.executeBatch();
+    		bans.executeBatch();
+    		chunks.executeBatch();
+    	}
+    	return count;
+    }
+
+    /**
+     * Writes the tables back into the serialized columns, then clears the tables.
+     */
+    private int denormalize(Connection connection) throws SQLException {
+    	Map<Integer, Rows> rows = load(connection, null);
+    	if (rows.isEmpty()) return 0;
+    	try (PreparedStatement update = connection.prepareStatement("UPDATE scs_claims_1 SET chunks = ?, members = ?, bans = ? WHERE id = ?")) {
+    		for (Map.Entry<Integer, Rows> entry : rows.entrySet()) {
+    			Rows row = entry.getValue();
+    			update.setString(1, ClaimCodec.encodeChunks(row.getChunks()));
+    			update.setString(2, ClaimCodec.encodeUuids(row.members));
+    			update.setString(3, ClaimCodec.encodeUuids(row.bans));
+    			update.setInt(4, entry.getKey());
+    			update.addBatch();
+    		}
+    		update.executeBatch();
+    	}
+    	try (Statement stmt = connection.createStatement()) {
+    		stmt.executeUpdate("DELETE FROM " + MEMBERS);
+    		stmt.executeUpdate("DELETE FROM " + BANS);
+    		stmt.executeUpdate("DELETE FROM scs_claim_chunks");
+    	}
+    	return rows.size();
+    }
+
+    /**
+     * Loads the normalized values of the claim rows that have chunks in the tables.
+     *
+     * @param connection The connection to the database
+     * @param worldNames The worlds of the claims, or null for every world
+     * @return The values, by claim row id
+     * @throws SQLException If a query fails
+     */
+    public Map<Integer, Rows> load(Connection connection, Collection<String> worldNames) throws SQLException {
+    	if (worldNames == null) return load(connection, "", null);
+    	return load(connection, " WHERE claim_id IN (SELECT id FROM scs_claims_1 WHERE world_name IN (" + placeholders(worldNames) + "))", worldNames);
+    }
+
+    /**
+     * Loads the normalized values of some claim rows.
+     *
+     * @param connection The connection to the database
+     * @param rowIds The ids of the claim rows
+     * @return The values, by claim row id
+     * @throws SQLException If a query fails
+     */
+    public Map<Integer, Rows> loadClaims(Connection connection, Collection<Integer> rowIds) throws SQLException {
+    	return load(connection, " WHERE claim_id IN (" + placeholders(rowIds) + ")", rowIds);
+    }
+
+    private Map<Integer, Rows> load(Connection connection, String filter, Collection<?> params) throws SQLException {
+    	Map<Integer, Rows> rows = new HashMap<>();
+    	if (params != null && params.isEmpty()) return rows;
+    	try (PreparedStatement stmt = connection.prepareStatement("SELECT claim_id, chunk_x, chunk_z FROM scs_claim_chunks" + filter)) {
+    		setParams(stmt, params);
+    		try (ResultSet resultSet = stmt.executeQuery()) {
+    			while (resultSet.next()) {
+    				rows.computeIfAbsent(resultSet.getInt(1), k -> new Rows()).addChunk(ClaimIndex.key(resultSet.getInt(2), resultSet.getInt(3)));
+    			}
+    		}
+    	}
+    	loadUuids(connection, "SELECT claim_id, member_uuid FROM " + MEMBERS + filter, params, rows, true);
+    	loadUuids(connection, "SELECT claim_id, banned_uuid FROM " + BANS + filter, params, rows, false);
+    	return rows;
+    }
+
+    private static String placeholders(Collection<?> params) {
+    	return String.join(",", Collections.nCopies(params.size(), "?"));
+    }
+
+    private static void setParams(PreparedStatement stmt, Collection<?> params) throws SQLException {
+    	if (params == null) return;
+    	int i = 1;
+    	for (Object param : params) {
+    		stmt.setObject(i++, param);
+    	}
+    }
+
+    private void loadUuids(Connection connection, String query, Collection<?> params, Map<Integer, Rows> rows, boolean members) throws SQLException {
+    	try (PreparedStatement stmt = connection.prepareStatement(query)) {
+    		setParams(stmt, params);
+    		try (ResultSet resultSet = stmt.executeQuery()) {
+    			while (resultSet.next()) {
+    				Rows row = rows.get(resultSet.getInt(1));
+    				if (row == null) continue;
+    				try {
+    					(members ? row.members : row.bans).add(UUID.fromString(resultSet.getString(2)));
+    				} catch (IllegalArgumentException e) {
+    					instance.info("Error when loading uuid, id: " + String.valueOf(resultSet.getInt(1)) + ", uuid: " + resultSet.getString(2));
+    				}
+    			}
+    		}
+    	}
+    }
+}
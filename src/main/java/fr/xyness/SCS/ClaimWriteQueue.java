@@ -0,0 +1,632 @@
+package fr.xyness.SCS;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * This class handles the write-behind persistence of the claims.
+ * <p>
+ * Statements are queued in order and flushed by a dedicated writer thread,
+ * as JDBC batches in one transaction, every interval or when the queue reaches
+ * the batch size. If the transaction fails, its statements are retried one by one
+ * so a failing statement does not hold back the others; only a statement failing
+ * while the database is reachable counts attempts. A row update replaces the pending update of the same statement
+ * on the same row, as long as no other statement touched that row in between.
+ * Statements that are not scoped to one row (deletes, renames, bulk updates)
+ * are barriers: they are never coalesced and later updates are queued after them.
+ * <p>
+ * When the claims sync is enabled, the changed claims are journaled in
+ * {@code scs_claims_changes} in the same transaction as the writes.
+ */
+public class ClaimWriteQueue {
+
+
+    // ***************
+    // *  Variables  *
+    // ***************
+
+
+    /** Number of failed attempts before a write is dropped, the database being reachable */
+    private static final int MAX_ATTEMPTS = 3;
+
+    /** Instance of SimpleClaimSystem */
+    private final SimpleClaimSystem instance;
+
+    /** Pending writes, in order */
+    private final ArrayDeque<Write> pending = new ArrayDeque<>();
+
+    /** Last pending write of each row */
+    private final Map<String, Write> lastWrites = new HashMap<>();
+
+    /** Changed claims to journal, as owner uuid and claim name */
+    private Map<String, String[]> changes = new LinkedHashMap<>();
+
+    /** Lock guarding the queue */
+    private final Object lock = new Object();
+
+    /** Number of batches taken from the queue and not written or requeued yet */
+    private int inFlight;
+
+    /** Whether the last flush could not reach the database (logged once) */
+    private volatile boolean unreachable;
+
+    /** Whether a flush is already requested */
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+    /** The writer thread */
+    private ScheduledExecutorService writer;
+
+    /** The thread of the writer, to recognize a flush requested from the writer itself */
+    private volatile Thread writerThread;
+
+    /** Max number of queued writes before an early flush */
+    private volatile int batchSize = 500;
+
+    /** Metrics */
+    private final AtomicLong queuedWrites = new AtomicLong();
+    private final AtomicLong coalescedWrites = new AtomicLong();
+    private final AtomicLong flushedWrites = new AtomicLong();
+    private final AtomicLong flushes = new AtomicLong();
+    private final AtomicLong totalFlushNanos = new AtomicLong();
+    private volatile long lastFlushNanos;
+
+
+    // ******************
+    // *  Constructors  *
+    // ******************
+
+
+    /**
+     * Main constructor.
+     *
+     * @param instance The instance of SimpleClaimSystem
+     */
+    public ClaimWriteQueue(SimpleClaimSystem instance) {
+    	this.instance = instance;
+    }
+
+
+    // *************
+    // *  Classes  *
+    // *************
+
+
+    /**
+     * A queued statement.
+     */
+    private static final class Write {
+    	final String sql;
+    	Object[] params;
+    	int attempts;
+
+    	Write(String sql, Object[] params) {
+    		this.sql = sql;
+    		this.params = params;
+    	}
+    }
+
+
+    // *************
+    // *  Methods  *
+    // *************
+
+
+    /**
+     * Starts the writer thread (restarts it if already running).
+     *
+     * @param intervalMillis The interval between two flushes
+     * @param batchSize The number of queued writes triggering an early flush
+     */
+    public synchronized void start(long intervalMillis, int batchSize) {
+    	if (writer != null) drain();
+    	this.batchSize = Math.max(1, batchSize);
+    	writer = Executors.newSingleThreadScheduledExecutor(r -> {
+    		Thread thread = new Thread(r, "SimpleClaimSystem-Writer");
+    		thread.setDaemon(true);
+    		writerThread = thread;
+    		return thread;
+    	});
+    	long interval = Math.max(50L, intervalMillis);
+    	writer.scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Queues an update of a single claim row.
+     *
+     * @param sql The statement, its last two parameters being the owner uuid and the claim name
+     * @param params The parameters of the statement
+     */
+    public void updateRow(String sql, Object... params) {
+    	synchronized (lock) {
+    		addRow(sql, params);
+    	}
+    	requestFlushIfFull();
+    }
+
+    /**
+     * Queues an update of several claim rows, written in the same flush.
+     *
+     * @param sql The statement, its last two parameters being the owner uuid and the claim name
+     * @param rows The parameters of the statement, for each row
+     */
+    public void updateRows(String sql, List<Object[]> rows) {
+    	synchronized (lock) {
+    		for (Object[] params : rows) {
+    			addRow(sql, params);
+    		}
+    	}
+    	requestFlushIfFull();
+    }
+
+    private void addRow(String sql, Object[] params) {
+    	String owner = String.valueOf(params[params.length - 2]);
+    	String name = String.valueOf(params[params.length - 1]);
+    	String row = owner + "\0" + name;
+    	addChange(owner, name);
+    	queuedWrites.incrementAndGet();
+    	Write last = lastWrites.get(row);
+    	if (last != null && last.sql.equals(sql) && last.attempts == 0) {
+    		last.params = params;
+    		coalescedWrites.incrementAndGet();
+    		return;
+    	}
+    	Write write = new Write(sql, params);
+    	pending.addLast(write);
+    	lastWrites.put(row, write);
+    }
+
+    /**
+     * Queues a statement that is not scoped to one row.
+     *
+     * @param sql The statement
+     * @param params The parameters of the statement
+     */
+    public void execute(String sql, Object... params) {
+    	synchronized (lock) {
+    		queuedWrites.incrementAndGet();
+    		pending.addLast(new Write(sql, params));
+    		lastWrites.clear();
+    	}
+    	requestFlushIfFull();
+    }
+
+    /**
+     * Queues a statement that is not scoped to one row, once for each set of parameters.
+     * The statements are written in the same flush, as one JDBC batch.
+     *
+     * @param sql The statement
+     * @param params The parameters of the statement, for each execution
+     */
+    public void executeAll(String sql, List<Object[]> params) {
+    	synchronized (lock) {
+    		for (Object[] p : params) {
+    			queuedWrites.incrementAndGet();
+    			pending.addLast(new Write(sql, p));
+    		}
+    		lastWrites.clear();
+    	}
+    	requestFlushIfFull();
+    }
+
+    /**
+     * Marks a claim as changed by the last queued statements, for the claims sync.
+     * The change is journaled with the pending writes, or in the next flush
+     * if they were already written.
+     *
+     * @param owner The uuid of the owner, or null for every claim
+     * @param name The name of the claim, or null for every claim of the owner
+     */
+    public void changed(String owner, String name) {
+    	synchronized (lock) {
+    		addChange(owner, name);
+    	}
+    }
+
+    private void addChange(String owner, String name) {
+    	if (!instance.getClaimSync().isEnabled()) return;
+    	changes.putIfAbsent(owner + "\0" + name, new String[] {owner, name});
+    }
+
+    /**
+     * Requests an early flush when the queue reaches the batch size.
+     */
+    private void requestFlushIfFull() {
+    	if (getQueueDepth() < batchSize) return;
+    	ScheduledExecutorService w = writer;
+    	if (w != null && !w.isShutdown() && flushRequested.compareAndSet(false, true)) {
+    		w.execute(this::flush);
+    	}
+    }
+
+    /**
+     * Flushes the pending statements on the writer thread and waits until the queue is idle,
+     * including the batches already being written. Used before a statement executed outside
+     * the queue (such as a claim insert), so it cannot be overtaken by an older queued statement.
+     * Called from the writer thread itself, it flushes in place instead of waiting for itself.
+     */
+    public void awaitFlush() {
+    	if (Thread.currentThread() == writerThread) {
+    		flush();
+    		return;
+    	}
+    	// Bounded, so an unreachable database does not block the caller forever
+    	for (int i = 0; i < MAX_ATTEMPTS; i++) {
+    		if (!awaitInFlight() || isIdle()) return;
+    		ScheduledExecutorService w = writer;
+    		if (w == null || w.isShutdown()) {
+    			flush();
+    			continue;
+    		}
+    		try {
+    			w.submit(this::flush).get();
+    		} catch (InterruptedException e) {
+    			Thread.currentThread().interrupt();
+    			return;
+    		} catch (ExecutionException | RejectedExecutionException e) {
+    			e.printStackTrace();
+    		}
+    	}
+    	awaitInFlight();
+    }
+
+    /**
+     * Waits until no batch is being written.
+     *
+     * @return False if the thread was interrupted
+     */
+    private boolean awaitInFlight() {
+    	synchronized (lock) {
+    		while (inFlight > 0) {
+    			try {
+    				lock.wait();
+    			} catch (InterruptedException e) {
+    				Thread.currentThread().interrupt();
+    				return false;
+    			}
+    		}
+    	}
+    	return true;
+    }
+
+    /**
+     * Writes every pending statement in one transaction.
+     */
+    public void flush() {
+    	flushRequested.set(false);
+    	List<Write> batch;
+    	Map<String, String[]> changed;
+    	synchronized (lock) {
+    		if (pending.isEmpty() && changes.isEmpty()) return;
+    		batch = new ArrayList<>(pending);
+    		pending.clear();
+    		lastWrites.clear();
+    		changed = changes;
+    		changes = new LinkedHashMap<>();
+    		inFlight++;
+    	}
+    	try {
+    		write(batch, changed);
+    	} finally {
+    		synchronized (lock) {
+    			if (--inFlight == 0) lock.notifyAll();
+    		}
+    	}
+    }
+
+    /**
+     * Writes a batch taken from the queue. If a statement fails, the statements are retried
+     * one by one, so only the failing one is put back. If the database cannot be reached,
+     * the whole batch is put back without counting an attempt.
+     */
+    private void write(List<Write> batch, Map<String, String[]> changed) {
+    	long start = System.nanoTime();
+    	HikariDataSource dataSource = instance.getDataSource();
+    	if (dataSource == null) {
+    		requeue(batch, changed);
+    		return;
+    	}
+    	int written;
+    	try (Connection connection = dataSource.getConnection()) {
+    		try {
+    			commit(connection, batch, changed);
+    			written = batch.size();
+    		} catch (SQLException e) {
+    			if (isConnectionFailure(connection, e)) throw e;
+    			instance.getLogger().warning("A batch of " + batch.size() + " claim writes failed, retrying them one by one: " + e.getMessage());
+    			written = writeOneByOne(connection, batch, changed);
+    		}
+    	} catch (SQLException e) {
+    		markUnreachable(e);
+    		requeue(batch, changed);
+    		return;
+    	}
+    	long elapsed = System.nanoTime() - start;
+    	lastFlushNanos = elapsed;
+    	totalFlushNanos.addAndGet(elapsed);
+    	flushes.incrementAndGet();
+    	flushedWrites.addAndGet(written);
+    }
+
+    /**
+     * Writes the statements of a failed batch one by one, each in its own transaction.
+     * A failing statement counts an attempt and is put back, the others are written.
+     * The changes are journaled once the statements are written. If the database cannot be
+     * reached anymore, the remaining statements are put back without counting an attempt.
+     *
+     * @return The number of written statements
+     */
+    private int writeOneByOne(Connection connection, List<Write> batch, Map<String, String[]> changed) {
+    	List<Write> failed = new ArrayList<>();
+    	int written = 0;
+    	for (int i = 0; i < batch.size(); i++) {
+    		Write write = batch.get(i);
+    		try {
+    			commit(connection, List.of(write), Map.of());
+    			written++;
+    		} catch (SQLException e) {
+    			if (isConnectionFailure(connection, e)) {
+    				markUnreachable(e);
+    				failed.addAll(batch.subList(i, batch.size()));
+    				requeue(failed, changed);
+    				return written;
+    			}
+    			write.attempts++;
+    			instance.getLogger().warning("A claim write failed (attempt " + write.attempts + "/" + MAX_ATTEMPTS + "): " + write.sql + " - " + e.getMessage());
+    			failed.add(write);
+    		}
+    	}
+    	try {
+    		if (!changed.isEmpty()) commit(connection, List.of(), changed);
+    	} catch (SQLException e) {
+    		if (isConnectionFailure(connection, e)) {
+    			markUnreachable(e);
+    			requeue(failed, changed);
+    			return written;
+    		}
+    		instance.getLogger().warning("The claim changes could not be journaled: " + e.getMessage());
+    	}
+    	if (!failed.isEmpty()) requeue(failed, Map.of());
+    	return written;
+    }
+
+    /**
+     * Writes statements and journals changes in one transaction, bumping the data version.
+     */
+    private void commit(Connection connection, List<Write> batch, Map<String, String[]> changed) throws SQLException {
+    	ClaimRepository repository = instance.getClaimRepository();
+    	connection.setAutoCommit(false);
+    	try {
+    		PreparedStatement statement = null;
+    		String current = null;
+    		long groupStart = 0;
+    		try {
+    			for (Write write : batch) {
+    				if (!write.sql.equals(current)) {
+    					if (statement != null) {
+    						executeBatch(statement, current, groupStart);
+    						repository.release(current, statement);
+    						statement = null;
+    					}
+    					groupStart = System.nanoTime();
+    					statement = repository.prepare(connection, write.sql);
+    					current = write.sql;
+    				}
+    				for (int i = 0; i < write.params.length; i++) {
+    					statement.setObject(i + 1, write.params[i]);
+    				}
+    				statement.addBatch();
+    			}
+    			if (statement != null) {
+    				executeBatch(statement, current, groupStart);
+    				repository.release(current, statement);
+    				statement = null;
+    			}
+    		} finally {
+    			if (statement != null) repository.discard(statement);
+    		}
+    		instance.getClaimSync().getJournal().journal(connection, changed.values());
+    		PreparedStatement version = repository.prepare(connection, ClaimSnapshot.BUMP_VERSION);
+    		try {
+    			version.executeUpdate();
+    		} catch (SQLException e) {
+    			repository.discard(version);
+    			throw e;
+    		}
+    		repository.release(ClaimSnapshot.BUMP_VERSION, version);
+    		connection.commit();
+    		if (unreachable) {
+    			unreachable = false;
+    			instance.info("The database is reachable again, the claim writes are saved.");
+    		}
+    	} catch (SQLException e) {
+    		try {
+    			connection.rollback();
+    		} catch (SQLException ignored) {
+    			// The connection is lost, the transaction is rolled back with it
+    		}
+    		throw e;
+    	} finally {
+    		try {
+    			connection.setAutoCommit(true);
+    		} catch (SQLException ignored) {
+    			// Same
+    		}
+    	}
+    }
+
+    /**
+     * Logs that the database cannot be reached, once until it is reached again.
+     */
+    private void markUnreachable(SQLException e) {
+    	if (unreachable) return;
+    	unreachable = true;
+    	instance.getLogger().warning("Claim writes could not be saved, the database is unreachable (retrying): " + e.getMessage());
+    }
+
+    /**
+     * Checks if a failure comes from the database being unreachable rather than from a statement.
+     */
+    private static boolean isConnectionFailure(Connection connection, SQLException e) {
+    	if (e instanceof SQLTransientException || e instanceof SQLRecoverableException) return true;
+    	String state = e.getSQLState();
+    	if (state != null && state.startsWith("08")) return true;
+    	try {
+    		return !connection.isValid(2);
+    	} catch (SQLException invalid) {
+    		return true;
+    	}
+    }
+
+    /**
+     * Runs the batch of a statement and records it in the claim repository stats.
+     */
+    private void executeBatch(PreparedStatement statement, String sql, long start) throws SQLException {
+    	long rows = 0;
+    	for (int count : statement.executeBatch()) {
+    		if (count > 0) rows += count;
+    	}
+    	instance.getClaimRepository().record(sql, System.nanoTime() - start, rows);
+    }
+
+    /**
+     * Puts back writes at the head of the queue, in order, dropping the ones that failed
+     * too many times. The changes are put back to be journaled by the next flush.
+     */
+    private void requeue(List<Write> writes, Map<String, String[]> changed) {
+    	synchronized (lock) {
+    		for (int i = writes.size() - 1; i >= 0; i--) {
+    			Write write = writes.get(i);
+    			if (write.attempts < MAX_ATTEMPTS) {
+    				pending.addFirst(write);
+    			} else {
+    				instance.getLogger().severe("Dropping a claim write after " + MAX_ATTEMPTS + " failed attempts, the database and the memory differ until the claim is saved again: "
+    						+ write.sql + " " + Arrays.toString(write.params));
+    			}
+    		}
+    		if (!changed.isEmpty()) {
+    			Map<String, String[]> merged = new LinkedHashMap<>(changed);
+    			merged.putAll(changes);
+    			changes = merged;
+    		}
+    		lastWrites.clear();
+    	}
+    }
+
+    /**
+     * Stops the writer thread and writes every pending statement on the calling thread.
+     * Must be called before the data source is closed.
+     */
+    public synchronized void drain() {
+    	if (writer != null) {
+    		writer.shutdown();
+    		try {
+    			writer.awaitTermination(10, TimeUnit.SECONDS);
+    		} catch (InterruptedException e) {
+    			Thread.currentThread().interrupt();
+    		}
+    		writer = null;
+    	}
+    	flush();
+    	for (int i = 1; i < MAX_ATTEMPTS && getQueueDepth() > 0; i++) {
+    		flush();
+    	}
+    	int left = getQueueDepth();
+    	if (left > 0) instance.getLogger().severe(left + " claim writes could not be saved.");
+    }
+
+    /**
+     * Checks if every queued write is in the database: nothing is pending or being written.
+     *
+     * @return True if the queue is idle
+     */
+    public boolean isIdle() {
+    	synchronized (lock) {
+    		return pending.isEmpty() && inFlight == 0;
+    	}
+    }
+
+    /**
+     * Gets the number of pending writes.
+     *
+     * @return The queue depth
+     */
+    public int getQueueDepth() {
+    	synchronized (lock) {
+    		return pending.size();
+    	}
+    }
+
+    /**
+     * Gets the number of writes queued since the start.
+     *
+     * @return The number of queued writes
+     */
+    public long getQueuedWrites() {
+    	return queuedWrites.get();
+    }
+
+    /**
+     * Gets the number of writes merged into a pending write.
+     *
+     * @return The number of coalesced writes
+     */
+    public long getCoalescedWrites() {
+    	return coalescedWrites.get();
+    }
+
+    /**
+     * Gets the number of statements written to the database.
+     *
+     * @return The number of flushed writes
+     */
+    public long getFlushedWrites() {
+    	return flushedWrites.get();
+    }
+
+    /**
+     * Gets the number of successful flushes.
+     *
+     * @return The number of flushes
+     */
+    public long getFlushes() {
+    	return flushes.get();
+    }
+
+    /**
+     * Gets the duration of the last successful flush.
+     *
+     * @return The duration in milliseconds
+     */
+    public double getLastFlushMillis() {
+    	return lastFlushNanos / 1_000_000.0;
+    }
+
+    /**
+     * Gets the average duration of the successful flushes.
+     *
+     * @return The duration in milliseconds
+     */
+    public double getAverageFlushMillis() {
+    	long count = flushes.get();
+    	return count == 0 ? 0 : totalFlushNanos.get() / 1_000_000.0 / count;
+    }
+}
@@ -47,6 +47,7 @@ import fr.xyness.SCS.Guis.Bedrock.BClaimMembersGui;
 import fr.xyness.SCS.Guis.Bedrock.BClaimSettingsGui;
 import fr.xyness.SCS.Types.CPlayer;
 import fr.xyness.SCS.Types.Claim;
+import fr.xyness.SCS.Types.ClaimIndex;
 import fr.xyness.SCS.Types.CustomSet;
 import fr.xyness.SCS.Types.WorldMode;
 import net.md_5.bungee.api.chat.ClickEvent;
@@ -271,7 +272,7 @@ public class ClaimCommand implements CommandExecutor, TabCompleter {
             	player.sendMessage(instance.getLanguage().getMessage("claim-player-not-found"));
                 return;
             }
-            if(claim.getChunks().size() == 1) {
+            if(claim.getChunkCount() == 1) {
             	player.sendMessage(instance.getLanguage().getMessage("cannot-remove-only-remaining-chunk"));
             	return;
             }
@@ -301,13 +302,11 @@ public class ClaimCommand implements CommandExecutor, TabCompleter {
         	}
         	if(instance.isFolia()) {
         		world.getChunkAtAsync(X_, Z_).thenAccept(chunk -> {
-        			Set<Chunk> chunks = new HashSet<>(claim.getChunks());
-        			if(!chunks.contains(chunk)) {
+        			if(!claim.containsChunk(chunk)) {
         				player.sendMessage(instance.getLanguage().getMessage("chunk-not-in-claim"));
         				return;
         			}
-        			chunks.remove(chunk);
-                    if(!instance.getMain().areChunksConnected(chunks)) {
+                    if(!instance.getMain().areChunksConnected(claim, chunk)) {
                     	player.sendMessage(instance.getLanguage().getMessage("chunks-are-not-connected-delchunk"));
                     	return;
                     }
@@ -326,13 +325,11 @@ public class ClaimCommand implements CommandExecutor, TabCompleter {
         		});
         	} else {
         		Chunk chunk = world.getChunkAt(X_, Z_);
-    			Set<Chunk> chunks = new HashSet<>(claim.getChunks());
-    			if(!chunks.contains(chunk)) {
+    			if(!claim.containsChunk(chunk)) {
     				player.sendMessage(instance.getLanguage().getMessage("chunk-not-in-claim"));
     				return;
     			}
-    			chunks.remove(chunk);
-                if(!instance.getMain().areChunksConnected(chunks)) {
+                if(!instance.getMain().areChunksConnected(claim, chunk)) {
                 	player.sendMessage(instance.getLanguage().getMessage("chunks-are-not-connected-delchunk"));
                 	return;
                 }
@@ -390,25 +387,30 @@ public class ClaimCommand implements CommandExecutor, TabCompleter {
             	player.sendMessage(instance.getLanguage().getMessage("cant-merge-same-claim"));
             	return;
             }
-            Set<Chunk> chunks = new HashSet<>(claim1.getChunks());
-            claims.forEach(c -> chunks.addAll(c.getChunks()));
+            if(!claims.stream().allMatch(c -> claim1.getWorldId().equals(c.getWorldId()))) {
+            	player.sendMessage(instance.getLanguage().getMessage("chunks-must-be-from-same-world"));
+            	return;
+            }
+            long[] chunks = claim1.getChunkKeys();
+            for(Claim c : claims) {
+            	long[] keys = c.getChunkKeys();
+            	long[] merged = Arrays.copyOf(chunks, chunks.length + keys.length);
+            	System.arraycopy(keys, 0, merged, chunks.length, keys.length);
+            	chunks = merged;
+            }
             if(!areChunksLinked(chunks)) {
             	player.sendMessage(instance.getLanguage().getMessage("there-is-a-claim-not-adjacent"));
             	return;
             }
-            if(!cPlayer.canClaimWithNumber(chunks.size())) {
+            if(!cPlayer.canClaimWithNumber(chunks.length)) {
             	player.sendMessage(instance.getLanguage().getMessage("cant-claim-with-so-many-chunks"));
             	return;
             }
-            if(!instance.getMain().areChunksInSameWorld(chunks)) {
-            	player.sendMessage(instance.getLanguage().getMessage("chunks-must-be-from-same-world"));
-            	return;
-            }
             instance.getMain().mergeClaims(claim1, claims)
             	.thenAccept(success -> {
             		if (success) {
             			player.sendMessage(instance.getLanguage().getMessage("claims-are-now-merged").replace("%claim-name%", claim1.getName()));
-            			if (instance.getSettings().getBooleanSetting("claim-particles")) instance.getMain().displayChunks(player, new CustomSet<>(claim1.getChunks()), true, false);
+            			if (instance.getSettings().getBooleanSetting("claim-particles")) instance.getMain().displayChunks(player, claim1, true, false);
             		} else {
             			player.sendMessage(instance.getLanguage().getMessage("error"));
             		}
@@ -479,7 +481,7 @@ public class ClaimCommand implements CommandExecutor, TabCompleter {
                 	return;
                 }
             	instance.executeAsyncLocation(() -> {
-    	        	if(!instance.getMain().getAllChunksFromAllClaims(playerName).contains(target.getLocation().getChunk())) {
+    	        	if(!instance.getMain().getOwnerInClaim(target.getLocation()).equals(playerName)) {
     	            	player.sendMessage(instance.getLanguage().getMessage("player-not-in-any-claim").replace("%player%", target.getName()));
     	            	return;
     	        	}
@@ -504,7 +506,7 @@ public class ClaimCommand implements CommandExecutor, TabCompleter {
             	return;
             }
         	instance.executeAsyncLocation(() -> {
-                if(!claim.getChunks().contains(target.getLocation().getChunk())) {
+                if(!claim.contains(target.getLocation())) {
                 	player.sendMessage(instance.getLanguage().getMessage("player-not-in-the-claim").replace("%player%", target.getName()).replace("%claim-name%", claim.getName()));
                 	return;
                 }
@@ -542,7 +544,7 @@ public class ClaimCommand implements CommandExecutor, TabCompleter {
                         			instance.executeEntitySync(player, () -> player.sendMessage(message));
                     		        if (target != null && target.isOnline()) {
                     		        	instance.executeAsyncLocation(() -> {
-                        		        	if(instance.getMain().getAllChunksFromAllClaims(playerName).contains(target.getLocation().getChunk())) {
+                        		        	if(instance.getMain().getOwnerInClaim(target.getLocation()).equals(playerName)) {
                         		        		instance.executeEntitySync(target, () -> instance.getMain().teleportPlayerToExpulsion(target));
                         		        	}
                     		        	}, target.getLocation());
@@ -606,7 +608,7 @@ public class ClaimCommand implements CommandExecutor, TabCompleter {
                 		        if (target != null && target.isOnline()) {
                 		        	String claimName = claim.getName();
                 		        	instance.executeAsyncLocation(() -> {
-                    		        	if(claim.getChunks().contains(target.getLocation().getChunk())) {
+                    		        	if(claim.contains(target.getLocation())) {
                     		        		instance.executeEntitySync(target, () -> instance.getMain().teleportPlayerToExpulsion(target));
                     		        	}
                 		        	}, target.getLocation());
@@ -1067,7 +1069,7 @@ public class ClaimCommand implements CommandExecutor, TabCompleter {
                     return;
                 }
                 // Check if player can claim with all these chunks (total)
-                if (!cTarget.canClaimTotalWithNumber(instance.getMain().getAllChunksFromAllClaims(targetName).size()+instance.getMain().getAllChunksFromAllClaims(playerName).size())) {
+                if (!cTarget.canClaimTotalWithNumber(instance.getMain().getAllChunksCountFromAllClaims(targetName)+instance.getMain().getAllChunksCountFromAllClaims(playerName))) {
                 	player.sendMessage(instance.getLanguage().getMessage("cant-claim-with-so-many-chunks-other").replace("%player%", targetName));
                     return;
                 }
@@ -1111,7 +1113,7 @@ public class ClaimCommand implements CommandExecutor, TabCompleter {
                 return;
             }
             // Check if player can claim with all these chunks (total)
-            if (!cTarget.canClaimTotalWithNumber(instance.getMain().getAllChunksFromAllClaims(targetName).size()+claim.getChunks().size())) {
+            if (!cTarget.canClaimTotalWithNumber(instance.getMain().getAllChunksCountFromAllClaims(targetName)+claim.getChunkCount())) {
             	player.sendMessage(instance.getLanguage().getMessage("cant-claim-with-so-many-chunks-other").replace("%player%", targetName));
                 return;
             }
@@ -1156,7 +1158,7 @@ public class ClaimCommand implements CommandExecutor, TabCompleter {
                 		if (success) {
                 			instance.executeEntitySync(player, () -> player.sendMessage(instance.getLanguage().getMessage("claim-for-sale-success").replace("%name%", args[1]).replace("%price%", instance.getMain().getPrice(args[2])).replace("%money-symbol%", instance.getLanguage().getMessage("money-symbol"))));
                             instance.executeSync(() -> Bukkit.getOnlinePlayers().stream().forEach(p -> p.sendMessage(instance.getLanguage().getMessage("claim-for-sale-success-broadcast").replace("%name%", args[1]).replace("%price%", instance.getMain().getPrice(args[2])).replace("%player%", playerName).replace("%money-symbol%", instance.getLanguage().getMessage("money-symbol")))));
-                            instance.getBossBars().activateBossBar(claim.getChunks());
+                            instance.getBossBars().activateBossBar(claim);
                 		} else {
                 			instance.executeEntitySync(player, () -> player.sendMessage(instance.getLanguage().getMessage("error")));
                 		}
@@ -1358,28 +1360,25 @@ public class ClaimCommand implements CommandExecutor, TabCompleter {
             		return;
             	}
             }
-            Set<Chunk> chunks = new HashSet<>(claim.getChunks());
-            if(!cPlayer.canClaimTotalWithNumber(instance.getMain().getAllChunksFromAllClaims(playerName).size()+1)) {
+            if(!cPlayer.canClaimTotalWithNumber(instance.getMain().getAllChunksCountFromAllClaims(playerName)+1)) {
             	player.sendMessage(instance.getLanguage().getMessage("cant-claim-with-so-many-chunks"));
             	return;
             }
-            if(!cPlayer.canClaimWithNumber(chunks.size()+1)) {
+            if(!cPlayer.canClaimWithNumber(claim.getChunkCount()+1)) {
             	player.sendMessage(instance.getLanguage().getMessage("cant-claim-with-so-many-chunks"));
             	return;
             }
-            chunks.add(chunk);
-            if(!instance.getMain().areChunksInSameWorld(chunks)) {
+            if(!chunk.getWorld().getUID().equals(claim.getWorldId())) {
             	player.sendMessage(instance.getLanguage().getMessage("chunks-must-be-from-same-world"));
             	return;
             }
-            chunks.remove(chunk);
-            if(!instance.getMain().isAnyChunkAdjacent(chunks, chunk)) {
+            if(!instance.getMain().isAnyChunkAdjacent(claim, chunk)) {
             	player.sendMessage(instance.getLanguage().getMessage("one-chunk-must-be-adjacent"));
             	return;
             }
             double[] price = {0};
             if (instance.getSettings().getBooleanSetting("economy") && instance.getSettings().getBooleanSetting("chunk-cost")) {
-                price[0] = instance.getSettings().getBooleanSetting("chunk-cost-multiplier") ? cPlayer.getChunkMultipliedCost(chunks.size()) : cPlayer.getChunkCost();
+                price[0] = instance.getSettings().getBooleanSetting("chunk-cost-multiplier") ? cPlayer.getChunkMultipliedCost(claim.getChunkCount()) : cPlayer.getChunkCost();
                 double balance = instance.getVault().getPlayerBalance(playerName);
 
                 if (balance < price[0]) {
@@ -1408,7 +1407,7 @@ public class ClaimCommand implements CommandExecutor, TabCompleter {
                 	            			instance.executeEntitySync(player, () -> player.sendMessage(instance.getLanguage().getMessage("add-chunk-successful")
                 	            					.replace("%chunk%", "["+chunk.getWorld().getName()+";"+String.valueOf(chunk.getX())+";"+String.valueOf(chunk.getZ())+"]")
                 	            					.replace("%claim-name%", claim.getName())));
-                	            			if (instance.getSettings().getBooleanSetting("claim-particles")) instance.getMain().displayChunks(player, new CustomSet<>(claim.getChunks()), true, false);
+                	            			if (instance.getSettings().getBooleanSetting("claim-particles")) instance.getMain().displayChunks(player, claim, true, false);
                 	            			return;
                 	            		} else {
                 	            			instance.executeEntitySync(player, () -> player.sendMessage(instance.getLanguage().getMessage("error")));
@@ -1440,7 +1439,7 @@ public class ClaimCommand implements CommandExecutor, TabCompleter {
             	            			instance.executeEntitySync(player, () -> player.sendMessage(instance.getLanguage().getMessage("add-chunk-successful")
             	            					.replace("%chunk%", "["+chunk.getWorld().getName()+";"+String.valueOf(chunk.getX())+";"+String.valueOf(chunk.getZ())+"]")
             	            					.replace("%claim-name%", claim.getName())));
-            	            			if (instance.getSettings().getBooleanSetting("claim-particles")) instance.getMain().displayChunks(player, new CustomSet<>(claim.getChunks()), true, false);
+            	            			if (instance.getSettings().getBooleanSetting("claim-particles")) instance.getMain().displayChunks(player, claim, true, false);
             	            			return;
             	            		} else {
             	            			instance.executeEntitySync(player, () -> player.sendMessage(instance.getLanguage().getMessage("error")));
@@ -1488,7 +1487,7 @@ public class ClaimCommand implements CommandExecutor, TabCompleter {
             	return;
             }
         	instance.executeAsyncLocation(() -> {
-        		if(!claim.getChunks().contains(target.getLocation().getChunk())) {
+        		if(!claim.contains(target.getLocation())) {
                 	player.sendMessage(instance.getLanguage().getMessage("player-not-in-the-claim").replace("%player%", target.getName()).replace("%claim-name%", claim.getName()));
                 	return;
 	        	}
@@ -1538,7 +1537,7 @@ public class ClaimCommand implements CommandExecutor, TabCompleter {
                 		        if (target != null && target.isOnline()) {
                 		        	String claimName = claim.getName();
                 		        	instance.executeAsyncLocation(() -> {
-                    		        	if(claim.getChunks().contains(target.getLocation().getChunk())) {
+                    		        	if(claim.contains(target.getLocation())) {
                     		        		instance.executeEntitySync(target, () -> instance.getMain().teleportPlayerToExpulsion(target));
                     		        	}
                 		        	}, target.getLocation());
@@ -1650,7 +1649,7 @@ public class ClaimCommand implements CommandExecutor, TabCompleter {
                 return;
             }
             // Check if player can claim with all these chunks (total)
-            if (!cTarget.canClaimTotalWithNumber(instance.getMain().getAllChunksFromAllClaims(targetName).size()+claim.getChunks().size())) {
+            if (!cTarget.canClaimTotalWithNumber(instance.getMain().getAllChunksCountFromAllClaims(targetName)+claim.getChunkCount())) {
             	player.sendMessage(instance.getLanguage().getMessage("cant-claim-with-so-many-chunks-other").replace("%player%", targetName));
                 return;
             }
@@ -1890,19 +1889,8 @@ public class ClaimCommand implements CommandExecutor, TabCompleter {
           }
 
           // ✅ 여러 클레임이면 전부 합쳐서 한 번에 표시 (displayChunks 여러 번 호출 방지)
-          Set<Chunk> chunks = new HashSet<>();
-          for (Claim claim : claims) {
-            if (claim == null) continue;
-            chunks.addAll(claim.getChunks());
-          }
-
-          if (chunks.isEmpty()) {
-            // 안전장치 (이상 케이스)
-            chunks.add(player.getLocation().getChunk());
-          }
-
           // 기존 "see others" 동작과 동일하게 others 플래그 유지 (마지막 true)
-          instance.getMain().displayChunks(player, new CustomSet<>(chunks), false, true);
+          instance.getMain().displayClaims(player, claims, false, true);
           return;
         }
         if (args[0].equalsIgnoreCase("settings")) {
@@ -2056,7 +2044,7 @@ public class ClaimCommand implements CommandExecutor, TabCompleter {
             	instance.getMain().delChunkSale(claim)
             		.thenAccept(success -> {
             			if (success) {
-            				instance.getBossBars().activateBossBar(claim.getChunks());
+            				instance.getBossBars().activateBossBar(claim);
             				instance.executeEntitySync(player, () -> player.sendMessage(instance.getLanguage().getMessage("claim-in-sale-cancel").replace("%name%", args[1])));
             			} else {
             				instance.executeEntitySync(player, () -> player.sendMessage(instance.getLanguage().getMessage("error")));
@@ -2114,7 +2102,7 @@ public class ClaimCommand implements CommandExecutor, TabCompleter {
 		            return;
 		        }
                 // Check if player can claim with all these chunks (total)
-                if (!cPlayer.canClaimTotalWithNumber(instance.getMain().getAllChunksFromAllClaims(playerName).size()+claim.getChunks().size())) {
+                if (!cPlayer.canClaimTotalWithNumber(instance.getMain().getAllChunksCountFromAllClaims(playerName)+claim.getChunkCount())) {
                 	player.sendMessage(instance.getLanguage().getMessage("cant-claim-with-so-many-chunks"));
                     return;
                 }
@@ -2511,7 +2499,11 @@ public class ClaimCommand implements CommandExecutor, TabCompleter {
             }
             Chunk chunk = player.getLocation().getChunk();
             Claim claim = instance.getMain().getClaim(chunk);
-            instance.getMain().displayChunks(player, new CustomSet<>(claim == null ? Set.of(player.getLocation().getChunk()) : claim.getChunks()), false, false);
+            if (claim == null) {
+            	instance.getMain().displayChunks(player, new CustomSet<>(Set.of(chunk)), false, false);
+            } else {
+            	instance.getMain().displayChunks(player, claim, false, false);
+            }
             return;
         }
         try {
@@ -2551,7 +2543,7 @@ public class ClaimCommand implements CommandExecutor, TabCompleter {
 	        	            }
 	        	            
 	        	            // Check if player can claim with all these chunks (total)
-	        	            if (!cPlayer.canClaimTotalWithNumber(instance.getMain().getAllChunksFromAllClaims(playerName).size()+chunksToClaim.size())) {
+	        	            if (!cPlayer.canClaimTotalWithNumber(instance.getMain().getAllChunksCountFromAllClaims(playerName)+chunksToClaim.size())) {
 	        	            	instance.executeEntitySync(player, () -> player.sendMessage(instance.getLanguage().getMessage("cant-claim-with-so-many-chunks")));
 	        	                return;
 	        	            }
@@ -2717,7 +2709,7 @@ public class ClaimCommand implements CommandExecutor, TabCompleter {
                         }
                         
                         // Check if player can claim with all these chunks (total)
-                        if (!cPlayer.canClaimTotalWithNumber(instance.getMain().getAllChunksFromAllClaims(playerName).size()+1)) {
+                        if (!cPlayer.canClaimTotalWithNumber(instance.getMain().getAllChunksCountFromAllClaims(playerName)+1)) {
                         	instance.executeEntitySync(player, () -> player.sendMessage(instance.getLanguage().getMessage("cant-claim-with-so-many-chunks")));
                             return;
                         }
@@ -2791,7 +2783,7 @@ public class ClaimCommand implements CommandExecutor, TabCompleter {
         		        }
         		        
                         // Check if player can claim with all these chunks (total)
-                        if (!cPlayer.canClaimTotalWithNumber(instance.getMain().getAllChunksFromAllClaims(playerName).size()+1)) {
+                        if (!cPlayer.canClaimTotalWithNumber(instance.getMain().getAllChunksCountFromAllClaims(playerName)+1)) {
                         	instance.executeEntitySync(player, () -> player.sendMessage(instance.getLanguage().getMessage("cant-claim-with-so-many-chunks")));
                             return;
                         }
@@ -3108,14 +3100,29 @@ public class ClaimCommand implements CommandExecutor, TabCompleter {
      * @return true if all chunks are connected, false otherwise
      */
     public boolean areChunksLinked(Set<Chunk> chunks) {
-        if (chunks.isEmpty()) {
+        long[] keys = new long[chunks.size()];
+        int i = 0;
+        for (Chunk chunk : chunks) {
+            keys[i++] = ClaimIndex.key(chunk.getX(), chunk.getZ());
+        }
+        return areChunksLinked(keys);
+    }
+
+    /**
+     * Verifies if all the given packed chunk keys are linked (i.e., adjacent to each other).
+     *
+     * @param chunks the packed chunk keys to check
+     * @return true if all chunks are connected, false otherwise
+     */
+    public boolean areChunksLinked(long[] chunks) {
+        if (chunks.length == 0) {
             return true; // If no chunks, we consider them trivially linked
         }
 
-        // Convert the set of chunks to a set of chunk coordinates for easier comparison
+        // Convert the keys to a set of chunk coordinates for easier comparison
         Set<ChunkCoord> chunkCoords = new HashSet<>();
-        for (Chunk chunk : chunks) {
-            chunkCoords.add(new ChunkCoord(chunk.getX(), chunk.getZ()));
+        for (long key : chunks) {
+            chunkCoords.add(new ChunkCoord(ClaimIndex.keyX(key), ClaimIndex.keyZ(key)));
         }
 
         // Start DFS or BFS from any chunk
@@ -206,7 +206,7 @@ public class ProtectedAreaCommand implements CommandExecutor, TabCompleter {
             	player.sendMessage(instance.getLanguage().getMessage("claim-player-not-found"));
                 return;
             }
-            if(claim.getChunks().size() == 1) {
+            if(claim.getChunkCount() == 1) {
             	player.sendMessage(instance.getLanguage().getMessage("cannot-remove-only-remaining-chunk"));
             	return;
             }
@@ -232,13 +232,11 @@ public class ProtectedAreaCommand implements CommandExecutor, TabCompleter {
         	}
         	if(instance.isFolia()) {
         		world.getChunkAtAsync(X_, Z_).thenAccept(chunk -> {
-        			Set<Chunk> chunks = new HashSet<>(claim.getChunks());
-        			if(!chunks.contains(chunk)) {
+        			if(!claim.containsChunk(chunk)) {
         				player.sendMessage(instance.getLanguage().getMessage("chunk-not-in-claim"));
         				return;
         			}
-        			chunks.remove(chunk);
-                    if(!instance.getMain().areChunksConnected(chunks)) {
+                    if(!instance.getMain().areChunksConnected(claim, chunk)) {
                     	player.sendMessage(instance.getLanguage().getMessage("chunks-are-not-connected-delchunk"));
                     	return;
                     }
@@ -257,13 +255,11 @@ public class ProtectedAreaCommand implements CommandExecutor, TabCompleter {
         		});
         	} else {
         		Chunk chunk = world.getChunkAt(X_, Z_);
-    			Set<Chunk> chunks = new HashSet<>(claim.getChunks());
-    			if(!chunks.contains(chunk)) {
+    			if(!claim.containsChunk(chunk)) {
     				player.sendMessage(instance.getLanguage().getMessage("chunk-not-in-claim"));
     				return;
     			}
-    			chunks.remove(chunk);
-                if(!instance.getMain().areChunksConnected(chunks)) {
+                if(!instance.getMain().areChunksConnected(claim, chunk)) {
                 	player.sendMessage(instance.getLanguage().getMessage("chunks-are-not-connected-delchunk"));
                 	return;
                 }
@@ -318,18 +314,17 @@ public class ProtectedAreaCommand implements CommandExecutor, TabCompleter {
             	return;
             }
             for(Claim claim : claims) {
-            	if(!instance.getMain().isAnyChunkAdjacentBetweenSets(new CustomSet<>(claim1.getChunks()), new CustomSet<>(claim.getChunks()))) {
+            	if(!instance.getMain().isAnyChunkAdjacentBetweenClaims(claim1, claim)) {
                 	player.sendMessage(instance.getLanguage().getMessage("one-chunk-of-claim-must-be-adjacent"));
             		return;
             	}
             }
-            Set<Chunk> chunks = new HashSet<>(claim1.getChunks());
-            claims.forEach(c -> chunks.addAll(c.getChunks()));
-            if(!cPlayer.canClaimWithNumber(chunks.size()+claim1.getChunks().size())) {
+            int chunks = claim1.getChunkCount() + claims.stream().mapToInt(Claim::getChunkCount).sum();
+            if(!cPlayer.canClaimWithNumber(chunks+claim1.getChunkCount())) {
             	player.sendMessage(instance.getLanguage().getMessage("cant-claim-with-so-many-chunks"));
             	return;
             }
-            if(!instance.getMain().areChunksInSameWorld(chunks)) {
+            if(!claims.stream().allMatch(c -> claim1.getWorldId().equals(c.getWorldId()))) {
             	player.sendMessage(instance.getLanguage().getMessage("chunks-must-be-from-same-world"));
             	return;
             }
@@ -337,7 +332,7 @@ public class ProtectedAreaCommand implements CommandExecutor, TabCompleter {
             	.thenAccept(success -> {
             		if (success) {
             			instance.executeEntitySync(player, () -> player.sendMessage(instance.getLanguage().getMessage("claims-are-now-merged").replace("%claim-name%", claim1.getName())));
-            			if (instance.getSettings().getBooleanSetting("claim-particles")) instance.getMain().displayChunks(player, new CustomSet<>(claim1.getChunks()), true, false);
+            			if (instance.getSettings().getBooleanSetting("claim-particles")) instance.getMain().displayChunks(player, claim1, true, false);
             		} else {
             			instance.executeEntitySync(player, () -> player.sendMessage(instance.getLanguage().getMessage("error")));
             		}
@@ -364,7 +359,7 @@ public class ProtectedAreaCommand implements CommandExecutor, TabCompleter {
                 	return;
                 }
             	instance.executeAsyncLocation(() -> {
-    	        	if(!instance.getMain().getAllChunksFromAllClaims("*").contains(target.getLocation().getChunk())) {
+    	        	if(!instance.getMain().getOwnerInClaim(target.getLocation()).equals("*")) {
     	            	player.sendMessage(instance.getLanguage().getMessage("player-not-in-any-claim").replace("%player%", target.getName()));
     	            	return;
     	        	}
@@ -389,7 +384,7 @@ public class ProtectedAreaCommand implements CommandExecutor, TabCompleter {
             	return;
             }
         	instance.executeAsyncLocation(() -> {
-                if(!claim.getChunks().contains(target.getLocation().getChunk())) {
+                if(!claim.contains(target.getLocation())) {
                 	player.sendMessage(instance.getLanguage().getMessage("player-not-in-the-protected-area").replace("%player%", target.getName()).replace("%claim-name%", claim.getName()));
                 	return;
                 }
@@ -423,7 +418,7 @@ public class ProtectedAreaCommand implements CommandExecutor, TabCompleter {
     	        					instance.executeEntitySync(player, () -> player.sendMessage(message));
     	    	        			if (target != null && target.isOnline()) {
     	    	        	        	instance.executeAsyncLocation(() -> {
-        	    	        				if(instance.getMain().getAllChunksFromAllProtectedAreas().contains(target.getLocation().getChunk())) {
+        	    	        				if(instance.getMain().getOwnerInClaim(target.getLocation()).equals("*")) {
         	            		        		instance.executeEntitySync(target, () -> instance.getMain().teleportPlayerToExpulsion(target));
         	            		        	}
     	    	        	        	}, target.getLocation());
@@ -485,7 +480,7 @@ public class ProtectedAreaCommand implements CommandExecutor, TabCompleter {
 		    			        if (target != null && target.isOnline()) {
 		    			        	String claimName = claim.getName();
 	    	        	        	instance.executeAsyncLocation(() -> {
-			    			        	if(claim.getChunks().contains(target.getLocation().getChunk())) {
+			    			        	if(claim.contains(target.getLocation())) {
 			        		        		instance.executeEntitySync(target, () -> instance.getMain().teleportPlayerToExpulsion(target));
 			        		        	}
 	    	        	        	}, target.getLocation());
@@ -805,14 +800,11 @@ public class ProtectedAreaCommand implements CommandExecutor, TabCompleter {
             		return;
             	}
             }
-            Set<Chunk> chunks = new HashSet<>(claim.getChunks());
-            chunks.add(chunk);
-            if(!instance.getMain().areChunksInSameWorld(chunks)) {
+            if(!chunk.getWorld().getUID().equals(claim.getWorldId())) {
             	player.sendMessage(instance.getLanguage().getMessage("chunks-must-be-from-same-world"));
             	return;
             }
-            chunks.remove(chunk);
-            if(!instance.getMain().isAnyChunkAdjacent(chunks, chunk)) {
+            if(!instance.getMain().isAnyChunkAdjacent(claim, chunk)) {
             	player.sendMessage(instance.getLanguage().getMessage("one-chunk-must-be-adjacent"));
             	return;
             }
@@ -822,7 +814,7 @@ public class ProtectedAreaCommand implements CommandExecutor, TabCompleter {
             			instance.executeEntitySync(player, () -> player.sendMessage(instance.getLanguage().getMessage("add-chunk-successful")
             					.replace("%chunk%", "["+chunk.getWorld().getName()+";"+String.valueOf(chunk.getX())+";"+String.valueOf(chunk.getZ())+"]")
             					.replace("%claim-name%", claim.getName())));
-            			if (instance.getSettings().getBooleanSetting("claim-particles")) instance.getMain().displayChunks(player, new CustomSet<>(claim.getChunks()), true, false);
+            			if (instance.getSettings().getBooleanSetting("claim-particles")) instance.getMain().displayChunks(player, claim, true, false);
             			return;
             		} else {
             			instance.executeEntitySync(player, () -> player.sendMessage(instance.getLanguage().getMessage("error")));
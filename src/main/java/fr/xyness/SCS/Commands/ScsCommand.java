@@ -21,6 +21,7 @@ import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.Player;
 
+import fr.xyness.SCS.ClaimWriteQueue;
 import fr.xyness.SCS.SimpleClaimSystem;
 import fr.xyness.SCS.Guis.AdminGestion.AdminGestionClaimMainGui;
 import fr.xyness.SCS.Guis.AdminGestion.AdminGestionClaimsOwnerGui;
@@ -149,6 +150,35 @@ public class ScsCommand implements CommandExecutor, TabCompleter {
     // ********************
     
     
+    /**
+     * Handles the import commands ("/scs import-griefprevention [dry-run]", "/scs import-xclaims [dry-run]").
+     *
+     * @param sender the command sender
+     * @param arg the first argument
+     * @param dryRun true to only report what would be imported
+     * @return true if the argument is an import command
+     */
+    private boolean handleImport(CommandSender sender, String arg, boolean dryRun) {
+    	if(arg.equalsIgnoreCase("import-griefprevention")) {
+    		if(!instance.getSettings().getBooleanSetting("griefprevention")) {
+    			sender.sendMessage(instance.getLanguage().getMessage("griefprevention-needed"));
+    			return true;
+    		}
+    		instance.getClaimImporter().importFromGriefPrevention(sender, dryRun);
+    		return true;
+    	}
+    	if(arg.equalsIgnoreCase("import-xclaims")) {
+    		File file = new File("plugins/SimpleClaimSystem/xclaims.yml");
+    		if(!file.exists()) {
+    			sender.sendMessage(instance.getLanguage().getMessage("xclaims-needed"));
+    			return true;
+    		}
+    		instance.getClaimImporter().importFromXClaims(sender, dryRun);
+    		return true;
+    	}
+    	return false;
+    }
+
     /**
      * Handles the command with only one argument for the given command sender.
      *
@@ -164,21 +194,23 @@ public class ScsCommand implements CommandExecutor, TabCompleter {
     		instance.reloadOnlyConfig(sender);
     		return;
     	}
-    	if(args[0].equalsIgnoreCase("import-griefprevention")) {
-    		if(!instance.getSettings().getBooleanSetting("griefprevention")) {
-    			sender.sendMessage(instance.getLanguage().getMessage("griefprevention-needed"));
-    			return;
-    		}
-    		instance.getMain().importFromGriefPrevention(sender);
+    	if(handleImport(sender, args[0], false)) return;
+    	if(args[0].equalsIgnoreCase("db-stats")) {
+    		ClaimWriteQueue queue = instance.getWriteQueue();
+    		sender.sendMessage(String.format("Write queue: %d pending, %d queued, %d coalesced, %d flushes (%.1fms avg, %.1fms last)",
+    				queue.getQueueDepth(), queue.getQueuedWrites(), queue.getCoalescedWrites(), queue.getFlushes(),
+    				queue.getAverageFlushMillis(), queue.getLastFlushMillis()));
+    		sender.sendMessage("Claim statements:");
+    		instance.getClaimRepository().getStats(10).forEach(sender::sendMessage);
+    		sender.sendMessage("Player statements:");
+    		instance.getPlayerRepository().getStats(5).forEach(sender::sendMessage);
     		return;
     	}
-    	if(args[0].equalsIgnoreCase("import-xclaims")) {
-    		File file = new File("plugins/SimpleClaimSystem/xclaims.yml");
-    		if(!file.exists()) {
-    			sender.sendMessage(instance.getLanguage().getMessage("xclaims-needed"));
-    			return;
-    		}
-    		instance.getMain().importFromXClaims(sender);
+    	if(args[0].equalsIgnoreCase("cache-stats")) {
+    		long[] stats = instance.getPlayerMain().getDecisionStats();
+    		long total = stats[0] + stats[1];
+    		sender.sendMessage(String.format("Protection decisions: %d hits, %d misses (%.1f%% hit rate)",
+    				stats[0], stats[1], total == 0 ? 0.0 : stats[0] * 100.0 / total));
     		return;
     	}
     	if(args[0].equalsIgnoreCase("transfer")) {
@@ -264,6 +296,7 @@ public class ScsCommand implements CommandExecutor, TabCompleter {
      * @param args The args for the command
      */
     private void handleArgTwo(CommandSender sender, String[] args) {
+    	if(args[1].equalsIgnoreCase("dry-run") && handleImport(sender, args[0], true)) return;
     	if(sender instanceof Player) {
     		Player player = (Player) sender;
     		if(args[0].equalsIgnoreCase("setowner")) {
@@ -1428,7 +1461,7 @@ public class ScsCommand implements CommandExecutor, TabCompleter {
     private List<String> getPrimaryCompletions(String[] args) {
     	String partialInput = args.length > 0 ? args[0].toLowerCase() : "";
         List<String> completions = List.of("reload", "config-reload", "transfer", "player", "cplayer", "group", "forceunclaim", "setowner", "set-lang", 
-                "reset-all-player-claims-settings", "reset-all-admin-claims-settings","admin","import-griefprevention","import-xclaims","setexpulsionlocation");
+                "reset-all-player-claims-settings", "reset-all-admin-claims-settings","admin","import-griefprevention","import-xclaims","setexpulsionlocation","db-stats","cache-stats");
         return completions.stream()
     	        .filter(c -> c.toLowerCase().startsWith(partialInput))
     	        .collect(Collectors.toList());
@@ -1458,6 +1491,10 @@ public class ScsCommand implements CommandExecutor, TabCompleter {
             case "player":
             	completions.addAll(List.of("tp", "unclaim", "main", "list"));
             	break;
+            case "import-griefprevention":
+            case "import-xclaims":
+            	completions.add("dry-run");
+            	break;
             default:
                 break;
         }
@@ -52,6 +52,24 @@ public class ClaimSettings {
     /** List of ignored place blocks. */
     private List<Material> PlaceBlocksIgnore = new ArrayList<>();
     
+    /** Flags of the materials lists above, by material ordinal. */
+    private volatile byte[] materialFlags = new byte[Material.values().length];
+    
+    /** Flag of the restricted items. */
+    private static final byte RESTRICTED_ITEM = 1;
+    
+    /** Flag of the restricted interactable blocks. */
+    private static final byte RESTRICTED_CONTAINER = 1 << 1;
+    
+    /** Flag of the special blocks. */
+    private static final byte SPECIAL_BLOCK = 1 << 2;
+    
+    /** Flag of the ignored break blocks. */
+    private static final byte BREAK_BLOCK_IGNORE = 1 << 3;
+    
+    /** Flag of the ignored place blocks. */
+    private static final byte PLACE_BLOCK_IGNORE = 1 << 4;
+    
     /** Map of aliases, key for aliase, value for real command */
     private Map<String,String> aliases = new HashMap<>();
     
@@ -85,6 +103,9 @@ public class ClaimSettings {
     /** Map of mode of worlds. */
     private Map<String,WorldMode> worlds = new HashMap<>();
     
+    /** Whether a world is in survival requiring claims mode. */
+    private volatile boolean survivalRequiringClaims;
+    
     /** Map of worlds aliases. */
     private Map<String,String> worldsAliases = new HashMap<>();
     
@@ -122,6 +143,7 @@ public class ClaimSettings {
         groups.clear();
         groupsSettings.clear();
         worlds.clear();
+        survivalRequiringClaims = false;
         aliases.clear();
         descriptionRegexClaims = null;
         descriptionRegexProtected = null;
@@ -226,7 +248,35 @@ public class ClaimSettings {
      * @return true if the material is a restricted container, false otherwise.
      */
     public boolean isRestrictedContainer(Material item) {
-        return restrictedInteractBlocks.contains(item);
+        return hasFlag(item, RESTRICTED_CONTAINER);
+    }
+
+    /**
+     * Checks a flag of a material.
+     *
+     * @param item The material to check.
+     * @param flag The flag.
+     * @return true if the material has the flag, false otherwise.
+     */
+    private boolean hasFlag(Material item, byte flag) {
+        return item != null && (materialFlags[item.ordinal()] & flag) != 0;
+    }
+    
+    /**
+     * Sets a flag on the materials of a list, and clears it on the others.
+     *
+     * @param materials The materials having the flag.
+     * @param flag The flag.
+     */
+    private synchronized void updateFlags(List<Material> materials, byte flag) {
+        byte[] flags = materialFlags.clone();
+        for (int i = 0; i < flags.length; i++) {
+            flags[i] &= ~flag;
+        }
+        for (Material material : materials) {
+            flags[material.ordinal()] |= flag;
+        }
+        materialFlags = flags;
     }
 
     /**
@@ -246,7 +296,7 @@ public class ClaimSettings {
      * @return true if the material is a restricted item, false otherwise.
      */
     public boolean isRestrictedItem(Material item) {
-        return restrictedItems.contains(item);
+        return hasFlag(item, RESTRICTED_ITEM);
     }
     
     /**
@@ -256,7 +306,7 @@ public class ClaimSettings {
      * @return true if the material is a ignored break block, false otherwise.
      */
     public boolean isBreakBlockIgnore(Material item) {
-        return BreakBlocksIgnore.contains(item);
+        return hasFlag(item, BREAK_BLOCK_IGNORE);
     }
     
     /**
@@ -266,7 +316,7 @@ public class ClaimSettings {
      * @return true if the material is a ignored place block, false otherwise.
      */
     public boolean isPlaceBlockIgnore(Material item) {
-        return PlaceBlocksIgnore.contains(item);
+        return hasFlag(item, PLACE_BLOCK_IGNORE);
     }
     
     /**
@@ -276,7 +326,7 @@ public class ClaimSettings {
      * @return true if the material is a special block, false otherwise.
      */
     public boolean isSpecialBlock(Material item) {
-        return specialBlocks.contains(item);
+        return hasFlag(item, SPECIAL_BLOCK);
     }
 
     /**
@@ -286,6 +336,7 @@ public class ClaimSettings {
      */
     public void setWorlds(Map<String,WorldMode> w) {
         worlds = w;
+        survivalRequiringClaims = w.containsValue(WorldMode.SURVIVAL_REQUIRING_CLAIMS);
     }
     
     /**
@@ -299,6 +350,17 @@ public class ClaimSettings {
     	return mode == null ? WorldMode.SURVIVAL : mode;
     }
     
+    /**
+     * Checks if a world is in survival requiring claims mode, without any lookup
+     * when no world is.
+     * 
+     * @param world The world name
+     * @return true if the world is in survival requiring claims mode
+     */
+    public boolean isSurvivalRequiringClaims(String world) {
+    	return survivalRequiringClaims && getWorldMode(world) == WorldMode.SURVIVAL_REQUIRING_CLAIMS;
+    }
+    
     /**
      * Set the expulsion location.
      * 
@@ -513,6 +575,7 @@ public class ClaimSettings {
             .map(Material::matchMaterial)
             .filter(Objects::nonNull)
             .forEach(restrictedItems::add); // Utilisation de forEach ici
+        updateFlags(restrictedItems, RESTRICTED_ITEM);
     }
 
     /**
@@ -526,6 +589,7 @@ public class ClaimSettings {
             .map(Material::matchMaterial)
             .filter(Objects::nonNull)
             .forEach(restrictedInteractBlocks::add); // Utilisation de forEach ici
+        updateFlags(restrictedInteractBlocks, RESTRICTED_CONTAINER);
     }
 
     /**
@@ -552,6 +616,7 @@ public class ClaimSettings {
             .map(Material::matchMaterial)
             .filter(Objects::nonNull)
             .forEach(specialBlocks::add); // Utilisation de forEach ici
+        updateFlags(specialBlocks, SPECIAL_BLOCK);
     }
 
     /**
@@ -565,6 +630,7 @@ public class ClaimSettings {
             .map(Material::matchMaterial)
             .filter(Objects::nonNull)
             .forEach(BreakBlocksIgnore::add); // Utilisation de forEach ici
+        updateFlags(BreakBlocksIgnore, BREAK_BLOCK_IGNORE);
     }
 
     /**
@@ -578,6 +644,7 @@ public class ClaimSettings {
             .map(Material::matchMaterial)
             .filter(Objects::nonNull)
             .forEach(PlaceBlocksIgnore::add); // Utilisation de forEach ici
+        updateFlags(PlaceBlocksIgnore, PLACE_BLOCK_IGNORE);
     }
 
     /**
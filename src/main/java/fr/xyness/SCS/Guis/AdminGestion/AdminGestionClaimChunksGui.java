@@ -6,9 +6,9 @@ import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 import org.bukkit.Bukkit;
-import org.bukkit.Chunk;
 import org.bukkit.Material;
 import org.bukkit.OfflinePlayer;
+import org.bukkit.World;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.InventoryHolder;
@@ -19,6 +19,7 @@ import org.bukkit.inventory.meta.SkullMeta;
 import fr.xyness.SCS.SimpleClaimSystem;
 import fr.xyness.SCS.Types.CPlayer;
 import fr.xyness.SCS.Types.Claim;
+import fr.xyness.SCS.Types.ClaimIndex;
 
 /**
  * Class representing the Claim Members GUI.
@@ -94,22 +95,26 @@ public class AdminGestionClaimChunksGui implements InventoryHolder {
 	        int items_count = max_member_slot - min_member_slot + 1;
 	        if(page>1) inv.setItem(48, backPage(page - 1));
 	        inv.setItem(49, backMainMenu(claim.getName()));
-	        List<String> lore = new ArrayList<>(Arrays.asList("§7The chunk is part of the claim",claim.getChunks().size() == 1 ? "§cYou can't remove the only remaining chunk" : "§c[Left-click]§7 to remove chunk"));
+	        List<String> lore = new ArrayList<>(Arrays.asList("§7The chunk is part of the claim",claim.getChunkCount() == 1 ? "§cYou can't remove the only remaining chunk" : "§c[Left-click]§7 to remove chunk"));
 	        int startItem = (page - 1) * items_count;
 	        int i = min_member_slot;
 	        int count = 0;
 	        int chunk_count = 0;
-	        for (Chunk chunk : claim.getChunks()) {
+	        World world = claim.getWorld();
+	        String worldName = world == null ? "" : world.getName();
+	        for (long chunk : claim.getChunkKeys()) {
 	        	chunk_count++;
 	            if (count++ < startItem) continue;
 	            if (i == max_member_slot + 1) {
 	            	inv.setItem(50, nextPage(page + 1));
 	                break;
 	            }
-	            cPlayer.addMapString(i, String.valueOf(chunk.getWorld().getName()+";"+chunk.getX()+";"+chunk.getZ()));
+	            int chunkX = ClaimIndex.keyX(chunk);
+	            int chunkZ = ClaimIndex.keyZ(chunk);
+	            cPlayer.addMapString(i, String.valueOf(worldName+";"+chunkX+";"+chunkZ));
 	            ItemStack item = new ItemStack(Material.RED_MUSHROOM_BLOCK);
 	            ItemMeta meta = item.getItemMeta();
-	            meta.setDisplayName("§6Chunk-"+String.valueOf(chunk_count)+" §7("+String.valueOf(chunk.getWorld().getName()+", X:"+chunk.getX()+", Z:"+chunk.getZ())+")");
+	            meta.setDisplayName("§6Chunk-"+String.valueOf(chunk_count)+" §7("+String.valueOf(worldName+", X:"+chunkX+", Z:"+chunkZ)+")");
 	            meta.setLore(lore);
 	            item.setItemMeta(meta);
 	            inv.setItem(i, item);
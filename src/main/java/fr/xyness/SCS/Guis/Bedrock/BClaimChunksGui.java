@@ -1,8 +1,6 @@
 package fr.xyness.SCS.Guis.Bedrock;
 
-import java.util.Set;
-
-import org.bukkit.Chunk;
+import org.bukkit.World;
 import org.bukkit.entity.Player;
 
 import org.geysermc.cumulus.form.SimpleForm;
@@ -13,6 +11,7 @@ import org.geysermc.floodgate.api.player.FloodgatePlayer;
 import fr.xyness.SCS.SimpleClaimSystem;
 import fr.xyness.SCS.Types.CPlayer;
 import fr.xyness.SCS.Types.Claim;
+import fr.xyness.SCS.Types.ClaimIndex;
 
 /**
  * Class representing the Claim GUI.
@@ -66,7 +65,7 @@ public class BClaimChunksGui {
 	        	}
 	        	String chunk = cPlayer.getMapString(clickedSlot);
 	        	if (!instance.getPlayerMain().checkPermPlayer(player, "scs.command.claim.delchunk")) return;
-	        	if (claim.getChunks().size() == 1) return;
+	        	if (claim.getChunkCount() == 1) return;
 	        	this.instance.getMain().removeClaimChunk(claim, chunk)
 		    		.thenAccept(success -> {
 		    			if (success) {
@@ -82,15 +81,19 @@ public class BClaimChunksGui {
 	        });
     	
         // Get claim data
-    	Set<Chunk> chunks = claim.getChunks();
+    	long[] chunks = claim.getChunkKeys();
+    	World world = claim.getWorld();
+    	String worldName = world == null ? "" : world.getName();
     	cPlayer.clearMapString();
         
         // Add buttons
     	String chunkHeadUrl = "https://i.ibb.co/kg1gN8V3/chunks.png";
     	int i = 1;
-        for (Chunk chunk : chunks) {
-        	cPlayer.addMapString(i, String.valueOf(chunk.getWorld().getName()+";"+chunk.getX()+";"+chunk.getZ()));
-            form.button(String.valueOf(chunk.getWorld().getName()+", "+chunk.getX()+", "+chunk.getZ()), Type.URL, chunkHeadUrl);
+        for (long chunk : chunks) {
+        	int chunkX = ClaimIndex.keyX(chunk);
+        	int chunkZ = ClaimIndex.keyZ(chunk);
+        	cPlayer.addMapString(i, String.valueOf(worldName+";"+chunkX+";"+chunkZ));
+            form.button(String.valueOf(worldName+", "+chunkX+", "+chunkZ), Type.URL, chunkHeadUrl);
             i++;
         }
         
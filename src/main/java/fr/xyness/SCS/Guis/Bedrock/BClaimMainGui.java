@@ -51,7 +51,7 @@ public class BClaimMainGui {
 	    			.replace("%name%", claim.getName()))
 	        .button(instance.getLanguage().getMessage("bedrock-manage-bans-title").replace("%bans-count%", instance.getMain().getNumberSeparate(String.valueOf(claim.getBans().size()))), Type.URL, "https://i.ibb.co/VWH3qdRs/banned.png")
 	        .button(instance.getLanguage().getMessage("bedrock-manage-members-title").replace("%members-count%", instance.getMain().getNumberSeparate(String.valueOf(claim.getMembers().size()))), Type.URL, "https://i.ibb.co/YTh2zjBT/members.png")
-	        .button(instance.getLanguage().getMessage("bedrock-manage-chunks-title").replace("%chunks-count%", instance.getMain().getNumberSeparate(String.valueOf(claim.getChunks().size()))), Type.URL, "https://i.ibb.co/kg1gN8V3/chunks.png")
+	        .button(instance.getLanguage().getMessage("bedrock-manage-chunks-title").replace("%chunks-count%", instance.getMain().getNumberSeparate(String.valueOf(claim.getChunkCount()))), Type.URL, "https://i.ibb.co/kg1gN8V3/chunks.png")
 	        .button(instance.getLanguage().getMessage("bedrock-manage-settings-title"), Type.URL, "https://i.ibb.co/NgvGqQYt/settings.png")
 	        .button(instance.getLanguage().getMessage("bedrock-teleport-claim-title"), Type.URL, "https://i.ibb.co/jkxBH09F/tp.png")
 	        .button(instance.getLanguage().getMessage("bedrock-unclaim-title"), Type.URL, "https://i.ibb.co/PGqsh65n/unclaim.png")
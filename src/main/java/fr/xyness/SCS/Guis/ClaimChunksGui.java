@@ -2,13 +2,12 @@ package fr.xyness.SCS.Guis;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 
 import org.bukkit.Bukkit;
-import org.bukkit.Chunk;
 import org.bukkit.Material;
 import org.bukkit.OfflinePlayer;
+import org.bukkit.World;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.InventoryHolder;
@@ -20,6 +19,7 @@ import fr.xyness.SCS.SimpleClaimSystem;
 import fr.xyness.SCS.Config.ClaimGuis;
 import fr.xyness.SCS.Types.CPlayer;
 import fr.xyness.SCS.Types.Claim;
+import fr.xyness.SCS.Types.ClaimIndex;
 import fr.xyness.SCS.Types.GuiSettings;
 import fr.xyness.SCS.Types.GuiSlot;
 
@@ -103,8 +103,10 @@ public class ClaimChunksGui implements InventoryHolder {
 	        CPlayer cPlayer = instance.getPlayerMain().getCPlayer(player.getUniqueId());
 	        
 	        // Get claim data
-	        Set<Chunk> chunks = claim.getChunks();
-	        int chunksCount = chunks.size();
+	        long[] chunks = claim.getChunkKeys();
+	        int chunksCount = chunks.length;
+	        World world = claim.getWorld();
+	        String worldName = world == null ? "" : world.getName();
 	        
 	        // Update player data (gui)
 	        cPlayer.setClaim(claim);
@@ -169,7 +171,7 @@ public class ClaimChunksGui implements InventoryHolder {
 	        // Prepare template lore
 	        List<String> lore = new ArrayList<>(instance.getGuis().getLore(instance.getLanguage().getMessage("chunk-lore")));
 	        lore.add(instance.getPlayerMain().checkPermPlayer(player, "scs.command.claim.delchunk")
-	                ? (claim.getChunks().size() == 1 ? instance.getLanguage().getMessage("cannot-remove-only-remaining-chunk-gui") : instance.getLanguage().getMessage("access-claim-clickable-removechunk"))
+	                ? (claim.getChunkCount() == 1 ? instance.getLanguage().getMessage("cannot-remove-only-remaining-chunk-gui") : instance.getLanguage().getMessage("access-claim-clickable-removechunk"))
 	                : instance.getLanguage().getMessage("gui-button-no-permission") + instance.getLanguage().getMessage("to-remove-chunk"));
 	        
 	        // Prepare count
@@ -180,7 +182,7 @@ public class ClaimChunksGui implements InventoryHolder {
 	        int count2 = 0;
 	        
 	        // Start loop
-	        for (Chunk chunk : chunks) {
+	        for (long chunk : chunks) {
 	        	
 	        	// Continue if not in the page
 	            if (count++ < startItem) continue;
@@ -193,10 +195,12 @@ public class ClaimChunksGui implements InventoryHolder {
 	            count2++;
 	
 	            // Add the chunk to map string for gui clicking
-	            cPlayer.addMapString(i, String.valueOf(chunk.getWorld().getName()+";"+chunk.getX()+";"+chunk.getZ()));
+	            int chunkX = ClaimIndex.keyX(chunk);
+	            int chunkZ = ClaimIndex.keyZ(chunk);
+	            cPlayer.addMapString(i, String.valueOf(worldName+";"+chunkX+";"+chunkZ));
 	            
 	            // Prepare title for current chunk
-	            String title = instance.getLanguage().getMessage("chunk-title").replace("%coords%", String.valueOf(chunk.getWorld().getName()+", X:"+chunk.getX()+", Z:"+chunk.getZ()));
+	            String title = instance.getLanguage().getMessage("chunk-title").replace("%coords%", String.valueOf(worldName+", X:"+chunkX+", Z:"+chunkZ));
 	            
 	            // Set chunk item
 	            ItemStack item = new ItemStack(Material.RED_MUSHROOM_BLOCK, 1);
@@ -115,7 +115,7 @@ public class ClaimMainGui implements InventoryHolder {
     			    		.replace("%sale-status%", claim.getSale() ? (instance.getLanguage().getMessage("claim-info-lore-sale-status-true")
     							.replace("%price%", instance.getMain().getNumberSeparate(String.valueOf(claim.getPrice())))
     							.replace("%money-symbol%", instance.getLanguage().getMessage("money-symbol"))) : instance.getLanguage().getMessage("claim-info-lore-sale-status-false"))
-    			    		.replace("%chunks-count%", instance.getMain().getNumberSeparate(String.valueOf(claim.getChunks().size())))
+    			    		.replace("%chunks-count%", instance.getMain().getNumberSeparate(String.valueOf(claim.getChunkCount())))
     						.replace("%members-count%", instance.getMain().getNumberSeparate(String.valueOf(claim.getMembers().size())))
     						.replace("%bans-count%", instance.getMain().getNumberSeparate(String.valueOf(claim.getBans().size())));
     				lore_string = lore_string.replace("%description%", ChatColor.translateAlternateColorCodes('&', claim.getDescription()))
@@ -123,7 +123,7 @@ public class ClaimMainGui implements InventoryHolder {
     			    		.replace("%sale-status%", claim.getSale() ? (instance.getLanguage().getMessage("claim-info-lore-sale-status-true")
     							.replace("%price%", instance.getMain().getNumberSeparate(String.valueOf(claim.getPrice())))
     							.replace("%money-symbol%", instance.getLanguage().getMessage("money-symbol"))) : instance.getLanguage().getMessage("claim-info-lore-sale-status-false"))
-    			    		.replace("%chunks-count%", instance.getMain().getNumberSeparate(String.valueOf(claim.getChunks().size())))
+    			    		.replace("%chunks-count%", instance.getMain().getNumberSeparate(String.valueOf(claim.getChunkCount())))
     						.replace("%members-count%", instance.getMain().getNumberSeparate(String.valueOf(claim.getMembers().size())))
     						.replace("%bans-count%", instance.getMain().getNumberSeparate(String.valueOf(claim.getBans().size())));
     			}
@@ -1,8 +1,6 @@
 package fr.xyness.SCS.Listeners;
 
 import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
@@ -12,6 +10,7 @@ import org.bukkit.Chunk;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.WeatherType;
+import org.bukkit.World;
 import org.bukkit.block.Block;
 import org.bukkit.block.BlockFace;
 import org.bukkit.block.data.Directional;
@@ -77,9 +76,12 @@ import org.bukkit.projectiles.ProjectileSource;
 import org.bukkit.util.Vector;
 
 import fr.xyness.SCS.SimpleClaimSystem;
+import fr.xyness.SCS.Types.BlockInteraction;
 import fr.xyness.SCS.Types.CPlayer;
 import fr.xyness.SCS.Types.Claim;
+import fr.xyness.SCS.Types.ClaimTransition;
 import fr.xyness.SCS.Types.CustomSet;
+import fr.xyness.SCS.Types.ExplosionFilter;
 import fr.xyness.SCS.Types.WorldMode;
 
 /**
@@ -102,6 +104,12 @@ public class ClaimEvents implements Listener {
     /** Bukkit version */
     private final String bukkitVersion = Bukkit.getVersion();
     
+    /** Faces checked for the redstone sources, they reach up to 2 blocks away horizontally */
+    private static final BlockFace[] REDSTONE_SOURCE_FACES = BlockFace.values();
+    
+    /** Horizontal faces checked for the redstone changes, the vertical ones never leave the chunk */
+    private static final BlockFace[] REDSTONE_CHANGE_FACES = { BlockFace.NORTH, BlockFace.SOUTH, BlockFace.EAST, BlockFace.WEST };
+    
     
     // ******************
     // *  Constructors  *
@@ -167,10 +175,9 @@ public class ClaimEvents implements Listener {
             if (event.isGliding()) {
             	Player player = (Player) event.getEntity();
             	if (player.hasPermission("scs.bypass")) return;
-            	Chunk chunk = player.getLocation().getChunk();
-                Claim claim = instance.getMain().getClaim(chunk);
+            	Claim claim = instance.getMain().getClaimAt(player.getLocation());
                 if (claim != null) {
-                    if (!claim.getPermissionForPlayer("Elytra", player)) {
+                    if (!instance.getPlayerMain().checkPermission(player, claim, "Elytra")) {
                     	instance.getMain().sendMessage(player, instance.getLanguage().getMessage("elytra"), instance.getSettings().getSetting("protection-message"));
                     	event.setCancelled(true);
                     }
@@ -197,10 +204,9 @@ public class ClaimEvents implements Listener {
                 if (player == null) return;
                 if (player.hasPermission("scs.bypass")) return;
                 if (player.isGliding() || player.getTargetBlockExact(5) == null) {
-                	Chunk chunk = player.getLocation().getChunk();
-                    Claim claim = instance.getMain().getClaim(chunk);
+                	Claim claim = instance.getMain().getClaimAt(player.getLocation());
                     if (claim != null) {
-                        if (!claim.getPermissionForPlayer("Elytra", player)) {
+                        if (!instance.getPlayerMain().checkPermission(player, claim, "Elytra")) {
                         	instance.getMain().sendMessage(player, instance.getLanguage().getMessage("elytra"), instance.getSettings().getSetting("protection-message"));
                         	event.setCancelled(true);
                         }
@@ -236,8 +242,7 @@ public class ClaimEvents implements Listener {
 	                        if (entity.getType() == EntityType.PLAYER) {
 	                            Player player = (Player) entity;
 	                            if(player == damager) return;
-	                            Chunk chunk = player.getLocation().getChunk();
-	                            Claim claim = instance.getMain().getClaim(chunk);
+	                            Claim claim = instance.getMain().getClaimAt(player.getLocation());
 
 	                            if (claim != null) {
 	                                if (!claim.getPermission("Pvp", "Natural")) {
@@ -282,11 +287,10 @@ public class ClaimEvents implements Listener {
 	    if (!(event.getEntity() instanceof Player)) return;
 
 	    Player player = (Player) event.getEntity();
-	    Chunk chunk = player.getLocation().getChunk();
+	    Claim claim = instance.getMain().getClaimAt(player.getLocation());
 	    WorldMode mode = instance.getSettings().getWorldMode(player.getWorld().getName());
 	    
-	    if(instance.getMain().checkIfClaimExists(chunk)) {
-	    	Claim claim = instance.getMain().getClaim(chunk);
+	    if(claim != null) {
 	        if (event.getDamager() instanceof Player) {
 	            Player damager = (Player) event.getDamager();
 	            if(player == damager) return;
@@ -330,10 +334,11 @@ public class ClaimEvents implements Listener {
      */
 	@EventHandler(priority = EventPriority.LOWEST)
     public void onCreatureSpawn(CreatureSpawnEvent event) {
-		WorldMode mode = instance.getSettings().getWorldMode(event.getLocation().getWorld().getName());
-		Chunk chunk = event.getLocation().getChunk();
-		if(instance.getMain().checkIfClaimExists(chunk)) {
-			Claim claim = instance.getMain().getClaim(chunk);
+		Location location = event.getLocation();
+		if(!instance.getMain().isClaimedAt(location) && !instance.getSettings().isSurvivalRequiringClaims(location.getWorld().getName())) return;
+		WorldMode mode = instance.getSettings().getWorldMode(location.getWorld().getName());
+		Claim claim = instance.getMain().getClaimAt(location);
+		if(claim != null) {
 			Entity entity = event.getEntity();
 			if(entity instanceof Monster || entity instanceof Phantom) {
 				if(!claim.getPermission("Monsters", "Natural")) {
@@ -355,13 +360,12 @@ public class ClaimEvents implements Listener {
      */
     @EventHandler
     public void onPlayerDropItem(PlayerDropItemEvent event) {
-    	Chunk chunk = event.getItemDrop().getLocation().getChunk();
+    	Claim claim = instance.getMain().getClaimAt(event.getItemDrop().getLocation());
     	Player player = event.getPlayer();
     	WorldMode mode = instance.getSettings().getWorldMode(player.getWorld().getName());
-    	if(instance.getPlayerMain().checkPermPlayer(player, "scs.bypass")) return;
-		if(instance.getMain().checkIfClaimExists(chunk)) {
-			Claim claim = instance.getMain().getClaim(chunk);
-			if(!claim.getPermissionForPlayer("ItemsDrop", player)) {
+    	if(instance.getPlayerMain().hasBypass(player)) return;
+		if(claim != null) {
+			if(!instance.getPlayerMain().checkPermission(player, claim, "ItemsDrop")) {
 				event.setCancelled(true);
 				instance.getMain().sendMessage(player,instance.getLanguage().getMessage("itemsdrop"), instance.getSettings().getSetting("protection-message"));
 				return;
@@ -379,13 +383,12 @@ public class ClaimEvents implements Listener {
      */
     @EventHandler
     public void onPlayerUsePortal(PlayerPortalEvent event) {
-    	Chunk chunk = event.getFrom().getChunk();
+    	Claim claim = instance.getMain().getClaimAt(event.getFrom());
     	Player player = event.getPlayer();
     	WorldMode mode = instance.getSettings().getWorldMode(player.getWorld().getName());
-    	if(instance.getPlayerMain().checkPermPlayer(player, "scs.bypass")) return;
-		if(instance.getMain().checkIfClaimExists(chunk)) {
-			Claim claim = instance.getMain().getClaim(chunk);
-			if(!claim.getPermissionForPlayer("Portals", player)) {
+    	if(instance.getPlayerMain().hasBypass(player)) return;
+		if(claim != null) {
+			if(!instance.getPlayerMain().checkPermission(player, claim, "Portals")) {
 				event.setCancelled(true);
 				instance.getMain().sendMessage(player,instance.getLanguage().getMessage("portals"), instance.getSettings().getSetting("protection-message"));
 				return;
@@ -404,23 +407,13 @@ public class ClaimEvents implements Listener {
     @EventHandler
     public void onEntityExplode(EntityExplodeEvent event) {
     	WorldMode mode = instance.getSettings().getWorldMode(event.getLocation().getWorld().getName());
-        Iterator<Block> blockIterator = event.blockList().iterator();
-        while (blockIterator.hasNext()) {
-            Block block = blockIterator.next();
-            Chunk chunk = block.getLocation().getChunk();
-            if (instance.getMain().checkIfClaimExists(chunk) && !instance.getMain().canPermCheck(chunk, "Explosions", "Natural")) {
-                blockIterator.remove();
-            } else if (mode == WorldMode.SURVIVAL_REQUIRING_CLAIMS && !instance.getSettings().getSettingSRC("Explosions")) {
-            	blockIterator.remove();
-            }
-        }
+    	filterExplosionBlocks(event.getLocation().getWorld(), mode, event.blockList());
         if (instance.getMinecraftVersion().contains("1.21") && event.getEntityType() == EntityType.WIND_CHARGE) {
         	Projectile wind = (Projectile) event.getEntity();
         	if(wind.getShooter() instanceof Player player) {
-        		Chunk chunk = event.getEntity().getLocation().getChunk();
-        		if(instance.getMain().checkIfClaimExists(chunk)) {
-        			Claim claim = instance.getMain().getClaim(chunk);
-        			if(!claim.getPermissionForPlayer("Windcharges", player)) {
+        		Claim claim = instance.getMain().getClaimAt(event.getEntity().getLocation());
+        		if(claim != null) {
+        			if(!instance.getPlayerMain().checkPermission(player, claim, "Windcharges")) {
         				instance.getMain().sendMessage(player,instance.getLanguage().getMessage("windcharges"), instance.getSettings().getSetting("protection-message"));
                         event.getEntity().getNearbyEntities(5, 5, 5).forEach(entity -> {
                         	entity.setVelocity(new Vector(0, 0, 0));
@@ -448,8 +441,8 @@ public class ClaimEvents implements Listener {
 		if (event.getEntityType() == EntityType.WITHER_SKULL) {
             if (event.getHitBlock() != null) {
             	Block block = event.getHitBlock();
-            	Chunk chunk = block.getLocation().getChunk();
-                if (instance.getMain().checkIfClaimExists(chunk) && !instance.getMain().canPermCheck(chunk, "Explosions", "Natural")) {
+            	Claim claim = instance.getMain().getClaimAt(block);
+                if (claim != null && !claim.getPermission("Explosions", "Natural")) {
                 	event.getEntity().remove();
                 	event.setCancelled(true);
                 } else if (mode == WorldMode.SURVIVAL_REQUIRING_CLAIMS && !instance.getSettings().getSettingSRC("Explosions")) {
@@ -458,8 +451,8 @@ public class ClaimEvents implements Listener {
                 }
             }
             if (event.getHitEntity() != null) {
-        		Chunk chunk = event.getHitEntity().getLocation().getChunk();
-        		if(instance.getMain().checkIfClaimExists(chunk) && !instance.getMain().canPermCheck(chunk, "Explosions", "Natural")) {
+        		Claim claim = instance.getMain().getClaimAt(event.getHitEntity().getLocation());
+        		if(claim != null && !claim.getPermission("Explosions", "Natural")) {
         			event.getEntity().remove();
         			event.setCancelled(true);
         		} else if (mode == WorldMode.SURVIVAL_REQUIRING_CLAIMS && !instance.getSettings().getSettingSRC("Explosions")) {
@@ -468,8 +461,8 @@ public class ClaimEvents implements Listener {
                 }
             }
             event.getEntity().getNearbyEntities(5, 5, 5).forEach(entity -> {
-            	Chunk chunk = entity.getLocation().getChunk();
-            	if (instance.getMain().checkIfClaimExists(chunk) && !instance.getMain().canPermCheck(chunk, "Explosions", "Natural")) {
+            	Claim claim = instance.getMain().getClaimAt(entity.getLocation());
+            	if (claim != null && !claim.getPermission("Explosions", "Natural")) {
                     entity.setVelocity(new Vector(0, 0, 0));
                 } else if (mode == WorldMode.SURVIVAL_REQUIRING_CLAIMS && !instance.getSettings().getSettingSRC("Explosions")) {
                 	entity.setVelocity(new Vector(0, 0, 0));
@@ -478,16 +471,16 @@ public class ClaimEvents implements Listener {
         } else if (instance.getMinecraftVersion().contains("1.21") && event.getEntityType() == EntityType.WIND_CHARGE) {
             if (event.getHitBlock() != null) {
             	Block block = event.getHitBlock();
-            	Chunk chunk = block.getLocation().getChunk();
-                if (instance.getMain().checkIfClaimExists(chunk) && !instance.getMain().canPermCheck(chunk, "Explosions", "Natural")) {
+            	Claim claim = instance.getMain().getClaimAt(block);
+                if (claim != null && !claim.getPermission("Explosions", "Natural")) {
                 	event.setCancelled(true);
                 } else if (mode == WorldMode.SURVIVAL_REQUIRING_CLAIMS && !instance.getSettings().getSettingSRC("Explosions")) {
                 	event.setCancelled(true);
                 }
             }
             if (event.getHitEntity() != null) {
-        		Chunk chunk = event.getHitEntity().getLocation().getChunk();
-        		if(instance.getMain().checkIfClaimExists(chunk) && !instance.getMain().canPermCheck(chunk, "Explosions", "Natural")) {
+        		Claim claim = instance.getMain().getClaimAt(event.getHitEntity().getLocation());
+        		if(claim != null && !claim.getPermission("Explosions", "Natural")) {
         			event.setCancelled(true);
         		} else if (mode == WorldMode.SURVIVAL_REQUIRING_CLAIMS && !instance.getSettings().getSettingSRC("Explosions")) {
                 	event.setCancelled(true);
@@ -520,12 +513,12 @@ public class ClaimEvents implements Listener {
         	            return;
         	        }
         	        
-        	        if (!claim.getPermissionForPlayer("Enter",player) && !instance.getPlayerMain().checkPermPlayer(player, "scs.bypass.enter")) {
+        	        if (!instance.getPlayerMain().checkPermission(player, claim, "Enter") && !instance.getPlayerMain().checkPermPlayer(player, "scs.bypass.enter")) {
         	            cancelTeleport(event, player, "enter");
         	            return;
         	        }
         	
-        	        if (!instance.getPlayerMain().checkPermPlayer(player, "scs.bypass") && !claim.getPermissionForPlayer("Teleportations",player)) {
+        	        if (!instance.getPlayerMain().hasBypass(player) && !instance.getPlayerMain().checkPermission(player, claim, "Teleportations")) {
         	            cancelTeleport(event, player, "teleportations");
         	            return;
         	        }
@@ -563,17 +556,8 @@ public class ClaimEvents implements Listener {
      */
     @EventHandler
     public void onBlockExplode(BlockExplodeEvent event) {
-    	WorldMode mode = instance.getSettings().getWorldMode(event.getBlock().getWorld().getName());
-        Iterator<Block> blockIterator = event.blockList().iterator();
-        while (blockIterator.hasNext()) {
-            Block block = blockIterator.next();
-            Chunk chunk = block.getLocation().getChunk();
-            if (instance.getMain().checkIfClaimExists(chunk) && !instance.getMain().canPermCheck(chunk, "Explosions", "Natural")) {
-                blockIterator.remove();
-            } else if (mode == WorldMode.SURVIVAL_REQUIRING_CLAIMS && !instance.getSettings().getSettingSRC("Explosions")) {
-            	blockIterator.remove();
-            }
-        }
+    	World world = event.getBlock().getWorld();
+    	filterExplosionBlocks(world, instance.getSettings().getWorldMode(world.getName()), event.blockList());
     }
 	
     /**
@@ -582,11 +566,12 @@ public class ClaimEvents implements Listener {
      */
     @EventHandler
     public void onEntityChangeBlock(EntityChangeBlockEvent event) {
-    	WorldMode mode = instance.getSettings().getWorldMode(event.getBlock().getLocation().getWorld().getName());
         if (event.getEntityType() == EntityType.WITHER || event.getEntityType() == EntityType.WITHER_SKULL) {
             Block block = event.getBlock();
-            Chunk chunk = block.getLocation().getChunk();
-            if (instance.getMain().checkIfClaimExists(chunk) && !instance.getMain().canPermCheck(chunk, "Explosions", "Natural")) {
+            if (!instance.getMain().isClaimedAt(block) && !instance.getSettings().isSurvivalRequiringClaims(block.getWorld().getName())) return;
+            WorldMode mode = instance.getSettings().getWorldMode(block.getWorld().getName());
+            Claim claim = instance.getMain().getClaimAt(block);
+            if (claim != null && !claim.getPermission("Explosions", "Natural")) {
             	event.setCancelled(true);
             } else if (mode == WorldMode.SURVIVAL_REQUIRING_CLAIMS && !instance.getSettings().getSettingSRC("Explosions")) {
             	event.setCancelled(true);
@@ -602,17 +587,16 @@ public class ClaimEvents implements Listener {
     @EventHandler(priority = EventPriority.LOWEST)
 	public void onPlayerBreak(BlockBreakEvent event){
 		Player player = event.getPlayer();
-		WorldMode mode = instance.getSettings().getWorldMode(player.getLocation().getWorld().getName());
-		if(instance.getPlayerMain().checkPermPlayer(player, "scs.bypass")) return;
-		Chunk chunk = event.getBlock().getLocation().getChunk();
-		if(instance.getMain().checkIfClaimExists(chunk)) {
-			Claim claim = instance.getMain().getClaim(chunk);
-			if(!claim.getPermissionForPlayer("Destroy", player) && !instance.getSettings().isBreakBlockIgnore(event.getBlock().getType())) {
+		WorldMode mode = instance.getSettings().getWorldMode(player.getWorld().getName());
+		if(instance.getPlayerMain().hasBypass(player)) return;
+		Claim claim = instance.getMain().getClaimAt(event.getBlock());
+		if(claim != null) {
+			if(!instance.getPlayerMain().checkPermission(player, claim, "Destroy") && !instance.getSettings().isBreakBlockIgnore(event.getBlock().getType())) {
 				event.setCancelled(true);
 				instance.getMain().sendMessage(player,instance.getLanguage().getMessage("destroy"), instance.getSettings().getSetting("protection-message"));
 				return;
 			}
-			if(instance.getSettings().isSpecialBlock(event.getBlock().getType()) && !claim.getPermissionForPlayer("SpecialBlocks", player)) {
+			if(instance.getSettings().isSpecialBlock(event.getBlock().getType()) && !instance.getPlayerMain().checkPermission(player, claim, "SpecialBlocks")) {
 				event.setCancelled(true);
 				instance.getMain().sendMessage(player,instance.getLanguage().getMessage("specialblocks"), instance.getSettings().getSetting("protection-message"));
 				return;
@@ -639,27 +623,26 @@ public class ClaimEvents implements Listener {
 	public void onVehicleDamage(VehicleDamageEvent event){
 		Entity damager = event.getAttacker();
 		if(damager == null) return;
-		WorldMode mode = instance.getSettings().getWorldMode(damager.getLocation().getWorld().getName());
-		Chunk chunk = event.getVehicle().getLocation().getChunk();
-		if(instance.getMain().checkIfClaimExists(chunk)) {
+		WorldMode mode = instance.getSettings().getWorldMode(damager.getWorld().getName());
+		Claim claim = instance.getMain().getClaimAt(event.getVehicle().getLocation());
+		if(claim != null) {
 			if(damager instanceof Player) {
 				Player player = (Player) damager;
-				if(instance.getPlayerMain().checkPermPlayer(player, "scs.bypass")) return;
-				Claim claim = instance.getMain().getClaim(chunk);
-				if(!claim.getPermissionForPlayer("Destroy", player)) {
+				if(instance.getPlayerMain().hasBypass(player)) return;
+				if(!instance.getPlayerMain().checkPermission(player, claim, "Destroy")) {
 					event.setCancelled(true);
 					instance.getMain().sendMessage(player,instance.getLanguage().getMessage("destroy"), instance.getSettings().getSetting("protection-message"));
 					return;
 				}
 				return;
 			}
-			if(!instance.getMain().canPermCheck(chunk, "Destroy", "Visitors")) {
+			if(!claim.getPermission("Destroy", "Visitors")) {
 				event.setCancelled(true);
 				return;
 			}
 		} else if (mode == WorldMode.SURVIVAL_REQUIRING_CLAIMS && !instance.getSettings().getSettingSRC("Destroy")) {
 			if(damager instanceof Player player) {
-				if(instance.getPlayerMain().checkPermPlayer(player, "scs.bypass")) return;
+				if(instance.getPlayerMain().hasBypass(player)) return;
 				event.setCancelled(true);
 				instance.getMain().sendMessage(player,instance.getLanguage().getMessage("destroy-mode"), instance.getSettings().getSetting("protection-message"));
 				return;
@@ -676,22 +659,21 @@ public class ClaimEvents implements Listener {
 	@EventHandler(priority = EventPriority.LOWEST)
 	public void onPlayerPlace(BlockPlaceEvent event){
 		Player player = event.getPlayer();
-		if(instance.getPlayerMain().checkPermPlayer(player, "scs.bypass")) return;
-		WorldMode mode = instance.getSettings().getWorldMode(player.getLocation().getWorld().getName());
+		if(instance.getPlayerMain().hasBypass(player)) return;
+		WorldMode mode = instance.getSettings().getWorldMode(player.getWorld().getName());
 		Block block = event.getBlock();
-		Chunk chunk = block.getLocation().getChunk();
+		Claim claim = instance.getMain().getClaimAt(block);
 		
 	    if (block.getBlockData() instanceof Bed bed) {
 	        if (!instance.getSettings().isPlaceBlockIgnore(block.getType())) {
 	            BlockFace facing = bed.getFacing();
 	            Block adjacentBlock = block.getRelative(facing);
-	            Chunk adjacentChunk = adjacentBlock.getChunk();
 
-	            if (!chunk.equals(adjacentChunk)) {
-	                if (instance.getMain().checkIfClaimExists(adjacentChunk) &&
-	                    !instance.getMain().getOwnerInClaim(chunk).equals(instance.getMain().getOwnerInClaim(adjacentChunk))) {
-	                    Claim claim = instance.getMain().getClaim(adjacentChunk);
-	                    if (!claim.getPermissionForPlayer("Build", player)) {
+	            if (!isSameChunk(block, adjacentBlock)) {
+	                Claim adjacentClaim = instance.getMain().getClaimAt(adjacentBlock);
+	                if (adjacentClaim != null &&
+	                    (claim == null || !ClaimTransition.isSameOwner(claim, adjacentClaim))) {
+	                    if (!instance.getPlayerMain().checkPermission(player, adjacentClaim, "Build")) {
 	                        event.setCancelled(true);
 	                        instance.getMain().sendMessage(player, instance.getLanguage().getMessage("build"), instance.getSettings().getSetting("protection-message"));
 	                        return;
@@ -705,9 +687,8 @@ public class ClaimEvents implements Listener {
 	        }
 	    }
 		
-		if(instance.getMain().checkIfClaimExists(chunk)) {
-			Claim claim = instance.getMain().getClaim(chunk);
-			if(!claim.getPermissionForPlayer("Build", player) && !instance.getSettings().isPlaceBlockIgnore(block.getType())) {
+		if(claim != null) {
+			if(!instance.getPlayerMain().checkPermission(player, claim, "Build") && !instance.getSettings().isPlaceBlockIgnore(block.getType())) {
 				event.setCancelled(true);
 				instance.getMain().sendMessage(player,instance.getLanguage().getMessage("build"), instance.getSettings().getSetting("protection-message"));
 				return;
@@ -727,12 +708,11 @@ public class ClaimEvents implements Listener {
 	public void onHangingPlace(HangingPlaceEvent event) {
 		if(event.isCancelled()) return;
 		Player player = event.getPlayer();
-		if(instance.getPlayerMain().checkPermPlayer(player, "scs.bypass")) return;
-		WorldMode mode = instance.getSettings().getWorldMode(player.getLocation().getWorld().getName());
-		Chunk chunk = event.getBlock().getLocation().getChunk();
-		if(instance.getMain().checkIfClaimExists(chunk)) {
-			Claim claim = instance.getMain().getClaim(chunk);
-			if(!claim.getPermissionForPlayer("Build", player) && !instance.getSettings().isPlaceBlockIgnore(event.getBlock().getType())) {
+		if(instance.getPlayerMain().hasBypass(player)) return;
+		WorldMode mode = instance.getSettings().getWorldMode(player.getWorld().getName());
+		Claim claim = instance.getMain().getClaimAt(event.getBlock());
+		if(claim != null) {
+			if(!instance.getPlayerMain().checkPermission(player, claim, "Build") && !instance.getSettings().isPlaceBlockIgnore(event.getBlock().getType())) {
 				event.setCancelled(true);
 				instance.getMain().sendMessage(player,instance.getLanguage().getMessage("build"), instance.getSettings().getSetting("protection-message"));
 				return;
@@ -749,12 +729,12 @@ public class ClaimEvents implements Listener {
      */
 	@EventHandler(priority = EventPriority.LOWEST)
 	public void onHangingBreak(HangingBreakEvent event) {
-		Chunk chunk = event.getEntity().getLocation().getChunk();
-		WorldMode mode = instance.getSettings().getWorldMode(event.getEntity().getLocation().getWorld().getName());
-		if(instance.getMain().checkIfClaimExists(chunk)) {
-			if(event.getCause() == HangingBreakEvent.RemoveCause.PHYSICS && !instance.getMain().canPermCheck(chunk, "Destroy", "Visitors")) {
+		Claim claim = instance.getMain().getClaimAt(event.getEntity().getLocation());
+		WorldMode mode = instance.getSettings().getWorldMode(event.getEntity().getWorld().getName());
+		if(claim != null) {
+			if(event.getCause() == HangingBreakEvent.RemoveCause.PHYSICS && !claim.getPermission("Destroy", "Visitors")) {
 				event.setCancelled(true);
-			} else if (event.getCause() == HangingBreakEvent.RemoveCause.EXPLOSION && !instance.getMain().canPermCheck(chunk, "Explosions", "Natural")) {
+			} else if (event.getCause() == HangingBreakEvent.RemoveCause.EXPLOSION && !claim.getPermission("Explosions", "Natural")) {
 				event.setCancelled(true);
 			}
 		} else if (mode == WorldMode.SURVIVAL_REQUIRING_CLAIMS) {
@@ -776,26 +756,25 @@ public class ClaimEvents implements Listener {
         if (event.getEntity().getType() == EntityType.PAINTING
         		|| event.getEntity().getType() == EntityType.ITEM_FRAME 
         		|| event.getEntity().getType() == EntityType.GLOW_ITEM_FRAME) {
-        	WorldMode mode = instance.getSettings().getWorldMode(event.getEntity().getLocation().getWorld().getName());
-        	Chunk chunk = event.getEntity().getLocation().getChunk();
-        	if(instance.getMain().checkIfClaimExists(chunk)) {
+        	WorldMode mode = instance.getSettings().getWorldMode(event.getEntity().getWorld().getName());
+        	Claim claim = instance.getMain().getClaimAt(event.getEntity().getLocation());
+        	if(claim != null) {
                 if (event.getRemover() instanceof Player player) {
-                	if(instance.getPlayerMain().checkPermPlayer(player, "scs.bypass")) return;
-                	Claim claim = instance.getMain().getClaim(chunk);
-                	if(!claim.getPermissionForPlayer("Destroy", player)) {
+                	if(instance.getPlayerMain().hasBypass(player)) return;
+                	if(!instance.getPlayerMain().checkPermission(player, claim, "Destroy")) {
                 		event.setCancelled(true);
                 		instance.getMain().sendMessage(player,instance.getLanguage().getMessage("destroy"), instance.getSettings().getSetting("protection-message"));
                 		return;
                 	}
                     return;
                 }
-               	if(!instance.getMain().canPermCheck(chunk, "Destroy", "Visitors")) {
+               	if(!claim.getPermission("Destroy", "Visitors")) {
             		event.setCancelled(true);
             		return;
             	}
         	} else if (mode == WorldMode.SURVIVAL_REQUIRING_CLAIMS && !instance.getSettings().getSettingSRC("Destroy")) {
         		if (event.getRemover() instanceof Player player) {
-        			if(instance.getPlayerMain().checkPermPlayer(player, "scs.bypass")) return;
+        			if(instance.getPlayerMain().hasBypass(player)) return;
             		event.setCancelled(true);
             		instance.getMain().sendMessage(player,instance.getLanguage().getMessage("destroy-mode"), instance.getSettings().getSetting("protection-message"));
             		return;
@@ -813,12 +792,11 @@ public class ClaimEvents implements Listener {
     public void onBucketUse(PlayerBucketEmptyEvent event) {
 		if(event.isCancelled()) return;
 		Player player = event.getPlayer();
-		if(instance.getPlayerMain().checkPermPlayer(player, "scs.bypass")) return;
-		WorldMode mode = instance.getSettings().getWorldMode(player.getLocation().getWorld().getName());
-		Chunk chunk = event.getBlock().getLocation().getChunk();
-		if(instance.getMain().checkIfClaimExists(chunk)) {
-			Claim claim = instance.getMain().getClaim(chunk);
-			if(!claim.getPermissionForPlayer("Build", player) && !instance.getSettings().isPlaceBlockIgnore(event.getBlock().getType())) {
+		if(instance.getPlayerMain().hasBypass(player)) return;
+		WorldMode mode = instance.getSettings().getWorldMode(player.getWorld().getName());
+		Claim claim = instance.getMain().getClaimAt(event.getBlock());
+		if(claim != null) {
+			if(!instance.getPlayerMain().checkPermission(player, claim, "Build") && !instance.getSettings().isPlaceBlockIgnore(event.getBlock().getType())) {
 				event.setCancelled(true);
 				instance.getMain().sendMessage(player,instance.getLanguage().getMessage("build"), instance.getSettings().getSetting("protection-message"));
 				return;
@@ -837,12 +815,11 @@ public class ClaimEvents implements Listener {
     public void onBucketUse(PlayerBucketFillEvent event) {
 		if(event.isCancelled()) return;
 		Player player = event.getPlayer();
-		if(instance.getPlayerMain().checkPermPlayer(player, "scs.bypass")) return;
-		WorldMode mode = instance.getSettings().getWorldMode(player.getLocation().getWorld().getName());
-		Chunk chunk = event.getBlock().getLocation().getChunk();
-		if(instance.getMain().checkIfClaimExists(chunk)) {
-			Claim claim = instance.getMain().getClaim(chunk);
-			if(!claim.getPermissionForPlayer("Destroy", player) && !instance.getSettings().isBreakBlockIgnore(event.getBlock().getType())) {
+		if(instance.getPlayerMain().hasBypass(player)) return;
+		WorldMode mode = instance.getSettings().getWorldMode(player.getWorld().getName());
+		Claim claim = instance.getMain().getClaimAt(event.getBlock());
+		if(claim != null) {
+			if(!instance.getPlayerMain().checkPermission(player, claim, "Destroy") && !instance.getSettings().isBreakBlockIgnore(event.getBlock().getType())) {
 				event.setCancelled(true);
 				instance.getMain().sendMessage(player,instance.getLanguage().getMessage("destroy"), instance.getSettings().getSetting("protection-message"));
 				return;
@@ -862,15 +839,14 @@ public class ClaimEvents implements Listener {
 	@EventHandler
 	public void onPlayerFish(PlayerFishEvent event) {
 		Player player = event.getPlayer();
-		if(instance.getPlayerMain().checkPermPlayer(player, "scs.bypass")) return;
-		WorldMode mode = instance.getSettings().getWorldMode(player.getLocation().getWorld().getName());
+		if(instance.getPlayerMain().hasBypass(player)) return;
+		WorldMode mode = instance.getSettings().getWorldMode(player.getWorld().getName());
 		if(event.getCaught() instanceof Entity) {
 			Entity entity = event.getCaught();
 			if(entity != null) {
-				Chunk chunk = entity.getLocation().getChunk();
-				if(instance.getMain().checkIfClaimExists(chunk)) {
-					Claim claim = instance.getMain().getClaim(chunk);
-					if(!claim.getPermissionForPlayer("Entities", player)) {
+				Claim claim = instance.getMain().getClaimAt(entity.getLocation());
+				if(claim != null) {
+					if(!instance.getPlayerMain().checkPermission(player, claim, "Entities")) {
 						event.setCancelled(true);
 		        		instance.getMain().sendMessage(player,instance.getLanguage().getMessage("entities"), instance.getSettings().getSetting("protection-message"));
 		        		return;
@@ -892,12 +868,11 @@ public class ClaimEvents implements Listener {
 	public void onEntityPlace(EntityPlaceEvent event) {
 		if(event.isCancelled()) return;
 		Player player = event.getPlayer();
-		if(instance.getPlayerMain().checkPermPlayer(player, "scs.bypass")) return;
-		WorldMode mode = instance.getSettings().getWorldMode(player.getLocation().getWorld().getName());
-		Chunk chunk = event.getBlock().getLocation().getChunk();
-		if(instance.getMain().checkIfClaimExists(chunk)) {
-			Claim claim = instance.getMain().getClaim(chunk);
-			if(!claim.getPermissionForPlayer("Build", player)) {
+		if(instance.getPlayerMain().hasBypass(player)) return;
+		WorldMode mode = instance.getSettings().getWorldMode(player.getWorld().getName());
+		Claim claim = instance.getMain().getClaimAt(event.getBlock());
+		if(claim != null) {
+			if(!instance.getPlayerMain().checkPermission(player, claim, "Build")) {
 				event.setCancelled(true);
 				instance.getMain().sendMessage(player,instance.getLanguage().getMessage("build"), instance.getSettings().getSetting("protection-message"));
 				return;
@@ -915,60 +890,21 @@ public class ClaimEvents implements Listener {
 	@EventHandler(priority = EventPriority.LOWEST)
     public void onPlayerInteract(PlayerInteractEvent event) {
 		Player player = event.getPlayer();
-		if(instance.getPlayerMain().checkPermPlayer(player, "scs.bypass")) return;
-		WorldMode mode = instance.getSettings().getWorldMode(player.getLocation().getWorld().getName());
+		if(instance.getPlayerMain().hasBypass(player)) return;
+		WorldMode mode = instance.getSettings().getWorldMode(player.getWorld().getName());
 		Block block = event.getClickedBlock();
-		Chunk chunk;
-		if(block == null) {
-			chunk = player.getLocation().getChunk();
-		} else {
-			chunk = block.getLocation().getChunk();
-		}
-		if(instance.getMain().checkIfClaimExists(chunk)) {
-			Claim claim = instance.getMain().getClaim(chunk);
+		Claim claim = block == null ? instance.getMain().getClaimAt(player.getLocation()) : instance.getMain().getClaimAt(block);
+		if(claim != null) {
 	        if ((event.getAction() == Action.RIGHT_CLICK_BLOCK || event.getAction() == Action.LEFT_CLICK_BLOCK)) {
 	            Material mat = event.getClickedBlock().getType();
-	            if (mat.name().contains("BUTTON") && !claim.getPermissionForPlayer("Buttons", player)) {
-	            	event.setCancelled(true);
-	            	instance.getMain().sendMessage(player,instance.getLanguage().getMessage("buttons"), instance.getSettings().getSetting("protection-message"));
-	                return;
-	            }
-	            if (mat.name().contains("TRAPDOOR") && !claim.getPermissionForPlayer("Trapdoors", player)) {
-	            	event.setCancelled(true);
-	            	instance.getMain().sendMessage(player,instance.getLanguage().getMessage("trapdoors"), instance.getSettings().getSetting("protection-message"));
-	                return;
-	            }
-	            if (mat.name().contains("DOOR") && !claim.getPermissionForPlayer("Doors", player)) {
-	            	event.setCancelled(true);
-	            	instance.getMain().sendMessage(player,instance.getLanguage().getMessage("doors"), instance.getSettings().getSetting("protection-message"));
-	                return;
-	            }
-	            if (mat.name().contains("FENCE_GATE") && !claim.getPermissionForPlayer("Fencegates", player)) {
-	            	event.setCancelled(true);
-	            	instance.getMain().sendMessage(player,instance.getLanguage().getMessage("fencegates"), instance.getSettings().getSetting("protection-message"));
-	                return;
-	            }
-	            if (mat.equals(Material.LEVER) && !claim.getPermissionForPlayer("Levers", player)) {
-	            	event.setCancelled(true);
-	            	instance.getMain().sendMessage(player,instance.getLanguage().getMessage("levers"), instance.getSettings().getSetting("protection-message"));
-	                return;
-	            }
-	            if (mat.equals(Material.REPEATER) && !claim.getPermissionForPlayer("RepeatersComparators", player)) {
-	            	event.setCancelled(true);
-	            	instance.getMain().sendMessage(player,instance.getLanguage().getMessage("repeaters"), instance.getSettings().getSetting("protection-message"));
-	                return;
-	            }
-	            if (mat.equals(Material.COMPARATOR) && !claim.getPermissionForPlayer("RepeatersComparators", player)) {
-	            	event.setCancelled(true);
-	            	instance.getMain().sendMessage(player,instance.getLanguage().getMessage("comparators"), instance.getSettings().getSetting("protection-message"));
-	                return;
-	            }
-	            if (mat.equals(Material.BELL) && !claim.getPermissionForPlayer("Bells", player)) {
-	            	event.setCancelled(true);
-	            	instance.getMain().sendMessage(player,instance.getLanguage().getMessage("bells"), instance.getSettings().getSetting("protection-message"));
-	                return;
+	            for (BlockInteraction interaction = BlockInteraction.of(mat); interaction != null && !interaction.isPhysical(); interaction = interaction.getNext()) {
+	            	if (!instance.getPlayerMain().checkPermission(player, claim, interaction.getPermission())) {
+	            		event.setCancelled(true);
+	            		instance.getMain().sendMessage(player,instance.getLanguage().getMessage(interaction.getMessage()), instance.getSettings().getSetting("protection-message"));
+	            		return;
+	            	}
 	            }
-	            if(!claim.getPermissionForPlayer("InteractBlocks", player)) {
+	            if(!instance.getPlayerMain().checkPermission(player, claim, "InteractBlocks")) {
 	            	Material item = block.getType();
 	            	if(instance.getSettings().isRestrictedContainer(item)) {
                         event.setCancelled(true);
@@ -976,7 +912,7 @@ public class ClaimEvents implements Listener {
                         return;
 	            	}
 	            }
-	            if(!claim.getPermissionForPlayer("Items", player)) {
+	            if(!instance.getPlayerMain().checkPermission(player, claim, "Items")) {
 	                Material item = event.getMaterial();
 	                if(instance.getSettings().isRestrictedItem(item)) {
                         event.setCancelled(true);
@@ -987,18 +923,14 @@ public class ClaimEvents implements Listener {
 	            return;
 	        }
 	        if (event.getAction() == Action.PHYSICAL) {
-	        	if(block != null && block.getType().name().contains("PRESSURE_PLATE") && !claim.getPermissionForPlayer("Plates", player)) {
+	        	BlockInteraction interaction = block == null ? null : BlockInteraction.of(block.getType());
+	        	if (interaction != null && interaction.isPhysical() && !instance.getPlayerMain().checkPermission(player, claim, interaction.getPermission())) {
 	            	event.setCancelled(true);
-	            	instance.getMain().sendMessage(player,instance.getLanguage().getMessage("plates"), instance.getSettings().getSetting("protection-message"));
+	            	instance.getMain().sendMessage(player,instance.getLanguage().getMessage(interaction.getMessage()), instance.getSettings().getSetting("protection-message"));
 	                return;
 	        	}
-	        	if (block.getType() == Material.TRIPWIRE && !claim.getPermissionForPlayer("Tripwires", player)) {
-	            	event.setCancelled(true);
-	            	instance.getMain().sendMessage(player,instance.getLanguage().getMessage("tripwires"), instance.getSettings().getSetting("protection-message"));
-	                return;
-	            }
 	        }
-	        if(!claim.getPermissionForPlayer("Items", player)) {
+	        if(!instance.getPlayerMain().checkPermission(player, claim, "Items")) {
                 Material item = event.getMaterial();
                 if(instance.getSettings().isRestrictedItem(item)) {
                     event.setCancelled(true);
@@ -1010,45 +942,12 @@ public class ClaimEvents implements Listener {
 		} else if (mode == WorldMode.SURVIVAL_REQUIRING_CLAIMS) {
 	        if ((event.getAction() == Action.RIGHT_CLICK_BLOCK || event.getAction() == Action.LEFT_CLICK_BLOCK)) {
 	            Material mat = event.getClickedBlock().getType();
-	            if (mat.name().contains("BUTTON") && !instance.getSettings().getSettingSRC("Buttons")) {
-	            	event.setCancelled(true);
-	            	instance.getMain().sendMessage(player,instance.getLanguage().getMessage("buttons-mode"), instance.getSettings().getSetting("protection-message"));
-	                return;
-	            }
-	            if (mat.name().contains("TRAPDOOR") && !instance.getSettings().getSettingSRC("Trapdoors")) {
-	            	event.setCancelled(true);
-	            	instance.getMain().sendMessage(player,instance.getLanguage().getMessage("trapdoors-mode"), instance.getSettings().getSetting("protection-message"));
-	                return;
-	            }
-	            if (mat.name().contains("DOOR") && !instance.getSettings().getSettingSRC("Doors")) {
-	            	event.setCancelled(true);
-	            	instance.getMain().sendMessage(player,instance.getLanguage().getMessage("doors-mode"), instance.getSettings().getSetting("protection-message"));
-	                return;
-	            }
-	            if (mat.name().contains("FENCE_GATE") && !instance.getSettings().getSettingSRC("Fencegates")) {
-	            	event.setCancelled(true);
-	            	instance.getMain().sendMessage(player,instance.getLanguage().getMessage("fencegates-mode"), instance.getSettings().getSetting("protection-message"));
-	                return;
-	            }
-	            if (mat.equals(Material.LEVER) && !instance.getSettings().getSettingSRC("Levers")) {
-	            	event.setCancelled(true);
-	            	instance.getMain().sendMessage(player,instance.getLanguage().getMessage("levers-mode"), instance.getSettings().getSetting("protection-message"));
-	                return;
-	            }
-	            if (mat.equals(Material.REPEATER) && !instance.getSettings().getSettingSRC("RepeatersComparators")) {
-	            	event.setCancelled(true);
-	            	instance.getMain().sendMessage(player,instance.getLanguage().getMessage("repeaters-mode"), instance.getSettings().getSetting("protection-message"));
-	                return;
-	            }
-	            if (mat.equals(Material.COMPARATOR) && !instance.getSettings().getSettingSRC("RepeatersComparators")) {
-	            	event.setCancelled(true);
-	            	instance.getMain().sendMessage(player,instance.getLanguage().getMessage("comparators-mode"), instance.getSettings().getSetting("protection-message"));
-	                return;
-	            }
-	            if (mat.equals(Material.BELL) && !instance.getSettings().getSettingSRC("Bells")) {
-	            	event.setCancelled(true);
-	            	instance.getMain().sendMessage(player,instance.getLanguage().getMessage("bells-mode"), instance.getSettings().getSetting("protection-message"));
-	                return;
+	            for (BlockInteraction interaction = BlockInteraction.of(mat); interaction != null && !interaction.isPhysical(); interaction = interaction.getNext()) {
+	            	if (!instance.getSettings().getSettingSRC(interaction.getPermission())) {
+	            		event.setCancelled(true);
+	            		instance.getMain().sendMessage(player,instance.getLanguage().getMessage(interaction.getModeMessage()), instance.getSettings().getSetting("protection-message"));
+	            		return;
+	            	}
 	            }
 	            if(!instance.getSettings().getSettingSRC("InteractBlocks")) {
 	            	Material item = block.getType();
@@ -1069,16 +968,12 @@ public class ClaimEvents implements Listener {
 	            return;
 	        }
 	        if (event.getAction() == Action.PHYSICAL) {
-	        	if(block != null && block.getType().name().contains("PRESSURE_PLATE") && !instance.getSettings().getSettingSRC("Plates")) {
+	        	BlockInteraction interaction = block == null ? null : BlockInteraction.of(block.getType());
+	        	if (interaction != null && interaction.isPhysical() && !instance.getSettings().getSettingSRC(interaction.getPermission())) {
 	            	event.setCancelled(true);
-	            	instance.getMain().sendMessage(player,instance.getLanguage().getMessage("plates-mode"), instance.getSettings().getSetting("protection-message"));
+	            	instance.getMain().sendMessage(player,instance.getLanguage().getMessage(interaction.getModeMessage()), instance.getSettings().getSetting("protection-message"));
 	                return;
 	        	}
-	        	if (block.getType() == Material.TRIPWIRE && !instance.getSettings().getSettingSRC("Tripwires")) {
-	            	event.setCancelled(true);
-	            	instance.getMain().sendMessage(player,instance.getLanguage().getMessage("tripwires-mode"), instance.getSettings().getSetting("protection-message"));
-	                return;
-	            }
 	        }
 	        if(!instance.getSettings().getSettingSRC("Items")) {
                 Material item = event.getMaterial();
@@ -1099,15 +994,14 @@ public class ClaimEvents implements Listener {
 	@EventHandler(priority = EventPriority.LOWEST)
     public void onPlayerInteractEntity(PlayerInteractAtEntityEvent event) {
     	Player player = event.getPlayer();
-    	if(instance.getPlayerMain().checkPermPlayer(player, "scs.bypass")) return;
-		WorldMode mode = instance.getSettings().getWorldMode(event.getRightClicked().getLocation().getWorld().getName());
-		Chunk chunk = event.getRightClicked().getLocation().getChunk();
-        if(instance.getMain().checkIfClaimExists(chunk)) {
-        	Claim claim = instance.getMain().getClaim(chunk);
+    	if(instance.getPlayerMain().hasBypass(player)) return;
+		WorldMode mode = instance.getSettings().getWorldMode(event.getRightClicked().getWorld().getName());
+		Claim claim = instance.getMain().getClaimAt(event.getRightClicked().getLocation());
+        if(claim != null) {
         	Entity entity = event.getRightClicked();
         	EntityType e = event.getRightClicked().getType();
         	if(!instance.getSettings().isRestrictedEntityType(e)) return;
-        	if(!claim.getPermissionForPlayer("Entities", player)) {
+        	if(!instance.getPlayerMain().checkPermission(player, claim, "Entities")) {
         		event.setCancelled(true);
         		instance.getMain().sendMessage(player,instance.getLanguage().getMessage("entities"), instance.getSettings().getSetting("protection-message"));
         		return;
@@ -1116,9 +1010,9 @@ public class ClaimEvents implements Listener {
             ItemStack itemInHand = player.getInventory().getItem(event.getHand());
             if (itemInHand != null) {
             	if(!instance.getSettings().isRestrictedItem(itemInHand.getType())) return;
-            	Claim claim2 = instance.getMain().getClaim(entity.getLocation().getChunk());
+            	Claim claim2 = instance.getMain().getClaimAt(entity.getLocation());
             	if(claim2 == null) return;
-                if (!claim.getPermissionForPlayer("Items", player)) {
+                if (!instance.getPlayerMain().checkPermission(player, claim, "Items")) {
                     event.setCancelled(true);
                     instance.getMain().sendMessage(player,instance.getLanguage().getMessage("items"), instance.getSettings().getSetting("protection-message"));
                     return;
@@ -1152,15 +1046,14 @@ public class ClaimEvents implements Listener {
 	@EventHandler(priority = EventPriority.LOWEST)
     public void onPlayerInteractEntity2(PlayerInteractEntityEvent event) {
     	Player player = event.getPlayer();
-    	if(instance.getPlayerMain().checkPermPlayer(player, "scs.bypass")) return;
-		WorldMode mode = instance.getSettings().getWorldMode(event.getRightClicked().getLocation().getWorld().getName());
-		Chunk chunk = event.getRightClicked().getLocation().getChunk();
-        if(instance.getMain().checkIfClaimExists(chunk)) {
-        	Claim claim = instance.getMain().getClaim(chunk);
+    	if(instance.getPlayerMain().hasBypass(player)) return;
+		WorldMode mode = instance.getSettings().getWorldMode(event.getRightClicked().getWorld().getName());
+		Claim claim = instance.getMain().getClaimAt(event.getRightClicked().getLocation());
+        if(claim != null) {
         	Entity entity = event.getRightClicked();
         	EntityType e = event.getRightClicked().getType();
         	if(!instance.getSettings().isRestrictedEntityType(e)) return;
-        	if(!claim.getPermissionForPlayer("Entities", player)) {
+        	if(!instance.getPlayerMain().checkPermission(player, claim, "Entities")) {
         		event.setCancelled(true);
         		instance.getMain().sendMessage(player,instance.getLanguage().getMessage("entities"), instance.getSettings().getSetting("protection-message"));
         		return;
@@ -1169,9 +1062,9 @@ public class ClaimEvents implements Listener {
             ItemStack itemInHand = player.getInventory().getItem(event.getHand());
             if (itemInHand != null) {
             	if(!instance.getSettings().isRestrictedItem(itemInHand.getType())) return;
-            	Claim claim2 = instance.getMain().getClaim(entity.getLocation().getChunk());
+            	Claim claim2 = instance.getMain().getClaimAt(entity.getLocation());
             	if(claim2 == null) return;
-                if (!claim.getPermissionForPlayer("Items", player)) {
+                if (!instance.getPlayerMain().checkPermission(player, claim, "Items")) {
                     event.setCancelled(true);
                     instance.getMain().sendMessage(player,instance.getLanguage().getMessage("items"), instance.getSettings().getSetting("protection-message"));
                     return;
@@ -1206,12 +1099,14 @@ public class ClaimEvents implements Listener {
     public void onLiquidFlow(BlockFromToEvent event) {
     	Block block = event.getBlock();
     	Block toBlock = event.getToBlock();
-    	Chunk chunk = toBlock.getLocation().getChunk();
-    	WorldMode mode = instance.getSettings().getWorldMode(toBlock.getLocation().getWorld().getName());
-    	if(block.getLocation().getChunk().equals(chunk)) return;
-    	if(instance.getMain().checkIfClaimExists(chunk)) {
-    		if(instance.getMain().getOwnerInClaim(chunk).equals(instance.getMain().getOwnerInClaim(block.getLocation().getChunk()))) return;
-    		if(instance.getMain().canPermCheck(chunk, "Liquids", "Natural")) return;
+    	if(isSameChunk(block, toBlock)) return;
+    	Claim claim = instance.getMain().getClaimAt(toBlock);
+    	if(claim == null && !instance.getSettings().isSurvivalRequiringClaims(toBlock.getWorld().getName())) return;
+    	WorldMode mode = instance.getSettings().getWorldMode(toBlock.getWorld().getName());
+    	if(claim != null) {
+    		Claim fromClaim = instance.getMain().getClaimAt(block);
+    		if(fromClaim != null && ClaimTransition.isSameOwner(claim, fromClaim)) return;
+    		if(claim.getPermission("Liquids", "Natural")) return;
             if (block.isLiquid()) {
                 if (toBlock.getBlockData() instanceof Waterlogged) {
                     Waterlogged waterlogged = (Waterlogged) toBlock.getBlockData();
@@ -1273,12 +1168,14 @@ public class ClaimEvents implements Listener {
     		event.setCancelled(true);
     		return;
     	}
-    	Chunk targetChunk = block.getRelative(((Directional) event.getBlock().getBlockData()).getFacing()).getLocation().getChunk();
-    	if(block.getLocation().getChunk().equals(targetChunk)) return;
-    	WorldMode mode = instance.getSettings().getWorldMode(block.getLocation().getWorld().getName());
-    	if(instance.getMain().checkIfClaimExists(targetChunk)) {
-    		if(instance.getMain().getOwnerInClaim(block.getLocation().getChunk()).equals(instance.getMain().getOwnerInClaim(targetChunk))) return;
-    		if(!instance.getMain().canPermCheck(targetChunk, "Redstone", "Natural")) {
+    	Block targetBlock = block.getRelative(((Directional) event.getBlock().getBlockData()).getFacing());
+    	if(isSameChunk(block, targetBlock)) return;
+    	WorldMode mode = instance.getSettings().getWorldMode(block.getWorld().getName());
+    	Claim targetClaim = instance.getMain().getClaimAt(targetBlock);
+    	if(targetClaim != null) {
+    		Claim claim = instance.getMain().getClaimAt(block);
+    		if(claim != null && ClaimTransition.isSameOwner(claim, targetClaim)) return;
+    		if(!targetClaim.getPermission("Redstone", "Natural")) {
     			event.setCancelled(true);
     		}
     	} else if (mode == WorldMode.SURVIVAL_REQUIRING_CLAIMS && !instance.getSettings().getSettingSRC("Redstone")) {
@@ -1289,24 +1186,33 @@ public class ClaimEvents implements Listener {
 	@EventHandler
 	public void onRedstoneChange(BlockRedstoneEvent event) {
 	    Block targetBlock = event.getBlock();
-	    Chunk targetChunk = targetBlock.getChunk();
 	    if (event.getNewCurrent() <= 0) return;
-	    WorldMode mode = instance.getSettings().getWorldMode(targetBlock.getLocation().getWorld().getName());
-	    BlockFace[] faces = { BlockFace.UP, BlockFace.DOWN, BlockFace.NORTH, BlockFace.SOUTH, BlockFace.EAST, BlockFace.WEST };
-	    for (BlockFace face : faces) {
-	        Block neighbor = targetBlock.getRelative(face);
-	        if (neighbor.getType() == Material.AIR) continue;
-	        if (!neighbor.getChunk().equals(targetChunk)) {
-                if (instance.getMain().checkIfClaimExists(targetChunk)) {
-                	if(instance.getMain().getOwnerInClaim(neighbor.getChunk()).equals(instance.getMain().getOwnerInClaim(targetChunk))) return;
-                	if(!instance.getMain().canPermCheck(targetChunk, "Redstone", "Natural")) {
-                		event.setNewCurrent(0);
-                	}
-                } else if (mode == WorldMode.SURVIVAL_REQUIRING_CLAIMS && !instance.getSettings().getSettingSRC("Redstone")) {
-                	event.setNewCurrent(0);
-                }
-	            return;
+	    int x = targetBlock.getX();
+	    int z = targetBlock.getZ();
+	    int edgeX = chunkEdge(x, 1);
+	    int edgeZ = chunkEdge(z, 1);
+	    if (edgeX == 0 && edgeZ == 0) return;
+	    World world = targetBlock.getWorld();
+	    int chunkX = x >> 4;
+	    int chunkZ = z >> 4;
+	    Claim targetClaim = instance.getMain().getClaim(world, chunkX, chunkZ);
+	    if (targetClaim != null) {
+	        if (targetClaim.getPermission("Redstone", "Natural")) return;
+	        if (isSameOwnerAround(world, chunkX, chunkZ, edgeX, edgeZ, targetClaim)) return;
+	    } else if (instance.getSettings().getWorldMode(world.getName()) != WorldMode.SURVIVAL_REQUIRING_CLAIMS || instance.getSettings().getSettingSRC("Redstone")) {
+	        return;
+	    }
+	    for (BlockFace face : REDSTONE_CHANGE_FACES) {
+	        int neighborChunkX = (x + face.getModX()) >> 4;
+	        int neighborChunkZ = (z + face.getModZ()) >> 4;
+	        if (neighborChunkX == chunkX && neighborChunkZ == chunkZ) continue;
+	        if (targetBlock.getRelative(face).getType() == Material.AIR) continue;
+	        if (targetClaim != null) {
+	            Claim neighborClaim = instance.getMain().getClaim(world, neighborChunkX, neighborChunkZ);
+	            if (ClaimTransition.isSameOwner(targetClaim, neighborClaim)) return;
 	        }
+	        event.setNewCurrent(0);
+	        return;
 	    }
 	}
     
@@ -1326,7 +1232,7 @@ public class ClaimEvents implements Listener {
         if(!affectedBlocks.isEmpty()) {
             affectedBlocks.add(piston.getRelative(direction));
         }
-        if (!canPistonMoveBlock(affectedBlocks, direction, piston.getLocation().getChunk(),false)) {
+        if (!canPistonMoveBlock(affectedBlocks, direction, piston,false)) {
             event.setCancelled(true);
         }
     }
@@ -1347,7 +1253,7 @@ public class ClaimEvents implements Listener {
         if (event.isSticky() && !affectedBlocks.isEmpty()) {
             affectedBlocks.add(piston.getRelative(direction));
         }
-        if (!canPistonMoveBlock(affectedBlocks, direction, piston.getLocation().getChunk(),true)) {
+        if (!canPistonMoveBlock(affectedBlocks, direction, piston,true)) {
             event.setCancelled(true);
         }
     }
@@ -1358,16 +1264,15 @@ public class ClaimEvents implements Listener {
      */
     @EventHandler
     public void onFrostWalkerUse(EntityBlockFormEvent event) {
-    	Chunk chunk = event.getBlock().getLocation().getChunk();
-    	WorldMode mode = instance.getSettings().getWorldMode(event.getBlock().getLocation().getWorld().getName());
-    	if(instance.getMain().checkIfClaimExists(chunk)) {
-        	Claim claim = instance.getMain().getClaim(chunk);
+    	Claim claim = instance.getMain().getClaimAt(event.getBlock());
+    	WorldMode mode = instance.getSettings().getWorldMode(event.getBlock().getWorld().getName());
+    	if(claim != null) {
             if (event.getNewState().getType() == Material.FROSTED_ICE) {
                 Entity entity = event.getEntity();
                 if (entity instanceof Player) {
                     Player player = (Player) entity;
-                    if(instance.getPlayerMain().checkPermPlayer(player, "scs.bypass")) return;
-                    if(claim.getPermissionForPlayer("FrostWalker", player)) return;
+                    if(instance.getPlayerMain().hasBypass(player)) return;
+                    if(instance.getPlayerMain().checkPermission(player, claim, "FrostWalker")) return;
                     ItemStack boots = player.getInventory().getBoots();
                     if (boots != null && boots.containsEnchantment(Enchantment.FROST_WALKER)) {
                     	instance.getMain().sendMessage(player,instance.getLanguage().getMessage("frostwalker"), instance.getSettings().getSetting("protection-message"));
@@ -1380,7 +1285,7 @@ public class ClaimEvents implements Listener {
                 Entity entity = event.getEntity();
                 if (entity instanceof Player) {
                     Player player = (Player) entity;
-                    if(instance.getPlayerMain().checkPermPlayer(player, "scs.bypass")) return;
+                    if(instance.getPlayerMain().hasBypass(player)) return;
                     ItemStack boots = player.getInventory().getBoots();
                     if (boots != null && boots.containsEnchantment(Enchantment.FROST_WALKER)) {
                     	instance.getMain().sendMessage(player,instance.getLanguage().getMessage("frostwalker-mode"), instance.getSettings().getSetting("protection-message"));
@@ -1398,11 +1303,13 @@ public class ClaimEvents implements Listener {
      */
     @EventHandler
     public void onBlockSpread(BlockSpreadEvent event) {
+        Block block = event.getBlock();
+        if (!instance.getMain().isClaimedAt(block) && !instance.getSettings().isSurvivalRequiringClaims(block.getWorld().getName())) return;
         if (event.getNewState().getType() == Material.FIRE) {
-            Chunk chunk = event.getBlock().getLocation().getChunk();
-            WorldMode mode = instance.getSettings().getWorldMode(event.getBlock().getLocation().getWorld().getName());
-            if(instance.getMain().checkIfClaimExists(chunk)) {
-                if(instance.getMain().canPermCheck(chunk, "Firespread", "Natural")) return;
+            Claim claim = instance.getMain().getClaimAt(event.getBlock());
+            WorldMode mode = instance.getSettings().getWorldMode(event.getBlock().getWorld().getName());
+            if(claim != null) {
+                if(claim.getPermission("Firespread", "Natural")) return;
                 event.setCancelled(true);
             } else if (mode == WorldMode.SURVIVAL_REQUIRING_CLAIMS && !instance.getSettings().getSettingSRC("Firespread")) {
             	event.setCancelled(true);
@@ -1416,26 +1323,27 @@ public class ClaimEvents implements Listener {
      */
     @EventHandler
     public void onBlockIgnite(BlockIgniteEvent event) {
-        Chunk chunk = event.getBlock().getLocation().getChunk();
-        WorldMode mode = instance.getSettings().getWorldMode(event.getBlock().getLocation().getWorld().getName());
-        if(instance.getMain().checkIfClaimExists(chunk)) {
-            Claim claim = instance.getMain().getClaim(chunk);
+        Block block = event.getBlock();
+        if (!instance.getMain().isClaimedAt(block) && !instance.getSettings().isSurvivalRequiringClaims(block.getWorld().getName())) return;
+        Claim claim = instance.getMain().getClaimAt(event.getBlock());
+        WorldMode mode = instance.getSettings().getWorldMode(event.getBlock().getWorld().getName());
+        if(claim != null) {
             Player player = event.getPlayer();
             if(player != null) {
-            	if(instance.getPlayerMain().checkPermPlayer(player, "scs.bypass")) return;
-    			if(!claim.getPermissionForPlayer("Build", player)) {
+            	if(instance.getPlayerMain().hasBypass(player)) return;
+    			if(!instance.getPlayerMain().checkPermission(player, claim, "Build")) {
     				event.setCancelled(true);
     				instance.getMain().sendMessage(player,instance.getLanguage().getMessage("build"), instance.getSettings().getSetting("protection-message"));
     				return;
     			}
     			return;
             }
-            if(instance.getMain().canPermCheck(chunk, "Firespread", "Natural")) return;
+            if(claim.getPermission("Firespread", "Natural")) return;
             event.setCancelled(true);
         } else if (mode == WorldMode.SURVIVAL_REQUIRING_CLAIMS) {
             Player player = event.getPlayer();
             if(player != null) {
-            	if(instance.getPlayerMain().checkPermPlayer(player, "scs.bypass")) return;
+            	if(instance.getPlayerMain().hasBypass(player)) return;
     			if(!instance.getSettings().getSettingSRC("Build")) {
     				event.setCancelled(true);
     				instance.getMain().sendMessage(player,instance.getLanguage().getMessage("build-mode"), instance.getSettings().getSetting("protection-message"));
@@ -1455,10 +1363,12 @@ public class ClaimEvents implements Listener {
      */
     @EventHandler
     public void onBlockBurn(BlockBurnEvent event) {
-        Chunk chunk = event.getBlock().getLocation().getChunk();
-        WorldMode mode = instance.getSettings().getWorldMode(event.getBlock().getLocation().getWorld().getName());
-        if(instance.getMain().checkIfClaimExists(chunk)) {
-            if(instance.getMain().canPermCheck(chunk, "Firespread", "Natural")) return;
+        Block block = event.getBlock();
+        if (!instance.getMain().isClaimedAt(block) && !instance.getSettings().isSurvivalRequiringClaims(block.getWorld().getName())) return;
+        Claim claim = instance.getMain().getClaimAt(event.getBlock());
+        WorldMode mode = instance.getSettings().getWorldMode(event.getBlock().getWorld().getName());
+        if(claim != null) {
+            if(claim.getPermission("Firespread", "Natural")) return;
             event.setCancelled(true);
         } else if (mode == WorldMode.SURVIVAL_REQUIRING_CLAIMS && !instance.getSettings().getSettingSRC("Firespread")) {
         	event.setCancelled(true);
@@ -1475,26 +1385,25 @@ public class ClaimEvents implements Listener {
     	Entity entity = event.getEntity();
     	if(entity instanceof ArmorStand || entity instanceof ItemFrame || entity instanceof GlowItemFrame) {
             Entity damager = event.getDamager();
-            WorldMode mode = instance.getSettings().getWorldMode(damager.getLocation().getWorld().getName());
-            Chunk chunk = entity.getLocation().getChunk();
-            if (instance.getMain().checkIfClaimExists(chunk)) {
+            WorldMode mode = instance.getSettings().getWorldMode(damager.getWorld().getName());
+            Claim claim = instance.getMain().getClaimAt(entity.getLocation());
+            if (claim != null) {
                 if (damager instanceof Player) {
-                	Claim claim = instance.getMain().getClaim(chunk);
                 	Player player = (Player) damager;
-                	if(instance.getPlayerMain().checkPermPlayer(player, "scs.bypass")) return;
-                    if (!claim.getPermissionForPlayer("Destroy", player)) {
+                	if(instance.getPlayerMain().hasBypass(player)) return;
+                    if (!instance.getPlayerMain().checkPermission(player, claim, "Destroy")) {
                     	instance.getMain().sendMessage(player,instance.getLanguage().getMessage("destroy"), instance.getSettings().getSetting("protection-message"));
                         event.setCancelled(true);
                     }
                 	return;
                 }
-                if (!instance.getMain().canPermCheck(chunk, "Destroy", "Visitors")) {
+                if (!claim.getPermission("Destroy", "Visitors")) {
                 	event.setCancelled(true);
                 }
             } else if (mode == WorldMode.SURVIVAL_REQUIRING_CLAIMS) {
                 if (damager instanceof Player) {
                 	Player player = (Player) damager;
-                	if(instance.getPlayerMain().checkPermPlayer(player, "scs.bypass")) return;
+                	if(instance.getPlayerMain().hasBypass(player)) return;
                     if (!instance.getSettings().getSettingSRC("Destroy")) {
                     	instance.getMain().sendMessage(player,instance.getLanguage().getMessage("destroy-mode"), instance.getSettings().getSetting("protection-message"));
                         event.setCancelled(true);
@@ -1515,19 +1424,19 @@ public class ClaimEvents implements Listener {
     @EventHandler
     public void onEntityDamageByEntity(EntityDamageByEntityEvent event) {
         Entity entity = event.getEntity();
-        Chunk chunk = entity.getLocation().getChunk();
-        WorldMode mode = instance.getSettings().getWorldMode(entity.getLocation().getWorld().getName());
-        if(instance.getMain().checkIfClaimExists(chunk)) {
+        Claim claim = instance.getMain().getClaimAt(entity.getLocation());
+        WorldMode mode = instance.getSettings().getWorldMode(entity.getWorld().getName());
+        if(claim != null) {
             if (!(entity instanceof Player) && !(entity instanceof Monster) && !(entity instanceof ArmorStand) && !(entity instanceof ItemFrame) ) {
                 Entity damager = event.getDamager();
 
                 if (damager instanceof Player) {
-                    processDamageByPlayer((Player) damager, chunk, event);
+                    processDamageByPlayer((Player) damager, claim, event);
                 } else if (damager instanceof Projectile) {
                     Projectile projectile = (Projectile) damager;
                     ProjectileSource shooter = projectile.getShooter();
                     if (shooter instanceof Player) {
-                        processDamageByPlayer((Player) shooter, chunk, event);
+                        processDamageByPlayer((Player) shooter, claim, event);
                     }
                 }
             }
@@ -1535,7 +1444,7 @@ public class ClaimEvents implements Listener {
             if (!(entity instanceof Player) && !(entity instanceof Monster) && !(entity instanceof ArmorStand) && !(entity instanceof ItemFrame) ) {
                 Entity damager = event.getDamager();
                 if (damager instanceof Player player) {
-                	if(instance.getPlayerMain().checkPermPlayer(player, "scs.bypass")) return;
+                	if(instance.getPlayerMain().hasBypass(player)) return;
                     event.setCancelled(true);
                     instance.getMain().sendMessage(player, instance.getLanguage().getMessage("damages-mode"), instance.getSettings().getSetting("protection-message"));
                 } else if (damager instanceof Projectile) {
@@ -1560,15 +1469,14 @@ public class ClaimEvents implements Listener {
         Entity entity = event.getEntered();
         if (entity instanceof Player) {
             Player player = (Player) entity;
-            if(instance.getPlayerMain().checkPermPlayer(player, "scs.bypass")) return;
-            WorldMode mode = instance.getSettings().getWorldMode(player.getLocation().getWorld().getName());
+            if(instance.getPlayerMain().hasBypass(player)) return;
+            WorldMode mode = instance.getSettings().getWorldMode(player.getWorld().getName());
             Entity vehicle = event.getVehicle();
             EntityType vehicleType = vehicle.getType();
             if(!instance.getSettings().isRestrictedEntityType(vehicleType)) return;
-        	Chunk chunk = vehicle.getLocation().getChunk();
-            if (instance.getMain().checkIfClaimExists(chunk)) {
-            	Claim claim = instance.getMain().getClaim(chunk);
-            	if(claim.getPermissionForPlayer("Entities", player)) return;
+        	Claim claim = instance.getMain().getClaimAt(vehicle.getLocation());
+            if (claim != null) {
+            	if(instance.getPlayerMain().checkPermission(player, claim, "Entities")) return;
                 event.setCancelled(true);
                 instance.getMain().sendMessage(player,instance.getLanguage().getMessage("entities"), instance.getSettings().getSetting("protection-message"));
             } else if (mode == WorldMode.SURVIVAL_REQUIRING_CLAIMS && !instance.getSettings().getSettingSRC("Entities")) {
@@ -1589,12 +1497,11 @@ public class ClaimEvents implements Listener {
 
         if (entity.getType() == EntityType.PLAYER && block.getType() == Material.FARMLAND) {
             Player player = (Player) entity;
-            Chunk chunk = block.getLocation().getChunk();
-            WorldMode mode = instance.getSettings().getWorldMode(player.getLocation().getWorld().getName());
-            if (instance.getMain().checkIfClaimExists(chunk)) {
-            	Claim claim = instance.getMain().getClaim(chunk);
-            	if(instance.getPlayerMain().checkPermPlayer(player, "scs.bypass")) return;
-                if(!claim.getPermissionForPlayer("Destroy", player)) {
+            Claim claim = instance.getMain().getClaimAt(block);
+            WorldMode mode = instance.getSettings().getWorldMode(player.getWorld().getName());
+            if (claim != null) {
+            	if(instance.getPlayerMain().hasBypass(player)) return;
+                if(!instance.getPlayerMain().checkPermission(player, claim, "Destroy")) {
                 	instance.getMain().sendMessage(player,instance.getLanguage().getMessage("destroy"), instance.getSettings().getSetting("protection-message"));
                     event.setCancelled(true);
                 }
@@ -1611,22 +1518,94 @@ public class ClaimEvents implements Listener {
     // *******************
     
     
+    /**
+     * Checks if two blocks are in the same chunk, without loading it.
+     * 
+     * @param a The first block.
+     * @param b The second block.
+     * @return True if both blocks share the same chunk coordinates.
+     */
+    private static boolean isSameChunk(Block a, Block b) {
+    	return (a.getX() >> 4) == (b.getX() >> 4) && (a.getZ() >> 4) == (b.getZ() >> 4);
+    }
+    
+    /**
+     * Gets the side of the chunk a coordinate is close to.
+     * 
+     * @param coordinate The block coordinate.
+     * @param reach The distance a neighbor can be at.
+     * @return -1 or 1 if a neighbor at this distance can be in the previous or next chunk, 0 otherwise.
+     */
+    private static int chunkEdge(int coordinate, int reach) {
+    	int local = coordinate & 15;
+    	return local < reach ? -1 : local > 15 - reach ? 1 : 0;
+    }
+    
+    /**
+     * Checks if the chunks next to a chunk edge have the same owner as a claim, without loading them.
+     * 
+     * @param world The world.
+     * @param chunkX The chunk X coordinate.
+     * @param chunkZ The chunk Z coordinate.
+     * @param edgeX The X side of the edge (see {@link #chunkEdge(int, int)}).
+     * @param edgeZ The Z side of the edge.
+     * @param claim The claim to compare with, can be null.
+     * @return True if every chunk a neighbor can be in has the same owner.
+     */
+    private boolean isSameOwnerAround(World world, int chunkX, int chunkZ, int edgeX, int edgeZ, Claim claim) {
+    	if (edgeX != 0 && !ClaimTransition.isSameOwner(claim, instance.getMain().getClaim(world, chunkX + edgeX, chunkZ))) return false;
+    	if (edgeZ != 0 && !ClaimTransition.isSameOwner(claim, instance.getMain().getClaim(world, chunkX, chunkZ + edgeZ))) return false;
+    	return edgeX == 0 || edgeZ == 0 || ClaimTransition.isSameOwner(claim, instance.getMain().getClaim(world, chunkX + edgeX, chunkZ + edgeZ));
+    }
+    
+    /**
+     * Removes the blocks of an explosion that are protected against explosions
+     * (see {@link ExplosionFilter}).
+     * 
+     * @param world The world of the explosion.
+     * @param mode The mode of the world.
+     * @param blocks The blocks of the explosion.
+     */
+    private void filterExplosionBlocks(World world, WorldMode mode, List<Block> blocks) {
+    	if (blocks.isEmpty()) return;
+    	if (mode == WorldMode.SURVIVAL_REQUIRING_CLAIMS && !instance.getSettings().getSettingSRC("Explosions")) {
+    		blocks.clear();
+    		return;
+    	}
+    	ExplosionFilter.removeProtected(blocks, Block::getX, Block::getZ, (chunkX, chunkZ) -> {
+    		Claim claim = instance.getMain().getClaim(world, chunkX, chunkZ);
+    		return claim != null && !claim.getPermission("Explosions", "Natural");
+    	});
+    }
+    
     /**
      * Checks if the block needs to be blocked.
+     * <p>
+     * Only the blocks in the two outer rings of a chunk can have a neighbor in another chunk, and
+     * the neighbors are only read when a chunk around has another owner, so the redstone inside
+     * a claim never reads the world.
      * 
      * @param block The block.
      * @return True if need block, false otherwise.
      */
     private boolean hasCrossChunkRedstoneSourceAndNeedBlock(Block block) {
-        Chunk currentChunk = block.getChunk();
-
-        for (BlockFace face : BlockFace.values()) {
-            Block neighbor = block.getRelative(face);
-            if (neighbor.getBlockPower() > 0 && !neighbor.getChunk().equals(currentChunk)) {
-            	if(instance.getMain().getOwnerInClaim(neighbor.getChunk()).equals(instance.getMain().getOwnerInClaim(currentChunk))) return false;
-            	if(!instance.getMain().canPermCheck(currentChunk, "Redstone", "Natural")) {
-            		return true;
-            	}
+    	int x = block.getX();
+    	int z = block.getZ();
+    	int edgeX = chunkEdge(x, 2);
+    	int edgeZ = chunkEdge(z, 2);
+    	if (edgeX == 0 && edgeZ == 0) return false;
+    	World world = block.getWorld();
+    	int chunkX = x >> 4;
+    	int chunkZ = z >> 4;
+    	Claim claim = instance.getMain().getClaim(world, chunkX, chunkZ);
+    	if (claim != null && claim.getPermission("Redstone", "Natural")) return false;
+    	if (isSameOwnerAround(world, chunkX, chunkZ, edgeX, edgeZ, claim)) return false;
+        for (BlockFace face : REDSTONE_SOURCE_FACES) {
+        	int neighborChunkX = (x + face.getModX()) >> 4;
+        	int neighborChunkZ = (z + face.getModZ()) >> 4;
+        	if (neighborChunkX == chunkX && neighborChunkZ == chunkZ) continue;
+            if (block.getRelative(face).getBlockPower() > 0) {
+            	return !ClaimTransition.isSameOwner(claim, instance.getMain().getClaim(world, neighborChunkX, neighborChunkZ));
             }
         }
 
@@ -1637,19 +1616,20 @@ public class ClaimEvents implements Listener {
      * Handles piston movement checks across claim boundaries.
      * @param blocks the list of blocks affected by the piston.
      * @param direction the direction of piston movement.
-     * @param pistonChunk the chunk where the piston is located.
+     * @param piston the piston block.
      * @param retractOrNot flag indicating whether the piston is retracting.
      * @return true if the piston can move the blocks, false otherwise.
      */
-    private boolean canPistonMoveBlock(List<Block> blocks, BlockFace direction, Chunk pistonChunk, boolean retractOrNot) {
-    	WorldMode mode = instance.getSettings().getWorldMode(pistonChunk.getWorld().getName());
+    private boolean canPistonMoveBlock(List<Block> blocks, BlockFace direction, Block piston, boolean retractOrNot) {
+    	WorldMode mode = instance.getSettings().getWorldMode(piston.getWorld().getName());
+    	Claim pistonClaim = instance.getMain().getClaimAt(piston);
     	if(retractOrNot) {
 	        for (Block block : blocks) {
-	        	Chunk chunk = block.getLocation().getChunk();
-	            if (!chunk.equals(pistonChunk)) {
-	                if (instance.getMain().checkIfClaimExists(chunk)) {
-	                	if(instance.getMain().getOwnerInClaim(pistonChunk).equals(instance.getMain().getOwnerInClaim(chunk))) return true;
-	                	if(!instance.getMain().canPermCheck(chunk, "Redstone", "Natural")) {
+	            if (!isSameChunk(block, piston)) {
+	            	Claim claim = instance.getMain().getClaimAt(block);
+	                if (claim != null) {
+	                	if(pistonClaim != null && ClaimTransition.isSameOwner(pistonClaim, claim)) return true;
+	                	if(!claim.getPermission("Redstone", "Natural")) {
 	                		return false;
 	                	}
 	                } else if (mode == WorldMode.SURVIVAL_REQUIRING_CLAIMS && !instance.getSettings().getSettingSRC("Redstone")) {
@@ -1660,11 +1640,12 @@ public class ClaimEvents implements Listener {
 	        return true;
     	}
         for (Block block : blocks) {
-            Chunk chunk = block.getRelative(direction).getLocation().getChunk();
-            if (!chunk.equals(pistonChunk)) {
-                if (instance.getMain().checkIfClaimExists(chunk)) {
-                	if(instance.getMain().getOwnerInClaim(pistonChunk).equals(instance.getMain().getOwnerInClaim(chunk))) return true;
-                	if(!instance.getMain().canPermCheck(chunk, "Redstone", "Natural")) {
+            Block relative = block.getRelative(direction);
+            if (!isSameChunk(relative, piston)) {
+            	Claim claim = instance.getMain().getClaimAt(relative);
+                if (claim != null) {
+                	if(pistonClaim != null && ClaimTransition.isSameOwner(pistonClaim, claim)) return true;
+                	if(!claim.getPermission("Redstone", "Natural")) {
                 		return false;
                 	}
                 } else if (mode == WorldMode.SURVIVAL_REQUIRING_CLAIMS && !instance.getSettings().getSettingSRC("Redstone")) {
@@ -1678,13 +1659,12 @@ public class ClaimEvents implements Listener {
     /**
      * Processes damage by a player to prevent unauthorized damage in claims.
      * @param player the player causing the damage.
-     * @param chunk the chunk where the damage occurs.
+     * @param claim the claim where the damage occurs.
      * @param event the entity damage by entity event.
      */
-    private void processDamageByPlayer(Player player, Chunk chunk, EntityDamageByEntityEvent event) {
-        if(instance.getPlayerMain().checkPermPlayer(player, "scs.bypass")) return;
-        Claim claim = instance.getMain().getClaim(chunk);
-        if(!claim.getPermissionForPlayer("Damages", player)) {
+    private void processDamageByPlayer(Player player, Claim claim, EntityDamageByEntityEvent event) {
+        if(instance.getPlayerMain().hasBypass(player)) return;
+        if(!instance.getPlayerMain().checkPermission(player, claim, "Damages")) {
             event.setCancelled(true);
             instance.getMain().sendMessage(player, instance.getLanguage().getMessage("damages"), instance.getSettings().getSetting("protection-message"));
         }
@@ -1699,9 +1679,9 @@ public class ClaimEvents implements Listener {
     private void handleWeatherSettings(Player player, Chunk to, Chunk from) {
     	Claim claimTo = instance.getMain().getClaim(to);
     	Claim claimFrom = instance.getMain().getClaim(from);
-        if (instance.getMain().checkIfClaimExists(to) && !claimTo.getPermissionForPlayer("Weather",player)) {
+        if (instance.getMain().checkIfClaimExists(to) && !instance.getPlayerMain().checkPermission(player, claimTo, "Weather")) {
             player.setPlayerWeather(WeatherType.CLEAR);
-        } else if (instance.getMain().checkIfClaimExists(from) && !claimFrom.getPermissionForPlayer("Weather",player)) {
+        } else if (instance.getMain().checkIfClaimExists(from) && !instance.getPlayerMain().checkPermission(player, claimFrom, "Weather")) {
             player.resetPlayerWeather();
         }
     }
@@ -1716,12 +1696,12 @@ public class ClaimEvents implements Listener {
      */
     private void handleAutoFly(Player player, CPlayer cPlayer, Chunk chunk, String owner) {
     	Claim claim = instance.getMain().getClaim(chunk);
-        if (cPlayer.getClaimAutofly() && (owner.equals(player.getName()) || claim != null && claim.getPermissionForPlayer("Fly", player)) && !instance.isFolia()) {
+        if (cPlayer.getClaimAutofly() && (owner.equals(player.getName()) || claim != null && instance.getPlayerMain().checkPermission(player, claim, "Fly")) && !instance.isFolia()) {
             instance.getPlayerMain().activePlayerFly(player);
             if (instance.getSettings().getBooleanSetting("claim-fly-message-auto-fly")) {
                 instance.getMain().sendMessage(player, instance.getLanguage().getMessage("fly-enabled"), "CHAT");
             }
-        } else if (claim != null && !claim.getPermissionForPlayer("Fly", player) && !owner.equals(player.getName()) && cPlayer.getClaimFly() && !instance.isFolia()) {
+        } else if (claim != null && !instance.getPlayerMain().checkPermission(player, claim, "Fly") && !owner.equals(player.getName()) && cPlayer.getClaimFly() && !instance.isFolia()) {
             instance.getPlayerMain().removePlayerFly(player);
             if (instance.getSettings().getBooleanSetting("claim-fly-message-auto-fly")) {
                 instance.getMain().sendMessage(player, instance.getLanguage().getMessage("fly-disabled"), "CHAT");
@@ -1744,17 +1724,15 @@ public class ClaimEvents implements Listener {
         } else {
         	Claim claim = cPlayer.getTargetClaimChunk();
         	if(claim == null) return;
-            if(claim.getChunks().size() == 1) {
+            if(claim.getChunkCount() == 1) {
             	player.sendMessage(instance.getLanguage().getMessage("cannot-remove-only-remaining-chunk"));
             	return;
             }
-			Set<Chunk> chunks = new HashSet<>(claim.getChunks());
-			if(!chunks.contains(chunk)) {
+			if(!claim.containsChunk(chunk)) {
 				player.sendMessage(instance.getLanguage().getMessage("chunk-not-in-claim"));
 				return;
 			}
-			chunks.remove(chunk);
-            if(!instance.getMain().isAnyChunkAdjacent(chunks, chunk)) {
+            if(!instance.getMain().isAnyChunkAdjacent(claim, chunk)) {
             	player.sendMessage(instance.getLanguage().getMessage("one-chunk-must-be-adjacent-delchunk"));
             	return;
             }
@@ -1808,22 +1786,19 @@ public class ClaimEvents implements Listener {
             		return;
             	}
             }
-            Set<Chunk> chunks = new HashSet<>(claim.getChunks());
-            if(!cPlayer.canClaimTotalWithNumber(instance.getMain().getAllChunksFromAllClaims(playerName).size()+1)) {
+            if(!cPlayer.canClaimTotalWithNumber(instance.getMain().getAllChunksCountFromAllClaims(playerName)+1)) {
             	player.sendMessage(instance.getLanguage().getMessage("cant-claim-with-so-many-chunks"));
             	return;
             }
-            if(!cPlayer.canClaimWithNumber(chunks.size()+1)) {
+            if(!cPlayer.canClaimWithNumber(claim.getChunkCount()+1)) {
             	player.sendMessage(instance.getLanguage().getMessage("cant-claim-with-so-many-chunks"));
             	return;
             }
-            chunks.add(chunk);
-            if(!instance.getMain().areChunksInSameWorld(chunks)) {
+            if(!chunk.getWorld().getUID().equals(claim.getWorldId())) {
             	player.sendMessage(instance.getLanguage().getMessage("chunks-must-be-from-same-world"));
             	return;
             }
-            chunks.remove(chunk);
-            if(!instance.getMain().isAnyChunkAdjacent(chunks, chunk)) {
+            if(!instance.getMain().isAnyChunkAdjacent(claim, chunk)) {
             	player.sendMessage(instance.getLanguage().getMessage("one-chunk-must-be-adjacent"));
             	return;
             }
@@ -1833,7 +1808,7 @@ public class ClaimEvents implements Listener {
             		if (successs) {
             			double[] price = {0};
                         if (instance.getSettings().getBooleanSetting("economy") && instance.getSettings().getBooleanSetting("chunk-cost")) {
-                            price[0] = instance.getSettings().getBooleanSetting("chunk-cost-multiplier") ? cPlayer.getChunkMultipliedCost(chunks.size()) : cPlayer.getChunkCost();
+                            price[0] = instance.getSettings().getBooleanSetting("chunk-cost-multiplier") ? cPlayer.getChunkMultipliedCost(claim.getChunkCount()) : cPlayer.getChunkCost();
                             double balance = instance.getVault().getPlayerBalance(playerName);
 
                             if (balance < price[0]) {
@@ -1849,7 +1824,7 @@ public class ClaimEvents implements Listener {
                         			instance.executeEntitySync(player, () -> player.sendMessage(instance.getLanguage().getMessage("add-chunk-successful")
                         					.replace("%chunk%", "["+chunk.getWorld().getName()+";"+String.valueOf(chunk.getX())+";"+String.valueOf(chunk.getZ())+"]")
                         					.replace("%claim-name%", claim.getName())));
-                        			if (instance.getSettings().getBooleanSetting("claim-particles")) instance.getMain().displayChunks(player, new CustomSet<>(claim.getChunks()), true, false);
+                        			if (instance.getSettings().getBooleanSetting("claim-particles")) instance.getMain().displayChunks(player, claim, true, false);
                         			return;
                         		} else {
                         			instance.executeEntitySync(player, () -> player.sendMessage(instance.getLanguage().getMessage("error")));
@@ -1,6 +1,5 @@
 package fr.xyness.SCS.Listeners;
 
-import java.util.HashSet;
 import java.util.Set;
 import java.util.UUID;
 
@@ -13,6 +12,7 @@ import org.bukkit.entity.Player;
 import org.bukkit.entity.Vehicle;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
 import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerMoveEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
@@ -23,6 +23,7 @@ import org.bukkit.util.Vector;
 import fr.xyness.SCS.SimpleClaimSystem;
 import fr.xyness.SCS.Types.CPlayer;
 import fr.xyness.SCS.Types.Claim;
+import fr.xyness.SCS.Types.ClaimTransition;
 import fr.xyness.SCS.Types.CustomSet;
 import fr.xyness.SCS.Types.WorldMode;
 
@@ -82,7 +83,8 @@ public class ClaimEventsEnterLeave implements Listener {
         	});
         }
         Chunk chunk = player.getLocation().getChunk();
-        handleWeatherSettings(player, chunk, chunk);
+        Claim chunkClaim = instance.getMain().getClaim(chunk);
+        handleWeatherSettings(player, chunkClaim, chunkClaim);
         
         if (!instance.getMain().checkIfClaimExists(chunk)) return;
         
@@ -93,7 +95,7 @@ public class ClaimEventsEnterLeave implements Listener {
                 return;
             }
             
-            if (!claim.getPermissionForPlayer("Enter",player) && !instance.getPlayerMain().checkPermPlayer(player, "scs.bypass.enter")) {
+            if (!instance.getPlayerMain().checkPermission(player, claim, "Enter") && !instance.getPlayerMain().checkPermPlayer(player, "scs.bypass.enter")) {
             	instance.executeAsyncLater(() -> instance.getMain().teleportPlayerToExpulsion(player), 250);
                 return;
             }
@@ -117,6 +119,19 @@ public class ClaimEventsEnterLeave implements Listener {
         instance.getBossBars().removePlayer(player);
     }
     
+    /**
+     * Handles the player changed world event. Drops the flags and limits computed for the player,
+     * as the permissions can be set by world.
+     *
+     * @param event the player changed world event.
+     */
+    @EventHandler
+    public void onPlayerChangedWorld(PlayerChangedWorldEvent event) {
+        instance.getPlayerMain().refreshPermissions(event.getPlayer().getUniqueId());
+        CPlayer cPlayer = instance.getPlayerMain().getCPlayer(event.getPlayer().getUniqueId());
+        if (cPlayer != null) cPlayer.getTransition().reset();
+    }
+    
     /**
      * Handles the Vehicle Move Events.
      * 
@@ -129,15 +144,13 @@ public class ClaimEventsEnterLeave implements Listener {
     	if(vehicle == null) return;
         if (vehicle instanceof Boat || vehicle instanceof Minecart) {
         	if(vehicle.getPassengers().isEmpty()) {
-                Chunk to = event.getTo().getChunk();
-                Claim claim = instance.getMain().getClaim(to);
-                Chunk from = event.getFrom().getChunk();
-                Claim claimFrom = instance.getMain().getClaim(from);
+                Claim claim = instance.getMain().getClaimAt(event.getTo());
+                Claim claimFrom = instance.getMain().getClaimAt(event.getFrom());
                 if(claim != null) {
-                	if(claimFrom != null && claim.getOwner().equals(claimFrom.getOwner())) {
+                	if(claimFrom != null && ClaimTransition.isSameOwner(claim, claimFrom)) {
                 		return;
                 	}
-        	        if (!instance.getMain().canPermCheck(to, "Enter", "Visitors")) {
+        	        if (!claim.getPermission("Enter", "Visitors")) {
         	        	Vector velocity = vehicle.getVelocity();
         	        	vehicle.setVelocity(velocity.multiply(-1));
         	        	return;
@@ -148,67 +161,71 @@ public class ClaimEventsEnterLeave implements Listener {
         	vehicle.getPassengers().forEach(passenger -> {
                 if (passenger instanceof Player) {
                     Player player = (Player) passenger;
-                    Chunk to = event.getTo().getChunk();
-                    Chunk from = event.getFrom().getChunk();
                     UUID playerId = player.getUniqueId();
                     String playerName = player.getName();
                     CPlayer cPlayer = instance.getPlayerMain().getCPlayer(playerId);
                     if(cPlayer == null) return;
-                    String ownerTO = instance.getMain().getOwnerInClaim(to);
-                    String ownerFROM = instance.getMain().getOwnerInClaim(from);
-
-                    Claim claim = instance.getMain().getClaim(to);
-                    if(claim != null) {
-            	        if (instance.getMain().checkBan(claim, player) && !instance.getPlayerMain().checkPermPlayer(player, "scs.bypass.ban")) {
-            	            Vector direction = player.getLocation().getDirection();
-            	            direction.multiply(-1);
-            	            Location newLocation = player.getLocation().add(direction.normalize().multiply(3));
-            	            instance.getMain().teleportPlayer(player, newLocation);
-            	        	vehicle.remove();
-            	            instance.getMain().sendMessage(player, instance.getLanguage().getMessage("player-banned"), instance.getSettings().getSetting("protection-message"));
-            	        	if(instance.getSettings().getBooleanSetting("claim-particles-not-enter")) {
-            	        		instance.getMain().displayChunksNotEnter(player, new CustomSet<>(claim.getChunks()));
-            	        	}
-            	            return;
-            	        }
-            	        if (!claim.getPermissionForPlayer("Enter",player) && !instance.getPlayerMain().checkPermPlayer(player, "scs.bypass.enter")) {
-            	            Vector direction = player.getLocation().getDirection();
-            	            direction.multiply(-1);
-            	            Location newLocation = player.getLocation().add(direction.normalize().multiply(3));
-            	            instance.getMain().teleportPlayer(player, newLocation);
-            	        	vehicle.remove();
-            	        	instance.getMain().sendMessage(player, instance.getLanguage().getMessage("enter"), instance.getSettings().getSetting("protection-message"));
-            	        	if(instance.getSettings().getBooleanSetting("claim-particles-not-enter")) {
-            	        		instance.getMain().displayChunksNotEnter(player, new CustomSet<>(claim.getChunks()));
-            	        	}
-            	        	return;
-            	        }
+                    ClaimTransition transition = cPlayer.getTransition();
+                    Claim claim = instance.getMain().getClaimAt(event.getTo());
+                    Claim claimFrom = resolveFromClaim(transition, event.getFrom());
+                    int changes = transition.update(claimFrom, claim, event.getTo().getBlockX() >> 4, event.getTo().getBlockZ() >> 4);
+                    String ownerTO = claim == null ? "" : claim.getOwner();
+                    String ownerFROM = claimFrom == null ? "" : claimFrom.getOwner();
+                    if (ClaimTransition.has(changes, ClaimTransition.CLAIM_CHANGED)) {
+                    	if(claim != null) {
+	            	        if (instance.getMain().checkBan(claim, player) && !instance.getPlayerMain().checkPermPlayer(player, "scs.bypass.ban")) {
+	            	            Vector direction = player.getLocation().getDirection();
+	            	            direction.multiply(-1);
+	            	            Location newLocation = player.getLocation().add(direction.normalize().multiply(3));
+	            	            transition.reset();
+	            	            instance.getMain().teleportPlayer(player, newLocation);
+	            	        	vehicle.remove();
+	            	            instance.getMain().sendMessage(player, instance.getLanguage().getMessage("player-banned"), instance.getSettings().getSetting("protection-message"));
+	            	        	if(instance.getSettings().getBooleanSetting("claim-particles-not-enter")) {
+	            	        		instance.getMain().displayChunksNotEnter(player, claim);
+	            	        	}
+	            	            return;
+	            	        }
+	            	        if (!instance.getPlayerMain().checkPermission(player, claim, "Enter") && !instance.getPlayerMain().checkPermPlayer(player, "scs.bypass.enter")) {
+	            	            Vector direction = player.getLocation().getDirection();
+	            	            direction.multiply(-1);
+	            	            Location newLocation = player.getLocation().add(direction.normalize().multiply(3));
+	            	            transition.reset();
+	            	            instance.getMain().teleportPlayer(player, newLocation);
+	            	        	vehicle.remove();
+	            	        	instance.getMain().sendMessage(player, instance.getLanguage().getMessage("enter"), instance.getSettings().getSetting("protection-message"));
+	            	        	if(instance.getSettings().getBooleanSetting("claim-particles-not-enter")) {
+	            	        		instance.getMain().displayChunksNotEnter(player, claim);
+	            	        	}
+	            	        	return;
+	            	        }
             	        
-            	        if (cPlayer.getClaimAutofly() && (ownerTO.equals(playerName) || claim.getPermissionForPlayer("Fly",player)) && !instance.isFolia()) {
-            	            instance.getPlayerMain().activePlayerFly(player);
-            	            if (instance.getSettings().getBooleanSetting("claim-fly-message-auto-fly")) {
-            	                instance.getMain().sendMessage(player, instance.getLanguage().getMessage("fly-enabled"), "CHAT");
-            	            }
-            	        } else if (!claim.getPermissionForPlayer("Fly",player) && !ownerTO.equals(playerName) && cPlayer.getClaimFly() && !instance.isFolia()) {
-            	            instance.getPlayerMain().removePlayerFly(player);
-            	            if (instance.getSettings().getBooleanSetting("claim-fly-message-auto-fly")) {
-            	                instance.getMain().sendMessage(player, instance.getLanguage().getMessage("fly-disabled"), "CHAT");
-            	            }
-            	        }
-                    } else {
-                    	instance.getPlayerMain().removePlayerFly(player);
+	            	        if (cPlayer.getClaimAutofly() && (ownerTO.equals(playerName) || instance.getPlayerMain().checkPermission(player, claim, "Fly")) && !instance.isFolia()) {
+	            	            instance.getPlayerMain().activePlayerFly(player);
+	            	            if (instance.getSettings().getBooleanSetting("claim-fly-message-auto-fly")) {
+	            	                instance.getMain().sendMessage(player, instance.getLanguage().getMessage("fly-enabled"), "CHAT");
+	            	            }
+	            	        } else if (!instance.getPlayerMain().checkPermission(player, claim, "Fly") && !ownerTO.equals(playerName) && cPlayer.getClaimFly() && !instance.isFolia()) {
+	            	            instance.getPlayerMain().removePlayerFly(player);
+	            	            if (instance.getSettings().getBooleanSetting("claim-fly-message-auto-fly")) {
+	            	                instance.getMain().sendMessage(player, instance.getLanguage().getMessage("fly-disabled"), "CHAT");
+	            	            }
+	            	        }
+                    	} else {
+                    		instance.getPlayerMain().removePlayerFly(player);
+                    	}
+                        handleWeatherSettings(player, claim, claimFrom);
+                        instance.getBossBars().activeBossBar(player, claim);
                     }
-
-                    handleWeatherSettings(player,to,from);
-
-                    instance.getBossBars().activeBossBar(player, to);
-
-                    String world = player.getWorld().getName();
                     
-                    if (!ownerTO.equals(ownerFROM)) {
-                        handleEnterLeaveMessages(player, to, from, ownerTO, ownerFROM);
+                    if (ClaimTransition.has(changes, ClaimTransition.OWNER_CHANGED)) {
+                        handleEnterLeaveMessages(player, claim, claimFrom, ownerTO, ownerFROM);
                     }
                     
+                    if (cPlayer.getClaimAuto().isEmpty() && !cPlayer.getClaimAutomap()) return;
+                    Chunk to = event.getTo().getChunk();
+                    String world = player.getWorld().getName();
+                    
                     if (cPlayer.getClaimAuto().equals("addchunk")) {
                         handleAutoAddChunk(player, cPlayer, to, world);
                     } else if (cPlayer.getClaimAuto().equals("delchunk")) {
@@ -236,98 +253,102 @@ public class ClaimEventsEnterLeave implements Listener {
     public void onPlayerMove(PlayerMoveEvent event) {
         if (!hasChangedChunk(event)) return;
 
-        Chunk to = event.getTo().getChunk();
-        Chunk from = event.getFrom().getChunk();
         Player player = event.getPlayer();
         UUID playerId = player.getUniqueId();
         String playerName = player.getName();
         CPlayer cPlayer = instance.getPlayerMain().getCPlayer(playerId);
         if(cPlayer == null) return;
-        String ownerTO = instance.getMain().getOwnerInClaim(to);
-        String ownerFROM = instance.getMain().getOwnerInClaim(from);
-
-        Claim claim = instance.getMain().getClaim(to);
-        if(claim != null) {
-	        if (instance.getMain().checkBan(claim, player) && !instance.getPlayerMain().checkPermPlayer(player, "scs.bypass.ban")) {
-
-	        	Location toLoc = event.getTo();
-	        	Location fromLoc = event.getFrom();
-	        	Location playerLocation = player.getLocation();
-	        	double deltaX = toLoc.getX() - fromLoc.getX();
-	        	double deltaZ = toLoc.getZ() - fromLoc.getZ();
-	        	if (deltaX > 0) {
-	        	    playerLocation.setX(playerLocation.getX() - 3);
-	        	} else if (deltaX < 0) {
-	        	    playerLocation.setX(playerLocation.getX() + 3);
-	        	}
-
-	        	if (deltaZ > 0) {
-	        	    playerLocation.setZ(playerLocation.getZ() - 3);
-	        	} else if (deltaZ < 0) {
-	        	    playerLocation.setZ(playerLocation.getZ() + 3);
-	        	}
-	        	playerLocation.setY(player.getLocation().getY());
+        ClaimTransition transition = cPlayer.getTransition();
+        Claim claim = instance.getMain().getClaimAt(event.getTo());
+        Claim claimFrom = resolveFromClaim(transition, event.getFrom());
+        int changes = transition.update(claimFrom, claim, event.getTo().getBlockX() >> 4, event.getTo().getBlockZ() >> 4);
+        String ownerTO = claim == null ? "" : claim.getOwner();
+        String ownerFROM = claimFrom == null ? "" : claimFrom.getOwner();
+        if (ClaimTransition.has(changes, ClaimTransition.CLAIM_CHANGED)) {
+        	if(claim != null) {
+		        if (instance.getMain().checkBan(claim, player) && !instance.getPlayerMain().checkPermPlayer(player, "scs.bypass.ban")) {
+
+		        	Location toLoc = event.getTo();
+		        	Location fromLoc = event.getFrom();
+		        	Location playerLocation = player.getLocation();
+		        	double deltaX = toLoc.getX() - fromLoc.getX();
+		        	double deltaZ = toLoc.getZ() - fromLoc.getZ();
+		        	if (deltaX > 0) {
+		        	    playerLocation.setX(playerLocation.getX() - 3);
+		        	} else if (deltaX < 0) {
+		        	    playerLocation.setX(playerLocation.getX() + 3);
+		        	}
+
+		        	if (deltaZ > 0) {
+		        	    playerLocation.setZ(playerLocation.getZ() - 3);
+		        	} else if (deltaZ < 0) {
+		        	    playerLocation.setZ(playerLocation.getZ() + 3);
+		        	}
+		        	playerLocation.setY(player.getLocation().getY());
 	        	
-	            instance.getMain().teleportPlayer(player, playerLocation);
-	            instance.getMain().sendMessage(player, instance.getLanguage().getMessage("player-banned"), instance.getSettings().getSetting("protection-message"));
-	        	if(instance.getSettings().getBooleanSetting("claim-particles-not-enter")) {
-	        		instance.getMain().displayChunksNotEnter(player, new CustomSet<>(claim.getChunks()));
-	        	}
-	            return;
-	        }
-	        if (!claim.getPermissionForPlayer("Enter",player) && !instance.getPlayerMain().checkPermPlayer(player, "scs.bypass.enter")) {
-
-	        	Location toLoc = event.getTo();
-	        	Location fromLoc = event.getFrom();
-	        	Location playerLocation = player.getLocation();
-	        	double deltaX = toLoc.getX() - fromLoc.getX();
-	        	double deltaZ = toLoc.getZ() - fromLoc.getZ();
-	        	if (deltaX > 0) {
-	        	    playerLocation.setX(playerLocation.getX() - 3);
-	        	} else if (deltaX < 0) {
-	        	    playerLocation.setX(playerLocation.getX() + 3);
-	        	}
-
-	        	if (deltaZ > 0) {
-	        	    playerLocation.setZ(playerLocation.getZ() - 3);
-	        	} else if (deltaZ < 0) {
-	        	    playerLocation.setZ(playerLocation.getZ() + 3);
-	        	}
-	        	playerLocation.setY(player.getLocation().getY());
+		            transition.reset();
+		            instance.getMain().teleportPlayer(player, playerLocation);
+		            instance.getMain().sendMessage(player, instance.getLanguage().getMessage("player-banned"), instance.getSettings().getSetting("protection-message"));
+		        	if(instance.getSettings().getBooleanSetting("claim-particles-not-enter")) {
+		        		instance.getMain().displayChunksNotEnter(player, claim);
+		        	}
+		            return;
+		        }
+		        if (!instance.getPlayerMain().checkPermission(player, claim, "Enter") && !instance.getPlayerMain().checkPermPlayer(player, "scs.bypass.enter")) {
+
+		        	Location toLoc = event.getTo();
+		        	Location fromLoc = event.getFrom();
+		        	Location playerLocation = player.getLocation();
+		        	double deltaX = toLoc.getX() - fromLoc.getX();
+		        	double deltaZ = toLoc.getZ() - fromLoc.getZ();
+		        	if (deltaX > 0) {
+		        	    playerLocation.setX(playerLocation.getX() - 3);
+		        	} else if (deltaX < 0) {
+		        	    playerLocation.setX(playerLocation.getX() + 3);
+		        	}
+
+		        	if (deltaZ > 0) {
+		        	    playerLocation.setZ(playerLocation.getZ() - 3);
+		        	} else if (deltaZ < 0) {
+		        	    playerLocation.setZ(playerLocation.getZ() + 3);
+		        	}
+		        	playerLocation.setY(player.getLocation().getY());
 	        	
-	            instance.getMain().teleportPlayer(player, playerLocation);
-	        	instance.getMain().sendMessage(player, instance.getLanguage().getMessage("enter"), instance.getSettings().getSetting("protection-message"));
-	        	if(instance.getSettings().getBooleanSetting("claim-particles-not-enter")) {
-	        		instance.getMain().displayChunksNotEnter(player, new CustomSet<>(claim.getChunks()));
-	        	}
-	        	return;
-	        }
+		            transition.reset();
+		            instance.getMain().teleportPlayer(player, playerLocation);
+		        	instance.getMain().sendMessage(player, instance.getLanguage().getMessage("enter"), instance.getSettings().getSetting("protection-message"));
+		        	if(instance.getSettings().getBooleanSetting("claim-particles-not-enter")) {
+		        		instance.getMain().displayChunksNotEnter(player, claim);
+		        	}
+		        	return;
+		        }
 	        
-	        if (cPlayer.getClaimAutofly() && (ownerTO.equals(playerName) || claim.getPermissionForPlayer("Fly",player)) && !instance.isFolia()) {
-	            instance.getPlayerMain().activePlayerFly(player);
-	            if (instance.getSettings().getBooleanSetting("claim-fly-message-auto-fly")) {
-	                instance.getMain().sendMessage(player, instance.getLanguage().getMessage("fly-enabled"), "CHAT");
-	            }
-	        } else if (!claim.getPermissionForPlayer("Fly",player) && !ownerTO.equals(playerName) && cPlayer.getClaimFly() && !instance.isFolia()) {
-	            instance.getPlayerMain().removePlayerFly(player);
-	            if (instance.getSettings().getBooleanSetting("claim-fly-message-auto-fly")) {
-	                instance.getMain().sendMessage(player, instance.getLanguage().getMessage("fly-disabled"), "CHAT");
-	            }
-	        }
-        } else {
-        	instance.getPlayerMain().removePlayerFly(player);
+		        if (cPlayer.getClaimAutofly() && (ownerTO.equals(playerName) || instance.getPlayerMain().checkPermission(player, claim, "Fly")) && !instance.isFolia()) {
+		            instance.getPlayerMain().activePlayerFly(player);
+		            if (instance.getSettings().getBooleanSetting("claim-fly-message-auto-fly")) {
+		                instance.getMain().sendMessage(player, instance.getLanguage().getMessage("fly-enabled"), "CHAT");
+		            }
+		        } else if (!instance.getPlayerMain().checkPermission(player, claim, "Fly") && !ownerTO.equals(playerName) && cPlayer.getClaimFly() && !instance.isFolia()) {
+		            instance.getPlayerMain().removePlayerFly(player);
+		            if (instance.getSettings().getBooleanSetting("claim-fly-message-auto-fly")) {
+		                instance.getMain().sendMessage(player, instance.getLanguage().getMessage("fly-disabled"), "CHAT");
+		            }
+		        }
+        	} else {
+        		instance.getPlayerMain().removePlayerFly(player);
+        	}
+            handleWeatherSettings(player, claim, claimFrom);
+            instance.getBossBars().activeBossBar(player, claim);
         }
-
-        handleWeatherSettings(player,to,from);
-
-        instance.getBossBars().activeBossBar(player, to);
-
-        String world = player.getWorld().getName();
         
-        if (!ownerTO.equals(ownerFROM)) {
-            handleEnterLeaveMessages(player, to, from, ownerTO, ownerFROM);
+        if (ClaimTransition.has(changes, ClaimTransition.OWNER_CHANGED)) {
+            handleEnterLeaveMessages(player, claim, claimFrom, ownerTO, ownerFROM);
         }
         
+        if (cPlayer.getClaimAuto().isEmpty() && !cPlayer.getClaimAutomap()) return;
+        Chunk to = event.getTo().getChunk();
+        String world = player.getWorld().getName();
+        
         if (cPlayer.getClaimAuto().equals("addchunk")) {
             handleAutoAddChunk(player, cPlayer, to, world);
         } else if (cPlayer.getClaimAuto().equals("delchunk")) {
@@ -353,14 +374,13 @@ public class ClaimEventsEnterLeave implements Listener {
      * Handles weather settings for the player.
      *
      * @param player The player.
-     * @param chunk  The chunk.
+     * @param to The claim the player is moving to, null for the wilderness.
+     * @param from The claim the player is moving from, null for the wilderness.
      */
-    private void handleWeatherSettings(Player player, Chunk to, Chunk from) {
-    	Claim claimTo = instance.getMain().getClaim(to);
-    	Claim claimFrom = instance.getMain().getClaim(from);
-        if (instance.getMain().checkIfClaimExists(to) && !claimTo.getPermissionForPlayer("Weather",player)) {
+    private void handleWeatherSettings(Player player, Claim to, Claim from) {
+        if (to != null && !instance.getPlayerMain().checkPermission(player, to, "Weather")) {
             player.setPlayerWeather(WeatherType.CLEAR);
-        } else if (instance.getMain().checkIfClaimExists(from) && !claimFrom.getPermissionForPlayer("Weather",player)) {
+        } else if (from != null && !instance.getPlayerMain().checkPermission(player, from, "Weather")) {
             player.resetPlayerWeather();
         }
     }
@@ -375,12 +395,12 @@ public class ClaimEventsEnterLeave implements Listener {
      */
     private void handleAutoFly(Player player, CPlayer cPlayer, Chunk chunk, String owner) {
     	Claim claim = instance.getMain().getClaim(chunk);
-        if (cPlayer.getClaimAutofly() && (owner.equals(player.getName()) || claim != null && claim.getPermissionForPlayer("Fly", player)) && !instance.isFolia()) {
+        if (cPlayer.getClaimAutofly() && (owner.equals(player.getName()) || claim != null && instance.getPlayerMain().checkPermission(player, claim, "Fly")) && !instance.isFolia()) {
             instance.getPlayerMain().activePlayerFly(player);
             if (instance.getSettings().getBooleanSetting("claim-fly-message-auto-fly")) {
                 instance.getMain().sendMessage(player, instance.getLanguage().getMessage("fly-enabled"), "CHAT");
             }
-        } else if (claim != null && !claim.getPermissionForPlayer("Fly", player) && !owner.equals(player.getName()) && cPlayer.getClaimFly() && !instance.isFolia()) {
+        } else if (claim != null && !instance.getPlayerMain().checkPermission(player, claim, "Fly") && !owner.equals(player.getName()) && cPlayer.getClaimFly() && !instance.isFolia()) {
             instance.getPlayerMain().removePlayerFly(player);
             if (instance.getSettings().getBooleanSetting("claim-fly-message-auto-fly")) {
                 instance.getMain().sendMessage(player, instance.getLanguage().getMessage("fly-disabled"), "CHAT");
@@ -403,17 +423,15 @@ public class ClaimEventsEnterLeave implements Listener {
         } else {
         	Claim claim = cPlayer.getTargetClaimChunk();
         	if(claim == null) return;
-            if(claim.getChunks().size() == 1) {
+            if(claim.getChunkCount() == 1) {
             	player.sendMessage(instance.getLanguage().getMessage("cannot-remove-only-remaining-chunk"));
             	return;
             }
-			Set<Chunk> chunks = new HashSet<>(claim.getChunks());
-			if(!chunks.contains(chunk)) {
+			if(!claim.containsChunk(chunk)) {
 				player.sendMessage(instance.getLanguage().getMessage("chunk-not-in-claim"));
 				return;
 			}
-			chunks.remove(chunk);
-            if(!instance.getMain().isAnyChunkAdjacent(chunks, chunk)) {
+            if(!instance.getMain().isAnyChunkAdjacent(claim, chunk)) {
             	player.sendMessage(instance.getLanguage().getMessage("one-chunk-must-be-adjacent-delchunk"));
             	return;
             }
@@ -471,22 +489,19 @@ public class ClaimEventsEnterLeave implements Listener {
             		return;
             	}
             }
-            Set<Chunk> chunks = new HashSet<>(claim.getChunks());
-            if(!cPlayer.canClaimTotalWithNumber(instance.getMain().getAllChunksFromAllClaims(playerName).size()+1)) {
+            if(!cPlayer.canClaimTotalWithNumber(instance.getMain().getAllChunksCountFromAllClaims(playerName)+1)) {
             	player.sendMessage(instance.getLanguage().getMessage("cant-claim-with-so-many-chunks"));
             	return;
             }
-            if(!cPlayer.canClaimWithNumber(chunks.size()+1)) {
+            if(!cPlayer.canClaimWithNumber(claim.getChunkCount()+1)) {
             	player.sendMessage(instance.getLanguage().getMessage("cant-claim-with-so-many-chunks"));
             	return;
             }
-            chunks.add(chunk);
-            if(!instance.getMain().areChunksInSameWorld(chunks)) {
+            if(!chunk.getWorld().getUID().equals(claim.getWorldId())) {
             	player.sendMessage(instance.getLanguage().getMessage("chunks-must-be-from-same-world"));
             	return;
             }
-            chunks.remove(chunk);
-            if(!instance.getMain().isAnyChunkAdjacent(chunks, chunk)) {
+            if(!instance.getMain().isAnyChunkAdjacent(claim, chunk)) {
             	player.sendMessage(instance.getLanguage().getMessage("one-chunk-must-be-adjacent"));
             	return;
             }
@@ -496,7 +511,7 @@ public class ClaimEventsEnterLeave implements Listener {
             		if (successs) {
             			double[] price = {0};
                         if (instance.getSettings().getBooleanSetting("economy") && instance.getSettings().getBooleanSetting("chunk-cost")) {
-                            price[0] = instance.getSettings().getBooleanSetting("chunk-cost-multiplier") ? cPlayer.getChunkMultipliedCost(chunks.size()) : cPlayer.getChunkCost();
+                            price[0] = instance.getSettings().getBooleanSetting("chunk-cost-multiplier") ? cPlayer.getChunkMultipliedCost(claim.getChunkCount()) : cPlayer.getChunkCost();
                             double balance = instance.getVault().getPlayerBalance(playerName);
 
                             if (balance < price[0]) {
@@ -512,7 +527,7 @@ public class ClaimEventsEnterLeave implements Listener {
                         			instance.executeEntitySync(player, () -> player.sendMessage(instance.getLanguage().getMessage("add-chunk-successful")
                         					.replace("%chunk%", "["+chunk.getWorld().getName()+";"+String.valueOf(chunk.getX())+";"+String.valueOf(chunk.getZ())+"]")
                         					.replace("%claim-name%", claim.getName())));
-                        			if (instance.getSettings().getBooleanSetting("claim-particles")) instance.getMain().displayChunks(player, new CustomSet<>(claim.getChunks()), true, false);
+                        			if (instance.getSettings().getBooleanSetting("claim-particles")) instance.getMain().displayChunks(player, claim, true, false);
                         			return;
                         		} else {
                         			instance.executeEntitySync(player, () -> player.sendMessage(instance.getLanguage().getMessage("error")));
@@ -683,12 +698,12 @@ public class ClaimEventsEnterLeave implements Listener {
      * Handles enter and leave messages.
      *
      * @param player The player.
-     * @param to The chunk the player is moving to.
-     * @param from The chunk the player is moving from.
-     * @param ownerTO The owner of the chunk the player is moving to.
-     * @param ownerFROM The owner of the chunk the player is moving from.
+     * @param to The claim the player is moving to, null for the wilderness.
+     * @param from The claim the player is moving from, null for the wilderness.
+     * @param ownerTO The owner of the claim the player is moving to.
+     * @param ownerFROM The owner of the claim the player is moving from.
      */
-    private void handleEnterLeaveMessages(Player player, Chunk to, Chunk from, String ownerTO, String ownerFROM) {
+    private void handleEnterLeaveMessages(Player player, Claim to, Claim from, String ownerTO, String ownerFROM) {
         if (instance.getSettings().getBooleanSetting("enter-leave-messages")) {
             enterleaveMessages(player, to, from, ownerTO, ownerFROM);
         }
@@ -704,18 +719,18 @@ public class ClaimEventsEnterLeave implements Listener {
      * Sends the claim enter message to the player (chat).
      *
      * @param player the player.
-     * @param to the chunk the player is entering.
-     * @param from the chunk the player is leaving.
-     * @param ownerTO the owner of the chunk the player is entering.
-     * @param ownerFROM the owner of the chunk the player is leaving.
+     * @param to the claim the player is entering, null for the wilderness.
+     * @param from the claim the player is leaving, null for the wilderness.
+     * @param ownerTO the owner of the claim the player is entering.
+     * @param ownerFROM the owner of the claim the player is leaving.
      */
-    private void enterleaveChatMessages(Player player, Chunk to, Chunk from, String ownerTO, String ownerFROM) {
+    private void enterleaveChatMessages(Player player, Claim to, Claim from, String ownerTO, String ownerFROM) {
         String playerName = player.getName();
-        String toName = instance.getMain().getClaimNameByChunk(to);
-        String fromName = instance.getMain().getClaimNameByChunk(from);
+        String toName = to == null ? "" : to.getName();
+        String fromName = from == null ? "" : from.getName();
 
-        if (instance.getMain().checkIfClaimExists(to)) {
-        	Claim claim = instance.getMain().getClaim(to);
+        if (to != null) {
+        	Claim claim = to;
         	String message;
         	if(claim.getSale() && instance.getSettings().getBooleanSetting("announce-sale.chat")) {
                 message = ownerTO.equals("*")
@@ -742,7 +757,7 @@ public class ClaimEventsEnterLeave implements Listener {
             return;
         }
 
-        if (instance.getMain().checkIfClaimExists(from)) {
+        if (from != null) {
             String message = ownerFROM.equals("*")
                     ? instance.getLanguage().getMessage("leave-protected-area-chat").replace("%name%", fromName)
                     : instance.getLanguage().getMessage("leave-territory-chat")
@@ -758,18 +773,18 @@ public class ClaimEventsEnterLeave implements Listener {
      * Sends the claim enter message to the player (action bar).
      *
      * @param player the player.
-     * @param to the chunk the player is entering.
-     * @param from the chunk the player is leaving.
-     * @param ownerTO the owner of the chunk the player is entering.
-     * @param ownerFROM the owner of the chunk the player is leaving.
+     * @param to the claim the player is entering, null for the wilderness.
+     * @param from the claim the player is leaving, null for the wilderness.
+     * @param ownerTO the owner of the claim the player is entering.
+     * @param ownerFROM the owner of the claim the player is leaving.
      */
-    private void enterleaveMessages(Player player, Chunk to, Chunk from, String ownerTO, String ownerFROM) {
+    private void enterleaveMessages(Player player, Claim to, Claim from, String ownerTO, String ownerFROM) {
         String playerName = player.getName();
-        String toName = instance.getMain().getClaimNameByChunk(to);
-        String fromName = instance.getMain().getClaimNameByChunk(from);
+        String toName = to == null ? "" : to.getName();
+        String fromName = from == null ? "" : from.getName();
 
-        if (instance.getMain().checkIfClaimExists(to)) {
-        	Claim claim = instance.getMain().getClaim(to);
+        if (to != null) {
+        	Claim claim = to;
         	String message;
         	if(claim.getSale() && instance.getSettings().getBooleanSetting("announce-sale.actionbar")) {
         		message = ownerTO.equals("*")
@@ -795,7 +810,7 @@ public class ClaimEventsEnterLeave implements Listener {
             return;
         }
 
-        if (instance.getMain().checkIfClaimExists(from)) {
+        if (from != null) {
             String message = ownerFROM.equals("*")
                     ? instance.getLanguage().getMessage("leave-protected-area").replace("%name%", fromName)
                     : instance.getLanguage().getMessage("leave-territory")
@@ -810,18 +825,18 @@ public class ClaimEventsEnterLeave implements Listener {
      * Sends the claim enter message to the player (title).
      *
      * @param player the player.
-     * @param to the chunk the player is entering.
-     * @param from the chunk the player is leaving.
-     * @param ownerTO the owner of the chunk the player is entering.
-     * @param ownerFROM the owner of the chunk the player is leaving.
+     * @param to the claim the player is entering, null for the wilderness.
+     * @param from the claim the player is leaving, null for the wilderness.
+     * @param ownerTO the owner of the claim the player is entering.
+     * @param ownerFROM the owner of the claim the player is leaving.
      */
-    private void enterleavetitleMessages(Player player, Chunk to, Chunk from, String ownerTO, String ownerFROM) {
-        String toName = instance.getMain().getClaimNameByChunk(to);
-        String fromName = instance.getMain().getClaimNameByChunk(from);
+    private void enterleavetitleMessages(Player player, Claim to, Claim from, String ownerTO, String ownerFROM) {
+        String toName = to == null ? "" : to.getName();
+        String fromName = from == null ? "" : from.getName();
         String playerName = player.getName();
         
-        if (instance.getMain().checkIfClaimExists(to)) {
-        	Claim claim = instance.getMain().getClaim(to);
+        if (to != null) {
+        	Claim claim = to;
         	String toTitleKey;
         	String toSubtitleKey;
         	if(claim.getSale() && instance.getSettings().getBooleanSetting("announce-sale.title")) {
@@ -872,7 +887,7 @@ public class ClaimEventsEnterLeave implements Listener {
             return;
         }
         
-        if (instance.getMain().checkIfClaimExists(from)) {
+        if (from != null) {
         	String fromTitleKey = ownerFROM.equals("*") ? "leave-protected-area-title" : "leave-territory-title";
         	String fromSubtitleKey = ownerFROM.equals("*") ? "leave-protected-area-subtitle" : "leave-territory-subtitle";
 
@@ -889,6 +904,19 @@ public class ClaimEventsEnterLeave implements Listener {
     }
 
 
+    /**
+     * Gets the claim of the chunk a player is moving from. When it is the chunk of the player's
+     * last transition, its claim is already known and no lookup is done.
+     *
+     * @param transition the claim transitions of the player.
+     * @param from the location the player is moving from.
+     * @return the claim, null for the wilderness.
+     */
+    private Claim resolveFromClaim(ClaimTransition transition, Location from) {
+    	Claim claim = transition.getLastClaim(from.getWorld().getUID(), from.getBlockX() >> 4, from.getBlockZ() >> 4);
+    	return claim != null ? claim : instance.getMain().getClaimAt(from);
+    }
+
     /**
      * Checks if the player has changed chunk.
      *
@@ -896,10 +924,10 @@ public class ClaimEventsEnterLeave implements Listener {
      * @return true if the player has changed chunk, false otherwise.
      */
     private boolean hasChangedChunk(PlayerMoveEvent event) {
-        int fromChunkX = event.getFrom().getChunk().getX();
-        int fromChunkZ = event.getFrom().getChunk().getZ();
-        int toChunkX = event.getTo().getChunk().getX();
-        int toChunkZ = event.getTo().getChunk().getZ();
+        int fromChunkX = event.getFrom().getBlockX() >> 4;
+        int fromChunkZ = event.getFrom().getBlockZ() >> 4;
+        int toChunkX = event.getTo().getBlockX() >> 4;
+        int toChunkZ = event.getTo().getBlockZ() >> 4;
         return fromChunkX != toChunkX || fromChunkZ != toChunkZ;
     }
     
@@ -910,10 +938,10 @@ public class ClaimEventsEnterLeave implements Listener {
      * @return true if the vehicle has changed chunk, false otherwise.
      */
     private boolean hasChangedChunk(VehicleMoveEvent event) {
-        int fromChunkX = event.getFrom().getChunk().getX();
-        int fromChunkZ = event.getFrom().getChunk().getZ();
-        int toChunkX = event.getTo().getChunk().getX();
-        int toChunkZ = event.getTo().getChunk().getZ();
+        int fromChunkX = event.getFrom().getBlockX() >> 4;
+        int fromChunkZ = event.getFrom().getBlockZ() >> 4;
+        int toChunkX = event.getTo().getBlockX() >> 4;
+        int toChunkZ = event.getTo().getBlockZ() >> 4;
         return fromChunkX != toChunkX || fromChunkZ != toChunkZ;
     }
 }
@@ -700,7 +700,7 @@ public class ClaimGuiEvents implements Listener {
         if(guiSettings.getSlots().contains(clickedSlot)) {
         	String chunk = cPlayer.getMapString(clickedSlot);
         	if (!instance.getPlayerMain().checkPermPlayer(player, "scs.command.claim.delchunk")) return;
-        	if (claim.getChunks().size() == 1) return;
+        	if (claim.getChunkCount() == 1) return;
         	instance.getMain().removeClaimChunk(claim, chunk)
 	    		.thenAccept(success -> {
 	    			if (success) {
@@ -1040,7 +1040,7 @@ public class ClaimGuiEvents implements Listener {
         		            return;
         		        }
                         // Check if player can claim with all these chunks (total)
-                        if (!cPlayer.canClaimTotalWithNumber(instance.getMain().getAllChunksFromAllClaims(playerName).size()+claim.getChunks().size())) {
+                        if (!cPlayer.canClaimTotalWithNumber(instance.getMain().getAllChunksCountFromAllClaims(playerName)+claim.getChunkCount())) {
                         	player.sendMessage(instance.getLanguage().getMessage("cant-claim-with-so-many-chunks"));
                             return;
                         }
@@ -1655,7 +1655,7 @@ public class ClaimGuiEvents implements Listener {
         if(clickedSlot >= 0 && clickedSlot <= 44) {
         	String chunk = cPlayer.getMapString(clickedSlot);
         	if (!instance.getPlayerMain().checkPermPlayer(player, "scs.command.claim.delchunk")) return;
-        	if (claim.getChunks().size() == 1) return;
+        	if (claim.getChunkCount() == 1) return;
         	instance.getMain().removeClaimChunk(claim, chunk)
         		.thenAccept(success -> {
         			if (success) {
@@ -0,0 +1,66 @@
+package fr.xyness.SCS.Listeners;
+
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.WorldLoadEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+
+import fr.xyness.SCS.SimpleClaimSystem;
+
+/**
+ * This class handles the lifecycle of the worlds.
+ * The claims of a world are loaded when it is loaded and released when it is unloaded.
+ */
+public class ClaimWorldEvents implements Listener {
+
+
+    // ***************
+    // *  Variables  *
+    // ***************
+
+
+    /** Instance of SimpleClaimSystem */
+    private SimpleClaimSystem instance;
+
+
+    // ******************
+    // *  Constructors  *
+    // ******************
+
+
+    /**
+     * Constructor for ClaimWorldEvents.
+     *
+     * @param instance The instance of the SimpleClaimSystem plugin.
+     */
+    public ClaimWorldEvents(SimpleClaimSystem instance) {
+    	this.instance = instance;
+    }
+
+
+    // *******************
+    // *  EventHandlers  *
+    // *******************
+
+
+    /**
+     * Handles the world load event. Loads the claims of the world from the database.
+     *
+     * @param event the world load event.
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onWorldLoad(WorldLoadEvent event) {
+    	instance.getMain().reloadClaimsFromDatabaseForWorld(event.getWorld().getName());
+    }
+
+    /**
+     * Handles the world unload event. Releases the claims of the world.
+     *
+     * @param event the world unload event.
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onWorldUnload(WorldUnloadEvent event) {
+    	instance.getMain().unloadClaimsForWorld(event.getWorld());
+    }
+}
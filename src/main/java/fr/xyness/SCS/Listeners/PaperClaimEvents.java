@@ -1,6 +1,5 @@
 package fr.xyness.SCS.Listeners;
 
-import java.util.HashSet;
 import java.util.Set;
 import java.util.UUID;
 
@@ -124,13 +123,12 @@ public class PaperClaimEvents implements Listener {
      */
     @EventHandler
     public void onPlayerPickupItem(PlayerAttemptPickupItemEvent event) {
-    	Chunk chunk = event.getItem().getLocation().getChunk();
+    	Claim claim = instance.getMain().getClaimAt(event.getItem().getLocation());
     	Player player = event.getPlayer();
     	WorldMode mode = instance.getSettings().getWorldMode(player.getWorld().getName());
-    	if(instance.getPlayerMain().checkPermPlayer(player, "scs.bypass")) return;
-		if(instance.getMain().checkIfClaimExists(chunk)) {
-			Claim claim = instance.getMain().getClaim(chunk);
-			if(!claim.getPermissionForPlayer("ItemsPickup", player)) {
+    	if(instance.getPlayerMain().hasBypass(player)) return;
+		if(claim != null) {
+			if(!instance.getPlayerMain().checkPermission(player, claim, "ItemsPickup")) {
 				event.setCancelled(true);
 				instance.getMain().sendMessage(player,instance.getLanguage().getMessage("itemspickup"), instance.getSettings().getSetting("protection-message"));
 				return;
@@ -148,10 +146,9 @@ public class PaperClaimEvents implements Listener {
      */
     @EventHandler
     public void onPlayerTeleport(PlayerTeleportEvent event) {
-        Chunk to = event.getTo().getChunk();
-        Chunk from = event.getFrom().getChunk();
         Player player = event.getPlayer();
-        if (!instance.getMain().checkIfClaimExists(to)) {
+        Claim claim = instance.getMain().getClaimAt(event.getTo());
+        if (claim == null) {
         	instance.getBossBars().disableBossBar(player);
         	return;
         }
@@ -160,17 +157,19 @@ public class PaperClaimEvents implements Listener {
         CPlayer cPlayer = instance.getPlayerMain().getCPlayer(playerId);
         if(cPlayer == null) return;
         
-        String ownerTO = instance.getMain().getOwnerInClaim(to);
-        String ownerFROM = instance.getMain().getOwnerInClaim(from);
+        Chunk to = event.getTo().getChunk();
+        Chunk from = event.getFrom().getChunk();
+        Claim claimFrom = instance.getMain().getClaimAt(event.getFrom());
+        String ownerTO = claim.getOwner();
+        String ownerFROM = claimFrom == null ? "" : claimFrom.getOwner();
         
-        Claim claim = instance.getMain().getClaim(to);
         if(claim != null) {
 	        if (instance.getMain().checkBan(claim, player) && !instance.getPlayerMain().checkPermPlayer(player, "scs.bypass.ban")) {
 	            cancelTeleport(event, player, "player-banned");
 	            return;
 	        }
 	        
-	        if (!claim.getPermissionForPlayer("Enter",player) && !instance.getPlayerMain().checkPermPlayer(player, "scs.bypass.enter")) {
+	        if (!instance.getPlayerMain().checkPermission(player, claim, "Enter") && !instance.getPlayerMain().checkPermPlayer(player, "scs.bypass.enter")) {
 	            cancelTeleport(event, player, "enter");
 	            return;
 	        }
@@ -236,7 +235,7 @@ public class PaperClaimEvents implements Listener {
      * @return True if the teleport is blocked, false otherwise.
      */
     private boolean isTeleportBlocked(PlayerTeleportEvent event, Player player, Claim claim) {
-        if (!instance.getPlayerMain().checkPermPlayer(player, "scs.bypass") && !claim.getPermissionForPlayer("Teleportations",player)) {
+        if (!instance.getPlayerMain().hasBypass(player) && !instance.getPlayerMain().checkPermission(player, claim, "Teleportations")) {
             switch (event.getCause()) {
                 case ENDER_PEARL:
                 case CHORUS_FRUIT:
@@ -257,9 +256,9 @@ public class PaperClaimEvents implements Listener {
     private void handleWeatherSettings(Player player, Chunk to, Chunk from) {
     	Claim claimTo = instance.getMain().getClaim(to);
     	Claim claimFrom = instance.getMain().getClaim(from);
-        if (instance.getMain().checkIfClaimExists(to) && !claimTo.getPermissionForPlayer("Weather",player)) {
+        if (instance.getMain().checkIfClaimExists(to) && !instance.getPlayerMain().checkPermission(player, claimTo, "Weather")) {
             player.setPlayerWeather(WeatherType.CLEAR);
-        } else if (instance.getMain().checkIfClaimExists(from) && !claimFrom.getPermissionForPlayer("Weather",player)) {
+        } else if (instance.getMain().checkIfClaimExists(from) && !instance.getPlayerMain().checkPermission(player, claimFrom, "Weather")) {
             player.resetPlayerWeather();
         }
     }
@@ -274,12 +273,12 @@ public class PaperClaimEvents implements Listener {
      */
     private void handleAutoFly(Player player, CPlayer cPlayer, Chunk chunk, String owner) {
     	Claim claim = instance.getMain().getClaim(chunk);
-        if (cPlayer.getClaimAutofly() && (owner.equals(player.getName()) || claim != null && claim.getPermissionForPlayer("Fly", player)) && !instance.isFolia()) {
+        if (cPlayer.getClaimAutofly() && (owner.equals(player.getName()) || claim != null && instance.getPlayerMain().checkPermission(player, claim, "Fly")) && !instance.isFolia()) {
             instance.getPlayerMain().activePlayerFly(player);
             if (instance.getSettings().getBooleanSetting("claim-fly-message-auto-fly")) {
                 instance.getMain().sendMessage(player, instance.getLanguage().getMessage("fly-enabled"), "CHAT");
             }
-        } else if (claim != null && !claim.getPermissionForPlayer("Fly", player) && !owner.equals(player.getName()) && cPlayer.getClaimFly() && !instance.isFolia()) {
+        } else if (claim != null && !instance.getPlayerMain().checkPermission(player, claim, "Fly") && !owner.equals(player.getName()) && cPlayer.getClaimFly() && !instance.isFolia()) {
             instance.getPlayerMain().removePlayerFly(player);
             if (instance.getSettings().getBooleanSetting("claim-fly-message-auto-fly")) {
                 instance.getMain().sendMessage(player, instance.getLanguage().getMessage("fly-disabled"), "CHAT");
@@ -302,17 +301,15 @@ public class PaperClaimEvents implements Listener {
         } else {
         	Claim claim = cPlayer.getTargetClaimChunk();
         	if(claim == null) return;
-            if(claim.getChunks().size() == 1) {
+            if(claim.getChunkCount() == 1) {
             	player.sendMessage(instance.getLanguage().getMessage("cannot-remove-only-remaining-chunk"));
             	return;
             }
-			Set<Chunk> chunks = new HashSet<>(claim.getChunks());
-			if(!chunks.contains(chunk)) {
+			if(!claim.containsChunk(chunk)) {
 				player.sendMessage(instance.getLanguage().getMessage("chunk-not-in-claim"));
 				return;
 			}
-			chunks.remove(chunk);
-            if(!instance.getMain().isAnyChunkAdjacent(chunks, chunk)) {
+            if(!instance.getMain().isAnyChunkAdjacent(claim, chunk)) {
             	player.sendMessage(instance.getLanguage().getMessage("one-chunk-must-be-adjacent-delchunk"));
             	return;
             }
@@ -372,22 +369,19 @@ public class PaperClaimEvents implements Listener {
             		return;
             	}
             }
-            Set<Chunk> chunks = new HashSet<>(claim.getChunks());
-            if(!cPlayer.canClaimTotalWithNumber(instance.getMain().getAllChunksFromAllClaims(playerName).size()+1)) {
+            if(!cPlayer.canClaimTotalWithNumber(instance.getMain().getAllChunksCountFromAllClaims(playerName)+1)) {
             	player.sendMessage(instance.getLanguage().getMessage("cant-claim-with-so-many-chunks"));
             	return;
             }
-            if(!cPlayer.canClaimWithNumber(chunks.size()+1)) {
+            if(!cPlayer.canClaimWithNumber(claim.getChunkCount()+1)) {
             	player.sendMessage(instance.getLanguage().getMessage("cant-claim-with-so-many-chunks"));
             	return;
             }
-            chunks.add(chunk);
-            if(!instance.getMain().areChunksInSameWorld(chunks)) {
+            if(!chunk.getWorld().getUID().equals(claim.getWorldId())) {
             	player.sendMessage(instance.getLanguage().getMessage("chunks-must-be-from-same-world"));
             	return;
             }
-            chunks.remove(chunk);
-            if(!instance.getMain().isAnyChunkAdjacent(chunks, chunk)) {
+            if(!instance.getMain().isAnyChunkAdjacent(claim, chunk)) {
             	player.sendMessage(instance.getLanguage().getMessage("one-chunk-must-be-adjacent"));
             	return;
             }
@@ -397,7 +391,7 @@ public class PaperClaimEvents implements Listener {
             		if (successs) {
             			double[] price = {0};
                         if (instance.getSettings().getBooleanSetting("economy") && instance.getSettings().getBooleanSetting("chunk-cost")) {
-                            price[0] = instance.getSettings().getBooleanSetting("chunk-cost-multiplier") ? cPlayer.getChunkMultipliedCost(chunks.size()) : cPlayer.getChunkCost();
+                            price[0] = instance.getSettings().getBooleanSetting("chunk-cost-multiplier") ? cPlayer.getChunkMultipliedCost(claim.getChunkCount()) : cPlayer.getChunkCost();
                             double balance = instance.getVault().getPlayerBalance(playerName);
 
                             if (balance < price[0]) {
@@ -413,7 +407,7 @@ public class PaperClaimEvents implements Listener {
                         			instance.executeEntitySync(player, () -> player.sendMessage(instance.getLanguage().getMessage("add-chunk-successful")
                         					.replace("%chunk%", "["+chunk.getWorld().getName()+";"+String.valueOf(chunk.getX())+";"+String.valueOf(chunk.getZ())+"]")
                         					.replace("%claim-name%", claim.getName())));
-                        			if (instance.getSettings().getBooleanSetting("claim-particles")) instance.getMain().displayChunks(player, new CustomSet<>(claim.getChunks()), true, false);
+                        			if (instance.getSettings().getBooleanSetting("claim-particles")) instance.getMain().displayChunks(player, claim, true, false);
                         			return;
                         		} else {
                         			instance.executeEntitySync(player, () -> player.sendMessage(instance.getLanguage().getMessage("error")));
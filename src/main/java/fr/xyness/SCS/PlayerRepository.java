@@ -0,0 +1,86 @@
+package fr.xyness.SCS;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * This class owns the SQL of the players ({@code scs_players}).
+ */
+public class PlayerRepository extends Repository {
+
+
+    // ******************
+    // *  Constructors  *
+    // ******************
+
+
+    /**
+     * Main constructor.
+     *
+     * @param instance The instance of SimpleClaimSystem
+     */
+    public PlayerRepository(SimpleClaimSystem instance) {
+    	super(instance);
+    }
+
+
+    // *************
+    // *  Methods  *
+    // *************
+
+
+    /**
+     * Registers a player, or updates their name if already registered.
+     *
+     * @param uuid The uuid of the player on the server
+     * @param uuidMojang The Mojang uuid of the player, "none" if unknown
+     * @param name The name of the player
+     * @param textures The textures of the player, "none" if unknown
+     * @throws SQLException If the statement fails
+     */
+    public void insertPlayer(String uuid, String uuidMojang, String name, String textures) throws SQLException {
+    	String sql = isMySql()
+    			? "INSERT INTO scs_players(uuid_server, uuid_mojang, player_name, player_head, player_textures) VALUES(?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE player_name = VALUES(player_name)"
+    			: "INSERT INTO scs_players(uuid_server, uuid_mojang, player_name, player_head, player_textures) VALUES(?, ?, ?, ?, ?) ON CONFLICT(uuid_server) DO UPDATE SET player_name = excluded.player_name";
+    	try (Connection connection = instance.getDataSource().getConnection()) {
+    		update(connection, sql, uuid, uuidMojang, name, "", textures);
+    	}
+    }
+
+    /**
+     * Updates the name of a player.
+     *
+     * @param uuid The uuid of the player on the server
+     * @param name The new name
+     * @throws SQLException If the statement fails
+     */
+    public void updateName(String uuid, String name) throws SQLException {
+    	try (Connection connection = instance.getDataSource().getConnection()) {
+    		update(connection, "UPDATE scs_players SET player_name = ? WHERE uuid_server = ?", name, uuid);
+    	}
+    }
+
+    /**
+     * Updates the textures of a player.
+     *
+     * @param uuid The uuid of the player on the server
+     * @param textures The new textures
+     * @throws SQLException If the statement fails
+     */
+    public void updateTextures(String uuid, String textures) throws SQLException {
+    	try (Connection connection = instance.getDataSource().getConnection()) {
+    		update(connection, "UPDATE scs_players SET player_textures = ? WHERE uuid_server = ?", textures, uuid);
+    	}
+    }
+
+    /**
+     * Reads all the players.
+     *
+     * @param connection The connection to the database
+     * @return The query
+     * @throws SQLException If the query fails
+     */
+    public Query selectPlayers(Connection connection) throws SQLException {
+    	return stream(connection, "SELECT * FROM scs_players");
+    }
+}
@@ -0,0 +1,329 @@
+package fr.xyness.SCS;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Base class of the repositories, which own the SQL of a group of tables.
+ * <p>
+ * The dialect (MySQL or SQLite) is resolved once, when the data source is created.
+ * Every statement run through a repository records its time and row count, by statement,
+ * shown by {@code /scs db-stats}.
+ * <p>
+ * On SQLite, the prepared statements are kept by connection (see {@link StatementCache}).
+ * On MySQL, the driver keeps them ({@code cachePrepStmts}).
+ */
+public abstract class Repository {
+
+
+    // ***************
+    // *  Variables  *
+    // ***************
+
+
+    /** Fetch size of the streamed queries */
+    public static final int FETCH_SIZE = 1000;
+
+    /** Instance of SimpleClaimSystem */
+    protected final SimpleClaimSystem instance;
+
+    /** Whether the database is MySQL (SQLite otherwise) */
+    private volatile boolean mysql;
+
+    /** Placeholder list of an IN clause, of any length */
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bIN\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+
+    /** Stats by statement, the IN lists collapsed */
+    private final Map<String, Stat> stats = new ConcurrentHashMap<>();
+
+    /** Prepared statements kept by connection, on SQLite */
+    private final StatementCache statements = new StatementCache();
+
+
+    // ******************
+    // *  Constructors  *
+    // ******************
+
+
+    /**
+     * Main constructor.
+     *
+     * @param instance The instance of SimpleClaimSystem
+     */
+    protected Repository(SimpleClaimSystem instance) {
+    	this.instance = instance;
+    }
+
+
+    // *************
+    // *  Methods  *
+    // *************
+
+
+    /**
+     * Sets the dialect of the database.
+     *
+     * @param mysql True for MySQL, false for SQLite
+     */
+    public void setMySql(boolean mysql) {
+    	this.mysql = mysql;
+    }
+
+    /**
+     * Checks if the database is MySQL.
+     *
+     * @return True for MySQL, false for SQLite
+     */
+    public boolean isMySql() {
+    	return mysql;
+    }
+
+    /**
+     * Gets the start of an insert statement ignoring the duplicate keys.
+     *
+     * @return The start of the statement, up to the table name
+     */
+    public String insertIgnore() {
+    	return mysql ? "INSERT IGNORE INTO " : "INSERT OR IGNORE INTO ";
+    }
+
+    /**
+     * Runs a query.
+     *
+     * @param connection The connection to the database
+     * @param sql The query
+     * @param params The parameters
+     * @return The query, to read and close
+     * @throws SQLException If the query fails
+     */
+    public Query query(Connection connection, String sql, Object... params) throws SQLException {
+    	return new Query(connection, sql, 0, params);
+    }
+
+    /**
+     * Runs a query whose rows are streamed instead of buffered.
+     *
+     * @param connection The connection to the database
+     * @param sql The query
+     * @param params The parameters
+     * @return The query, to read and close
+     * @throws SQLException If the query fails
+     */
+    public Query stream(Connection connection, String sql, Object... params) throws SQLException {
+    	return new Query(connection, sql, FETCH_SIZE, params);
+    }
+
+    /**
+     * Runs an update.
+     *
+     * @param connection The connection to the database
+     * @param sql The statement
+     * @param params The parameters
+     * @return The number of rows changed
+     * @throws SQLException If the statement fails
+     */
+    public int update(Connection connection, String sql, Object... params) throws SQLException {
+    	long start = System.nanoTime();
+    	PreparedStatement stmt = prepare(connection, sql);
+    	int rows;
+    	try {
+    		setParams(stmt, params);
+    		rows = stmt.executeUpdate();
+    	} catch (SQLException e) {
+    		discard(stmt);
+    		throw e;
+    	}
+    	release(sql, stmt);
+    	record(sql, System.nanoTime() - start, rows);
+    	return rows;
+    }
+
+    /**
+     * Takes a prepared statement, to give back with {@link #release(String, PreparedStatement)}
+     * once run, or {@link #discard(PreparedStatement)} if it failed.
+     *
+     * @param connection The connection to the database
+     * @param sql The statement
+     * @return The prepared statement
+     * @throws SQLException If the statement cannot be prepared
+     */
+    public PreparedStatement prepare(Connection connection, String sql) throws SQLException {
+    	return mysql ? connection.prepareStatement(sql) : statements.take(connection, sql);
+    }
+
+    /**
+     * Gives back a prepared statement after a successful run.
+     *
+     * @param sql The statement
+     * @param stmt The prepared statement
+     * @throws SQLException If the statement cannot be cleared or closed
+     */
+    public void release(String sql, PreparedStatement stmt) throws SQLException {
+    	if (mysql) {
+    		stmt.close();
+    	} else {
+    		statements.release(sql, stmt);
+    	}
+    }
+
+    /**
+     * Closes a prepared statement after a failed run.
+     *
+     * @param stmt The prepared statement
+     */
+    public void discard(PreparedStatement stmt) {
+    	statements.discard(stmt);
+    }
+
+    /**
+     * Closes the prepared statements kept, before the data sources are closed.
+     */
+    public void clearStatements() {
+    	statements.clear();
+    }
+
+    /**
+     * Records a run of a statement.
+     *
+     * @param sql The statement
+     * @param nanos The time it took
+     * @param rows The number of rows read or changed
+     */
+    public void record(String sql, long nanos, long rows) {
+    	Stat stat = stats.computeIfAbsent(getStatKey(sql), k -> new Stat());
+    	stat.calls.increment();
+    	stat.nanos.add(nanos);
+    	stat.rows.add(rows);
+    }
+
+    /**
+     * Gets the key of a statement in the stats, its IN lists collapsed to {@code IN (?...)}
+     * so a statement built for any number of values is one entry.
+     *
+     * @param sql The statement
+     * @return The key
+     */
+    static String getStatKey(String sql) {
+    	return sql.indexOf('?') < 0 ? sql : IN_LIST.matcher(sql).replaceAll("IN (?...)");
+    }
+
+    /**
+     * Gets the stats of the statements taking the most time.
+     *
+     * @param limit The max number of statements
+     * @return A line by statement (calls, rows, total and average time)
+     */
+    public List<String> getStats(int limit) {
+    	List<String> lines = new ArrayList<>();
+    	stats.entrySet().stream()
+    		.sorted(Comparator.comparingLong((Map.Entry<String, Stat> e) -> e.getValue().nanos.sum()).reversed())
+    		.limit(limit)
+    		.forEach(e -> {
+    			Stat stat = e.getValue();
+    			long calls = stat.calls.sum();
+    			double total = stat.nanos.sum() / 1e6;
+    			String sql = e.getKey().length() > 80 ? e.getKey().substring(0, 77) + "..." : e.getKey();
+    			lines.add(String.format("%d calls, %d rows, %.1fms (%.2fms avg): %s", calls, stat.rows.sum(), total, calls == 0 ? 0 : total / calls, sql));
+    		});
+    	return lines;
+    }
+
+    /**
+     * Clears the stats.
+     */
+    public void resetStats() {
+    	stats.clear();
+    }
+
+    /**
+     * Sets the parameters of a statement.
+     */
+    private static void setParams(PreparedStatement stmt, Object[] params) throws SQLException {
+    	for (int i = 0; i < params.length; i++) {
+    		stmt.setObject(i + 1, params[i]);
+    	}
+    }
+
+
+    // *******************
+    // *  Inner classes  *
+    // *******************
+
+
+    /**
+     * A running query, counting the rows read. Its time and rows are recorded when it is closed.
+     */
+    public final class Query implements AutoCloseable {
+
+    	private final String sql;
+    	private final long start = System.nanoTime();
+    	private final PreparedStatement statement;
+    	private final ResultSet resultSet;
+    	private long rows;
+
+    	private Query(Connection connection, String sql, int fetchSize, Object[] params) throws SQLException {
+    		this.sql = sql;
+    		this.statement = prepare(connection, sql);
+    		try {
+    			setParams(statement, params);
+    			statement.setFetchSize(fetchSize);
+    			this.resultSet = statement.executeQuery();
+    		} catch (SQLException e) {
+    			discard(statement);
+    			throw e;
+    		}
+    	}
+
+    	/**
+    	 * Moves to the next row.
+    	 *
+    	 * @return False if there is no more row
+    	 * @throws SQLException If the read fails
+    	 */
+    	public boolean next() throws SQLException {
+    		if (!resultSet.next()) return false;
+    		rows++;
+    		return true;
+    	}
+
+    	/**
+    	 * Gets the result set, positioned by {@link #next()}.
+    	 *
+    	 * @return The result set
+    	 */
+    	public ResultSet getResultSet() {
+    		return resultSet;
+    	}
+
+    	@Override
+    	public void close() throws SQLException {
+    		try {
+    			resultSet.close();
+    			release(sql, statement);
+    		} catch (SQLException e) {
+    			discard(statement);
+    			throw e;
+    		} finally {
+    			record(sql, System.nanoTime() - start, rows);
+    		}
+    	}
+    }
+
+    /**
+     * The stats of a statement.
+     */
+    private static final class Stat {
+    	final LongAdder calls = new LongAdder();
+    	final LongAdder nanos = new LongAdder();
+    	final LongAdder rows = new LongAdder();
+    }
+}
@@ -0,0 +1,57 @@
+package fr.xyness.SCS;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * This class creates the pools on a local SQLite database.
+ * <p>
+ * The writer pool has a single connection in WAL mode, so writes are serialized in the plugin
+ * instead of contending on the database file lock (SQLITE_BUSY). The read-only pool has its own
+ * connections, that WAL lets read while the writer is busy.
+ */
+public final class SQLiteDataSources {
+
+
+    // ******************
+    // *  Constructors  *
+    // ******************
+
+
+    private SQLiteDataSources() {}
+
+
+    // *************
+    // *  Methods  *
+    // *************
+
+
+    /**
+     * Creates a pool on a SQLite database.
+     *
+     * @param url The JDBC url of the database
+     * @param readOnly Whether to create the read-only pool
+     * @param mmapSize The size of the memory map of the database file, in bytes
+     * @param readers The number of connections of the read-only pool
+     * @return The data source
+     */
+    public static HikariDataSource create(String url, boolean readOnly, long mmapSize, int readers) {
+    	HikariConfig configH = new HikariConfig();
+    	configH.setJdbcUrl(url);
+    	if (!readOnly) configH.addDataSourceProperty("journal_mode", "WAL");
+    	configH.addDataSourceProperty("synchronous", "NORMAL");
+    	configH.addDataSourceProperty("busy_timeout", "5000");
+    	configH.addDataSourceProperty("mmap_size", String.valueOf(mmapSize));
+    	if (readOnly) {
+    		configH.addDataSourceProperty("open_mode", "1");
+    		// The pool sets the flag on each connection, the driver refuses to change it once opened
+    		configH.setReadOnly(true);
+    	}
+    	configH.setPoolName(readOnly ? "SQLiteReadPool" : "SQLitePool");
+    	configH.setMaximumPoolSize(readOnly ? Math.max(1, readers) : 1);
+    	configH.setMinimumIdle(1);
+    	configH.setIdleTimeout(60000);
+    	configH.setMaxLifetime(600000);
+    	return new HikariDataSource(configH);
+    }
+}
@@ -116,6 +116,27 @@ public class SimpleClaimSystem extends JavaPlugin {
   /** Instance of ClaimBossBar for players bossbar */
   private ClaimBossBar claimBossBarInstance;
 
+  /** Instance of ClaimWriteQueue for write-behind persistence */
+  private ClaimWriteQueue claimWriteQueueInstance;
+
+  /** Instance of ClaimTables for the normalized members, bans and chunks */
+  private ClaimTables claimTablesInstance;
+
+  /** Instance of ClaimSnapshot for the startup snapshot of the claims */
+  private ClaimSnapshot claimSnapshotInstance;
+
+  /** Instance of ClaimSync for the claims sync between servers */
+  private ClaimSync claimSyncInstance;
+
+  /** Instance of ClaimImporter for the import of the claims of other plugins */
+  private ClaimImporter claimImporterInstance;
+
+  /** Instance of ClaimRepository for the SQL of the claims */
+  private ClaimRepository claimRepositoryInstance;
+
+  /** Instance of PlayerRepository for the SQL of the players */
+  private PlayerRepository playerRepositoryInstance;
+
   /** Instance of SimpleClaimSystem for useful methods */
   private SimpleClaimSystem instance;
 
@@ -125,6 +146,9 @@ public class SimpleClaimSystem extends JavaPlugin {
   /** Data source for database connections */
   private HikariDataSource dataSource;
 
+  /** Read-only data source (SQLite only) */
+  private HikariDataSource readDataSource;
+
   /** Whether the server is using Folia */
   private boolean isFolia = false;
 
@@ -177,9 +201,20 @@ public class SimpleClaimSystem extends JavaPlugin {
    */
   @Override
   public void onDisable() {
-    if (dataSource != null) {
-      dataSource.close();
+    // Stop the claims sync
+    if (claimSyncInstance != null) {
+      claimSyncInstance.stop();
     }
+    // Save pending claim changes before closing the database
+    if (claimWriteQueueInstance != null) {
+      claimWriteQueueInstance.drain();
+    }
+    // Save the startup snapshot
+    if (claimSnapshotInstance != null && dataSource != null) {
+      claimSnapshotInstance.stop();
+      claimSnapshotInstance.save();
+    }
+    closeDataSources();
     // Disable players bossbar (prevent for /reload)
     Bukkit.getOnlinePlayers().forEach(p -> claimBossBarInstance.disableBossBar(p));
     info("==========================================================================");
@@ -253,6 +288,13 @@ public class SimpleClaimSystem extends JavaPlugin {
         cPlayerMainInstance = new CPlayerMain(this);
         claimLanguageInstance = new ClaimLanguage(this);
         claimBossBarInstance = new ClaimBossBar(this);
+        claimWriteQueueInstance = new ClaimWriteQueue(this);
+        claimTablesInstance = new ClaimTables(this);
+        claimSnapshotInstance = new ClaimSnapshot(this);
+        claimSyncInstance = new ClaimSync(this);
+        claimImporterInstance = new ClaimImporter(this);
+        claimRepositoryInstance = new ClaimRepository(this);
+        playerRepositoryInstance = new PlayerRepository(this);
         bStatsInstance = new ClaimbStats();
         bStatsInstance.enableMetrics(this);
       }
@@ -334,6 +376,13 @@ public class SimpleClaimSystem extends JavaPlugin {
         claimSettingsInstance.addSetting("pl3xmap", "false");
       }
 
+      // Check LuckPerms
+      if (!reload && Bukkit.getPluginManager().getPlugin("LuckPerms") != null) {
+        if (!new ClaimLuckPerms(this).register()) {
+          info(ChatColor.RED + "Could not listen to the LuckPerms permission changes.");
+        }
+      }
+
       // Check "langs" folder
       File dossier = new File(getDataFolder(), "langs");
       if (!dossier.exists()) {
@@ -394,6 +443,10 @@ public class SimpleClaimSystem extends JavaPlugin {
       loadGuis();
 
       // Check database
+      if (reload) {
+        claimWriteQueueInstance.drain();
+        closeDataSources();
+      }
       String configC = getConfig().getString("database");
       if (configC.equalsIgnoreCase("true")) {
         // Create data source
@@ -407,6 +460,8 @@ public class SimpleClaimSystem extends JavaPlugin {
         configH.addDataSourceProperty("prepStmtCacheSize", "250");
         configH.addDataSourceProperty("prepStmtCacheSqlLimit", "2048");
         configH.addDataSourceProperty("useServerPrepStmts", "true");
+        configH.addDataSourceProperty("useCursorFetch", "true");
+        configH.addDataSourceProperty("rewriteBatchedStatements", "true");
         configH.setPoolName("MySQL");
         configH.setMaximumPoolSize(10);
         configH.setMinimumIdle(2);
@@ -450,18 +505,7 @@ public class SimpleClaimSystem extends JavaPlugin {
       }
 
       if (configC.equals("false")) {
-        HikariConfig configH = new HikariConfig();
-        configH.setJdbcUrl("jdbc:sqlite:plugins/SimpleClaimSystem/storage.db");
-        configH.addDataSourceProperty("cachePrepStmts", "true");
-        configH.addDataSourceProperty("prepStmtCacheSize", "250");
-        configH.addDataSourceProperty("prepStmtCacheSqlLimit", "2048");
-        configH.setPoolName("SQLitePool");
-        configH.setMaximumPoolSize(10);
-        configH.setMinimumIdle(2);
-        configH.setIdleTimeout(60000);
-        configH.setMaxLifetime(600000);
-
-        dataSource = new HikariDataSource(configH);
+        dataSource = createSQLiteDataSource(false);
 
         try (Connection connection = dataSource.getConnection()) {
           createOrUpdateTables(connection, false);
@@ -472,12 +516,29 @@ public class SimpleClaimSystem extends JavaPlugin {
           return;
         }
 
+        // Read-only pool, for the queries that do not write
+        readDataSource = createSQLiteDataSource(true);
+
         File databaseFile = new File("plugins/SimpleClaimSystem/claims.db");
         if (databaseFile.exists()) {
           claimInstance.convertLocalToNewLocal();
         }
       }
       claimSettingsInstance.addSetting("database", configC);
+      claimRepositoryInstance.setMySql(configC.equalsIgnoreCase("true"));
+      playerRepositoryInstance.setMySql(configC.equalsIgnoreCase("true"));
+      claimSettingsInstance.addSetting("database-normalized", getConfig().getString("database-normalized", "false"));
+
+      // Write-behind settings
+      claimWriteQueueInstance.start(getConfig().getLong("write-behind-interval", 1000), getConfig().getInt("write-behind-batch-size", 500));
+
+      // Startup snapshot settings
+      claimSettingsInstance.addSetting("startup-snapshot", getConfig().getString("startup-snapshot", "true"));
+      claimSnapshotInstance.start(getConfig().getInt("startup-snapshot-interval", 10));
+
+      // Claims sync settings
+      claimSettingsInstance.addSetting("claims-sync", getConfig().getString("claims-sync", "false"));
+      claimSyncInstance.start(getConfig().getInt("claims-sync-interval", 2));
 
       // Auto-purge settings
       configC = getConfig().getString("auto-purge");
@@ -823,6 +884,9 @@ public class SimpleClaimSystem extends JavaPlugin {
       // Register listener for entering/leaving claims
       getServer().getPluginManager().registerEvents(new ClaimEventsEnterLeave(this), this);
 
+      // Register listener for worlds loading/unloading
+      getServer().getPluginManager().registerEvents(new ClaimWorldEvents(this), this);
+
       // Register listener for guis
       getServer().getPluginManager().registerEvents(new ClaimGuiEvents(this), this);
 
@@ -1046,10 +1110,8 @@ public class SimpleClaimSystem extends JavaPlugin {
       // Check database
       String configC = getConfig().getString("database");
 
-      if (dataSource != null) {
-        try { dataSource.close(); } catch (Exception ignore) {}
-        dataSource = null;
-      }
+      claimWriteQueueInstance.drain();
+      closeDataSources();
 
       if (configC.equalsIgnoreCase("true")) {
         HikariConfig configH = new HikariConfig();
@@ -1063,6 +1125,8 @@ public class SimpleClaimSystem extends JavaPlugin {
         configH.addDataSourceProperty("prepStmtCacheSize", "250");
         configH.addDataSourceProperty("prepStmtCacheSqlLimit", "2048");
         configH.addDataSourceProperty("useServerPrepStmts", "true");
+        configH.addDataSourceProperty("useCursorFetch", "true");
+        configH.addDataSourceProperty("rewriteBatchedStatements", "true");
         configH.setPoolName("MySQL");
         configH.setMaximumPoolSize(10);
         configH.setMinimumIdle(2);
@@ -1106,18 +1170,7 @@ public class SimpleClaimSystem extends JavaPlugin {
       }
 
       if (configC.equals("false")) {
-        HikariConfig configH = new HikariConfig();
-        configH.setJdbcUrl("jdbc:sqlite:plugins/SimpleClaimSystem/storage.db");
-        configH.addDataSourceProperty("cachePrepStmts", "true");
-        configH.addDataSourceProperty("prepStmtCacheSize", "250");
-        configH.addDataSourceProperty("prepStmtCacheSqlLimit", "2048");
-        configH.setPoolName("SQLitePool");
-        configH.setMaximumPoolSize(10);
-        configH.setMinimumIdle(2);
-        configH.setIdleTimeout(60000);
-        configH.setMaxLifetime(600000);
-
-        dataSource = new HikariDataSource(configH);
+        dataSource = createSQLiteDataSource(false);
 
         try (Connection connection = dataSource.getConnection()) {
           createOrUpdateTables(connection, false);
@@ -1128,6 +1181,9 @@ public class SimpleClaimSystem extends JavaPlugin {
           return;
         }
 
+        // Read-only pool, for the queries that do not write
+        readDataSource = createSQLiteDataSource(true);
+
         File databaseFile = new File("plugins/SimpleClaimSystem/claims.db");
         if (databaseFile.exists()) {
           claimInstance.convertLocalToNewLocal();
@@ -1135,6 +1191,20 @@ public class SimpleClaimSystem extends JavaPlugin {
       }
 
       claimSettingsInstance.addSetting("database", configC);
+      claimRepositoryInstance.setMySql(configC.equalsIgnoreCase("true"));
+      playerRepositoryInstance.setMySql(configC.equalsIgnoreCase("true"));
+      claimSettingsInstance.addSetting("database-normalized", getConfig().getString("database-normalized", "false"));
+
+      // Write-behind settings
+      claimWriteQueueInstance.start(getConfig().getLong("write-behind-interval", 1000), getConfig().getInt("write-behind-batch-size", 500));
+
+      // Startup snapshot settings
+      claimSettingsInstance.addSetting("startup-snapshot", getConfig().getString("startup-snapshot", "true"));
+      claimSnapshotInstance.start(getConfig().getInt("startup-snapshot-interval", 10));
+
+      // Claims sync settings
+      claimSettingsInstance.addSetting("claims-sync", getConfig().getString("claims-sync", "false"));
+      claimSyncInstance.start(getConfig().getInt("claims-sync-interval", 2));
 
       // Auto-purge settings
       configC = getConfig().getString("auto-purge");
@@ -1523,6 +1593,42 @@ public class SimpleClaimSystem extends JavaPlugin {
    */
   public HikariDataSource getDataSource() { return dataSource; }
 
+  /**
+   * Returns the data source for read-only queries.
+   * On SQLite, this is a separate read-only pool that WAL lets run while the writer is busy;
+   * on MySQL, this is the main data source.
+   *
+   * @return The data source
+   */
+  public HikariDataSource getReadDataSource() { return readDataSource != null ? readDataSource : dataSource; }
+
+  /**
+   * Creates a pool on the local SQLite database (see {@link SQLiteDataSources}).
+   *
+   * @param readOnly Whether to create the read-only pool
+   * @return The data source
+   */
+  private HikariDataSource createSQLiteDataSource(boolean readOnly) {
+    return SQLiteDataSources.create("jdbc:sqlite:plugins/SimpleClaimSystem/storage.db", readOnly,
+        getConfig().getLong("sqlite-settings.mmap-size", 268435456L), getConfig().getInt("sqlite-settings.readers", 4));
+  }
+
+  /**
+   * Closes the data sources.
+   */
+  private void closeDataSources() {
+    if (claimRepositoryInstance != null) claimRepositoryInstance.clearStatements();
+    if (playerRepositoryInstance != null) playerRepositoryInstance.clearStatements();
+    if (readDataSource != null) {
+      try { readDataSource.close(); } catch (Exception ignore) {}
+      readDataSource = null;
+    }
+    if (dataSource != null) {
+      try { dataSource.close(); } catch (Exception ignore) {}
+      dataSource = null;
+    }
+  }
+
   /**
    * Send a log
    *
@@ -2091,6 +2197,69 @@ public class SimpleClaimSystem extends JavaPlugin {
     return cPlayerMainInstance;
   }
 
+  /**
+   * Returns the ClaimWriteQueue instance.
+   *
+   * @return The ClaimWriteQueue instance
+   */
+  public ClaimWriteQueue getWriteQueue() {
+    return claimWriteQueueInstance;
+  }
+
+  /**
+   * Returns the ClaimTables instance.
+   *
+   * @return The ClaimTables instance
+   */
+  public ClaimTables getClaimTables() {
+    return claimTablesInstance;
+  }
+
+  /**
+   * Returns the ClaimSnapshot instance.
+   *
+   * @return The ClaimSnapshot instance
+   */
+  public ClaimSnapshot getSnapshot() {
+    return claimSnapshotInstance;
+  }
+
+  /**
+   * Returns the ClaimSync instance.
+   *
+   * @return The ClaimSync instance
+   */
+  public ClaimSync getClaimSync() {
+    return claimSyncInstance;
+  }
+
+  /**
+   * Returns the ClaimImporter instance.
+   *
+   * @return The ClaimImporter instance
+   */
+  public ClaimImporter getClaimImporter() {
+    return claimImporterInstance;
+  }
+
+  /**
+   * Returns the ClaimRepository instance.
+   *
+   * @return The ClaimRepository instance
+   */
+  public ClaimRepository getClaimRepository() {
+    return claimRepositoryInstance;
+  }
+
+  /**
+   * Returns the PlayerRepository instance.
+   *
+   * @return The PlayerRepository instance
+   */
+  public PlayerRepository getPlayerRepository() {
+    return playerRepositoryInstance;
+  }
+
   /**
    * Returns the ClaimBossBar instance.
    *
@@ -2307,6 +2476,54 @@ public class SimpleClaimSystem extends JavaPlugin {
         execIgnore.accept("CREATE INDEX idx_claims_for_sale ON scs_claims_1 (for_sale)");
         execIgnore.accept("CREATE INDEX idx_claims_world_name ON scs_claims_1 (world_name)");
 
+        stmt.executeUpdate(
+                "CREATE TABLE IF NOT EXISTS scs_claim_members ("
+                        + "claim_id INT NOT NULL, "
+                        + "member_uuid CHAR(36) NOT NULL, "
+                        + "PRIMARY KEY (claim_id, member_uuid)"
+                        + ")"
+        );
+
+        stmt.executeUpdate(
+                "CREATE TABLE IF NOT EXISTS scs_claim_bans ("
+                        + "claim_id INT NOT NULL, "
+                        + "banned_uuid CHAR(36) NOT NULL, "
+                        + "PRIMARY KEY (claim_id, banned_uuid)"
+                        + ")"
+        );
+
+        stmt.executeUpdate(
+                "CREATE TABLE IF NOT EXISTS scs_claim_chunks ("
+                        + "claim_id INT NOT NULL, "
+                        + "chunk_x INT NOT NULL, "
+                        + "chunk_z INT NOT NULL, "
+                        + "PRIMARY KEY (claim_id, chunk_x, chunk_z)"
+                        + ")"
+        );
+
+        stmt.executeUpdate(
+                "CREATE TABLE IF NOT EXISTS scs_meta ("
+                        + "name VARCHAR(64) NOT NULL PRIMARY KEY, "
+                        + "value BIGINT NOT NULL"
+                        + ")"
+        );
+        stmt.executeUpdate("INSERT IGNORE INTO scs_meta (name, value) VALUES ('data_version', 0)");
+
+        stmt.executeUpdate(
+                "CREATE TABLE IF NOT EXISTS scs_claims_changes ("
+                        + "version BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY, "
+                        + "server_id CHAR(36) NOT NULL, "
+                        + "owner_uuid VARCHAR(36), "
+                        + "claim_name VARCHAR(255), "
+                        + "changed_at BIGINT NOT NULL"
+                        + ")"
+        );
+        execIgnore.accept("CREATE INDEX idx_claims_changes_changed_at ON scs_claims_changes (changed_at)");
+
+        execIgnore.accept("CREATE INDEX idx_claim_members_uuid ON scs_claim_members (member_uuid)");
+        execIgnore.accept("CREATE INDEX idx_claim_bans_uuid ON scs_claim_bans (banned_uuid)");
+        execIgnore.accept("CREATE INDEX idx_claim_chunks_xz ON scs_claim_chunks (chunk_x, chunk_z)");
+
         execIgnore.accept("CREATE INDEX idx_players_uuid_mojang ON scs_players (uuid_mojang)");
         execIgnore.accept("CREATE INDEX idx_players_player_name ON scs_players (player_name)");
 
@@ -2347,6 +2564,54 @@ public class SimpleClaimSystem extends JavaPlugin {
         stmt.executeUpdate("CREATE INDEX IF NOT EXISTS idx_claims_for_sale ON scs_claims_1 (for_sale)");
         stmt.executeUpdate("CREATE INDEX IF NOT EXISTS idx_claims_world_name ON scs_claims_1 (world_name)");
 
+        stmt.executeUpdate(
+                "CREATE TABLE IF NOT EXISTS scs_claim_members ("
+                        + "claim_id INTEGER NOT NULL, "
+                        + "member_uuid VARCHAR(36) NOT NULL, "
+                        + "PRIMARY KEY (claim_id, member_uuid)"
+                        + ")"
+        );
+
+        stmt.executeUpdate(
+                "CREATE TABLE IF NOT EXISTS scs_claim_bans ("
+                        + "claim_id INTEGER NOT NULL, "
+                        + "banned_uuid VARCHAR(36) NOT NULL, "
+                        + "PRIMARY KEY (claim_id, banned_uuid)"
+                        + ")"
+        );
+
+        stmt.executeUpdate(
+                "CREATE TABLE IF NOT EXISTS scs_claim_chunks ("
+                        + "claim_id INTEGER NOT NULL, "
+                        + "chunk_x INT NOT NULL, "
+                        + "chunk_z INT NOT NULL, "
+                        + "PRIMARY KEY (claim_id, chunk_x, chunk_z)"
+                        + ")"
+        );
+
+        stmt.executeUpdate(
+                "CREATE TABLE IF NOT EXISTS scs_meta ("
+                        + "name VARCHAR(64) NOT NULL PRIMARY KEY, "
+                        + "value BIGINT NOT NULL"
+                        + ")"
+        );
+        stmt.executeUpdate("INSERT OR IGNORE INTO scs_meta (name, value) VALUES ('data_version', 0)");
+
+        stmt.executeUpdate(
+                "CREATE TABLE IF NOT EXISTS scs_claims_changes ("
+                        + "version INTEGER PRIMARY KEY AUTOINCREMENT, "
+                        + "server_id VARCHAR(36) NOT NULL, "
+                        + "owner_uuid VARCHAR(36), "
+                        + "claim_name VARCHAR(255), "
+                        + "changed_at BIGINT NOT NULL"
+                        + ")"
+        );
+        stmt.executeUpdate("CREATE INDEX IF NOT EXISTS idx_claims_changes_changed_at ON scs_claims_changes (changed_at)");
+
+        stmt.executeUpdate("CREATE INDEX IF NOT EXISTS idx_claim_members_uuid ON scs_claim_members (member_uuid)");
+        stmt.executeUpdate("CREATE INDEX IF NOT EXISTS idx_claim_bans_uuid ON scs_claim_bans (banned_uuid)");
+        stmt.executeUpdate("CREATE INDEX IF NOT EXISTS idx_claim_chunks_xz ON scs_claim_chunks (chunk_x, chunk_z)");
+
         stmt.executeUpdate("CREATE INDEX IF NOT EXISTS idx_players_uuid_mojang ON scs_players (uuid_mojang)");
         stmt.executeUpdate("CREATE INDEX IF NOT EXISTS idx_players_player_name ON scs_players (player_name)");
       }
@@ -0,0 +1,160 @@
+package fr.xyness.SCS;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This class keeps the prepared statements of each database connection, to run them again
+ * without preparing them again.
+ * <p>
+ * Statements are kept by physical connection, so they survive the pooled connection being
+ * returned and taken again. A statement is taken out of the cache while in use, so the same
+ * statement run twice at once on a connection gets a second, temporary one. Each connection
+ * keeps its {@link #MAX_STATEMENTS} most recently used statements; the statements of a closed
+ * connection are dropped when a new connection is seen.
+ */
+public class StatementCache {
+
+
+    // ***************
+    // *  Variables  *
+    // ***************
+
+
+    /** Max number of statements kept by connection */
+    public static final int MAX_STATEMENTS = 32;
+
+    /** Statements by physical connection, least recently used first */
+    private final Map<Connection, LinkedHashMap<String, PreparedStatement>> statements = new ConcurrentHashMap<>();
+
+
+    // *************
+    // *  Methods  *
+    // *************
+
+
+    /**
+     * Takes a statement of a connection, prepared if there is none free.
+     * It must be given back with {@link #release(String, PreparedStatement)} or {@link #discard(PreparedStatement)}.
+     *
+     * @param connection The connection, pooled or not
+     * @param sql The statement
+     * @return The statement
+     * @throws SQLException If the statement cannot be prepared
+     */
+    public PreparedStatement take(Connection connection, String sql) throws SQLException {
+    	Connection physical = connection.unwrap(Connection.class);
+    	LinkedHashMap<String, PreparedStatement> cached = statements.get(physical);
+    	if (cached == null) {
+    		prune();
+    		cached = statements.computeIfAbsent(physical, k -> new LinkedHashMap<>(16, 0.75f, true));
+    	}
+    	PreparedStatement stmt;
+    	synchronized (cached) {
+    		stmt = cached.remove(sql);
+    	}
+    	if (stmt != null && !stmt.isClosed()) return stmt;
+    	return physical.prepareStatement(sql);
+    }
+
+    /**
+     * Gives back a statement after a successful run, its parameters and batch cleared.
+     *
+     * @param sql The statement
+     * @param stmt The prepared statement, taken with {@link #take(Connection, String)}
+     * @throws SQLException If the statement cannot be cleared
+     */
+    public void release(String sql, PreparedStatement stmt) throws SQLException {
+    	LinkedHashMap<String, PreparedStatement> cached = statements.get(stmt.getConnection());
+    	if (cached == null) {
+    		stmt.close();
+    		return;
+    	}
+    	stmt.clearParameters();
+    	stmt.clearBatch();
+    	PreparedStatement evicted = null;
+    	synchronized (cached) {
+    		if (cached.containsKey(sql)) {
+    			evicted = stmt;
+    		} else {
+    			cached.put(sql, stmt);
+    			if (cached.size() > MAX_STATEMENTS) {
+    				Map.Entry<String, PreparedStatement> eldest = cached.entrySet().iterator().next();
+    				evicted = eldest.getValue();
+    				cached.remove(eldest.getKey());
+    			}
+    		}
+    	}
+    	if (evicted != null) evicted.close();
+    }
+
+    /**
+     * Closes a statement after a failed run, instead of giving it back.
+     *
+     * @param stmt The prepared statement, taken with {@link #take(Connection, String)}
+     */
+    public void discard(PreparedStatement stmt) {
+    	try {
+    		stmt.close();
+    	} catch (SQLException ignored) {
+    		// Already unusable
+    	}
+    }
+
+    /**
+     * Gets the number of statements kept for a connection.
+     *
+     * @param connection The connection, pooled or not
+     * @return The number of statements
+     * @throws SQLException If the connection cannot be unwrapped
+     */
+    public int size(Connection connection) throws SQLException {
+    	LinkedHashMap<String, PreparedStatement> cached = statements.get(connection.unwrap(Connection.class));
+    	if (cached == null) return 0;
+    	synchronized (cached) {
+    		return cached.size();
+    	}
+    }
+
+    /**
+     * Closes every statement kept, before the data sources are closed.
+     */
+    public void clear() {
+    	for (Connection connection : statements.keySet()) {
+    		close(statements.remove(connection));
+    	}
+    }
+
+    /**
+     * Drops the statements of the closed connections.
+     */
+    private void prune() {
+    	for (Map.Entry<Connection, LinkedHashMap<String, PreparedStatement>> entry : statements.entrySet()) {
+    		boolean closed;
+    		try {
+    			closed = entry.getKey().isClosed();
+    		} catch (SQLException e) {
+    			closed = true;
+    		}
+    		if (closed) close(statements.remove(entry.getKey()));
+    	}
+    }
+
+    private static void close(LinkedHashMap<String, PreparedStatement> cached) {
+    	if (cached == null) return;
+    	synchronized (cached) {
+    		for (PreparedStatement stmt : cached.values()) {
+    			try {
+    				stmt.close();
+    			} catch (SQLException ignored) {
+    				// The connection is closed with its statements
+    			}
+    		}
+    		cached.clear();
+    	}
+    }
+}
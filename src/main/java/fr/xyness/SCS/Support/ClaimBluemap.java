@@ -6,7 +6,6 @@ import java.util.Set;
 
 import org.bukkit.Bukkit;
 import org.bukkit.Chunk;
-import org.bukkit.Location;
 import org.bukkit.World;
 
 import com.flowpowered.math.vector.Vector2d;
@@ -19,6 +18,7 @@ import de.bluecolored.bluemap.api.math.Color;
 import de.bluecolored.bluemap.api.math.Shape;
 import fr.xyness.SCS.SimpleClaimSystem;
 import fr.xyness.SCS.Types.Claim;
+import fr.xyness.SCS.Types.ClaimIndex;
 
 /**
  * This class integrates claims with the BlueMap plugin, allowing claims to be displayed as markers on the BlueMap.
@@ -77,7 +77,7 @@ public class ClaimBluemap {
 		                .build();
 				markerSets.put(w, markerSet);
 				for(Claim claim : claims) {
-					if (claim.getLocation().getWorld().equals(w)) {
+					if (w.getUID().equals(claim.getWorldId())) {
 						createClaimZone(claim);
 					}
 				}
@@ -100,7 +100,8 @@ public class ClaimBluemap {
 	    // Get data
 	    String name = claim.getName();
 	    String owner = claim.getOwner();
-	    Set<Chunk> chunks = claim.getChunks();
+	    MarkerSet markerSet = markerSets.get(claim.getWorld());
+	    if (markerSet == null) return;
 	    String hoverText = instance.getSettings().getSetting("bluemap-claim-hover-text")
 	            .replace("%claim-name%", name)
 	            .replace("%owner%", owner);
@@ -109,21 +110,19 @@ public class ClaimBluemap {
 	    Color fillColor = new Color((int) Long.parseLong(fcolor, 16));
 	    Color strokeColor = new Color((int) Long.parseLong(lcolor, 16));
 
-	    chunks.forEach(chunk -> {
-	    	String markerId = "chunk_" + chunk.getX() + "_" + chunk.getZ();
-		    MarkerSet markerSet = markerSets.get(chunk.getWorld());
-		    if (markerSet == null) return;
+	    for (long key : claim.getChunkKeys()) {
+	    	int chunkX = ClaimIndex.keyX(key);
+	    	int chunkZ = ClaimIndex.keyZ(key);
+	    	String markerId = "chunk_" + chunkX + "_" + chunkZ;
 		    
-		    Location loc1 = new Location(chunk.getWorld(), chunk.getX() * 16, 0, chunk.getZ() * 16);
-		    Location loc2 = new Location(chunk.getWorld(), (chunk.getX() * 16) + 16, 0, chunk.getZ() * 16);
-		    Location loc3 = new Location(chunk.getWorld(), (chunk.getX() * 16) + 16, 0, (chunk.getZ() * 16) + 16);
-		    Location loc4 = new Location(chunk.getWorld(), chunk.getX() * 16, 0, (chunk.getZ() * 16) + 16);
+		    double x = chunkX * 16;
+		    double z = chunkZ * 16;
 		    
 		    Shape shape = new Shape(new Vector2d[] {
-		    	    new Vector2d(loc1.getX(), loc1.getZ()),
-		    	    new Vector2d(loc2.getX(), loc2.getZ()),
-		    	    new Vector2d(loc3.getX(), loc3.getZ()),
-		    	    new Vector2d(loc4.getX(), loc4.getZ())
+		    	    new Vector2d(x, z),
+		    	    new Vector2d(x + 16, z),
+		    	    new Vector2d(x + 16, z + 16),
+		    	    new Vector2d(x, z + 16)
 		    	});
 		    
 		    ExtrudeMarker marker = ExtrudeMarker.builder()
@@ -131,14 +130,14 @@ public class ClaimBluemap {
 		            .detail(hoverText)
 		            .depthTestEnabled(false)
 		            .shape(shape, -64, 320)
-		            .position(loc1.getX(), -64, loc1.getZ())
+		            .position(x, -64, z)
 		            .fillColor(fillColor)
 		            .lineColor(strokeColor)
 		            .lineWidth(5)
 		            .build();
 
 		    markerSet.getMarkers().put(markerId, marker);
-	    });
+	    }
 	}
 	
 	/**
@@ -150,16 +149,29 @@ public class ClaimBluemap {
     	String t = instance.getSettings().getSetting("bluemap-claim-hover-text")
     			.replace("%claim-name%", claim.getName())
     			.replace("%owner%", claim.getOwner());
-		claim.getChunks().forEach(chunk -> {
-			String markerId = "chunk_" + chunk.getX() + "_" + chunk.getZ();
-			MarkerSet markerSet = markerSets.get(chunk.getWorld());
-			if (markerSet == null) return;
+		MarkerSet markerSet = markerSets.get(claim.getWorld());
+		if (markerSet == null) return;
+		for (long key : claim.getChunkKeys()) {
+			String markerId = "chunk_" + ClaimIndex.keyX(key) + "_" + ClaimIndex.keyZ(key);
 	    	ExtrudeMarker marker = (ExtrudeMarker) markerSet.get(markerId);
 	    	if (marker != null) {
 	    		marker.setLabel(t);
 	    		marker.setDetail(t);
 	    	}
-		});
+		}
+	}
+	
+	/**
+	 * Deletes the markers of the specified claim from the BlueMap.
+	 *
+	 * @param claim The claim to delete the markers for.
+	 */
+	public void deleteMarker(Claim claim) {
+		MarkerSet markerSet = markerSets.get(claim.getWorld());
+		if (markerSet == null) return;
+		for (long key : claim.getChunkKeys()) {
+			markerSet.remove("chunk_" + ClaimIndex.keyX(key) + "_" + ClaimIndex.keyZ(key));
+		}
 	}
 	
 	/**
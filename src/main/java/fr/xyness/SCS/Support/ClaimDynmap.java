@@ -9,6 +9,7 @@ import org.dynmap.markers.MarkerSet;
 
 import fr.xyness.SCS.SimpleClaimSystem;
 import fr.xyness.SCS.Types.Claim;
+import fr.xyness.SCS.Types.ClaimIndex;
 
 /**
  * This class handles the integration with Dynmap for visualizing claims on the map.
@@ -63,13 +64,16 @@ public class ClaimDynmap {
     			.replace("%owner%", claim.getOwner());
     	int linestyle = Integer.parseInt(instance.getSettings().getSetting("dynmap-claim-border-color"), 16);
     	int fillstyle = Integer.parseInt(instance.getSettings().getSetting("dynmap-claim-fill-color"), 16);
-    	claim.getChunks().parallelStream().forEach(chunk -> {
-    		String markerId = "chunk_" + chunk.getX() + "_" + chunk.getZ();
+    	World world = claim.getWorld();
+    	if(world == null) return;
+    	for (long key : claim.getChunkKeys()) {
+    		int chunkX = ClaimIndex.keyX(key);
+    		int chunkZ = ClaimIndex.keyZ(key);
+    		String markerId = "chunk_" + chunkX + "_" + chunkZ;
     	    AreaMarker existingMarker = markerSet.findAreaMarker(markerId);
-    	    if (existingMarker != null) return;
-    	    World world = chunk.getWorld();
-    	    int x = chunk.getX() * 16;
-    	    int z = chunk.getZ() * 16;
+    	    if (existingMarker != null) continue;
+    	    int x = chunkX * 16;
+    	    int z = chunkZ * 16;
     	    double[] xCorners = {x, x + 16, x + 16, x};
     	    double[] zCorners = {z, z, z + 16, z + 16};
     	    AreaMarker marker = markerSet.createAreaMarker(
@@ -83,7 +87,7 @@ public class ClaimDynmap {
     	    );
     	    marker.setLineStyle(3, 1.0, linestyle);
     	    marker.setFillStyle(0.5, fillstyle);
-    	});
+    	}
 	}
 	
 	/**
@@ -96,13 +100,29 @@ public class ClaimDynmap {
     	String t = instance.getSettings().getSetting("dynmap-claim-hover-text")
     			.replace("%claim-name%", claim.getName())
     			.replace("%owner%", claim.getOwner());
-		claim.getChunks().parallelStream().forEach(chunk -> {
-			String markerId = "chunk_" + chunk.getX() + "_" + chunk.getZ();
+		for (long key : claim.getChunkKeys()) {
+			String markerId = "chunk_" + ClaimIndex.keyX(key) + "_" + ClaimIndex.keyZ(key);
 			AreaMarker marker = markerSet.findAreaMarker(markerId);
 		    if (marker != null) {
 		        marker.setLabel(t);
 		    }
-		});
+		}
+	}
+	
+	/**
+     * Deletes the area markers of given claim from the Dynmap.
+     *
+     * @param claim The claim whose markers need deletion.
+     */
+	public void deleteMarker(Claim claim) {
+		if(markerSet == null) return;
+		for (long key : claim.getChunkKeys()) {
+			String markerId = "chunk_" + ClaimIndex.keyX(key) + "_" + ClaimIndex.keyZ(key);
+		    AreaMarker marker = markerSet.findAreaMarker(markerId);
+		    if (marker != null) {
+		        marker.deleteMarker();
+		    }
+		}
 	}
 	
 	/**
@@ -0,0 +1,76 @@
+package fr.xyness.SCS.Support;
+
+import java.lang.reflect.Method;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import fr.xyness.SCS.SimpleClaimSystem;
+
+/**
+ * This class handles the integration with LuckPerms.
+ * <p>
+ * LuckPerms is not a build dependency, so its API is reached by reflection.
+ */
+public class ClaimLuckPerms {
+	
+	
+	// ***************
+	// *  Variables  *
+	// ***************
+	
+	
+	/** Instance of SimpleClaimSystem */
+	private final SimpleClaimSystem instance;
+	
+	
+	// ******************
+	// *  Constructors  *
+	// ******************
+	
+	
+	/**
+	 * Main constructor.
+	 *
+	 * @param instance The instance of SimpleClaimSystem
+	 */
+	public ClaimLuckPerms(SimpleClaimSystem instance) {
+		this.instance = instance;
+	}
+	
+	
+	// ********************
+	// *  Others Methods  *
+	// ********************
+	
+	
+	/**
+	 * Listens to the recalculation of the users data, to drop the flags and limits
+	 * computed for the player.
+	 *
+	 * @return true if the listener was registered, false otherwise.
+	 */
+	public boolean register() {
+		try {
+			Class<?> luckPermsClass = Class.forName("net.luckperms.api.LuckPerms");
+			Class<?> eventBusClass = Class.forName("net.luckperms.api.event.EventBus");
+			Class<?> eventClass = Class.forName("net.luckperms.api.event.user.UserDataRecalculateEvent");
+			Method getUser = eventClass.getMethod("getUser");
+			Method getUniqueId = Class.forName("net.luckperms.api.model.user.User").getMethod("getUniqueId");
+			
+			Object luckPerms = Class.forName("net.luckperms.api.LuckPermsProvider").getMethod("get").invoke(null);
+			Object eventBus = luckPermsClass.getMethod("getEventBus").invoke(luckPerms);
+			Consumer<Object> handler = event -> {
+				try {
+					UUID playerId = (UUID) getUniqueId.invoke(getUser.invoke(event));
+					instance.getPlayerMain().refreshPermissions(playerId);
+				} catch (ReflectiveOperationException e) {
+					e.printStackTrace();
+				}
+			};
+			eventBusClass.getMethod("subscribe", Object.class, Class.class, Consumer.class).invoke(eventBus, instance, eventClass, handler);
+			return true;
+		} catch (ReflectiveOperationException | LinkageError e) {
+			return false;
+		}
+	}
+}
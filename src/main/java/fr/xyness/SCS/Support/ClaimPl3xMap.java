@@ -11,6 +11,7 @@ import org.bukkit.World;
 
 import fr.xyness.SCS.SimpleClaimSystem;
 import fr.xyness.SCS.Types.Claim;
+import fr.xyness.SCS.Types.ClaimIndex;
 import net.pl3x.map.core.Pl3xMap;
 import net.pl3x.map.core.event.EventHandler;
 import net.pl3x.map.core.event.EventListener;
@@ -87,7 +88,7 @@ public class ClaimPl3xMap implements EventListener {
                     mapWorld.getLayerRegistry().register(layer);
                     layers.put(world, (SimpleLayer) layer);
                     for (Claim claim : claims) {
-                        if (claim.getLocation().getWorld().equals(world)) {
+                        if (world.getUID().equals(claim.getWorldId())) {
                         	createClaimZone(claim);
                         }
                     }
@@ -115,11 +116,15 @@ public class ClaimPl3xMap implements EventListener {
 
         String fillColor = instance.getSettings().getSetting("pl3xmap-claim-fill-color");
         String strokeColor = instance.getSettings().getSetting("pl3xmap-claim-border-color");
-        claim.getChunks().parallelStream().forEach(chunk -> {
-            String markerId = "chunk_" + chunk.getX() + "_" + chunk.getZ();
+        World world = claim.getWorld();
+        if (world == null) return;
+        for (long key : claim.getChunkKeys()) {
+            int chunkX = ClaimIndex.keyX(key);
+            int chunkZ = ClaimIndex.keyZ(key);
+            String markerId = "chunk_" + chunkX + "_" + chunkZ;
 
-            Point point1 = Point.of(chunk.getX() * 16, chunk.getZ() * 16);
-            Point point2 = Point.of((chunk.getX() * 16) + 16, (chunk.getZ() * 16) + 16);
+            Point point1 = Point.of(chunkX * 16, chunkZ * 16);
+            Point point2 = Point.of((chunkX * 16) + 16, (chunkZ * 16) + 16);
 
             Rectangle rectangle = new Rectangle(markerId, point1, point2);
 
@@ -133,7 +138,6 @@ public class ClaimPl3xMap implements EventListener {
                     .build();
 
             rectangle.setOptions(options);
-            World world = chunk.getWorld();
             SimpleLayer targetLayer = layers.get(world);
             if(targetLayer == null) {
                 String worldName = world.getName();
@@ -150,10 +154,10 @@ public class ClaimPl3xMap implements EventListener {
                     layers.get(world).addMarker(rectangle);
                 }
             } else {
-            	layers.get(chunk.getWorld()).addMarker(rectangle);
+            	targetLayer.addMarker(rectangle);
             }
             
-        });
+        }
     }
 
     /**
@@ -167,9 +171,11 @@ public class ClaimPl3xMap implements EventListener {
                 .replace("%owner%", claim.getOwner());
         String fillColor = instance.getSettings().getSetting("pl3xmap-claim-fill-color");
         String strokeColor = instance.getSettings().getSetting("pl3xmap-claim-border-color");
-        claim.getChunks().parallelStream().forEach(chunk -> {
-            String markerId = "chunk_" + chunk.getX() + "_" + chunk.getZ();
-            Collection<Marker<?>> markers = layers.get(chunk.getWorld()).getMarkers();
+        SimpleLayer layer = layers.get(claim.getWorld());
+        if (layer == null) return;
+        for (long key : claim.getChunkKeys()) {
+            String markerId = "chunk_" + ClaimIndex.keyX(key) + "_" + ClaimIndex.keyZ(key);
+            Collection<Marker<?>> markers = layer.getMarkers();
             for (Marker<?> marker : markers) {
                 if (marker.getKey().equals(markerId)) {
                     Options newOptions = Options.builder()
@@ -184,7 +190,21 @@ public class ClaimPl3xMap implements EventListener {
                     break;
                 }
             }
-        });
+        }
+    }
+
+    /**
+     * Deletes the markers of the specified claim from the Pl3xMap.
+     *
+     * @param claim The claim to delete the markers for.
+     */
+    public void deleteMarker(Claim claim) {
+        SimpleLayer layer = layers.get(claim.getWorld());
+        if (layer == null) return;
+        for (long key : claim.getChunkKeys()) {
+            String markerId = "chunk_" + ClaimIndex.keyX(key) + "_" + ClaimIndex.keyZ(key);
+            layer.getMarkers().removeIf(marker -> marker.getKey().equals(markerId));
+        }
     }
 
     /**
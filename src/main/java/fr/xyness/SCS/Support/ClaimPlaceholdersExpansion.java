@@ -112,12 +112,12 @@ public class ClaimPlaceholdersExpansion extends PlaceholderExpansion {
             case "player_remain_chunks":
                 int max_chunks = cPlayer.getMaxChunksTotal();
                 if (max_chunks == 0) return "∞";
-                int remainingChunks = max_chunks - instance.getMain().getAllChunksFromAllClaims(player.getName()).size();
+                int remainingChunks = max_chunks - instance.getMain().getAllChunksCountFromAllClaims(player.getName());
                 return remainingChunks >= 0 ? String.valueOf(remainingChunks) : "0";
                 
             case "player_chunks_count":
             	
-            	return String.valueOf(instance.getMain().getAllChunksFromAllClaims(player.getName()).size());
+            	return String.valueOf(instance.getMain().getAllChunksCountFromAllClaims(player.getName()));
                 
             case "player_max_radius_claims":
                 int maxRadiusClaims = cPlayer.getMaxRadiusClaims();
@@ -0,0 +1,118 @@
+package fr.xyness.SCS.Types;
+
+import org.bukkit.Material;
+
+/**
+ * The blocks interactions protected by a claim permission.
+ * <p>
+ * The interaction of every material is classified once, by name, into a table indexed by
+ * the material ordinal, so the interact events don't do any string work. As when the names
+ * were matched on each click, a trapdoor is checked as a trapdoor then as a door (see {@link #getNext()}).
+ */
+public enum BlockInteraction {
+    BUTTONS("Buttons", "buttons", false),
+    TRAPDOORS("Trapdoors", "trapdoors", false),
+    DOORS("Doors", "doors", false),
+    FENCEGATES("Fencegates", "fencegates", false),
+    LEVERS("Levers", "levers", false),
+    REPEATERS("RepeatersComparators", "repeaters", false),
+    COMPARATORS("RepeatersComparators", "comparators", false),
+    BELLS("Bells", "bells", false),
+    PLATES("Plates", "plates", true),
+    TRIPWIRES("Tripwires", "tripwires", true);
+
+    /** The interactions by material ordinal, null for none */
+    private static final BlockInteraction[] BY_MATERIAL;
+
+    static {
+    	Material[] materials = Material.values();
+    	BY_MATERIAL = new BlockInteraction[materials.length];
+    	for (Material material : materials) {
+    		BY_MATERIAL[material.ordinal()] = classify(material);
+    	}
+    }
+
+    /** The claim permission */
+    private final String permission;
+
+    /** The key of the protection message */
+    private final String message;
+
+    /** The key of the protection message in survival requiring claims mode */
+    private final String modeMessage;
+
+    /** Whether the interaction is physical (stepping on the block), or a click */
+    private final boolean physical;
+
+    BlockInteraction(String permission, String message, boolean physical) {
+    	this.permission = permission;
+    	this.message = message;
+    	this.modeMessage = message + "-mode";
+    	this.physical = physical;
+    }
+
+    /**
+     * Gets the claim permission of this interaction.
+     *
+     * @return The permission
+     */
+    public String getPermission() { return permission; }
+
+    /**
+     * Gets the key of the protection message of this interaction.
+     *
+     * @return The message key
+     */
+    public String getMessage() { return message; }
+
+    /**
+     * Gets the key of the protection message of this interaction, in survival requiring claims mode.
+     *
+     * @return The message key
+     */
+    public String getModeMessage() { return modeMessage; }
+
+    /**
+     * Checks if this interaction is physical (stepping on the block), or a click.
+     *
+     * @return True if physical
+     */
+    public boolean isPhysical() { return physical; }
+
+    /**
+     * Gets the interaction also checked after this one: a trapdoor needs the doors permission too.
+     *
+     * @return The next interaction, null if none
+     */
+    public BlockInteraction getNext() { return this == TRAPDOORS ? DOORS : null; }
+
+    /**
+     * Gets the interaction of a material.
+     *
+     * @param material The material, can be null
+     * @return The interaction, null if the material has none
+     */
+    public static BlockInteraction of(Material material) {
+    	return material == null ? null : BY_MATERIAL[material.ordinal()];
+    }
+
+    /**
+     * Classifies a material by its name.
+     */
+    private static BlockInteraction classify(Material material) {
+    	String name = material.name();
+    	if (name.contains("BUTTON")) return BUTTONS;
+    	if (name.contains("TRAPDOOR")) return TRAPDOORS;
+    	if (name.contains("DOOR")) return DOORS;
+    	if (name.contains("FENCE_GATE")) return FENCEGATES;
+    	if (name.contains("PRESSURE_PLATE")) return PLATES;
+    	switch (material) {
+    		case LEVER: return LEVERS;
+    		case REPEATER: return REPEATERS;
+    		case COMPARATOR: return COMPARATORS;
+    		case BELL: return BELLS;
+    		case TRIPWIRE: return TRIPWIRES;
+    		default: return null;
+    	}
+    }
+}
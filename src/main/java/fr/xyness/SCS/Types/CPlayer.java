@@ -1,11 +1,13 @@
 package fr.xyness.SCS.Types;
 
+import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.Locale;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import org.bukkit.Location;
 import org.bukkit.entity.Player;
@@ -78,6 +80,18 @@ public class CPlayer {
     /** The player's scoreboard */
     private volatile CScoreboard scoreboard;
 
+    /** The protection decisions cached for the player */
+    private final ProtectionCache protectionCache = new ProtectionCache();
+
+    /** The claim transitions of the player's moves */
+    private final ClaimTransition transition = new ClaimTransition();
+
+    /** The claims map cells cached for the player */
+    private final ClaimMapCache mapCache = new ClaimMapCache();
+
+    /** The flags and limits computed from the permissions, null if they must be computed */
+    private volatile Limits limits;
+
     /** Instance of SimpleClaimSystem */
     private final SimpleClaimSystem instance;
 
@@ -126,6 +140,7 @@ public class CPlayer {
         if (player != null) {
             this.playerName = player.getName();
         }
+        this.limits = null;
     }
 
     public void setName(String playerName) {
@@ -247,6 +262,18 @@ public class CPlayer {
         return this.claimChunk;
     }
 
+    public ProtectionCache getProtectionCache() {
+        return this.protectionCache;
+    }
+
+    public ClaimTransition getTransition() {
+        return this.transition;
+    }
+
+    public ClaimMapCache getMapCache() {
+        return this.mapCache;
+    }
+
     public Claim getClaim() {
         return this.claim;
     }
@@ -291,366 +318,135 @@ public class CPlayer {
     // --------------------
 
     public Integer getMaxClaims() {
-        Player p = this.player;
-        if (p == null) return 0;
-        if (p.hasPermission("scs.admin")) return 0;
-
-        Map<String, Double> playerConfig = instance.getPlayerMain().getPlayerConfig(playerId);
-        if (playerConfig != null && playerConfig.containsKey("max-claims")) {
-            return (int) Math.round(playerConfig.get("max-claims"));
-        }
-
-        int n = p.getEffectivePermissions().stream()
-                .map(PermissionAttachmentInfo::getPermission)
-                .map(CPlayerMain.CLAIM_PATTERN::matcher)
-                .filter(Matcher::find)
-                .mapToInt(matcher -> Integer.parseInt(matcher.group(1)))
-                .max().orElse(-1);
-
-        if (n == -1) {
-            Map<String, Map<String, Double>> groupsSettings = instance.getSettings().getGroupsSettings();
-            LinkedHashMap<String, String> groups = instance.getSettings().getGroupsValues();
-
-            n = (int) Math.round(groupsSettings.get("default").get("max-claims"));
-            for (Map.Entry<String, String> entry : groups.entrySet()) {
-                String perm = entry.getValue();
-                if (perm != null && instance.getPlayerMain().checkPermPlayer(p, perm)) {
-                    n = Math.max(n, (int) Math.round(groupsSettings.get(entry.getKey()).get("max-claims")));
-                }
-            }
-        }
-
-        return n;
+        return (int) limits().values[Limit.MAX_CLAIMS.ordinal()];
     }
 
     public Integer getMaxRadiusClaims() {
-        Player p = this.player;
-        if (p == null) return 0;
-        if (p.hasPermission("scs.admin")) return 0;
-
-        Map<String, Double> playerConfig = instance.getPlayerMain().getPlayerConfig(playerId);
-        if (playerConfig != null && playerConfig.containsKey("max-radius-claims")) {
-            return (int) Math.round(playerConfig.get("max-radius-claims"));
-        }
-
-        int n = p.getEffectivePermissions().stream()
-                .map(PermissionAttachmentInfo::getPermission)
-                .map(CPlayerMain.RADIUS_PATTERN::matcher)
-                .filter(Matcher::find)
-                .mapToInt(matcher -> Integer.parseInt(matcher.group(1)))
-                .max().orElse(-1);
-
-        if (n == -1) {
-            Map<String, Map<String, Double>> groupsSettings = instance.getSettings().getGroupsSettings();
-            LinkedHashMap<String, String> groups = instance.getSettings().getGroupsValues();
-
-            n = (int) Math.round(groupsSettings.get("default").get("max-radius-claims"));
-            for (Map.Entry<String, String> entry : groups.entrySet()) {
-                String perm = entry.getValue();
-                if (perm != null && instance.getPlayerMain().checkPermPlayer(p, perm)) {
-                    n = Math.max(n, (int) Math.round(groupsSettings.get(entry.getKey()).get("max-radius-claims")));
-                }
-            }
-        }
-
-        return n;
+        return (int) limits().values[Limit.MAX_RADIUS_CLAIMS.ordinal()];
     }
 
     public int getDelay() {
-        Player p = this.player;
-        if (p == null) return 0;
-        if (p.hasPermission("scs.admin")) return 0;
-
-        Map<String, Double> playerConfig = instance.getPlayerMain().getPlayerConfig(playerId);
-        if (playerConfig != null && playerConfig.containsKey("teleportation-delay")) {
-            return (int) Math.round(playerConfig.get("teleportation-delay"));
-        }
-
-        int n = p.getEffectivePermissions().stream()
-                .map(PermissionAttachmentInfo::getPermission)
-                .map(CPlayerMain.DELAY_PATTERN::matcher)
-                .filter(Matcher::find)
-                .mapToInt(matcher -> Integer.parseInt(matcher.group(1)))
-                .min().orElse(-1);
-
-        if (n == -1) {
-            Map<String, Map<String, Double>> groupsSettings = instance.getSettings().getGroupsSettings();
-            LinkedHashMap<String, String> groups = instance.getSettings().getGroupsValues();
-
-            n = (int) Math.round(groupsSettings.get("default").get("teleportation-delay"));
-            for (Map.Entry<String, String> entry : groups.entrySet()) {
-                String perm = entry.getValue();
-                if (perm != null && instance.getPlayerMain().checkPermPlayer(p, perm)) {
-                    n = Math.min(n, (int) Math.round(groupsSettings.get(entry.getKey()).get("teleportation-delay")));
-                }
-            }
-        }
-
-        return n;
+        return (int) limits().values[Limit.TELEPORTATION_DELAY.ordinal()];
     }
 
     public int getMaxMembers() {
-        Player p = this.player;
-        if (p == null) return 0;
-        if (p.hasPermission("scs.admin")) return 0;
-
-        Map<String, Double> playerConfig = instance.getPlayerMain().getPlayerConfig(playerId);
-        if (playerConfig != null && playerConfig.containsKey("max-members")) {
-            return (int) Math.round(playerConfig.get("max-members"));
-        }
-
-        int n = p.getEffectivePermissions().stream()
-                .map(PermissionAttachmentInfo::getPermission)
-                .map(CPlayerMain.MEMBERS_PATTERN::matcher)
-                .filter(Matcher::find)
-                .mapToInt(matcher -> Integer.parseInt(matcher.group(1)))
-                .max().orElse(-1);
-
-        if (n == -1) {
-            Map<String, Map<String, Double>> groupsSettings = instance.getSettings().getGroupsSettings();
-            LinkedHashMap<String, String> groups = instance.getSettings().getGroupsValues();
-
-            n = (int) Math.round(groupsSettings.get("default").get("max-members"));
-            for (Map.Entry<String, String> entry : groups.entrySet()) {
-                String perm = entry.getValue();
-                if (perm != null && instance.getPlayerMain().checkPermPlayer(p, perm)) {
-                    n = Math.max(n, (int) Math.round(groupsSettings.get(entry.getKey()).get("max-members")));
-                }
-            }
-        }
-
-        return n;
+        return (int) limits().values[Limit.MAX_MEMBERS.ordinal()];
     }
 
     public double getCost() {
-        Player p = this.player;
-        if (p == null) return 0;
-        if (p.hasPermission("scs.admin")) return 0;
-
-        Map<String, Double> playerConfig = instance.getPlayerMain().getPlayerConfig(playerId);
-        if (playerConfig != null && playerConfig.containsKey("claim-cost")) {
-            return playerConfig.get("claim-cost");
-        }
-
-        double n = p.getEffectivePermissions().stream()
-                .map(PermissionAttachmentInfo::getPermission)
-                .map(CPlayerMain.COST_PATTERN::matcher)
-                .filter(Matcher::find)
-                .mapToDouble(matcher -> Double.parseDouble(matcher.group(1)))
-                .min().orElse(-1);
-
-        if (n == -1) {
-            Map<String, Map<String, Double>> groupsSettings = instance.getSettings().getGroupsSettings();
-            LinkedHashMap<String, String> groups = instance.getSettings().getGroupsValues();
-
-            n = groupsSettings.get("default").get("claim-cost");
-            for (Map.Entry<String, String> entry : groups.entrySet()) {
-                String perm = entry.getValue();
-                if (perm != null && instance.getPlayerMain().checkPermPlayer(p, perm)) {
-                    n = Math.min(n, groupsSettings.get(entry.getKey()).get("claim-cost"));
-                }
-            }
-        }
-
-        return n;
+        return limits().values[Limit.CLAIM_COST.ordinal()];
     }
 
     public double getChunkCost() {
-        Player p = this.player;
-        if (p == null) return 0;
-        if (p.hasPermission("scs.admin")) return 0;
-
-        Map<String, Double> playerConfig = instance.getPlayerMain().getPlayerConfig(playerId);
-        if (playerConfig != null && playerConfig.containsKey("chunk-cost")) {
-            return playerConfig.get("chunk-cost");
-        }
-
-        double n = p.getEffectivePermissions().stream()
-                .map(PermissionAttachmentInfo::getPermission)
-                .map(CPlayerMain.CHUNK_COST_PATTERN::matcher)
-                .filter(Matcher::find)
-                .mapToDouble(matcher -> Double.parseDouble(matcher.group(1)))
-                .min().orElse(-1);
-
-        if (n == -1) {
-            Map<String, Map<String, Double>> groupsSettings = instance.getSettings().getGroupsSettings();
-            LinkedHashMap<String, String> groups = instance.getSettings().getGroupsValues();
-
-            n = groupsSettings.get("default").get("chunk-cost");
-            for (Map.Entry<String, String> entry : groups.entrySet()) {
-                String perm = entry.getValue();
-                if (perm != null && instance.getPlayerMain().checkPermPlayer(p, perm)) {
-                    n = Math.min(n, groupsSettings.get(entry.getKey()).get("chunk-cost"));
-                }
-            }
-        }
-
-        return n;
+        return limits().values[Limit.CHUNK_COST.ordinal()];
     }
 
     public double getMultiplier() {
-        Player p = this.player;
-        if (p == null) return 0;
-        if (p.hasPermission("scs.admin")) return 0;
-
-        Map<String, Double> playerConfig = instance.getPlayerMain().getPlayerConfig(playerId);
-        if (playerConfig != null && playerConfig.containsKey("claim-cost-multiplier")) {
-            return playerConfig.get("claim-cost-multiplier");
-        }
-
-        double n = p.getEffectivePermissions().stream()
-                .map(PermissionAttachmentInfo::getPermission)
-                .map(CPlayerMain.MULTIPLIER_PATTERN::matcher)
-                .filter(Matcher::find)
-                .mapToDouble(matcher -> Double.parseDouble(matcher.group(1)))
-                .min().orElse(-1);
-
-        if (n == -1) {
-            Map<String, Map<String, Double>> groupsSettings = instance.getSettings().getGroupsSettings();
-            LinkedHashMap<String, String> groups = instance.getSettings().getGroupsValues();
-
-            n = groupsSettings.get("default").get("claim-cost-multiplier");
-            for (Map.Entry<String, String> entry : groups.entrySet()) {
-                String perm = entry.getValue();
-                if (perm != null && instance.getPlayerMain().checkPermPlayer(p, perm)) {
-                    n = Math.min(n, groupsSettings.get(entry.getKey()).get("claim-cost-multiplier"));
-                }
-            }
-        }
-
-        return n;
+        return limits().values[Limit.CLAIM_COST_MULTIPLIER.ordinal()];
     }
 
     public double getChunkMultiplier() {
-        Player p = this.player;
-        if (p == null) return 0;
-        if (p.hasPermission("scs.admin")) return 0;
-
-        Map<String, Double> playerConfig = instance.getPlayerMain().getPlayerConfig(playerId);
-        if (playerConfig != null && playerConfig.containsKey("chunk-cost-multiplier")) {
-            return playerConfig.get("chunk-cost-multiplier");
-        }
-
-        double n = p.getEffectivePermissions().stream()
-                .map(PermissionAttachmentInfo::getPermission)
-                .map(CPlayerMain.CHUNK_MULTIPLIER_PATTERN::matcher)
-                .filter(Matcher::find)
-                .mapToDouble(matcher -> Double.parseDouble(matcher.group(1)))
-                .min().orElse(-1);
-
-        if (n == -1) {
-            Map<String, Map<String, Double>> groupsSettings = instance.getSettings().getGroupsSettings();
-            LinkedHashMap<String, String> groups = instance.getSettings().getGroupsValues();
-
-            n = groupsSettings.get("default").get("chunk-cost-multiplier");
-            for (Map.Entry<String, String> entry : groups.entrySet()) {
-                String perm = entry.getValue();
-                if (perm != null && instance.getPlayerMain().checkPermPlayer(p, perm)) {
-                    n = Math.min(n, groupsSettings.get(entry.getKey()).get("chunk-cost-multiplier"));
-                }
-            }
-        }
-
-        return n;
+        return limits().values[Limit.CHUNK_COST_MULTIPLIER.ordinal()];
     }
 
     public int getMaxChunksPerClaim() {
-        Player p = this.player;
-        if (p == null) return 0;
-        if (p.hasPermission("scs.admin")) return 0;
-
-        Map<String, Double> playerConfig = instance.getPlayerMain().getPlayerConfig(playerId);
-        if (playerConfig != null && playerConfig.containsKey("max-chunks-per-claim")) {
-            return (int) Math.round(playerConfig.get("max-chunks-per-claim"));
-        }
-
-        int n = p.getEffectivePermissions().stream()
-                .map(PermissionAttachmentInfo::getPermission)
-                .map(CPlayerMain.CHUNKS_PATTERN::matcher)
-                .filter(Matcher::find)
-                .mapToInt(matcher -> Integer.parseInt(matcher.group(1)))
-                .max().orElse(-1);
-
-        if (n == -1) {
-            Map<String, Map<String, Double>> groupsSettings = instance.getSettings().getGroupsSettings();
-            LinkedHashMap<String, String> groups = instance.getSettings().getGroupsValues();
-
-            n = (int) Math.round(groupsSettings.get("default").get("max-chunks-per-claim"));
-            for (Map.Entry<String, String> entry : groups.entrySet()) {
-                String perm = entry.getValue();
-                if (perm != null && instance.getPlayerMain().checkPermPlayer(p, perm)) {
-                    n = Math.max(n, (int) Math.round(groupsSettings.get(entry.getKey()).get("max-chunks-per-claim")));
-                }
-            }
-        }
-
-        return n;
+        return (int) limits().values[Limit.MAX_CHUNKS_PER_CLAIM.ordinal()];
     }
 
     public int getClaimDistance() {
-        Player p = this.player;
-        if (p == null) return 0;
-        if (p.hasPermission("scs.admin")) return 0;
+        return (int) limits().values[Limit.CLAIM_DISTANCE.ordinal()];
+    }
 
-        Map<String, Double> playerConfig = instance.getPlayerMain().getPlayerConfig(playerId);
-        if (playerConfig != null && playerConfig.containsKey("claim-distance")) {
-            return (int) Math.round(playerConfig.get("claim-distance"));
-        }
+    public int getMaxChunksTotal() {
+        return (int) limits().values[Limit.MAX_CHUNKS_TOTAL.ordinal()];
+    }
 
-        int n = p.getEffectivePermissions().stream()
-                .map(PermissionAttachmentInfo::getPermission)
-                .map(CPlayerMain.DISTANCE_PATTERN::matcher)
-                .filter(Matcher::find)
-                .mapToInt(matcher -> Integer.parseInt(matcher.group(1)))
-                .min().orElse(-1);
+    /**
+     * Checks if the player has the "scs.admin" permission, computed with the limits.
+     *
+     * @return True if the player is an admin
+     */
+    public boolean isAdmin() {
+        return limits().admin;
+    }
 
-        if (n == -1) {
-            Map<String, Map<String, Double>> groupsSettings = instance.getSettings().getGroupsSettings();
-            LinkedHashMap<String, String> groups = instance.getSettings().getGroupsValues();
+    /**
+     * Checks if the player has the "scs.bypass" (or "scs.admin") permission, computed with the limits.
+     *
+     * @return True if the player can bypass the protections
+     */
+    public boolean hasBypass() {
+        return limits().bypass;
+    }
 
-            n = (int) Math.round(groupsSettings.get("default").get("claim-distance"));
-            for (Map.Entry<String, String> entry : groups.entrySet()) {
-                String perm = entry.getValue();
-                if (perm != null && instance.getPlayerMain().checkPermPlayer(p, perm)) {
-                    n = Math.min(n, (int) Math.round(groupsSettings.get(entry.getKey()).get("claim-distance")));
-                }
-            }
-        }
+    /**
+     * Drops the computed flags and limits, they are computed again on the next read.
+     * Called when the permissions, the groups settings or the "players" settings change.
+     */
+    public void refreshPermissions() {
+        this.limits = null;
+    }
 
-        return n;
+    /**
+     * Gets the computed flags and limits, computing them if needed.
+     */
+    private Limits limits() {
+        Limits current = this.limits;
+        if (current == null) {
+            current = computeLimits();
+            this.limits = current;
+        }
+        return current;
     }
 
-    public int getMaxChunksTotal() {
+    /**
+     * Computes the flags and limits of the player. A limit comes from the "players" settings,
+     * else from the "scs.*" permissions, else from the groups of the player. The effective
+     * permissions are scanned once for all the limits.
+     */
+    private Limits computeLimits() {
         Player p = this.player;
-        if (p == null) return 0;
-        if (p.hasPermission("scs.admin")) return 0;
-
-        Map<String, Double> playerConfig = instance.getPlayerMain().getPlayerConfig(playerId);
-        if (playerConfig != null && playerConfig.containsKey("max-chunks-total")) {
-            return (int) Math.round(playerConfig.get("max-chunks-total"));
+        double[] values = new double[Limit.VALUES.length];
+        if (p == null) return new Limits(false, false, values);
+        if (p.hasPermission("scs.admin")) return new Limits(true, true, values);
+        boolean bypass = p.hasPermission("scs.bypass");
+
+        Arrays.fill(values, -1);
+        for (PermissionAttachmentInfo info : p.getEffectivePermissions()) {
+            String perm = info.getPermission();
+            if (!perm.contains("scs.")) continue;
+            for (Limit limit : Limit.VALUES) {
+                Matcher matcher = limit.pattern.matcher(perm);
+                if (!matcher.find()) continue;
+                double v = Double.parseDouble(matcher.group(1));
+                int i = limit.ordinal();
+                values[i] = values[i] == -1 ? v : limit.max ? Math.max(values[i], v) : Math.min(values[i], v);
+            }
         }
 
-        int n = p.getEffectivePermissions().stream()
-                .map(PermissionAttachmentInfo::getPermission)
-                .map(CPlayerMain.CHUNKS_TOTAL_PATTERN::matcher)
-                .filter(Matcher::find)
-                .mapToInt(matcher -> Integer.parseInt(matcher.group(1)))
-                .max().orElse(-1);
-
-        if (n == -1) {
-            Map<String, Map<String, Double>> groupsSettings = instance.getSettings().getGroupsSettings();
-            LinkedHashMap<String, String> groups = instance.getSettings().getGroupsValues();
+        Map<String, Double> playerConfig = instance.getPlayerMain().getPlayerConfig(playerId);
+        Map<String, Map<String, Double>> groupsSettings = instance.getSettings().getGroupsSettings();
+        LinkedHashMap<String, String> groups = instance.getSettings().getGroupsValues();
+        for (Limit limit : Limit.VALUES) {
+            int i = limit.ordinal();
+            if (playerConfig != null && playerConfig.containsKey(limit.key)) {
+                values[i] = limit.round(playerConfig.get(limit.key));
+                continue;
+            }
+            if (values[i] != -1) continue;
 
-            n = (int) Math.round(groupsSettings.get("default").get("max-chunks-total"));
+            double n = limit.round(groupsSettings.get("default").get(limit.key));
             for (Map.Entry<String, String> entry : groups.entrySet()) {
                 String perm = entry.getValue();
-                if (perm != null && instance.getPlayerMain().checkPermPlayer(p, perm)) {
-                    n = Math.max(n, (int) Math.round(groupsSettings.get(entry.getKey()).get("max-chunks-total")));
+                if (perm != null && p.hasPermission(perm)) {
+                    double v = limit.round(groupsSettings.get(entry.getKey()).get(limit.key));
+                    n = limit.max ? Math.max(n, v) : Math.min(n, v);
                 }
             }
+            values[i] = n;
         }
 
-        return n;
+        return new Limits(false, bypass, values);
     }
 
     // --------------------
@@ -660,7 +456,7 @@ public class CPlayer {
     public boolean canClaim() {
         Player p = this.player;
         if (p == null) return false;
-        if (p.hasPermission("scs.admin")) return true;
+        if (isAdmin()) return true;
 
         int maxClaims = getMaxClaims();
         return maxClaims == 0 || maxClaims > claimsCount;
@@ -669,7 +465,7 @@ public class CPlayer {
     public boolean canClaimX(int n) {
         Player p = this.player;
         if (p == null) return false;
-        if (p.hasPermission("scs.admin")) return true;
+        if (isAdmin()) return true;
 
         int maxClaims = getMaxClaims();
         return maxClaims == 0 || maxClaims > (claimsCount + n);
@@ -678,7 +474,7 @@ public class CPlayer {
     public boolean canClaimWithNumber(int n) {
         Player p = this.player;
         if (p == null) return false;
-        if (p.hasPermission("scs.admin")) return true;
+        if (isAdmin()) return true;
 
         int maxChunks = getMaxChunksPerClaim();
         return maxChunks == 0 || maxChunks >= n;
@@ -687,7 +483,7 @@ public class CPlayer {
     public boolean canClaimTotalWithNumber(int total) {
         Player p = this.player;
         if (p == null) return false;
-        if (p.hasPermission("scs.admin")) return true;
+        if (isAdmin()) return true;
 
         int maxChunks = getMaxChunksTotal();
         return maxChunks == 0 || maxChunks >= total;
@@ -696,7 +492,7 @@ public class CPlayer {
     public boolean canRadiusClaim(int r) {
         Player p = this.player;
         if (p == null) return false;
-        if (p.hasPermission("scs.admin")) return true;
+        if (isAdmin()) return true;
 
         int radius = getMaxRadiusClaims();
         return radius == 0 || radius >= r;
@@ -705,7 +501,7 @@ public class CPlayer {
     public Double getMultipliedCost() {
         Player p = this.player;
         if (p == null) return 0.0;
-        if (p.hasPermission("scs.admin")) return 0.0;
+        if (isAdmin()) return 0.0;
 
         double cost = getCost();
         double multiplier = getMultiplier();
@@ -716,7 +512,7 @@ public class CPlayer {
     public Double getChunkMultipliedCost(int nbChunks) {
         Player p = this.player;
         if (p == null) return 0.0;
-        if (p.hasPermission("scs.admin")) return 0.0;
+        if (isAdmin()) return 0.0;
 
         double cost = getChunkCost();
         double multiplier = getChunkMultiplier();
@@ -727,7 +523,7 @@ public class CPlayer {
     public Double getRadiusMultipliedCost(int r) {
         Player p = this.player;
         if (p == null) return 0.0;
-        if (p.hasPermission("scs.admin")) return 0.0;
+        if (isAdmin()) return 0.0;
 
         int n = claimsCount;
         double price = 0.0;
@@ -748,4 +544,59 @@ public class CPlayer {
     public void clearMapClaim() { mapClaims.clear(); }
     public void clearMapLoc() { mapLoc.clear(); }
     public void clearMapString() { mapString.clear(); }
+
+    // --------------------
+    // Limits
+    // --------------------
+
+    /**
+     * The limits computed from the permissions, with their setting key, permission pattern,
+     * and whether the highest (or the lowest) value wins.
+     */
+    private enum Limit {
+        MAX_CLAIMS("max-claims", CPlayerMain.CLAIM_PATTERN, true, true),
+        MAX_RADIUS_CLAIMS("max-radius-claims", CPlayerMain.RADIUS_PATTERN, true, true),
+        TELEPORTATION_DELAY("teleportation-delay", CPlayerMain.DELAY_PATTERN, false, true),
+        MAX_MEMBERS("max-members", CPlayerMain.MEMBERS_PATTERN, true, true),
+        CLAIM_COST("claim-cost", CPlayerMain.COST_PATTERN, false, false),
+        CHUNK_COST("chunk-cost", CPlayerMain.CHUNK_COST_PATTERN, false, false),
+        CLAIM_COST_MULTIPLIER("claim-cost-multiplier", CPlayerMain.MULTIPLIER_PATTERN, false, false),
+        CHUNK_COST_MULTIPLIER("chunk-cost-multiplier", CPlayerMain.CHUNK_MULTIPLIER_PATTERN, false, false),
+        MAX_CHUNKS_PER_CLAIM("max-chunks-per-claim", CPlayerMain.CHUNKS_PATTERN, true, true),
+        CLAIM_DISTANCE("claim-distance", CPlayerMain.DISTANCE_PATTERN, false, true),
+        MAX_CHUNKS_TOTAL("max-chunks-total", CPlayerMain.CHUNKS_TOTAL_PATTERN, true, true);
+
+        static final Limit[] VALUES = values();
+
+        final String key;
+        final Pattern pattern;
+        final boolean max;
+        final boolean integer;
+
+        Limit(String key, Pattern pattern, boolean max, boolean integer) {
+            this.key = key;
+            this.pattern = pattern;
+            this.max = max;
+            this.integer = integer;
+        }
+
+        double round(double value) {
+            return integer ? Math.round(value) : value;
+        }
+    }
+
+    /**
+     * The flags and limits of a player, by {@link Limit} ordinal.
+     */
+    private static final class Limits {
+        final boolean admin;
+        final boolean bypass;
+        final double[] values;
+
+        Limits(boolean admin, boolean bypass, double[] values) {
+            this.admin = admin;
+            this.bypass = bypass;
+            this.values = values;
+        }
+    }
 }
@@ -1,14 +1,18 @@
 package fr.xyness.SCS.Types;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import org.bukkit.Bukkit;
 import org.bukkit.Chunk;
 import org.bukkit.Location;
+import org.bukkit.World;
 import org.bukkit.entity.Player;
 
 /**
@@ -28,8 +32,11 @@ public class Claim {
 	/** The UUID of the owner */
 	private UUID uuid_owner;
 	
-    /** The chunks associated with this claim */
-    private Set<Chunk> chunks;
+    /** The UID of the world of this claim */
+    private UUID worldId;
+    
+    /** The chunks of this claim, as sorted packed coordinates (see {@link ClaimIndex#key(int, int)}) */
+    private volatile long[] chunks;
     
     /** The owner of the claim */
     private String owner;
@@ -49,6 +56,15 @@ public class Claim {
     /** Permissions associated with the claim */
     private Map<String,LinkedHashMap<String, Boolean>> permissions;
     
+    /** The permissions compiled by role (see {@link ClaimPermissions}) */
+    private volatile long[] permissionBits;
+    
+    /** The version of the claim, bumped by every change */
+    private final AtomicInteger version = new AtomicInteger();
+    
+    /** The border of the chunks, for the version it was computed from */
+    private volatile ClaimBorder border;
+    
     /** Whether the claim is for sale */
     private boolean sale;
     
@@ -68,7 +84,8 @@ public class Claim {
      * Main constructor initializing all fields.
      * 
      * @param uuid_owner The UUID of the owner
-     * @param chunks The chunks associated with this claim
+     * @param worldId The UID of the world of the claim
+     * @param chunks The packed coordinates of the chunks associated with this claim
      * @param owner The owner of the claim
      * @param members Members who have access to the claim
      * @param location Location of the claim
@@ -79,21 +96,94 @@ public class Claim {
      * @param price Price of the claim if for sale
      * @param bans Banned members from the claim
      */
-    public Claim(UUID uuid_owner, Set<Chunk> chunks, String owner, Set<UUID> members, Location location, String name, String description, Map<String,LinkedHashMap<String, Boolean>> permissions, boolean sale, long price, Set<UUID> bans, int id) {
+    public Claim(UUID uuid_owner, UUID worldId, long[] chunks, String owner, Set<UUID> members, Location location, String name, String description, Map<String,LinkedHashMap<String, Boolean>> permissions, boolean sale, long price, Set<UUID> bans, int id) {
     	this.uuid_owner = uuid_owner;
-    	this.chunks = chunks;
+    	this.worldId = worldId;
+    	this.chunks = normalize(chunks.clone());
         this.owner = owner;
         this.members = new HashSet<>(members);
         this.location = location;
         this.name = name;
         this.description = description;
         this.permissions = new HashMap<>(permissions);
+        compilePermissions();
         this.sale = sale;
         this.price = price;
         this.bans = new HashSet<>(bans);
         this.id = id;
     }
     
+    /**
+     * Constructor creating a claim from chunk objects.
+     * 
+     * @param uuid_owner The UUID of the owner
+     * @param chunks The chunks associated with this claim
+     * @param owner The owner of the claim
+     * @param members Members who have access to the claim
+     * @param location Location of the claim
+     * @param name Name of the claim
+     * @param description Description of the claim
+     * @param permissions Permissions associated with the claim
+     * @param sale Whether the claim is for sale
+     * @param price Price of the claim if for sale
+     * @param bans Banned members from the claim
+     */
+    public Claim(UUID uuid_owner, Set<Chunk> chunks, String owner, Set<UUID> members, Location location, String name, String description, Map<String,LinkedHashMap<String, Boolean>> permissions, boolean sale, long price, Set<UUID> bans, int id) {
+    	this(uuid_owner, worldOf(chunks, location), toKeys(chunks), owner, members, location, name, description, permissions, sale, price, bans, id);
+    }
+    
+    
+    // ********************
+    // *  Static Methods  *
+    // ********************
+    
+    
+    /**
+     * Packs chunk objects into coordinates.
+     * 
+     * @param chunks The chunks to pack
+     * @return The packed coordinates
+     */
+    private static long[] toKeys(Set<Chunk> chunks) {
+    	long[] keys = new long[chunks.size()];
+    	int i = 0;
+    	for (Chunk chunk : chunks) {
+    		if (i == keys.length) break;
+    		keys[i++] = ClaimIndex.key(chunk.getX(), chunk.getZ());
+    	}
+    	return i == keys.length ? keys : Arrays.copyOf(keys, i);
+    }
+    
+    /**
+     * Gets the world UID of a chunk set, or of the location if the set is empty.
+     * 
+     * @param chunks The chunks
+     * @param location The fallback location
+     * @return The world UID, or null if unknown
+     */
+    private static UUID worldOf(Set<Chunk> chunks, Location location) {
+    	for (Chunk chunk : chunks) {
+    		return chunk.getWorld().getUID();
+    	}
+    	return location != null && location.getWorld() != null ? location.getWorld().getUID() : null;
+    }
+    
+    /**
+     * Sorts and removes duplicates of packed coordinates, in place.
+     * 
+     * @param keys The packed coordinates
+     * @return The sorted distinct coordinates
+     */
+    private static long[] normalize(long[] keys) {
+    	if (keys.length < 2) return keys;
+    	Arrays.sort(keys);
+    	int size = 1;
+    	for (int i = 1; i < keys.length; i++) {
+    		if (keys[i] != keys[size - 1]) keys[size++] = keys[i];
+    	}
+    	return size == keys.length ? keys : Arrays.copyOf(keys, size);
+    }
+    
     
     // *********************
     // *  Others Methods   *
@@ -107,84 +197,99 @@ public class Claim {
      * 
      * @param id The new id
      */
-    public void setId(int id) { this.id = id; }
+    public void setId(int id) { this.id = id; touch(); }
     
     /**
      * Sets the UUID of the owner
      * 
      * @param uuid_owner The new UUID
      */
-    public void setUUID(UUID uuid_owner) { this.uuid_owner = uuid_owner; }
+    public void setUUID(UUID uuid_owner) { this.uuid_owner = uuid_owner; touch(); }
+    
+    /**
+     * Sets the chunks for this claim.
+     * 
+     * @param chunks The new chunks
+     */
+    public synchronized void setChunks(Set<Chunk> chunks) {
+    	if (!chunks.isEmpty()) this.worldId = worldOf(chunks, null);
+    	this.chunks = normalize(toKeys(chunks));
+    	touch();
+    }
     
     /**
-     * Sets the chunk for this claim.
+     * Sets the chunks for this claim.
      * 
-     * @param chunk The new chunk
+     * @param chunks The new packed chunk coordinates
      */
-    public void setChunks(Set<Chunk> chunks) { this.chunks = chunks; }
+    public synchronized void setChunks(long[] chunks) { this.chunks = normalize(chunks.clone()); touch(); }
     
     /**
      * Sets the owner of this claim.
      * 
      * @param owner The new owner
      */
-    public void setOwner(String owner) { this.owner = owner; }
+    public void setOwner(String owner) { this.owner = owner; touch(); }
     
     /**
      * Sets the members who have access to this claim.
      * 
      * @param members The new set of members
      */
-    public void setMembers(Set<UUID> members) { this.members = members; }
+    public void setMembers(Set<UUID> members) { this.members = members; touch(); }
     
     /**
      * Sets the location of this claim.
      * 
      * @param location The new location
      */
-    public void setLocation(Location location) { this.location = location; }
+    public void setLocation(Location location) { this.location = location; touch(); }
     
     /**
      * Sets the name of this claim.
      * 
      * @param name The new name
      */
-    public void setName(String name) { this.name = name; }
+    public void setName(String name) { this.name = name; touch(); }
     
     /**
      * Sets the description of this claim.
      * 
      * @param description The new description
      */
-    public void setDescription(String description) { this.description = description; }
+    public void setDescription(String description) { this.description = description; touch(); }
     
     /**
      * Sets the permissions associated with this claim.
      * 
      * @param permissions The new permissions
      */
-    public void setPermissions(Map<String,LinkedHashMap<String, Boolean>> permissions) { this.permissions = permissions; }
+    public void setPermissions(Map<String,LinkedHashMap<String, Boolean>> permissions) {
+    	this.permissions = permissions;
+    	compilePermissions();
+    	touch();
+    }
     
     /**
      * Sets whether this claim is for sale.
      * 
      * @param sale The new sale status
      */
-    public void setSale(boolean sale) { this.sale = sale; }
+    public void setSale(boolean sale) { this.sale = sale; touch(); }
     
     /**
      * Sets the price of this claim if for sale.
      * 
      * @param price The new price
      */
-    public void setPrice(long price) { this.price = price; }
+    public void setPrice(long price) { this.price = price; touch(); }
     
     /**
      * Sets the members who are banned from this claim.
      * 
      * @param bans The new set of banned members
      */
-    public void setBans(Set<UUID> bans) { this.bans = bans; }
+    public void setBans(Set<UUID> bans) { this.bans = bans; touch(); }
     
     // Getters
     
@@ -195,6 +300,29 @@ public class Claim {
      */
     public int getId() { return this.id; }
     
+    /**
+     * Gets the version of this claim, which changes with every modification.
+     * 
+     * @return The version
+     */
+    public int getVersion() { return this.version.get(); }
+    
+    /**
+     * Gets the border of the chunks of this claim, computed from their coordinates
+     * once by version of the claim.
+     * 
+     * @return The border
+     */
+    public ClaimBorder getBorder() {
+    	int current = getVersion();
+    	ClaimBorder result = this.border;
+    	if (result == null || result.getVersion() != current) {
+    		result = ClaimBorder.of(this.chunks, current);
+    		this.border = result;
+    	}
+    	return result;
+    }
+    
     /**
      * Gets the UUID of the owner
      * 
@@ -203,11 +331,83 @@ public class Claim {
     public UUID getUUID() { return this.uuid_owner; }
     
     /**
-     * Gets the chunk associated with this claim.
+     * Gets the UID of the world of this claim.
      * 
-     * @return The chunk
+     * @return The world UID
      */
-    public Set<Chunk> getChunks() { return this.chunks; }
+    public UUID getWorldId() { return this.worldId; }
+    
+    /**
+     * Gets the world of this claim.
+     * 
+     * @return The world, or null if it is not loaded
+     */
+    public World getWorld() { return this.worldId == null ? null : Bukkit.getWorld(this.worldId); }
+    
+    /**
+     * Gets the packed coordinates of the chunks of this claim, sorted.
+     * The returned array is shared and must not be modified.
+     * 
+     * @return The packed chunk coordinates
+     */
+    public long[] getChunkKeys() { return this.chunks; }
+    
+    /**
+     * Gets the number of chunks of this claim.
+     * 
+     * @return The number of chunks
+     */
+    public int getChunkCount() { return this.chunks.length; }
+    
+    /**
+     * Checks if this claim contains the chunk at the given coordinates.
+     * 
+     * @param chunkX The chunk X coordinate
+     * @param chunkZ The chunk Z coordinate
+     * @return True if the chunk is part of the claim
+     */
+    public boolean containsChunk(int chunkX, int chunkZ) {
+    	return Arrays.binarySearch(this.chunks, ClaimIndex.key(chunkX, chunkZ)) >= 0;
+    }
+    
+    /**
+     * Checks if this claim contains the given chunk.
+     * 
+     * @param chunk The chunk
+     * @return True if the chunk is part of the claim
+     */
+    public boolean containsChunk(Chunk chunk) {
+    	return chunk.getWorld().getUID().equals(this.worldId) && containsChunk(chunk.getX(), chunk.getZ());
+    }
+    
+    /**
+     * Checks if this claim contains the given location.
+     * 
+     * @param location The location
+     * @return True if the location is inside the claim
+     */
+    public boolean contains(Location location) {
+    	World world = location.getWorld();
+    	return world != null && world.getUID().equals(this.worldId) && containsChunk(location.getBlockX() >> 4, location.getBlockZ() >> 4);
+    }
+    
+    /**
+     * Gets the chunks associated with this claim.
+     * <p>
+     * Chunk objects are created on demand, which may load them. Prefer
+     * {@link #getChunkKeys()} when only the coordinates are needed.
+     * 
+     * @return A new set of the chunks, empty if the world is not loaded
+     */
+    public Set<Chunk> getChunks() {
+    	Set<Chunk> result = new CustomSet<>();
+    	World world = getWorld();
+    	if (world == null) return result;
+    	for (long key : this.chunks) {
+    		result.add(world.getChunkAt(ClaimIndex.keyX(key), ClaimIndex.keyZ(key)));
+    	}
+    	return result;
+    }
     
     /**
      * Gets the owner of this claim.
@@ -259,7 +459,26 @@ public class Claim {
      * @return The permission value
      */
     public boolean getPermission(String permission, String role) {
-    	return this.permissions.getOrDefault(role == null ? "natural" : role.toLowerCase(), new LinkedHashMap<>()).getOrDefault(permission, false);
+    	ClaimPermissions.Role r = ClaimPermissions.Role.of(role);
+    	if (r == null) {
+    		Map<String, Boolean> values = this.permissions.get(role.toLowerCase());
+    		return values != null && values.getOrDefault(permission, false);
+    	}
+    	int id = ClaimPermissions.find(permission);
+    	return id >= 0 && has(id, r);
+    }
+    
+    /**
+     * Checks a permission for a role, without allocating.
+     * 
+     * @param permission The id of the permission (see {@link ClaimPermissions#id(String)})
+     * @param role The role
+     * @return The permission value
+     */
+    public boolean has(int permission, ClaimPermissions.Role role) {
+    	if (permission < ClaimPermissions.MAX_BITS) return (permissionBits[role.ordinal()] & (1L << permission)) != 0;
+    	Map<String, Boolean> values = this.permissions.get(role.getKey());
+    	return values != null && values.getOrDefault(ClaimPermissions.name(permission), false);
     }
     
     /**
@@ -271,7 +490,8 @@ public class Claim {
      */
     public boolean getPermissionForPlayer(String permission, Player player) {
     	if (this.owner.equals(player.getName()) && !permission.equalsIgnoreCase("weather")) return true;
-    	return this.permissions.getOrDefault(isMember(player.getUniqueId()) ? "members" : "visitors", new LinkedHashMap<>()).getOrDefault(permission, false);
+    	int id = ClaimPermissions.find(permission);
+    	return id >= 0 && has(id, isMember(player.getUniqueId()) ? ClaimPermissions.Role.MEMBERS : ClaimPermissions.Role.VISITORS);
     }
     
     /**
@@ -304,7 +524,34 @@ public class Claim {
      * @param value The new permission value
      */
     public void updatePermission(String role, String permission, Boolean value) {
-    	this.permissions.getOrDefault(role == null ? "natural" : role, new LinkedHashMap<>()).put(permission, value);
+    	String key = role == null ? "natural" : role;
+    	// Copied, the maps of the roles can be shared with other claims
+    	LinkedHashMap<String, Boolean> values = new LinkedHashMap<>(this.permissions.getOrDefault(key, new LinkedHashMap<>()));
+    	values.put(permission, value);
+    	this.permissions.put(key, values);
+    	compilePermissions();
+    	touch();
+    }
+    
+    /**
+     * Bumps the version of this claim, so the decisions cached from it are dropped.
+     */
+    public void touch() { this.version.incrementAndGet(); }
+    
+    /**
+     * Compiles the permissions into one bitset by role.
+     */
+    private void compilePermissions() {
+    	long[] bits = new long[ClaimPermissions.Role.values().length];
+    	for (ClaimPermissions.Role role : ClaimPermissions.Role.values()) {
+    		Map<String, Boolean> values = this.permissions.get(role.getKey());
+    		if (values == null) continue;
+    		for (Map.Entry<String, Boolean> entry : values.entrySet()) {
+    			int id = ClaimPermissions.id(entry.getKey());
+    			if (id < ClaimPermissions.MAX_BITS && Boolean.TRUE.equals(entry.getValue())) bits[role.ordinal()] |= 1L << id;
+    		}
+    	}
+    	this.permissionBits = bits;
     }
     
     /**
@@ -312,46 +559,71 @@ public class Claim {
      * 
      * @param member The member to add
      */
-    public void addMember(UUID member) { this.members.add(member); }
+    public void addMember(UUID member) { this.members.add(member); touch(); }
     
     /**
      * Removes a member from the claim.
      * 
      * @param member The member to remove
      */
-    public void removeMember(UUID member) { this.members.remove(member); }
+    public void removeMember(UUID member) { this.members.remove(member); touch(); }
     
     /**
      * Adds a player to the banned list of this claim.
      * 
      * @param member The player to ban
      */
-    public void addBan(UUID ban) { this.bans.add(ban); }
+    public void addBan(UUID ban) { this.bans.add(ban); touch(); }
     
     /**
      * Removes a player from the banned list of this claim.
      * 
      * @param member The player to unban
      */
-    public void removeBan(UUID ban) { this.bans.remove(ban); }
+    public void removeBan(UUID ban) { this.bans.remove(ban); touch(); }
     
     /**
      * Adds a chunk to the claim.
      * 
      * @param chunk The chunk to add
      */
-    public void addChunk(Chunk chunk) { this.chunks.add(chunk); }
+    public void addChunk(Chunk chunk) { addChunks(new long[] { ClaimIndex.key(chunk.getX(), chunk.getZ()) }); }
     
     /**
      * Adds chunks to the claim.
      * 
      * @param chunks The chunks to add
      */
-    public void addChunks(Set<Chunk> chunks) { 
-        if (!(this.chunks instanceof HashSet)) {
-            this.chunks = new HashSet<>(this.chunks);
-        }
-    	this.chunks.addAll(chunks); 
+    public void addChunks(Set<Chunk> chunks) { addChunks(toKeys(chunks)); }
+    
+    /**
+     * Adds chunks to the claim.
+     * 
+     * @param keys The packed coordinates of the chunks to add
+     */
+    public synchronized void addChunks(long[] keys) {
+    	long[] current = this.chunks;
+    	long[] merged = Arrays.copyOf(current, current.length + keys.length);
+    	System.arraycopy(keys, 0, merged, current.length, keys.length);
+    	this.chunks = normalize(merged);
+    	touch();
+    }
+    
+    /**
+     * Removes a chunk from the claim.
+     * 
+     * @param chunkX The chunk X coordinate
+     * @param chunkZ The chunk Z coordinate
+     */
+    public synchronized void removeChunk(int chunkX, int chunkZ) {
+    	long[] current = this.chunks;
+    	int i = Arrays.binarySearch(current, ClaimIndex.key(chunkX, chunkZ));
+    	if (i < 0) return;
+    	long[] updated = new long[current.length - 1];
+    	System.arraycopy(current, 0, updated, 0, i);
+    	System.arraycopy(current, i + 1, updated, i, updated.length - i);
+    	this.chunks = updated;
+    	touch();
     }
     
     /**
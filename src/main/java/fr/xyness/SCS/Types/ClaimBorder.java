@@ -0,0 +1,214 @@
+package fr.xyness.SCS.Types;
+
+import java.util.Arrays;
+
+/**
+ * This class handles the border geometry of a set of chunks, as edge segments.
+ * <p>
+ * The geometry is computed from the packed chunk coordinates only (see {@link ClaimIndex#key(int, int)}),
+ * so no chunk is loaded: a chunk side is a border when the chunk next to it is not in the set, and the
+ * sides on the same line that touch each other are merged into one segment. A claim keeps its border
+ * for its current version (see {@link Claim#getBorder()}).
+ * <p>
+ * Immutable.
+ */
+public final class ClaimBorder {
+
+
+    // ***************
+    // *  Variables  *
+    // ***************
+
+
+    /** Space between two particles, in blocks */
+    public static final int STEP = 2;
+
+    /** Segments along the Z axis: fixed X, then Z from (inclusive), Z to (exclusive) */
+    private final int[] alongZ;
+
+    /** Segments along the X axis: fixed Z, then X from (inclusive), X to (exclusive) */
+    private final int[] alongX;
+
+    /** The version of the claim the border was computed from */
+    private final int version;
+
+
+    // ******************
+    // *  Constructors  *
+    // ******************
+
+
+    private ClaimBorder(int[] alongZ, int[] alongX, int version) {
+    	this.alongZ = alongZ;
+    	this.alongX = alongX;
+    	this.version = version;
+    }
+
+
+    // *************
+    // *  Methods  *
+    // *************
+
+
+    /**
+     * Gets the version of the claim the border was computed from.
+     *
+     * @return The version
+     */
+    public int getVersion() { return version; }
+
+    /**
+     * Gets the number of segments of the border.
+     *
+     * @return The number of segments
+     */
+    public int getSegmentCount() { return (alongZ.length + alongX.length) / 3; }
+
+    /**
+     * Gives the particle points of the border that are around a viewer, every {@link #STEP} blocks.
+     * Only the points at most {@code radius} blocks away from the viewer on X and Z, and at most
+     * {@code height} blocks above or below it, are given.
+     *
+     * @param x The X coordinate of the viewer
+     * @param y The Y coordinate of the viewer
+     * @param z The Z coordinate of the viewer
+     * @param radius The horizontal distance around the viewer
+     * @param height The vertical distance around the viewer
+     * @param minY The min height of the world (inclusive)
+     * @param maxY The max height of the world (exclusive)
+     * @param consumer The consumer of the points
+     */
+    public void forEachPoint(double x, double y, double z, int radius, int height, int minY, int maxY, PointConsumer consumer) {
+    	int viewerX = (int) Math.floor(x);
+    	int viewerZ = (int) Math.floor(z);
+    	int viewerY = (int) Math.floor(y);
+    	int yStart = align(Math.max(minY, viewerY - height), minY);
+    	int yEnd = Math.min(maxY - 1, viewerY + height);
+    	if (yStart > yEnd) return;
+    	for (int i = 0; i < alongZ.length; i += 3) {
+    		int fixed = alongZ[i];
+    		if (Math.abs(fixed - viewerX) > radius) continue;
+    		int from = align(Math.max(alongZ[i + 1], viewerZ - radius), alongZ[i + 1]);
+    		int to = Math.min(alongZ[i + 2], viewerZ + radius + 1);
+    		for (int py = yStart; py <= yEnd; py += STEP) {
+    			for (int pz = from; pz < to; pz += STEP) {
+    				consumer.accept(fixed, py, pz);
+    			}
+    		}
+    	}
+    	for (int i = 0; i < alongX.length; i += 3) {
+    		int fixed = alongX[i];
+    		if (Math.abs(fixed - viewerZ) > radius) continue;
+    		int from = align(Math.max(alongX[i + 1], viewerX - radius), alongX[i + 1]);
+    		int to = Math.min(alongX[i + 2], viewerX + radius + 1);
+    		for (int py = yStart; py <= yEnd; py += STEP) {
+    			for (int px = from; px < to; px += STEP) {
+    				consumer.accept(px, py, fixed);
+    			}
+    		}
+    	}
+    }
+
+
+    // ********************
+    // *  Static Methods  *
+    // ********************
+
+
+    /**
+     * Computes the border of a set of chunks.
+     *
+     * @param keys The packed coordinates of the chunks, in any order
+     * @param version The version of the claim they come from
+     * @return The border
+     */
+    public static ClaimBorder of(long[] keys, int version) {
+    	long[] sorted = keys.clone();
+    	Arrays.sort(sorted);
+    	long[] sidesZ = new long[sorted.length * 2];
+    	long[] sidesX = new long[sorted.length * 2];
+    	int countZ = 0;
+    	int countX = 0;
+    	for (long key : sorted) {
+    		int chunkX = ClaimIndex.keyX(key);
+    		int chunkZ = ClaimIndex.keyZ(key);
+    		if (!contains(sorted, chunkX - 1, chunkZ)) sidesZ[countZ++] = side(chunkX << 4, chunkZ << 4);
+    		if (!contains(sorted, chunkX + 1, chunkZ)) sidesZ[countZ++] = side((chunkX + 1) << 4, chunkZ << 4);
+    		if (!contains(sorted, chunkX, chunkZ - 1)) sidesX[countX++] = side(chunkZ << 4, chunkX << 4);
+    		if (!contains(sorted, chunkX, chunkZ + 1)) sidesX[countX++] = side((chunkZ + 1) << 4, chunkX << 4);
+    	}
+    	return new ClaimBorder(merge(sidesZ, countZ), merge(sidesX, countX), version);
+    }
+
+    /**
+     * Merges the chunk sides that touch each other on the same line into segments.
+     *
+     * @param sides The sides, packed with {@link #side(int, int)}
+     * @param count The number of sides
+     * @return The segments, as (fixed, from, to) triples
+     */
+    private static int[] merge(long[] sides, int count) {
+    	Arrays.sort(sides, 0, count);
+    	int[] segments = new int[count * 3];
+    	int size = 0;
+    	for (int i = 0; i < count; i++) {
+    		int fixed = (int) (sides[i] >> 32);
+    		int from = (int) sides[i] ^ Integer.MIN_VALUE;
+    		if (size > 0 && segments[size - 3] == fixed && segments[size - 1] == from) {
+    			segments[size - 1] = from + 16;
+    			continue;
+    		}
+    		segments[size++] = fixed;
+    		segments[size++] = from;
+    		segments[size++] = from + 16;
+    	}
+    	return Arrays.copyOf(segments, size);
+    }
+
+    /**
+     * Packs a chunk side of 16 blocks, so the sides sort by line, then by start on the line.
+     *
+     * @param fixed The coordinate of the line
+     * @param from The start of the side on the line
+     * @return The packed side
+     */
+    private static long side(int fixed, int from) {
+    	return ((long) fixed << 32) | ((from ^ Integer.MIN_VALUE) & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Checks if sorted packed coordinates contain a chunk.
+     */
+    private static boolean contains(long[] sorted, int chunkX, int chunkZ) {
+    	return Arrays.binarySearch(sorted, ClaimIndex.key(chunkX, chunkZ)) >= 0;
+    }
+
+    /**
+     * Aligns a coordinate on the particle grid starting at an origin, rounding up.
+     */
+    private static int align(int coordinate, int origin) {
+    	return coordinate + Math.floorMod(origin - coordinate, STEP);
+    }
+
+
+    // *******************
+    // *  Inner classes  *
+    // *******************
+
+
+    /**
+     * A consumer of the particle points of a border.
+     */
+    @FunctionalInterface
+    public interface PointConsumer {
+
+    	/**
+    	 * Accepts a point.
+    	 *
+    	 * @param x The X coordinate
+    	 * @param y The Y coordinate
+    	 * @param z The Z coordinate
+    	 */
+    	void accept(double x, double y, double z);
+    }
+}
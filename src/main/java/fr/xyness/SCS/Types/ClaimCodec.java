@@ -0,0 +1,304 @@
+package fr.xyness.SCS.Types;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.ObjectInputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * This class handles the storage encoding of the chunks, members and bans columns.
+ * <p>
+ * Encoded values are {@code "v1:"} followed by a Base64 payload:
+ * <ul>
+ * <li>chunks: a varint count, then the sorted chunk coordinates as zig-zag
+ * varint deltas from the previous chunk ({@code dx}, {@code dz});</li>
+ * <li>uuids: a varint count, then 16 raw bytes per uuid.</li>
+ * </ul>
+ * Values without the prefix are in the legacy format (Base64 of an
+ * {@link ObjectInputStream} for chunks, {@code ;}-joined strings for uuids)
+ * and are still readable. An empty set of uuids is always stored as an empty string.
+ */
+public final class ClaimCodec {
+
+
+    // ***************
+    // *  Variables  *
+    // ***************
+
+
+    /** Current version of the format */
+    public static final int VERSION = 1;
+
+    /** Prefix of the encoded values */
+    public static final String PREFIX = "v" + VERSION + ":";
+
+
+    // ******************
+    // *  Constructors  *
+    // ******************
+
+
+    private ClaimCodec() {}
+
+
+    // ********************
+    // *  Static Methods  *
+    // ********************
+
+
+    /**
+     * Checks if a stored value uses the current format.
+     *
+     * @param data The stored value
+     * @return True if the value is encoded
+     */
+    public static boolean isEncoded(String data) {
+    	return data != null && data.startsWith(PREFIX);
+    }
+
+    /**
+     * Encodes packed chunk coordinates.
+     *
+     * @param keys The packed chunk coordinates (see {@link ClaimIndex#key(int, int)})
+     * @return The encoded value
+     */
+    public static String encodeChunks(long[] keys) {
+    	long[] sorted = keys;
+    	for (int i = 1; i < keys.length; i++) {
+    		if (keys[i - 1] > keys[i]) {
+    			sorted = keys.clone();
+    			Arrays.sort(sorted);
+    			break;
+    		}
+    	}
+    	Writer writer = new Writer(5 + sorted.length * 4);
+    	writer.writeVarInt(sorted.length);
+    	int prevX = 0;
+    	int prevZ = 0;
+    	for (long key : sorted) {
+    		int x = ClaimIndex.keyX(key);
+    		int z = ClaimIndex.keyZ(key);
+    		writer.writeVarInt(zigZag(x - prevX));
+    		writer.writeVarInt(zigZag(z - prevZ));
+    		prevX = x;
+    		prevZ = z;
+    	}
+    	return PREFIX + Base64.getEncoder().encodeToString(writer.toByteArray());
+    }
+
+    /**
+     * Decodes packed chunk coordinates, in the current or the legacy format.
+     *
+     * @param data The stored value
+     * @return The packed chunk coordinates
+     * @throws IllegalArgumentException If the value is corrupted
+     */
+    public static long[] decodeChunks(String data) {
+    	if (data == null || data.isBlank()) return new long[0];
+    	if (!isEncoded(data)) return decodeLegacyChunks(data);
+    	Reader reader = new Reader(Base64.getDecoder().decode(data.substring(PREFIX.length())));
+    	int count = reader.readVarInt();
+    	if (count < 0 || count > reader.remaining()) throw new IllegalArgumentException("Invalid chunk count: " + count);
+    	long[] keys = new long[count];
+    	int x = 0;
+    	int z = 0;
+    	for (int i = 0; i < count; i++) {
+    		x += unZigZag(reader.readVarInt());
+    		z += unZigZag(reader.readVarInt());
+    		keys[i] = ClaimIndex.key(x, z);
+    	}
+    	return keys;
+    }
+
+    /**
+     * Decodes packed chunk coordinates like {@link #decodeChunks(String)}, without throwing.
+     *
+     * @param data The stored value
+     * @return The packed chunk coordinates, or null if the value is corrupted
+     */
+    public static long[] decodeChunksOrNull(String data) {
+    	try {
+    		return decodeChunks(data);
+    	} catch (IllegalArgumentException e) {
+    		return null;
+    	}
+    }
+
+    /**
+     * Decodes chunk coordinates written by the legacy {@link java.io.ObjectOutputStream} format.
+     */
+    private static long[] decodeLegacyChunks(String data) {
+    	byte[] bytes = Base64.getDecoder().decode(data);
+    	long[] keys = new long[bytes.length / 8];
+    	int size = 0;
+    	try (ObjectInputStream objectInputStream = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+    		while (true) {
+    			try {
+    				int x = objectInputStream.readInt();
+    				int z = objectInputStream.readInt();
+    				if (size == keys.length) keys = Arrays.copyOf(keys, Math.max(8, size << 1));
+    				keys[size++] = ClaimIndex.key(x, z);
+    			} catch (EOFException e) {
+    				break;
+    			}
+    		}
+    	} catch (Exception e) {
+    		throw new IllegalArgumentException("Invalid legacy chunks data", e);
+    	}
+    	return size == keys.length ? keys : Arrays.copyOf(keys, size);
+    }
+
+    /**
+     * Encodes a collection of uuids.
+     *
+     * @param uuids The uuids
+     * @return The encoded value, or an empty string if there is no uuid
+     */
+    public static String encodeUuids(Collection<UUID> uuids) {
+    	if (uuids.isEmpty()) return "";
+    	Writer writer = new Writer(5 + uuids.size() * 16);
+    	writer.writeVarInt(uuids.size());
+    	for (UUID uuid : uuids) {
+    		writer.writeLong(uuid.getMostSignificantBits());
+    		writer.writeLong(uuid.getLeastSignificantBits());
+    	}
+    	return PREFIX + Base64.getEncoder().encodeToString(writer.toByteArray());
+    }
+
+    /**
+     * Decodes uuids stored in the current format. Legacy values must be
+     * parsed by the caller, as invalid legacy entries need their own handling.
+     *
+     * @param data The stored value
+     * @param target The collection receiving the uuids
+     * @throws IllegalArgumentException If the value is not encoded or is corrupted
+     */
+    public static void decodeUuids(String data, Collection<UUID> target) {
+    	if (!isEncoded(data)) throw new IllegalArgumentException("Value is not encoded");
+    	Reader reader = new Reader(Base64.getDecoder().decode(data.substring(PREFIX.length())));
+    	int count = reader.readVarInt();
+    	if (count < 0 || count * 16L != reader.remaining()) throw new IllegalArgumentException("Invalid uuid count: " + count);
+    	for (int i = 0; i < count; i++) {
+    		target.add(new UUID(reader.readLong(), reader.readLong()));
+    	}
+    }
+
+    /**
+     * Decodes uuids in the current or the legacy format, skipping invalid legacy entries.
+     *
+     * @param data The stored value
+     * @param target The collection receiving the uuids
+     * @return The legacy entries that could not be parsed
+     */
+    public static List<String> decodeUuidsLenient(String data, Collection<UUID> target) {
+    	if (data == null || data.isBlank()) return List.of();
+    	if (isEncoded(data)) {
+    		decodeUuids(data, target);
+    		return List.of();
+    	}
+    	List<String> invalid = null;
+    	for (String s : data.split(";")) {
+    		if (s.isBlank()) continue;
+    		try {
+    			target.add(UUID.fromString(s));
+    		} catch (IllegalArgumentException e) {
+    			if (invalid == null) invalid = new ArrayList<>();
+    			invalid.add(s);
+    		}
+    	}
+    	return invalid == null ? List.of() : invalid;
+    }
+
+    private static int zigZag(int n) {
+    	return (n << 1) ^ (n >> 31);
+    }
+
+    private static int unZigZag(int n) {
+    	return (n >>> 1) ^ -(n & 1);
+    }
+
+
+    // *******************
+    // *  Inner classes  *
+    // *******************
+
+
+    /**
+     * Growable byte buffer.
+     */
+    private static final class Writer {
+
+    	private byte[] buf;
+    	private int pos;
+
+    	Writer(int capacity) {
+    		this.buf = new byte[Math.max(16, capacity)];
+    	}
+
+    	private void ensure(int n) {
+    		if (pos + n > buf.length) buf = Arrays.copyOf(buf, Math.max(buf.length << 1, pos + n));
+    	}
+
+    	void writeVarInt(int value) {
+    		ensure(5);
+    		while ((value & ~0x7F) != 0) {
+    			buf[pos++] = (byte) ((value & 0x7F) | 0x80);
+    			value >>>= 7;
+    		}
+    		buf[pos++] = (byte) value;
+    	}
+
+    	void writeLong(long value) {
+    		ensure(8);
+    		for (int shift = 56; shift >= 0; shift -= 8) {
+    			buf[pos++] = (byte) (value >>> shift);
+    		}
+    	}
+
+    	byte[] toByteArray() {
+    		return Arrays.copyOf(buf, pos);
+    	}
+    }
+
+    /**
+     * Cursor over a byte array.
+     */
+    private static final class Reader {
+
+    	private final byte[] buf;
+    	private int pos;
+
+    	Reader(byte[] buf) {
+    		this.buf = buf;
+    	}
+
+    	int remaining() {
+    		return buf.length - pos;
+    	}
+
+    	int readVarInt() {
+    		int value = 0;
+    		for (int shift = 0; shift < 35; shift += 7) {
+    			if (pos >= buf.length) throw new IllegalArgumentException("Truncated value");
+    			byte b = buf[pos++];
+    			value |= (b & 0x7F) << shift;
+    			if ((b & 0x80) == 0) return value;
+    		}
+    		throw new IllegalArgumentException("Malformed varint");
+    	}
+
+    	long readLong() {
+    		if (remaining() < 8) throw new IllegalArgumentException("Truncated value");
+    		long value = 0;
+    		for (int i = 0; i < 8; i++) {
+    			value = (value << 8) | (buf[pos++] & 0xFF);
+    		}
+    		return value;
+    	}
+    }
+}
@@ -0,0 +1,406 @@
+package fr.xyness.SCS.Types;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Predicate;
+
+/**
+ * This class handles the claim index of a single world.
+ * <p>
+ * Chunk coordinates are packed into a single {@code long} key
+ * ({@code x << 32 | z}) and stored in a primitive open-addressing table,
+ * so lookups never allocate nor hash a {@link org.bukkit.Chunk} object.
+ * Readers use an optimistic {@link StampedLock} read, writers are exclusive.
+ */
+public class ClaimIndex {
+
+
+    // ***************
+    // *  Variables  *
+    // ***************
+
+
+    /** Initial capacity of the table (must be a power of two) */
+    private static final int INITIAL_CAPACITY = 64;
+
+    /** Packed chunk keys */
+    private long[] keys;
+
+    /** Claims associated with the keys, null marks a free slot */
+    private Claim[] values;
+
+    /** Number of used slots */
+    private int size;
+
+    /** Presence bitmaps of the indexed chunks */
+    private final ClaimPresence presence = new ClaimPresence();
+
+    /** Lock guarding the table */
+    private final StampedLock lock = new StampedLock();
+
+    /** Number of modifications of the table, so the views built from it know when they are stale */
+    private volatile int modCount;
+
+
+    // ******************
+    // *  Constructors  *
+    // ******************
+
+
+    /**
+     * Main constructor creating an empty index.
+     */
+    public ClaimIndex() {
+    	this.keys = new long[INITIAL_CAPACITY];
+    	this.values = new Claim[INITIAL_CAPACITY];
+    }
+
+
+    // ********************
+    // *  Static Methods  *
+    // ********************
+
+
+    /**
+     * Packs chunk coordinates into a single key.
+     *
+     * @param chunkX The chunk X coordinate
+     * @param chunkZ The chunk Z coordinate
+     * @return The packed key
+     */
+    public static long key(int chunkX, int chunkZ) {
+    	return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Gets the chunk X coordinate of a packed key.
+     *
+     * @param key The packed key
+     * @return The chunk X coordinate
+     */
+    public static int keyX(long key) {
+    	return (int) (key >> 32);
+    }
+
+    /**
+     * Gets the chunk Z coordinate of a packed key.
+     *
+     * @param key The packed key
+     * @return The chunk Z coordinate
+     */
+    public static int keyZ(long key) {
+    	return (int) key;
+    }
+
+    /**
+     * Spreads a key over the table.
+     *
+     * @param key The packed key
+     * @param mask The table mask
+     * @return The home slot of the key
+     */
+    private static int slot(long key, int mask) {
+    	long h = key * 0x9E3779B97F4A7C15L;
+    	return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+
+    // *************
+    // *  Methods  *
+    // *************
+
+
+    /**
+     * Gets the claim at the given chunk coordinates.
+     *
+     * @param chunkX The chunk X coordinate
+     * @param chunkZ The chunk Z coordinate
+     * @return The claim, or null if the chunk is not claimed
+     */
+    public Claim get(int chunkX, int chunkZ) {
+    	long key = key(chunkX, chunkZ);
+    	long stamp = lock.tryOptimisticRead();
+    	if (stamp != 0L) {
+    		Claim claim = find(keys, values, key);
+    		if (lock.validate(stamp)) return claim;
+    	}
+    	stamp = lock.readLock();
+    	try {
+    		return find(keys, values, key);
+    	} finally {
+    		lock.unlockRead(stamp);
+    	}
+    }
+
+    /**
+     * Checks if the given chunk coordinates are claimed.
+     *
+     * @param chunkX The chunk X coordinate
+     * @param chunkZ The chunk Z coordinate
+     * @return True if the chunk is claimed
+     */
+    public boolean contains(int chunkX, int chunkZ) {
+    	return get(chunkX, chunkZ) != null;
+    }
+
+    /**
+     * Checks, from the presence bitmaps only, if the given chunk coordinates are claimed.
+     * Cheaper than {@link #contains(int, int)} when the region of the chunk is not claimed.
+     *
+     * @param chunkX The chunk X coordinate
+     * @param chunkZ The chunk Z coordinate
+     * @return True if the chunk is claimed
+     */
+    public boolean isClaimed(int chunkX, int chunkZ) {
+    	long stamp = lock.tryOptimisticRead();
+    	if (stamp != 0L) {
+    		boolean claimed = presence.isChunkClaimed(chunkX, chunkZ);
+    		if (lock.validate(stamp)) return claimed;
+    	}
+    	stamp = lock.readLock();
+    	try {
+    		return presence.isChunkClaimed(chunkX, chunkZ);
+    	} finally {
+    		lock.unlockRead(stamp);
+    	}
+    }
+
+    /**
+     * Probes the table for a key. Bounded so an inconsistent optimistic
+     * read can never spin forever.
+     */
+    private static Claim find(long[] k, Claim[] v, long key) {
+    	int length = k.length;
+    	if (length != v.length) return null;
+    	int mask = length - 1;
+    	int i = slot(key, mask);
+    	for (int probes = 0; probes < length; probes++) {
+    		Claim claim = v[i];
+    		if (claim == null) return null;
+    		if (k[i] == key) return claim;
+    		i = (i + 1) & mask;
+    	}
+    	return null;
+    }
+
+    /**
+     * Associates a claim with the given chunk coordinates.
+     *
+     * @param chunkX The chunk X coordinate
+     * @param chunkZ The chunk Z coordinate
+     * @param claim The claim (not null)
+     * @return The previous claim, or null if there was none
+     */
+    public Claim put(int chunkX, int chunkZ, Claim claim) {
+    	if (claim == null) throw new NullPointerException("claim");
+    	long key = key(chunkX, chunkZ);
+    	long stamp = lock.writeLock();
+    	try {
+    		if ((size + 1) * 2 > keys.length) resize(keys.length << 1);
+    		int mask = keys.length - 1;
+    		int i = slot(key, mask);
+    		while (values[i] != null) {
+    			if (keys[i] == key) {
+    				Claim previous = values[i];
+    				values[i] = claim;
+    				modCount++;
+    				return previous;
+    			}
+    			i = (i + 1) & mask;
+    		}
+    		keys[i] = key;
+    		values[i] = claim;
+    		size++;
+    		presence.add(chunkX, chunkZ);
+    		modCount++;
+    		return null;
+    	} finally {
+    		lock.unlockWrite(stamp);
+    	}
+    }
+
+    /**
+     * Removes the claim associated with the given chunk coordinates.
+     *
+     * @param chunkX The chunk X coordinate
+     * @param chunkZ The chunk Z coordinate
+     * @return The removed claim, or null if there was none
+     */
+    public Claim remove(int chunkX, int chunkZ) {
+    	long key = key(chunkX, chunkZ);
+    	long stamp = lock.writeLock();
+    	try {
+    		int mask = keys.length - 1;
+    		int i = slot(key, mask);
+    		while (values[i] != null) {
+    			if (keys[i] == key) {
+    				Claim previous = values[i];
+    				deleteSlot(i, mask);
+    				size--;
+    				presence.remove(chunkX, chunkZ);
+    				modCount++;
+    				return previous;
+    			}
+    			i = (i + 1) & mask;
+    		}
+    		return null;
+    	} finally {
+    		lock.unlockWrite(stamp);
+    	}
+    }
+
+    /**
+     * Frees a slot and shifts back the following entries of the cluster,
+     * so the table never needs tombstones.
+     */
+    private void deleteSlot(int free, int mask) {
+    	values[free] = null;
+    	int j = free;
+    	while (true) {
+    		j = (j + 1) & mask;
+    		if (values[j] == null) return;
+    		int home = slot(keys[j], mask);
+    		boolean movable = free <= j ? (home <= free || home > j) : (home <= free && home > j);
+    		if (movable) {
+    			keys[free] = keys[j];
+    			values[free] = values[j];
+    			values[j] = null;
+    			free = j;
+    		}
+    	}
+    }
+
+    /**
+     * Rehashes the table into a new capacity.
+     */
+    private void resize(int capacity) {
+    	long[] oldKeys = keys;
+    	Claim[] oldValues = values;
+    	long[] newKeys = new long[capacity];
+    	Claim[] newValues = new Claim[capacity];
+    	int mask = capacity - 1;
+    	for (int i = 0; i < oldKeys.length; i++) {
+    		Claim claim = oldValues[i];
+    		if (claim == null) continue;
+    		int j = slot(oldKeys[i], mask);
+    		while (newValues[j] != null) j = (j + 1) & mask;
+    		newKeys[j] = oldKeys[i];
+    		newValues[j] = claim;
+    	}
+    	keys = newKeys;
+    	values = newValues;
+    }
+
+    /**
+     * Checks if the claim covers at least one chunk of this index.
+     *
+     * @param claim The claim to check
+     * @return True if the claim is indexed here
+     */
+    public boolean containsClaim(Claim claim) {
+    	long stamp = lock.readLock();
+    	try {
+    		for (Claim c : values) {
+    			if (c == claim) return true;
+    		}
+    		return false;
+    	} finally {
+    		lock.unlockRead(stamp);
+    	}
+    }
+
+    /**
+     * Gets a snapshot of the distinct claims of this index.
+     *
+     * @return The set of claims
+     */
+    public Set<Claim> getClaims() {
+    	Set<Claim> claims = Collections.newSetFromMap(new IdentityHashMap<>());
+    	long stamp = lock.readLock();
+    	try {
+    		for (Claim c : values) {
+    			if (c != null) claims.add(c);
+    		}
+    	} finally {
+    		lock.unlockRead(stamp);
+    	}
+    	return claims;
+    }
+
+    /**
+     * Checks if any chunk in the square of the given radius around the center
+     * is claimed by a claim matching the filter.
+     *
+     * @param centerX The center chunk X coordinate
+     * @param centerZ The center chunk Z coordinate
+     * @param radius The radius in chunks
+     * @param filter The claim filter
+     * @return True if a matching claim was found
+     */
+    public boolean anyInRadius(int centerX, int centerZ, int radius, Predicate<Claim> filter) {
+    	long area = (2L * radius + 1) * (2L * radius + 1);
+    	long stamp = lock.readLock();
+    	try {
+    		if (area <= size) {
+    			for (int x = centerX - radius; x <= centerX + radius; x++) {
+    				for (int z = centerZ - radius; z <= centerZ + radius; z++) {
+    					Claim claim = find(keys, values, key(x, z));
+    					if (claim != null && filter.test(claim)) return true;
+    				}
+    			}
+    			return false;
+    		}
+    		for (int i = 0; i < values.length; i++) {
+    			Claim claim = values[i];
+    			if (claim == null) continue;
+    			long k = keys[i];
+    			if (Math.abs(keyX(k) - centerX) <= radius && Math.abs(keyZ(k) - centerZ) <= radius && filter.test(claim)) return true;
+    		}
+    		return false;
+    	} finally {
+    		lock.unlockRead(stamp);
+    	}
+    }
+
+    /**
+     * Gets the number of modifications of the index. It changes every time a chunk
+     * is associated with another claim, or removed.
+     *
+     * @return The number of modifications
+     */
+    public int getModCount() {
+    	return modCount;
+    }
+
+    /**
+     * Gets the number of indexed chunks.
+     *
+     * @return The number of chunks
+     */
+    public int size() {
+    	long stamp = lock.readLock();
+    	try {
+    		return size;
+    	} finally {
+    		lock.unlockRead(stamp);
+    	}
+    }
+
+    /**
+     * Removes every entry of the index.
+     */
+    public void clear() {
+    	long stamp = lock.writeLock();
+    	try {
+    		keys = new long[INITIAL_CAPACITY];
+    		values = new Claim[INITIAL_CAPACITY];
+    		size = 0;
+    		presence.clear();
+    		modCount++;
+    	} finally {
+    		lock.unlockWrite(stamp);
+    	}
+    }
+}
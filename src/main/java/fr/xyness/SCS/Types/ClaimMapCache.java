@@ -0,0 +1,191 @@
+package fr.xyness.SCS.Types;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * This class handles the claims map cells cached for a viewer.
+ * <p>
+ * The cells are the claims of a square of chunks around the center of the map, in world
+ * coordinates, resolved lazily from the {@link ClaimIndex} of the world (no chunk is loaded).
+ * When the center moves, the cells of the overlap are kept, so moving by one chunk only resolves
+ * the new row or column. Any change of the index (claim, unclaim, merge..) makes every cell stale.
+ * The relation of the viewer with each claim is kept with the version of the claim.
+ * <p>
+ * Not thread-safe: the map renders of a viewer are synchronized on its cache.
+ */
+public final class ClaimMapCache {
+
+
+    // ***************
+    // *  Variables  *
+    // ***************
+
+
+    /** Number of chunks between the center and the sides of the square */
+    public static final int RADIUS = 10;
+
+    /** Number of chunks by side of the square */
+    private static final int SIZE = RADIUS * 2 + 1;
+
+    /** Number of relations kept before the table is cleared */
+    private static final int MAX_RELATIONS = 256;
+
+    /** The claims of the cells, null for the wilderness */
+    private Claim[] cells = new Claim[SIZE * SIZE];
+
+    /** Whether the cells are resolved */
+    private boolean[] known = new boolean[SIZE * SIZE];
+
+    /** Spare buffers, swapped with the cells when the square moves */
+    private Claim[] spareCells = new Claim[SIZE * SIZE];
+    private boolean[] spareKnown = new boolean[SIZE * SIZE];
+
+    /** The index the cells come from, null if the world has no claims */
+    private ClaimIndex index;
+
+    /** The number of modifications of the index when the cells were resolved */
+    private int modCount;
+
+    /** The center of the square */
+    private int centerX;
+    private int centerZ;
+
+    /** Whether the square has been placed */
+    private boolean placed;
+
+    /** The relations of the viewer with the claims */
+    private final Map<Claim, Relation> relations = new HashMap<>();
+
+
+    // *************
+    // *  Methods  *
+    // *************
+
+
+    /**
+     * Moves the square to a new center, keeping the cells still inside it if the index has not changed.
+     *
+     * @param index The index of the world of the map, null if the world has no claims
+     * @param centerX The X coordinate of the center chunk
+     * @param centerZ The Z coordinate of the center chunk
+     */
+    public void moveTo(ClaimIndex index, int centerX, int centerZ) {
+    	int mod = index == null ? 0 : index.getModCount();
+    	if (index != this.index) relations.clear();
+    	if (!placed || index != this.index || mod != modCount) {
+    		Arrays.fill(known, false);
+    	} else if (centerX != this.centerX || centerZ != this.centerZ) {
+    		shift(centerX - this.centerX, centerZ - this.centerZ);
+    	}
+    	this.index = index;
+    	this.modCount = mod;
+    	this.centerX = centerX;
+    	this.centerZ = centerZ;
+    	this.placed = true;
+    }
+
+    /**
+     * Gets the claim of a chunk, resolving it if needed.
+     *
+     * @param chunkX The chunk X coordinate
+     * @param chunkZ The chunk Z coordinate
+     * @return The claim, null for the wilderness
+     */
+    public Claim getClaim(int chunkX, int chunkZ) {
+    	int x = chunkX - centerX + RADIUS;
+    	int z = chunkZ - centerZ + RADIUS;
+    	if (x < 0 || z < 0 || x >= SIZE || z >= SIZE) return resolve(chunkX, chunkZ);
+    	int i = x * SIZE + z;
+    	if (!known[i]) {
+    		cells[i] = resolve(chunkX, chunkZ);
+    		known[i] = true;
+    	}
+    	return cells[i];
+    }
+
+    /**
+     * Checks if the viewer is a member of a claim, from the cached relation if the claim has not changed.
+     *
+     * @param claim The claim
+     * @param viewer The UUID of the viewer
+     * @return True if the viewer is a member of the claim
+     */
+    public boolean isMember(Claim claim, UUID viewer) {
+    	int version = claim.getVersion();
+    	Relation relation = relations.get(claim);
+    	if (relation != null && relation.version == version) return relation.member;
+    	boolean member = claim.getMembers().contains(viewer);
+    	if (relation == null && relations.size() >= MAX_RELATIONS) relations.clear();
+    	relations.put(claim, new Relation(version, member));
+    	return member;
+    }
+
+    /**
+     * Forgets every cell and relation, so the next render resolves the whole map.
+     */
+    public void clear() {
+    	Arrays.fill(cells, null);
+    	Arrays.fill(known, false);
+    	relations.clear();
+    	index = null;
+    	placed = false;
+    }
+
+    /**
+     * Resolves the claim of a chunk from the index.
+     */
+    private Claim resolve(int chunkX, int chunkZ) {
+    	return index == null ? null : index.get(chunkX, chunkZ);
+    }
+
+    /**
+     * Shifts the cells of the square, keeping the overlap with the new square.
+     *
+     * @param dx The move of the center on the X axis
+     * @param dz The move of the center on the Z axis
+     */
+    private void shift(int dx, int dz) {
+    	Arrays.fill(spareKnown, false);
+    	if (Math.abs(dx) < SIZE && Math.abs(dz) < SIZE) {
+    		int fromX = Math.max(0, -dx);
+    		int toX = Math.min(SIZE, SIZE - dx);
+    		int fromZ = Math.max(0, -dz);
+    		int toZ = Math.min(SIZE, SIZE - dz);
+    		for (int x = fromX; x < toX; x++) {
+    			int row = x * SIZE;
+    			int oldRow = (x + dx) * SIZE + dz;
+    			System.arraycopy(cells, oldRow + fromZ, spareCells, row + fromZ, toZ - fromZ);
+    			System.arraycopy(known, oldRow + fromZ, spareKnown, row + fromZ, toZ - fromZ);
+    		}
+    	}
+    	Claim[] c = cells;
+    	cells = spareCells;
+    	spareCells = c;
+    	boolean[] k = known;
+    	known = spareKnown;
+    	spareKnown = k;
+    	Arrays.fill(spareCells, null);
+    }
+
+
+    // *******************
+    // *  Inner classes  *
+    // *******************
+
+
+    /**
+     * A relation of the viewer with a claim, for a version of the claim.
+     */
+    private static final class Relation {
+    	final int version;
+    	final boolean member;
+
+    	Relation(int version, boolean member) {
+    		this.version = version;
+    		this.member = member;
+    	}
+    }
+}
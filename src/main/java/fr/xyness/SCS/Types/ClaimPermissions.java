@@ -0,0 +1,133 @@
+package fr.xyness.SCS.Types;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This class handles the registry of the claim permissions.
+ * <p>
+ * Every permission name ("Build", "Enter", "Redstone"..) gets a stable integer id when it is first
+ * seen, so the permissions of a claim can be compiled into one {@code long} bitset per {@link Role}.
+ * Names are case sensitive, as in the permissions maps. Only the first {@link #MAX_BITS} names fit
+ * in the bitsets, the others are read from the maps.
+ */
+public final class ClaimPermissions {
+
+
+    // ***************
+    // *  Variables  *
+    // ***************
+
+
+    /** Number of permissions that fit in a bitset */
+    public static final int MAX_BITS = Long.SIZE;
+
+    /** Ids by name */
+    private static final Map<String, Integer> ids = new ConcurrentHashMap<>();
+
+    /** Names by id */
+    private static final List<String> names = new ArrayList<>();
+
+
+    // ******************
+    // *  Constructors  *
+    // ******************
+
+
+    private ClaimPermissions() {}
+
+
+    // ********************
+    // *  Static Methods  *
+    // ********************
+
+
+    /**
+     * Gets the id of a permission, registering it if needed.
+     *
+     * @param name The name of the permission
+     * @return The id of the permission
+     */
+    public static int id(String name) {
+    	Integer id = ids.get(name);
+    	return id != null ? id : register(name);
+    }
+
+    /**
+     * Gets the id of a permission, without registering it.
+     *
+     * @param name The name of the permission
+     * @return The id of the permission, -1 if it is not registered
+     */
+    public static int find(String name) {
+    	Integer id = ids.get(name);
+    	return id != null ? id : -1;
+    }
+
+    /**
+     * Gets the name of a permission.
+     *
+     * @param id The id of the permission
+     * @return The name of the permission
+     */
+    public static synchronized String name(int id) {
+    	return names.get(id);
+    }
+
+    private static synchronized int register(String name) {
+    	Integer id = ids.get(name);
+    	if (id != null) return id;
+    	names.add(name);
+    	ids.put(name, names.size() - 1);
+    	return names.size() - 1;
+    }
+
+
+    // *******************
+    // *  Inner classes  *
+    // *******************
+
+
+    /**
+     * The roles having their own permissions in a claim.
+     */
+    public enum Role {
+    	NATURAL("natural"),
+    	VISITORS("visitors"),
+    	MEMBERS("members");
+
+    	private static final Role[] VALUES = values();
+
+    	/** Key of the role in the permissions maps */
+    	private final String key;
+
+    	Role(String key) {
+    		this.key = key;
+    	}
+
+    	/**
+    	 * Gets the key of the role in the permissions maps.
+    	 *
+    	 * @return The key
+    	 */
+    	public String getKey() {
+    		return key;
+    	}
+
+    	/**
+    	 * Gets a role from its key, ignoring the case.
+    	 *
+    	 * @param key The key, null for natural
+    	 * @return The role, null if there is none with this key
+    	 */
+    	public static Role of(String key) {
+    		if (key == null) return NATURAL;
+    		for (Role role : VALUES) {
+    			if (role.key.equalsIgnoreCase(key)) return role;
+    		}
+    		return null;
+    	}
+    }
+}
@@ -0,0 +1,230 @@
+package fr.xyness.SCS.Types;
+
+/**
+ * This class handles the presence bitmaps of the claimed chunks of a world.
+ * <p>
+ * There are two layers. The coarse one has one bit by region of 32x32 chunks, in a dense
+ * bitmap covering the {@link #WINDOW} regions around the origin (the regions outside are only
+ * in the fine layer). The fine one has one bit by chunk, in a 1024 bits block by region.
+ * Natural events (liquids, fire, spawns..) test these bits to leave the wilderness before
+ * any other lookup.
+ * <p>
+ * Not thread-safe: it is maintained and read under the lock of its {@link ClaimIndex}. The reads
+ * are bounded, so an inconsistent optimistic read can never spin forever.
+ */
+public class ClaimPresence {
+
+
+    // ***************
+    // *  Variables  *
+    // ***************
+
+
+    /** Shift from chunk to region coordinates (32 chunks) */
+    public static final int REGION_SHIFT = 5;
+
+    /** Number of regions by axis in the dense bitmap (512k blocks) */
+    private static final int WINDOW = 1024;
+
+    /** Offset of the origin in the dense bitmap */
+    private static final int HALF = WINDOW / 2;
+
+    /** Number of words of the chunk bits of a region */
+    private static final int REGION_WORDS = (1 << (REGION_SHIFT * 2)) / Long.SIZE;
+
+    /** One bit by region of the window, null until one of them is claimed (128 KiB) */
+    private long[] window;
+
+    /** Packed region keys (see {@link ClaimIndex#key(int, int)}) */
+    private long[] keys = new long[16];
+
+    /** Chunk bits by region, null marks a free slot */
+    private long[][] chunks = new long[16][];
+
+    /** Number of claimed chunks by region */
+    private int[] counts = new int[16];
+
+    /** Number of used slots */
+    private int size;
+
+
+    // *************
+    // *  Methods  *
+    // *************
+
+
+    /**
+     * Checks if a chunk of the region of the given chunk is claimed.
+     *
+     * @param chunkX The chunk X coordinate
+     * @param chunkZ The chunk Z coordinate
+     * @return True if the region has a claimed chunk
+     */
+    public boolean isRegionClaimed(int chunkX, int chunkZ) {
+    	int rx = chunkX >> REGION_SHIFT;
+    	int rz = chunkZ >> REGION_SHIFT;
+    	int bit = windowBit(rx, rz);
+    	if (bit >= 0) {
+    		long[] w = window;
+    		return w != null && (w[bit >>> 6] & (1L << bit)) != 0;
+    	}
+    	int i = find(rx, rz);
+    	int[] c = counts;
+    	return i >= 0 && i < c.length && c[i] > 0;
+    }
+
+    /**
+     * Checks if the given chunk is claimed.
+     *
+     * @param chunkX The chunk X coordinate
+     * @param chunkZ The chunk Z coordinate
+     * @return True if the chunk is claimed
+     */
+    public boolean isChunkClaimed(int chunkX, int chunkZ) {
+    	if (!isRegionClaimed(chunkX, chunkZ)) return false;
+    	int i = find(chunkX >> REGION_SHIFT, chunkZ >> REGION_SHIFT);
+    	long[][] c = chunks;
+    	if (i < 0 || i >= c.length) return false;
+    	long[] bits = c[i];
+    	int bit = chunkBit(chunkX, chunkZ);
+    	return bits != null && bits.length == REGION_WORDS && (bits[bit >>> 6] & (1L << bit)) != 0;
+    }
+
+    /**
+     * Marks a chunk as claimed. Must be called once by newly claimed chunk.
+     *
+     * @param chunkX The chunk X coordinate
+     * @param chunkZ The chunk Z coordinate
+     */
+    public void add(int chunkX, int chunkZ) {
+    	int rx = chunkX >> REGION_SHIFT;
+    	int rz = chunkZ >> REGION_SHIFT;
+    	int i = find(rx, rz);
+    	if (i < 0) i = insert(rx, rz);
+    	int bit = chunkBit(chunkX, chunkZ);
+    	chunks[i][bit >>> 6] |= 1L << bit;
+    	if (counts[i]++ > 0) return;
+    	int w = windowBit(rx, rz);
+    	if (w < 0) return;
+    	if (window == null) window = new long[WINDOW * WINDOW / Long.SIZE];
+    	window[w >>> 6] |= 1L << w;
+    }
+
+    /**
+     * Marks a chunk as not claimed anymore.
+     *
+     * @param chunkX The chunk X coordinate
+     * @param chunkZ The chunk Z coordinate
+     */
+    public void remove(int chunkX, int chunkZ) {
+    	int rx = chunkX >> REGION_SHIFT;
+    	int rz = chunkZ >> REGION_SHIFT;
+    	int i = find(rx, rz);
+    	if (i < 0) return;
+    	int bit = chunkBit(chunkX, chunkZ);
+    	long mask = 1L << bit;
+    	if ((chunks[i][bit >>> 6] & mask) == 0) return;
+    	chunks[i][bit >>> 6] &= ~mask;
+    	if (--counts[i] > 0) return;
+    	int w = windowBit(rx, rz);
+    	if (w >= 0 && window != null) window[w >>> 6] &= ~(1L << w);
+    }
+
+    /**
+     * Clears every bit.
+     */
+    public void clear() {
+    	window = null;
+    	keys = new long[16];
+    	chunks = new long[16][];
+    	counts = new int[16];
+    	size = 0;
+    }
+
+    /**
+     * Gets the bit of a region in the window.
+     *
+     * @return The bit, -1 if the region is outside the window
+     */
+    private static int windowBit(int rx, int rz) {
+    	int wx = rx + HALF;
+    	int wz = rz + HALF;
+    	if ((wx | wz) < 0 || wx >= WINDOW || wz >= WINDOW) return -1;
+    	return wx * WINDOW + wz;
+    }
+
+    /**
+     * Gets the bit of a chunk in the chunk bits of its region.
+     */
+    private static int chunkBit(int chunkX, int chunkZ) {
+    	int mask = (1 << REGION_SHIFT) - 1;
+    	return ((chunkX & mask) << REGION_SHIFT) | (chunkZ & mask);
+    }
+
+    /**
+     * Spreads a region key over the table.
+     */
+    private static int slot(long key, int mask) {
+    	long h = key * 0x9E3779B97F4A7C15L;
+    	return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    /**
+     * Finds the slot of a region. The slots are never freed, an empty region keeps its slot.
+     *
+     * @return The slot, -1 if the region has none
+     */
+    private int find(int rx, int rz) {
+    	long key = ClaimIndex.key(rx, rz);
+    	long[] k = keys;
+    	long[][] c = chunks;
+    	int length = k.length;
+    	if (length != c.length) return -1;
+    	int mask = length - 1;
+    	int i = slot(key, mask);
+    	for (int probes = 0; probes < length; probes++) {
+    		if (c[i] == null) return -1;
+    		if (k[i] == key) return i;
+    		i = (i + 1) & mask;
+    	}
+    	return -1;
+    }
+
+    /**
+     * Gives a slot to a region.
+     *
+     * @return The slot
+     */
+    private int insert(int rx, int rz) {
+    	if ((size + 1) * 2 > keys.length) resize(keys.length << 1);
+    	long key = ClaimIndex.key(rx, rz);
+    	int mask = keys.length - 1;
+    	int i = slot(key, mask);
+    	while (chunks[i] != null) i = (i + 1) & mask;
+    	keys[i] = key;
+    	chunks[i] = new long[REGION_WORDS];
+    	size++;
+    	return i;
+    }
+
+    /**
+     * Rehashes the table into a new capacity.
+     */
+    private void resize(int capacity) {
+    	long[] newKeys = new long[capacity];
+    	long[][] newChunks = new long[capacity][];
+    	int[] newCounts = new int[capacity];
+    	int mask = capacity - 1;
+    	for (int i = 0; i < keys.length; i++) {
+    		if (chunks[i] == null) continue;
+    		int j = slot(keys[i], mask);
+    		while (newChunks[j] != null) j = (j + 1) & mask;
+    		newKeys[j] = keys[i];
+    		newChunks[j] = chunks[i];
+    		newCounts[j] = counts[i];
+    	}
+    	keys = newKeys;
+    	chunks = newChunks;
+    	counts = newCounts;
+    }
+}
@@ -0,0 +1,110 @@
+package fr.xyness.SCS.Types;
+
+import java.util.UUID;
+
+/**
+ * This class handles the claim transitions of a player crossing chunks.
+ * <p>
+ * The claims of both chunks of a crossing are resolved once, then compared with each other and
+ * with the claim the player was last seen in, into a compact diff. The move listeners only run the
+ * consumers concerned by this diff: crossing chunks inside the same unchanged claim (or the
+ * wilderness) only leaves the chunk consumers (auto claim modes, auto map). When the player leaves
+ * the chunk it was last seen in, the claim of this chunk is known, so only the new chunk is looked up.
+ * <p>
+ * Only used by the thread of the player's moves.
+ */
+public final class ClaimTransition {
+
+
+    // ***************
+    // *  Variables  *
+    // ***************
+
+
+    /** The claim differs from the last one, or it has been modified since (ban, enter, fly, weather, bossbar) */
+    public static final int CLAIM_CHANGED = 1;
+
+    /** The owner differs between the chunks (enter and leave messages) */
+    public static final int OWNER_CHANGED = 1 << 1;
+
+    /** The claim the player was last seen in, null for the wilderness */
+    private Claim claim;
+
+    /** The version of this claim when the player was last seen in it */
+    private int version = -1;
+
+    /** Packed coordinates of the chunk the player was last seen in (see {@link ClaimIndex#key(int, int)}) */
+    private long chunk;
+
+
+    // *************
+    // *  Methods  *
+    // *************
+
+
+    /**
+     * Gets the claim of the chunk the player was last seen in, if it is still valid.
+     *
+     * @param worldId The world of the chunk
+     * @param chunkX The chunk X coordinate
+     * @param chunkZ The chunk Z coordinate
+     * @return The claim, null if the chunk is not the last one, is in the wilderness, or the claim has been modified
+     */
+    public Claim getLastClaim(UUID worldId, int chunkX, int chunkZ) {
+    	Claim last = claim;
+    	if (last == null || last.getVersion() != version || chunk != ClaimIndex.key(chunkX, chunkZ)) return null;
+    	return worldId.equals(last.getWorldId()) ? last : null;
+    }
+
+    /**
+     * Computes the diff of a crossing, and records the claim and the chunk the player is moving to.
+     *
+     * @param from The claim of the chunk the player is moving from, null for the wilderness
+     * @param to The claim of the chunk the player is moving to, null for the wilderness
+     * @param chunkX The X coordinate of the chunk the player is moving to
+     * @param chunkZ The Z coordinate of the chunk the player is moving to
+     * @return The flags of the diff, 0 if nothing changed but the chunk
+     */
+    public int update(Claim from, Claim to, int chunkX, int chunkZ) {
+    	int toVersion = to == null ? 0 : to.getVersion();
+    	int flags = 0;
+    	if (to != from || to != claim || toVersion != version) flags |= CLAIM_CHANGED;
+    	if (!isSameOwner(from, to)) flags |= OWNER_CHANGED;
+    	claim = to;
+    	version = toVersion;
+    	chunk = ClaimIndex.key(chunkX, chunkZ);
+    	return flags;
+    }
+
+    /**
+     * Forgets the claim the player was last seen in, so the next crossing runs every consumer.
+     * Used when the player is pushed back, or moved without a crossing.
+     */
+    public void reset() {
+    	claim = null;
+    	version = -1;
+    }
+
+    /**
+     * Checks if a flag is set in the flags of a diff.
+     *
+     * @param flags The flags of the diff
+     * @param flag The flag to check
+     * @return True if the flag is set
+     */
+    public static boolean has(int flags, int flag) {
+    	return (flags & flag) != 0;
+    }
+
+    /**
+     * Checks if two claims have the same owner, by their UUID.
+     *
+     * @param a The first claim, null for the wilderness
+     * @param b The second claim, null for the wilderness
+     * @return True if both claims are the same (or both the wilderness), or have the same owner
+     */
+    public static boolean isSameOwner(Claim a, Claim b) {
+    	if (a == b) return true;
+    	return a != null && b != null && a.getUUID().equals(b.getUUID());
+    }
+}
@@ -0,0 +1,103 @@
+package fr.xyness.SCS.Types;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * Removes the protected blocks of an explosion.
+ * <p>
+ * The blocks are grouped by chunk, so the protection of a chunk is resolved once,
+ * then the protected blocks are removed in one pass.
+ */
+public final class ExplosionFilter {
+
+
+    // *******************
+    // *  Inner classes  *
+    // *******************
+
+
+    /**
+     * Checks if the blocks of a chunk are protected against explosions.
+     */
+    @FunctionalInterface
+    public interface ChunkCheck {
+
+    	/**
+    	 * Checks if the blocks of a chunk are protected.
+    	 *
+    	 * @param chunkX The chunk X coordinate
+    	 * @param chunkZ The chunk Z coordinate
+    	 * @return True if protected
+    	 */
+    	boolean isProtected(int chunkX, int chunkZ);
+    }
+
+
+    // ******************
+    // *  Constructors  *
+    // ******************
+
+
+    private ExplosionFilter() {}
+
+
+    // *************
+    // *  Methods  *
+    // *************
+
+
+    /**
+     * Removes the blocks of the protected chunks from a list of blocks.
+     *
+     * @param <T> The type of the blocks
+     * @param blocks The blocks of the explosion
+     * @param blockX Gets the X coordinate of a block
+     * @param blockZ Gets the Z coordinate of a block
+     * @param check The protection of a chunk, called once by chunk
+     */
+    public static <T> void removeProtected(List<T> blocks, ToIntFunction<T> blockX, ToIntFunction<T> blockZ, ChunkCheck check) {
+    	int size = blocks.size();
+    	if (size == 0) return;
+    	long[] chunks = new long[8];
+    	boolean[] protectedChunks = new boolean[8];
+    	int chunkCount = 0;
+    	int last = -1;
+    	BitSet removed = new BitSet(size);
+    	for (int i = 0; i < size; i++) {
+    		T block = blocks.get(i);
+    		int chunkX = blockX.applyAsInt(block) >> 4;
+    		int chunkZ = blockZ.applyAsInt(block) >> 4;
+    		long key = ClaimIndex.key(chunkX, chunkZ);
+    		if (last < 0 || chunks[last] != key) {
+    			last = -1;
+    			for (int j = 0; j < chunkCount; j++) {
+    				if (chunks[j] == key) {
+    					last = j;
+    					break;
+    				}
+    			}
+    			if (last < 0) {
+    				if (chunkCount == chunks.length) {
+    					chunks = Arrays.copyOf(chunks, chunkCount * 2);
+    					protectedChunks = Arrays.copyOf(protectedChunks, chunkCount * 2);
+    				}
+    				chunks[chunkCount] = key;
+    				protectedChunks[chunkCount] = check.isProtected(chunkX, chunkZ);
+    				last = chunkCount++;
+    			}
+    		}
+    		if (protectedChunks[last]) removed.set(i);
+    	}
+    	int count = removed.cardinality();
+    	if (count == 0) return;
+    	if (count == size) {
+    		blocks.clear();
+    		return;
+    	}
+    	int[] index = { 0 };
+    	blocks.removeIf(block -> removed.get(index[0]++));
+    }
+}
@@ -0,0 +1,94 @@
+package fr.xyness.SCS.Types;
+
+/**
+ * This class handles the protection decisions cached for a player.
+ * <p>
+ * A decision is the value of {@link Claim#getPermissionForPlayer(String, org.bukkit.entity.Player)}
+ * for a claim and a permission id (see {@link ClaimPermissions}). It is kept with the version of the
+ * claim it was computed from, so any change of the claim (members, owner, permissions..) makes it stale.
+ * The table is direct-mapped: a slot holds one decision, and a colliding one replaces it.
+ */
+public final class ProtectionCache {
+
+
+    // ***************
+    // *  Variables  *
+    // ***************
+
+
+    /** Number of slots, a power of two */
+    private static final int SLOTS = 64;
+
+    /** The decisions, by slot */
+    private final Decision[] decisions = new Decision[SLOTS];
+
+
+    // *************
+    // *  Methods  *
+    // *************
+
+
+    /**
+     * Gets a cached decision.
+     *
+     * @param claim The claim
+     * @param permission The id of the permission
+     * @return 1 if allowed, 0 if denied, -1 if not cached or stale
+     */
+    public int get(Claim claim, int permission) {
+    	Decision decision = decisions[slot(claim, permission)];
+    	if (decision == null || decision.claim != claim || decision.permission != permission || decision.version != claim.getVersion()) return -1;
+    	return decision.value ? 1 : 0;
+    }
+
+    /**
+     * Caches a decision.
+     *
+     * @param claim The claim
+     * @param permission The id of the permission
+     * @param version The version of the claim the decision was computed from
+     * @param value The decision
+     */
+    public void put(Claim claim, int permission, int version, boolean value) {
+    	decisions[slot(claim, permission)] = new Decision(claim, permission, version, value);
+    }
+
+    /**
+     * Clears the cache.
+     */
+    public void clear() {
+    	for (int i = 0; i < SLOTS; i++) {
+    		decisions[i] = null;
+    	}
+    }
+
+    /**
+     * Gets the slot of a decision.
+     */
+    private static int slot(Claim claim, int permission) {
+    	return ((claim.getId() * 0x9E3779B9) >>> 26 ^ permission) & (SLOTS - 1);
+    }
+
+
+    // *******************
+    // *  Inner classes  *
+    // *******************
+
+
+    /**
+     * A cached decision. Immutable, so a slot is always read whole.
+     */
+    private static final class Decision {
+    	final Claim claim;
+    	final int permission;
+    	final int version;
+    	final boolean value;
+
+    	Decision(Claim claim, int permission, int version, boolean value) {
+    		this.claim = claim;
+    		this.permission = permission;
+    		this.version = version;
+    		this.value = value;
+    	}
+    }
+}
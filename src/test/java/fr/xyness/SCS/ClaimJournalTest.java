@@ -0,0 +1,172 @@
+package fr.xyness.SCS;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks the claims sync between two servers sharing one SQLite file, each with its own journal and connection.
+ */
+class ClaimJournalTest {
+
+    private static final String OWNER = "00000000-0000-0001-0000-000000000001";
+
+    private final AtomicLong clock = new AtomicLong(TimeUnit.DAYS.toMillis(1));
+
+    private Path file;
+
+    private Connection connectionA;
+
+    private Connection connectionB;
+
+    private ClaimJournal a;
+
+    private ClaimJournal b;
+
+    @BeforeEach
+    void setUp() throws Exception {
+    	file = TestDatabase.createFile();
+    	connectionA = TestDatabase.open(file);
+    	connectionB = TestDatabase.open(file);
+    	TestDatabase.createTables(connectionA);
+    	a = new ClaimJournal(clock::get);
+    	b = new ClaimJournal(clock::get);
+    	a.init(connectionA);
+    	b.init(connectionB);
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+    	connectionA.close();
+    	connectionB.close();
+    	TestDatabase.delete(file);
+    }
+
+    @Test
+    void replay() throws SQLException {
+    	a.journal(connectionA, List.of(change(OWNER, "claim-1"), change(OWNER, "claim-2"), change(OWNER, "claim-1")));
+    	List<String[]> changes = b.read(connectionB);
+    	assertEquals(2, changes.size());
+    	assertArrayEquals(change(OWNER, "claim-1"), changes.get(0));
+    	assertArrayEquals(change(OWNER, "claim-2"), changes.get(1));
+    	assertEquals(3, b.getLastVersion());
+    	assertTrue(b.read(connectionB).isEmpty());
+
+    	// Its own changes are only skipped
+    	assertTrue(a.read(connectionA).isEmpty());
+    	assertEquals(3, a.getLastVersion());
+
+    	b.journal(connectionB, List.<String[]>of(change(OWNER, null)));
+    	changes = a.read(connectionA);
+    	assertEquals(1, changes.size());
+    	assertArrayEquals(change(OWNER, null), changes.get(0));
+
+    	// A server started later reads from the end of the journal
+    	ClaimJournal late = new ClaimJournal(clock::get);
+    	late.init(connectionB);
+    	assertEquals(4, late.getLastVersion());
+    	assertTrue(late.read(connectionB).isEmpty());
+    }
+
+    @Test
+    void gapTimeout() throws SQLException {
+    	// Version 1 not committed yet
+    	insert(2, "claim-2");
+    	assertEquals(1, b.read(connectionB).size());
+    	assertEquals(0, b.getLastVersion());
+    	insert(1, "claim-1");
+    	List<String[]> changes = b.read(connectionB);
+    	assertEquals(1, changes.size());
+    	assertArrayEquals(change(OWNER, "claim-1"), changes.get(0));
+    	assertEquals(2, b.getLastVersion());
+
+    	// Version 3 rolled back
+    	insert(4, "claim-4");
+    	assertEquals(1, b.read(connectionB).size());
+    	clock.addAndGet(ClaimJournal.GAP_TIMEOUT_MILLIS - 1);
+    	assertTrue(b.read(connectionB).isEmpty());
+    	assertEquals(2, b.getLastVersion());
+    	clock.incrementAndGet();
+    	assertTrue(b.read(connectionB).isEmpty());
+    	assertEquals(4, b.getLastVersion());
+
+    	// The next gap waits again
+    	insert(6, "claim-6");
+    	insert(7, "claim-7");
+    	assertEquals(2, b.read(connectionB).size());
+    	assertEquals(4, b.getLastVersion());
+    	clock.addAndGet(ClaimJournal.GAP_TIMEOUT_MILLIS - 1);
+    	assertTrue(b.read(connectionB).isEmpty());
+    	assertEquals(4, b.getLastVersion());
+    	insert(5, "claim-5");
+    	assertEquals(1, b.read(connectionB).size());
+    	assertEquals(7, b.getLastVersion());
+    }
+
+    @Test
+    void fullReload() throws SQLException {
+    	a.journal(connectionA, List.of(change(OWNER, "claim-1"), change(null, null)));
+    	List<String[]> changes = b.read(connectionB);
+    	assertEquals(2, changes.size());
+    	assertTrue(ClaimJournal.isFullReload(changes));
+    	a.journal(connectionA, List.of(change(OWNER, "claim-1"), change(OWNER, null)));
+    	changes = b.read(connectionB);
+    	assertEquals(2, changes.size());
+    	assertFalse(ClaimJournal.isFullReload(changes));
+    }
+
+    @Test
+    void prune() throws SQLException {
+    	a.journal(connectionA, List.<String[]>of(change(OWNER, "claim-1")));
+    	clock.addAndGet(ClaimJournal.RETENTION_MILLIS + 1);
+    	b.journal(connectionB, List.<String[]>of(change(OWNER, "claim-2")));
+    	assertTrue(a.isPruneDue());
+    	assertFalse(a.isPruneDue());
+    	a.prune(connectionA);
+    	assertEquals(1, count());
+    	List<String[]> changes = a.read(connectionA);
+    	assertEquals(1, changes.size());
+    	assertArrayEquals(change(OWNER, "claim-2"), changes.get(0));
+    	clock.addAndGet(ClaimJournal.RETENTION_MILLIS);
+    	assertTrue(a.isPruneDue());
+    }
+
+    private static String[] change(String owner, String name) {
+    	return new String[] {owner, name};
+    }
+
+    /**
+     * Inserts a journal entry of a third server with its version, as if the versions were committed out of order.
+     */
+    private void insert(long version, String name) throws SQLException {
+    	try (PreparedStatement stmt = connectionA.prepareStatement("INSERT INTO scs_claims_changes (version, server_id, owner_uuid, claim_name, changed_at) VALUES (?, 'other', ?, ?, ?)")) {
+    		stmt.setLong(1, version);
+    		stmt.setString(2, OWNER);
+    		stmt.setString(3, name);
+    		stmt.setLong(4, clock.get());
+    		stmt.executeUpdate();
+    	}
+    }
+
+    private int count() throws SQLException {
+    	try (PreparedStatement stmt = connectionB.prepareStatement("SELECT COUNT(*) FROM scs_claims_changes");
+    			ResultSet resultSet = stmt.executeQuery()) {
+    		resultSet.next();
+    		return resultSet.getInt(1);
+    	}
+    }
+}
@@ -0,0 +1,123 @@
+package fr.xyness.SCS;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Runs the queries of {@link ClaimRepository} on a SQLite file, with the statements kept between runs
+ * and the stats by statement.
+ */
+class ClaimRepositoryTest {
+
+    private static final String OWNER = "00000000-0000-0001-0000-000000000001";
+
+    private Path file;
+
+    private HikariDataSource pool;
+
+    private final ClaimRepository repository = new ClaimRepository(null);
+
+    @BeforeEach
+    void setUp() throws Exception {
+    	file = TestDatabase.createFile();
+    	pool = SQLiteDataSources.create(TestDatabase.url(file), false, 0, 1);
+    	try (Connection connection = pool.getConnection()) {
+    		TestDatabase.createTables(connection);
+    		for (int i = 0; i < 3; i++) {
+    			TestDatabase.insertClaim(connection, OWNER, "claim-" + i, "", OWNER);
+    		}
+    		repository.update(connection, "UPDATE scs_claims_1 SET world_name = ? WHERE claim_name = ?", "nether", "claim-2");
+    	}
+    }
+
+    @AfterEach
+    void tearDown() {
+    	repository.clearStatements();
+    	pool.close();
+    	TestDatabase.delete(file);
+    }
+
+    @Test
+    void selects() throws SQLException {
+    	try (Connection connection = pool.getConnection()) {
+    		assertEquals(Set.of("claim-0", "claim-1"), names(repository.selectWorldClaims(connection, "world"), "claim_name"));
+    		assertEquals(Set.of("claim-0", "claim-1", "claim-2"), names(repository.selectClaims(connection, List.of("world", "nether")), "claim_name"));
+    		assertEquals(Set.of("claim-2"), names(repository.selectClaims(connection, List.of("nether")), "claim_name"));
+    		assertEquals(Set.of("claim-0", "claim-1", "claim-2"), names(repository.selectClaims(connection, OWNER, null), "claim_name"));
+    		assertEquals(Set.of("claim-1"), names(repository.selectClaims(connection, OWNER, "claim-1"), "claim_name"));
+    		assertEquals(Set.of("world", "nether"), names(repository.selectClaimKeys(connection), "world_name"));
+    	}
+    }
+
+    @Test
+    void statementsReused() throws SQLException {
+    	String sql = "SELECT * FROM scs_claims_1 WHERE owner_uuid = ? AND claim_name = ?";
+    	try (Connection connection = pool.getConnection()) {
+    		PreparedStatement stmt = repository.prepare(connection, sql);
+    		repository.release(sql, stmt);
+    		for (int i = 0; i < 3; i++) {
+    			assertEquals(Set.of("claim-" + i), names(repository.selectClaims(connection, OWNER, "claim-" + i), "claim_name"));
+    		}
+    		assertSame(stmt, repository.prepare(connection, sql));
+    		repository.release(sql, stmt);
+
+    		// A failed update is not given back, the next one runs
+    		String rename = "UPDATE scs_claims_1 SET claim_name = ? WHERE claim_name = ?";
+    		assertThrows(SQLException.class, () -> repository.update(connection, rename, "claim-1", "claim-0"));
+    		assertEquals(1, repository.update(connection, rename, "claim-3", "claim-0"));
+    	}
+    }
+
+    @Test
+    void statKeys() throws SQLException {
+    	assertEquals("SELECT * FROM t WHERE a IN (?...) AND b IN (?...)", Repository.getStatKey("SELECT * FROM t WHERE a IN (?) AND b IN (?, ?,?)"));
+    	assertEquals("SELECT * FROM t WHERE a IN (?...)", Repository.getStatKey("SELECT * FROM t WHERE a in ( ? , ? )"));
+    	assertEquals("INSERT INTO t (a, b) VALUES (?, ?)", Repository.getStatKey("INSERT INTO t (a, b) VALUES (?, ?)"));
+    	assertEquals("SELECT * FROM t WHERE a IN ('x', ?)", Repository.getStatKey("SELECT * FROM t WHERE a IN ('x', ?)"));
+
+    	repository.resetStats();
+    	List<String> worlds = new ArrayList<>();
+    	try (Connection connection = pool.getConnection()) {
+    		for (int i = 0; i < 50; i++) {
+    			worlds.add("world-" + i);
+    			names(repository.selectClaims(connection, worlds), "claim_name");
+    		}
+    	}
+    	List<String> stats = repository.getStats(10);
+    	assertEquals(1, stats.size());
+    	assertTrue(stats.get(0).startsWith("50 calls"), stats.get(0));
+    	assertTrue(stats.get(0).endsWith("IN (?...)"), stats.get(0));
+    }
+
+    /**
+     * Reads a column of every row of a query, and closes it.
+     */
+    private static Set<String> names(Repository.Query query, String column) throws SQLException {
+    	Set<String> names = new HashSet<>();
+    	try (query) {
+    		while (query.next()) {
+    			names.add(query.getResultSet().getString(column));
+    		}
+    	}
+    	assertFalse(names.contains(null));
+    	return names;
+    }
+}
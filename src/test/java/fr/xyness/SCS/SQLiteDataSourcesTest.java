@@ -0,0 +1,144 @@
+package fr.xyness.SCS;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Runs concurrent writes and reads on the SQLite pools, as the write queue, the commands and the claims sync do.
+ */
+class SQLiteDataSourcesTest {
+
+    private static final long MMAP_SIZE = 268435456L;
+
+    private static final int READERS = 4;
+
+    private static final int WRITERS = 8;
+
+    private static final int WRITES = 250;
+
+    private Path file;
+
+    private HikariDataSource writePool;
+
+    private HikariDataSource readPool;
+
+    @BeforeEach
+    void setUp() throws Exception {
+    	file = TestDatabase.createFile();
+    	writePool = SQLiteDataSources.create(TestDatabase.url(file), false, MMAP_SIZE, READERS);
+    	try (Connection connection = writePool.getConnection()) {
+    		TestDatabase.createTables(connection);
+    	}
+    	readPool = SQLiteDataSources.create(TestDatabase.url(file), true, MMAP_SIZE, READERS);
+    }
+
+    @AfterEach
+    void tearDown() {
+    	readPool.close();
+    	writePool.close();
+    	TestDatabase.delete(file);
+    }
+
+    @Test
+    void pragmas() throws SQLException {
+    	assertEquals(1, writePool.getMaximumPoolSize());
+    	assertEquals(READERS, readPool.getMaximumPoolSize());
+    	try (Connection connection = readPool.getConnection()) {
+    		assertEquals("wal", pragma(connection, "journal_mode"));
+    		assertEquals("5000", pragma(connection, "busy_timeout"));
+    		assertThrows(SQLException.class, () -> TestDatabase.insertClaim(connection, "owner", "claim", "", ""));
+    	}
+    	try (Connection connection = writePool.getConnection()) {
+    		assertEquals("wal", pragma(connection, "journal_mode"));
+    		// NORMAL
+    		assertEquals("1", pragma(connection, "synchronous"));
+    	}
+    }
+
+    @Test
+    void concurrentWrites() throws Exception {
+    	ExecutorService executor = Executors.newFixedThreadPool(WRITERS + READERS);
+    	AtomicBoolean writing = new AtomicBoolean(true);
+    	List<Future<?>> writers = new ArrayList<>();
+    	List<Future<?>> readers = new ArrayList<>();
+    	try {
+    		for (int w = 0; w < WRITERS; w++) {
+    			String owner = "owner-" + w;
+    			writers.add(executor.submit(() -> {
+    				for (int i = 0; i < WRITES; i++) {
+    					try (Connection connection = writePool.getConnection()) {
+    						TestDatabase.insertClaim(connection, owner, "claim-" + i, "", "");
+    					}
+    				}
+    				return null;
+    			}));
+    		}
+    		for (int r = 0; r < READERS; r++) {
+    			readers.add(executor.submit(() -> {
+    				int last = 0;
+    				while (writing.get()) {
+    					try (Connection connection = readPool.getConnection()) {
+    						int count = count(connection);
+    						// A reader never goes back, nor sees more than what is written
+    						assertTrue(count >= last && count <= WRITERS * WRITES, "count " + count);
+    						last = count;
+    					}
+    				}
+    				return null;
+    			}));
+    		}
+    		// Any SQLException, such as SQLITE_BUSY, fails here
+    		for (Future<?> writer : writers) writer.get(60, TimeUnit.SECONDS);
+    		writing.set(false);
+    		for (Future<?> reader : readers) reader.get(60, TimeUnit.SECONDS);
+    	} finally {
+    		writing.set(false);
+    		executor.shutdownNow();
+    	}
+    	try (Connection connection = readPool.getConnection()) {
+    		assertEquals(WRITERS * WRITES, count(connection));
+    		try (Statement stmt = connection.createStatement();
+    				ResultSet resultSet = stmt.executeQuery("SELECT COUNT(DISTINCT owner_uuid || '/' || claim_name) FROM scs_claims_1")) {
+    			resultSet.next();
+    			assertEquals(WRITERS * WRITES, resultSet.getInt(1));
+    		}
+    	}
+    }
+
+    private static int count(Connection connection) throws SQLException {
+    	try (PreparedStatement stmt = connection.prepareStatement("SELECT COUNT(*) FROM scs_claims_1");
+    			ResultSet resultSet = stmt.executeQuery()) {
+    		resultSet.next();
+    		return resultSet.getInt(1);
+    	}
+    }
+
+    private static String pragma(Connection connection, String name) throws SQLException {
+    	try (Statement stmt = connection.createStatement();
+    			ResultSet resultSet = stmt.executeQuery("PRAGMA " + name)) {
+    		resultSet.next();
+    		return resultSet.getString(1);
+    	}
+    }
+}
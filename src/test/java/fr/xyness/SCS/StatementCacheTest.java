@@ -0,0 +1,127 @@
+package fr.xyness.SCS;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Checks the reuse, the bound and the cleanup of the statements kept by {@link StatementCache},
+ * on pooled connections to a SQLite file.
+ */
+class StatementCacheTest {
+
+    private static final String COUNT = "SELECT COUNT(*) FROM scs_claims_1";
+
+    private Path file;
+
+    private HikariDataSource pool;
+
+    private final StatementCache cache = new StatementCache();
+
+    @BeforeEach
+    void setUp() throws Exception {
+    	file = TestDatabase.createFile();
+    	pool = SQLiteDataSources.create(TestDatabase.url(file), false, 0, 1);
+    	try (Connection connection = pool.getConnection()) {
+    		TestDatabase.createTables(connection);
+    	}
+    }
+
+    @AfterEach
+    void tearDown() {
+    	cache.clear();
+    	pool.close();
+    	TestDatabase.delete(file);
+    }
+
+    @Test
+    void reusedAcrossBorrows() throws SQLException {
+    	PreparedStatement stmt;
+    	try (Connection connection = pool.getConnection()) {
+    		stmt = cache.take(connection, COUNT);
+    		stmt.executeQuery().close();
+    		cache.release(COUNT, stmt);
+    	}
+    	// The pool has one connection, given again
+    	try (Connection connection = pool.getConnection()) {
+    		assertSame(stmt, cache.take(connection, COUNT));
+    		assertFalse(stmt.isClosed());
+    		cache.release(COUNT, stmt);
+    		assertEquals(1, cache.size(connection));
+    	}
+    }
+
+    @Test
+    void inUse() throws SQLException {
+    	try (Connection connection = pool.getConnection()) {
+    		PreparedStatement first = cache.take(connection, COUNT);
+    		PreparedStatement second = cache.take(connection, COUNT);
+    		assertNotSame(first, second);
+    		cache.release(COUNT, first);
+    		cache.release(COUNT, second);
+    		assertEquals(1, cache.size(connection));
+    		assertTrue(second.isClosed());
+    		assertSame(first, cache.take(connection, COUNT));
+    	}
+    }
+
+    @Test
+    void discarded() throws SQLException {
+    	try (Connection connection = pool.getConnection()) {
+    		PreparedStatement stmt = cache.take(connection, COUNT);
+    		cache.discard(stmt);
+    		assertTrue(stmt.isClosed());
+    		assertEquals(0, cache.size(connection));
+    		PreparedStatement next = cache.take(connection, COUNT);
+    		assertNotSame(stmt, next);
+    		next.executeQuery().close();
+    	}
+    }
+
+    @Test
+    void bounded() throws SQLException {
+    	try (Connection connection = pool.getConnection()) {
+    		List<PreparedStatement> statements = new ArrayList<>();
+    		for (int i = 0; i < StatementCache.MAX_STATEMENTS + 8; i++) {
+    			PreparedStatement stmt = cache.take(connection, COUNT + " WHERE id > " + i);
+    			cache.release(COUNT + " WHERE id > " + i, stmt);
+    			statements.add(stmt);
+    		}
+    		assertEquals(StatementCache.MAX_STATEMENTS, cache.size(connection));
+    		// The least recently used are closed
+    		for (int i = 0; i < statements.size(); i++) {
+    			assertEquals(i < 8, statements.get(i).isClosed(), "statement " + i);
+    		}
+    	}
+    }
+
+    @Test
+    void closedConnections() throws SQLException {
+    	Connection closed = TestDatabase.open(file);
+    	PreparedStatement stmt = cache.take(closed, COUNT);
+    	cache.release(COUNT, stmt);
+    	closed.close();
+    	try (Connection connection = TestDatabase.open(file)) {
+    		cache.release(COUNT, cache.take(connection, COUNT));
+    		assertEquals(0, cache.size(closed));
+    		assertEquals(1, cache.size(connection));
+    		cache.clear();
+    		assertEquals(0, cache.size(connection));
+    	}
+    }
+}
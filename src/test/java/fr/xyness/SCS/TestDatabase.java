@@ -0,0 +1,156 @@
+package fr.xyness.SCS;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Local SQLite databases for the tests and benchmarks, with the tables of the plugin.
+ */
+final class TestDatabase {
+
+    private TestDatabase() {}
+
+    /**
+     * Creates a database file in a new temporary directory.
+     *
+     * @return The path of the database file
+     * @throws IOException If the directory cannot be created
+     */
+    static Path createFile() throws IOException {
+    	return Files.createTempDirectory("scs-test").resolve("storage.db");
+    }
+
+    /**
+     * Deletes a database file, its WAL files and its directory.
+     *
+     * @param file The path of the database file
+     */
+    static void delete(Path file) {
+    	try {
+    		for (String suffix : new String[] {"", "-wal", "-shm", "-journal"}) {
+    			Files.deleteIfExists(file.resolveSibling(file.getFileName() + suffix));
+    		}
+    		Files.deleteIfExists(file.getParent());
+    	} catch (IOException e) {
+    		// Left in the temporary directory
+    	}
+    }
+
+    /**
+     * Opens a connection to a database file, in WAL mode.
+     *
+     * @param file The path of the database file
+     * @return The connection
+     * @throws SQLException If the database cannot be opened
+     */
+    static Connection open(Path file) throws SQLException {
+    	Connection connection = DriverManager.getConnection(url(file));
+    	try (Statement stmt = connection.createStatement()) {
+    		stmt.execute("PRAGMA journal_mode=WAL");
+    		stmt.execute("PRAGMA busy_timeout=5000");
+    	}
+    	return connection;
+    }
+
+    /**
+     * Gets the JDBC url of a database file.
+     *
+     * @param file The path of the database file
+     * @return The url
+     */
+    static String url(Path file) {
+    	return "jdbc:sqlite:" + file.toAbsolutePath();
+    }
+
+    /**
+     * Creates the tables, as on a SQLite server (see {@code SimpleClaimSystem.createOrUpdateTables}).
+     *
+     * @param connection The connection to the database
+     * @throws SQLException If a table cannot be created
+     */
+    static void createTables(Connection connection) throws SQLException {
+    	try (Statement stmt = connection.createStatement()) {
+    		stmt.executeUpdate("CREATE TABLE IF NOT EXISTS scs_claims_1 ("
+    				+ "id INTEGER PRIMARY KEY AUTOINCREMENT, "
+    				+ "id_claim INT NOT NULL, "
+    				+ "owner_uuid VARCHAR(36) NOT NULL, "
+    				+ "owner_name VARCHAR(36) NOT NULL, "
+    				+ "claim_name VARCHAR(255) NOT NULL, "
+    				+ "claim_description VARCHAR(255) NOT NULL, "
+    				+ "chunks TEXT NOT NULL, "
+    				+ "world_name VARCHAR(255) NOT NULL, "
+    				+ "location VARCHAR(255) NOT NULL, "
+    				+ "members TEXT NOT NULL, "
+    				+ "permissions VARCHAR(510) NOT NULL, "
+    				+ "for_sale TINYINT(1) NOT NULL DEFAULT 0, "
+    				+ "sale_price DOUBLE NOT NULL DEFAULT 0, "
+    				+ "bans TEXT NOT NULL DEFAULT ''"
+    				+ ")");
+    		stmt.executeUpdate("CREATE UNIQUE INDEX IF NOT EXISTS uk_owner_claimname ON scs_claims_1 (owner_uuid, claim_name)");
+    		stmt.executeUpdate("CREATE INDEX IF NOT EXISTS idx_claims_world_name ON scs_claims_1 (world_name)");
+    		stmt.executeUpdate("CREATE TABLE IF NOT EXISTS scs_claim_members ("
+    				+ "claim_id INTEGER NOT NULL, "
+    				+ "member_uuid VARCHAR(36) NOT NULL, "
+    				+ "PRIMARY KEY (claim_id, member_uuid)"
+    				+ ")");
+    		stmt.executeUpdate("CREATE TABLE IF NOT EXISTS scs_claim_bans ("
+    				+ "claim_id INTEGER NOT NULL, "
+    				+ "banned_uuid VARCHAR(36) NOT NULL, "
+    				+ "PRIMARY KEY (claim_id, banned_uuid)"
+    				+ ")");
+    		stmt.executeUpdate("CREATE TABLE IF NOT EXISTS scs_claim_chunks ("
+    				+ "claim_id INTEGER NOT NULL, "
+    				+ "chunk_x INT NOT NULL, "
+    				+ "chunk_z INT NOT NULL, "
+    				+ "PRIMARY KEY (claim_id, chunk_x, chunk_z)"
+    				+ ")");
+    		stmt.executeUpdate("CREATE INDEX IF NOT EXISTS idx_claim_members_uuid ON scs_claim_members (member_uuid)");
+    		stmt.executeUpdate("CREATE TABLE IF NOT EXISTS scs_meta ("
+    				+ "name VARCHAR(64) NOT NULL PRIMARY KEY, "
+    				+ "value BIGINT NOT NULL"
+    				+ ")");
+    		stmt.executeUpdate("INSERT OR IGNORE INTO scs_meta (name, value) VALUES ('data_version', 0)");
+    		stmt.executeUpdate("CREATE TABLE IF NOT EXISTS scs_claims_changes ("
+    				+ "version INTEGER PRIMARY KEY AUTOINCREMENT, "
+    				+ "server_id VARCHAR(36) NOT NULL, "
+    				+ "owner_uuid VARCHAR(36), "
+    				+ "claim_name VARCHAR(255), "
+    				+ "changed_at BIGINT NOT NULL"
+    				+ ")");
+    		stmt.executeUpdate("CREATE INDEX IF NOT EXISTS idx_claims_changes_changed_at ON scs_claims_changes (changed_at)");
+    	}
+    }
+
+    /**
+     * Inserts a claim row with default values.
+     *
+     * @param connection The connection to the database
+     * @param owner The uuid of the owner
+     * @param name The name of the claim
+     * @param chunks The encoded chunks
+     * @param members The encoded members
+     * @return The id of the row
+     * @throws SQLException If the row cannot be inserted
+     */
+    static int insertClaim(Connection connection, String owner, String name, String chunks, String members) throws SQLException {
+    	try (PreparedStatement stmt = connection.prepareStatement("INSERT INTO scs_claims_1 (id_claim, owner_uuid, owner_name, claim_name, claim_description, chunks, world_name, location, members, permissions, bans) "
+    			+ "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", Statement.RETURN_GENERATED_KEYS)) {
+    		Object[] params = {0, owner, "owner", name, "", chunks, "world", "0;64;0;0;0", members, "", ""};
+    		for (int i = 0; i < params.length; i++) {
+    			stmt.setObject(i + 1, params[i]);
+    		}
+    		stmt.executeUpdate();
+    		try (ResultSet keys = stmt.getGeneratedKeys()) {
+    			keys.next();
+    			return keys.getInt(1);
+    		}
+    	}
+    }
+}
@@ -0,0 +1,115 @@
+package fr.xyness.SCS.Types;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks the segments and points of {@link ClaimBorder} against the chunk sides they come from.
+ */
+class ClaimBorderTest {
+
+    private static final long SEED = 0xB0BDE7L;
+
+    @Test
+    void singleChunk() {
+    	long[] keys = {ClaimIndex.key(-1, -1)};
+    	ClaimBorder border = ClaimBorder.of(keys, 7);
+    	assertEquals(4, border.getSegmentCount());
+    	assertEquals(7, border.getVersion());
+    	Set<List<Integer>> points = points(border, -8, -8, 64);
+    	// 8 points by side, the first corner being on two sides
+    	assertEquals(31, points.size());
+    	assertEquals(expectedPoints(keys), points);
+    	assertTrue(points.contains(List.of(-16, 0, -16)));
+    	assertTrue(points.contains(List.of(0, 0, -2)));
+    }
+
+    @Test
+    void hole() {
+    	List<Long> ring = new ArrayList<>();
+    	for (int x = 0; x < 3; x++) {
+    		for (int z = 0; z < 3; z++) {
+    			if (x != 1 || z != 1) ring.add(ClaimIndex.key(x, z));
+    		}
+    	}
+    	long[] keys = ring.stream().mapToLong(Long::longValue).toArray();
+    	ClaimBorder border = ClaimBorder.of(keys, 0);
+    	// The outer sides merged into 4 segments of 48 blocks, the 4 sides of the hole left alone
+    	assertEquals(8, border.getSegmentCount());
+    	assertEquals(expectedPoints(keys), points(border, 24, 24, 64));
+    }
+
+    @Test
+    void randomShapes() {
+    	Random random = new Random(SEED);
+    	for (int round = 0; round < 200; round++) {
+    		Set<Long> chunks = new HashSet<>();
+    		int count = 1 + random.nextInt(40);
+    		while (chunks.size() < count) {
+    			chunks.add(ClaimIndex.key(random.nextInt(10) - 5, random.nextInt(10) - 5));
+    		}
+    		long[] keys = chunks.stream().mapToLong(Long::longValue).toArray();
+    		assertEquals(expectedPoints(keys), points(ClaimBorder.of(keys, round), 0, 0, 128), "round " + round);
+    	}
+    }
+
+    @Test
+    void aroundViewer() {
+    	long[] keys = {ClaimIndex.key(0, 0), ClaimIndex.key(1, 0), ClaimIndex.key(2, 0)};
+    	ClaimBorder border = ClaimBorder.of(keys, 0);
+    	Set<List<Integer>> points = new HashSet<>();
+    	border.forEachPoint(20.5, 64.9, 1.5, 5, 2, -64, 320, (x, y, z) -> points.add(List.of((int) x, (int) y, (int) z)));
+    	Set<List<Integer>> expected = new HashSet<>();
+    	for (List<Integer> point : expectedPoints(keys, 62, 66)) {
+    		if (Math.abs(point.get(0) - 20) <= 5 && Math.abs(point.get(2) - 1) <= 5) expected.add(point);
+    	}
+    	assertEquals(expected, points);
+    	// Nothing below the world
+    	points.clear();
+    	border.forEachPoint(20.5, -70, 1.5, 5, 2, -64, 320, (x, y, z) -> points.add(List.of((int) x, (int) y, (int) z)));
+    	assertTrue(points.isEmpty());
+    }
+
+    /**
+     * Gets the points of a border at the height 0, around a viewer.
+     */
+    private static Set<List<Integer>> points(ClaimBorder border, int x, int z, int radius) {
+    	Set<List<Integer>> points = new HashSet<>();
+    	border.forEachPoint(x, 0, z, radius, 0, 0, 1, (px, py, pz) -> points.add(List.of((int) px, (int) py, (int) pz)));
+    	return points;
+    }
+
+    private static Set<List<Integer>> expectedPoints(long[] keys) {
+    	return expectedPoints(keys, 0, 0);
+    }
+
+    /**
+     * Computes the points of the chunk sides without a neighbour, every {@link ClaimBorder#STEP} blocks.
+     */
+    private static Set<List<Integer>> expectedPoints(long[] keys, int minY, int maxY) {
+    	Set<Long> chunks = new HashSet<>();
+    	for (long key : keys) chunks.add(key);
+    	Set<List<Integer>> points = new HashSet<>();
+    	for (long key : keys) {
+    		int x = ClaimIndex.keyX(key);
+    		int z = ClaimIndex.keyZ(key);
+    		for (int y = minY; y <= maxY; y += ClaimBorder.STEP) {
+    			for (int i = 0; i < 16; i += ClaimBorder.STEP) {
+    				if (!chunks.contains(ClaimIndex.key(x - 1, z))) points.add(List.of(x << 4, y, (z << 4) + i));
+    				if (!chunks.contains(ClaimIndex.key(x + 1, z))) points.add(List.of((x + 1) << 4, y, (z << 4) + i));
+    				if (!chunks.contains(ClaimIndex.key(x, z - 1))) points.add(List.of((x << 4) + i, y, z << 4));
+    				if (!chunks.contains(ClaimIndex.key(x, z + 1))) points.add(List.of((x << 4) + i, y, (z + 1) << 4));
+    			}
+    		}
+    	}
+    	return points;
+    }
+}
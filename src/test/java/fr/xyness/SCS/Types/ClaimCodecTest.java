@@ -0,0 +1,218 @@
+package fr.xyness.SCS.Types;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Seeded round-trips of {@link ClaimCodec}, in the current and the legacy formats, and corrupted values.
+ */
+class ClaimCodecTest {
+
+    private static final long SEED = 0x5C5C0DECL;
+
+    private static final int ROUNDS = 500;
+
+    @Test
+    void chunksRoundTrip() {
+    	Random random = new Random(SEED);
+    	for (int round = 0; round < ROUNDS; round++) {
+    		long[] keys = randomKeys(random, random.nextInt(200));
+    		long[] sorted = keys.clone();
+    		Arrays.sort(sorted);
+    		String encoded = ClaimCodec.encodeChunks(keys);
+    		assertTrue(ClaimCodec.isEncoded(encoded));
+    		assertArrayEquals(sorted, ClaimCodec.decodeChunks(encoded), "round " + round);
+    	}
+    }
+
+    @Test
+    void legacyChunks() throws IOException {
+    	Random random = new Random(SEED + 1);
+    	for (int round = 0; round < ROUNDS; round++) {
+    		long[] keys = randomKeys(random, random.nextInt(200));
+    		String legacy = encodeLegacyChunks(keys);
+    		assertArrayEquals(keys, ClaimCodec.decodeChunks(legacy), "round " + round);
+    	}
+    }
+
+    @Test
+    void uuidsRoundTrip() {
+    	Random random = new Random(SEED + 2);
+    	for (int round = 0; round < ROUNDS; round++) {
+    		Set<UUID> uuids = randomUuids(random, random.nextInt(50));
+    		String encoded = ClaimCodec.encodeUuids(uuids);
+    		List<UUID> decoded = new ArrayList<>();
+    		ClaimCodec.decodeUuidsLenient(encoded, decoded);
+    		assertEquals(new ArrayList<>(uuids), decoded, "round " + round);
+    	}
+    }
+
+    @Test
+    void legacyUuids() {
+    	Random random = new Random(SEED + 3);
+    	for (int round = 0; round < ROUNDS; round++) {
+    		Set<UUID> uuids = randomUuids(random, 1 + random.nextInt(20));
+    		StringJoiner joiner = new StringJoiner(";");
+    		List<String> invalid = new ArrayList<>();
+    		for (UUID uuid : uuids) {
+    			joiner.add(uuid.toString());
+    			if (random.nextInt(4) == 0) {
+    				String entry = "player-" + random.nextInt(1000);
+    				joiner.add(entry);
+    				invalid.add(entry);
+    			}
+    		}
+    		List<UUID> decoded = new ArrayList<>();
+    		assertEquals(invalid, ClaimCodec.decodeUuidsLenient(joiner.toString(), decoded));
+    		assertEquals(new ArrayList<>(uuids), decoded);
+    	}
+    }
+
+    @Test
+    void emptyValues() {
+    	assertEquals("", ClaimCodec.encodeUuids(List.of()));
+    	assertEquals(0, ClaimCodec.decodeChunks(null).length);
+    	assertEquals(0, ClaimCodec.decodeChunks("").length);
+    	assertEquals(0, ClaimCodec.decodeChunks(ClaimCodec.encodeChunks(new long[0])).length);
+    	List<UUID> decoded = new ArrayList<>();
+    	assertTrue(ClaimCodec.decodeUuidsLenient("", decoded).isEmpty());
+    	assertTrue(decoded.isEmpty());
+    	assertThrows(IllegalArgumentException.class, () -> ClaimCodec.decodeUuids("", decoded));
+    }
+
+    @Test
+    void truncatedValues() {
+    	Random random = new Random(SEED + 4);
+    	for (int round = 0; round < ROUNDS; round++) {
+    		String chunks = truncate(random, ClaimCodec.encodeChunks(randomKeys(random, 1 + random.nextInt(100))));
+    		assertThrows(IllegalArgumentException.class, () -> ClaimCodec.decodeChunks(chunks), "round " + round);
+    		String uuids = truncate(random, ClaimCodec.encodeUuids(randomUuids(random, 1 + random.nextInt(20))));
+    		assertThrows(IllegalArgumentException.class, () -> ClaimCodec.decodeUuids(uuids, new ArrayList<>()), "round " + round);
+    	}
+    }
+
+    @Test
+    void corruptedValues() {
+    	Random random = new Random(SEED + 5);
+    	for (int round = 0; round < ROUNDS * 4; round++) {
+    		// Flipped bytes can decode to other values, but must never fail otherwise
+    		String chunks = flip(random, ClaimCodec.encodeChunks(randomKeys(random, 1 + random.nextInt(100))));
+    		decodeOrReject(() -> ClaimCodec.decodeChunks(chunks));
+    		String uuids = flip(random, ClaimCodec.encodeUuids(randomUuids(random, 1 + random.nextInt(20))));
+    		decodeOrReject(() -> ClaimCodec.decodeUuids(uuids, new ArrayList<>()));
+    		byte[] garbage = new byte[random.nextInt(64)];
+    		random.nextBytes(garbage);
+    		String payload = Base64.getEncoder().encodeToString(garbage);
+    		decodeOrReject(() -> ClaimCodec.decodeChunks(ClaimCodec.PREFIX + payload));
+    		if (garbage.length > 0) assertThrows(IllegalArgumentException.class, () -> ClaimCodec.decodeChunks(payload));
+    	}
+    	assertThrows(IllegalArgumentException.class, () -> ClaimCodec.decodeChunks(ClaimCodec.PREFIX + "not base64!"));
+    }
+
+    @Test
+    void corruptedChunksRejected() {
+    	// The loader skips the claims whose chunks give null, instead of loading them without chunks
+    	Random random = new Random(SEED + 6);
+    	for (int round = 0; round < ROUNDS; round++) {
+    		long[] keys = randomKeys(random, 1 + random.nextInt(100));
+    		String encoded = ClaimCodec.encodeChunks(keys);
+    		long[] sorted = keys.clone();
+    		Arrays.sort(sorted);
+    		assertArrayEquals(sorted, ClaimCodec.decodeChunksOrNull(encoded));
+    		assertNull(ClaimCodec.decodeChunksOrNull(truncate(random, encoded)), "round " + round);
+    	}
+    	assertNull(ClaimCodec.decodeChunksOrNull(ClaimCodec.PREFIX + "not base64!"));
+    	assertNull(ClaimCodec.decodeChunksOrNull("bm90IGEgc3RyZWFt"));
+    	assertEquals(0, ClaimCodec.decodeChunksOrNull("").length);
+    }
+
+    private static long[] randomKeys(Random random, int count) {
+    	Set<Long> keys = new LinkedHashSet<>();
+    	while (keys.size() < count) {
+    		int x, z;
+    		switch (random.nextInt(3)) {
+    			case 0: // Near each other, as in a claim
+    				x = random.nextInt(64) - 32;
+    				z = random.nextInt(64) - 32;
+    				break;
+    			case 1: // Anywhere in a world
+    				x = random.nextInt(3_750_000) - 1_875_000;
+    				z = random.nextInt(3_750_000) - 1_875_000;
+    				break;
+    			default: // Extreme values
+    				x = random.nextBoolean() ? Integer.MIN_VALUE + random.nextInt(4) : Integer.MAX_VALUE - random.nextInt(4);
+    				z = random.nextInt();
+    				break;
+    		}
+    		keys.add(ClaimIndex.key(x, z));
+    	}
+    	return keys.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static Set<UUID> randomUuids(Random random, int count) {
+    	Set<UUID> uuids = new LinkedHashSet<>();
+    	while (uuids.size() < count) {
+    		uuids.add(new UUID(random.nextLong(), random.nextLong()));
+    	}
+    	return uuids;
+    }
+
+    private static String encodeLegacyChunks(long[] keys) throws IOException {
+    	ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    	try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+    		for (long key : keys) {
+    			out.writeInt(ClaimIndex.keyX(key));
+    			out.writeInt(ClaimIndex.keyZ(key));
+    		}
+    	}
+    	return Base64.getEncoder().encodeToString(bytes.toByteArray());
+    }
+
+    private static byte[] payload(String encoded) {
+    	return Base64.getDecoder().decode(encoded.substring(ClaimCodec.PREFIX.length()));
+    }
+
+    private static String encode(byte[] payload) {
+    	return ClaimCodec.PREFIX + Base64.getEncoder().encodeToString(payload);
+    }
+
+    private static String truncate(Random random, String encoded) {
+    	byte[] payload = payload(encoded);
+    	return encode(Arrays.copyOf(payload, random.nextInt(payload.length)));
+    }
+
+    private static String flip(Random random, String encoded) {
+    	byte[] payload = payload(encoded);
+    	int flips = 1 + random.nextInt(4);
+    	for (int i = 0; i < flips; i++) {
+    		payload[random.nextInt(payload.length)] ^= (byte) (1 << random.nextInt(8));
+    	}
+    	return encode(payload);
+    }
+
+    private static void decodeOrReject(Runnable decode) {
+    	try {
+    		decode.run();
+    	} catch (IllegalArgumentException e) {
+    		// Rejected, as expected for a corrupted value
+    	}
+    }
+}
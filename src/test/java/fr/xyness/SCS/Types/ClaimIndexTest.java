@@ -0,0 +1,180 @@
+package fr.xyness.SCS.Types;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks {@link ClaimIndex} against a {@link HashMap} of the same chunks.
+ */
+class ClaimIndexTest {
+
+    private static final long SEED = 0x1DE7L;
+
+    @Test
+    void keys() {
+    	int[] values = {0, 1, -1, 42, -42, Integer.MIN_VALUE, Integer.MAX_VALUE};
+    	for (int x : values) {
+    		for (int z : values) {
+    			long key = ClaimIndex.key(x, z);
+    			assertEquals(x, ClaimIndex.keyX(key));
+    			assertEquals(z, ClaimIndex.keyZ(key));
+    		}
+    	}
+    }
+
+    @Test
+    void putReplaceRemove() {
+    	ClaimIndex index = new ClaimIndex();
+    	Claim a = TestClaims.claim(1);
+    	Claim b = TestClaims.claim(2);
+    	assertThrows(NullPointerException.class, () -> index.put(0, 0, null));
+    	assertNull(index.put(3, -7, a));
+    	assertSame(a, index.get(3, -7));
+    	assertTrue(index.contains(3, -7));
+    	assertNull(index.get(-7, 3));
+    	assertSame(a, index.put(3, -7, b));
+    	assertSame(b, index.get(3, -7));
+    	assertEquals(1, index.size());
+    	assertFalse(index.containsClaim(a));
+    	assertTrue(index.containsClaim(b));
+    	assertNull(index.remove(0, 0));
+    	assertSame(b, index.remove(3, -7));
+    	assertNull(index.get(3, -7));
+    	assertEquals(0, index.size());
+    }
+
+    @Test
+    void modCount() {
+    	ClaimIndex index = new ClaimIndex();
+    	int start = index.getModCount();
+    	index.put(0, 0, TestClaims.claim(1));
+    	int added = index.getModCount();
+    	assertNotEquals(start, added);
+    	index.put(0, 0, TestClaims.claim(2));
+    	int replaced = index.getModCount();
+    	assertNotEquals(added, replaced);
+    	// Nothing to remove
+    	index.remove(5, 5);
+    	assertEquals(replaced, index.getModCount());
+    	index.remove(0, 0);
+    	int removed = index.getModCount();
+    	assertNotEquals(replaced, removed);
+    	index.clear();
+    	assertNotEquals(removed, index.getModCount());
+    }
+
+    @Test
+    void clusteredRemovals() {
+    	// Below the resize threshold of the initial table, so removals happen inside long clusters
+    	Random random = new Random(SEED);
+    	for (int round = 0; round < 200; round++) {
+    		ClaimIndex index = new ClaimIndex();
+    		Map<Long, Claim> model = new HashMap<>();
+    		for (int i = 0; i < 31; i++) {
+    			int x = random.nextInt(16) - 8;
+    			int z = random.nextInt(16) - 8;
+    			Claim claim = TestClaims.claim(i);
+    			index.put(x, z, claim);
+    			model.put(ClaimIndex.key(x, z), claim);
+    		}
+    		List<Long> keys = new ArrayList<>(model.keySet());
+    		Collections.shuffle(keys, random);
+    		for (long key : keys) {
+    			assertSame(model.remove(key), index.remove(ClaimIndex.keyX(key), ClaimIndex.keyZ(key)));
+    			assertMatches(model, index);
+    		}
+    	}
+    }
+
+    @Test
+    void randomOperations() {
+    	Random random = new Random(SEED + 1);
+    	ClaimIndex index = new ClaimIndex();
+    	Map<Long, Claim> model = new HashMap<>();
+    	Claim[] claims = new Claim[32];
+    	for (int i = 0; i < claims.length; i++) {
+    		claims[i] = TestClaims.claim(i);
+    	}
+    	for (int op = 0; op < 50_000; op++) {
+    		// Mostly small coordinates, so the keys collide
+    		int range = random.nextInt(10) == 0 ? 1 << 20 : 48;
+    		int x = random.nextInt(range * 2) - range;
+    		int z = random.nextInt(range * 2) - range;
+    		long key = ClaimIndex.key(x, z);
+    		if (random.nextInt(3) == 0) {
+    			assertSame(model.remove(key), index.remove(x, z));
+    		} else {
+    			Claim claim = claims[random.nextInt(claims.length)];
+    			assertSame(model.put(key, claim), index.put(x, z, claim));
+    		}
+    		assertSame(model.get(key), index.get(x, z));
+    		if (op % 5_000 == 0) assertMatches(model, index);
+    	}
+    	assertMatches(model, index);
+    }
+
+    @Test
+    void resize() {
+    	ClaimIndex index = new ClaimIndex();
+    	Map<Long, Claim> model = new HashMap<>();
+    	for (int i = 0; i < 10_000; i++) {
+    		int x = (i % 100) - 50;
+    		int z = (i / 100) - 50;
+    		Claim claim = TestClaims.claim(i);
+    		index.put(x, z, claim);
+    		model.put(ClaimIndex.key(x, z), claim);
+    	}
+    	assertMatches(model, index);
+    	index.clear();
+    	assertEquals(0, index.size());
+    	assertNull(index.get(0, 0));
+    	assertTrue(index.getClaims().isEmpty());
+    }
+
+    @Test
+    void anyInRadius() {
+    	ClaimIndex index = new ClaimIndex();
+    	Claim claim = TestClaims.claim(1);
+    	index.put(10, 10, claim);
+    	assertTrue(index.anyInRadius(8, 8, 2, c -> true));
+    	assertFalse(index.anyInRadius(8, 8, 1, c -> true));
+    	assertFalse(index.anyInRadius(8, 8, 2, c -> c != claim));
+    	// Scanning the table instead of the square
+    	assertTrue(index.anyInRadius(0, 0, 100, c -> true));
+    	assertFalse(index.anyInRadius(0, 0, 9, c -> true));
+    }
+
+    /**
+     * Checks every chunk and claim of the model against the index.
+     */
+    private static void assertMatches(Map<Long, Claim> model, ClaimIndex index) {
+    	assertEquals(model.size(), index.size());
+    	for (Map.Entry<Long, Claim> entry : model.entrySet()) {
+    		int x = ClaimIndex.keyX(entry.getKey());
+    		int z = ClaimIndex.keyZ(entry.getKey());
+    		assertSame(entry.getValue(), index.get(x, z));
+    	}
+    	Set<Claim> claims = Collections.newSetFromMap(new IdentityHashMap<>());
+    	claims.addAll(model.values());
+    	assertEquals(claims, index.getClaims());
+    	for (Claim claim : claims) {
+    		assertTrue(index.containsClaim(claim));
+    	}
+    }
+}
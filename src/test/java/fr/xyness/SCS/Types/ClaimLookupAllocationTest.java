@@ -0,0 +1,135 @@
+package fr.xyness.SCS.Types;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that the claim lookups of the block break, liquid flow and player move listeners do not allocate,
+ * as the listeners run them: the index of the world, the claim of the chunk, then the permission or the crossing.
+ */
+class ClaimLookupAllocationTest {
+
+    private static final int CHECKS = 1_000_000;
+
+    /** Bytes the measurement itself may allocate, far below one byte per check */
+    private static final long TOLERANCE = 1_024;
+
+    private final Map<UUID, ClaimIndex> indexes = new ConcurrentHashMap<>();
+
+    private final ClaimTransition transition = new ClaimTransition();
+
+    private com.sun.management.ThreadMXBean threads;
+
+    private int sink;
+
+    @BeforeEach
+    void setUp() {
+    	assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+    	threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    	assumeTrue(threads.isThreadAllocatedMemorySupported());
+    	threads.setThreadAllocatedMemoryEnabled(true);
+    	ClaimIndex index = new ClaimIndex();
+    	// Two neighbouring claims of different owners, the rest of the world being the wilderness
+    	Claim a = TestClaims.claim(1);
+    	Claim b = TestClaims.claim(2);
+    	for (int x = 0; x < 16; x++) {
+    		for (int z = 0; z < 16; z++) {
+    			index.put(x, z, x < 8 ? a : b);
+    		}
+    	}
+    	indexes.put(TestClaims.WORLD, index);
+    }
+
+    @Test
+    void blockBreak() {
+    	assertEquals(0, allocatedBytes(this::breakBlocks));
+    }
+
+    @Test
+    void liquidFlow() {
+    	assertEquals(0, allocatedBytes(this::flowLiquids));
+    }
+
+    @Test
+    void playerMove() {
+    	assertEquals(0, allocatedBytes(this::movePlayer));
+    }
+
+    /**
+     * Runs checks once to warm up, then measures the bytes allocated by the thread when running them again.
+     *
+     * @return The bytes allocated beyond the tolerance, 0 if none
+     */
+    private long allocatedBytes(Runnable checks) {
+    	checks.run();
+    	long thread = Thread.currentThread().getId();
+    	long before = threads.getThreadAllocatedBytes(thread);
+    	checks.run();
+    	long allocated = threads.getThreadAllocatedBytes(thread) - before;
+    	return allocated <= TOLERANCE ? 0 : allocated;
+    }
+
+    /**
+     * The checks of {@code ClaimEvents.onBlockBreak}: the claim of the block, then the permission of the player.
+     */
+    private void breakBlocks() {
+    	for (int i = 0; i < CHECKS; i++) {
+    		int x = (i * 7) % 512 - 128;
+    		int z = (i * 13) % 512 - 128;
+    		ClaimIndex index = indexes.get(TestClaims.WORLD);
+    		Claim claim = index == null ? null : index.get(x >> 4, z >> 4);
+    		if (claim != null && !claim.getPermission("Destroy", "visitors")) sink++;
+    	}
+    }
+
+    /**
+     * The checks of {@code ClaimEvents.onLiquidFlow}: nothing but the presence bitmaps when the liquid
+     * stays in the wilderness, the claims of both chunks when it flows into a claim.
+     */
+    private void flowLiquids() {
+    	for (int i = 0; i < CHECKS; i++) {
+    		int fromX = (i * 7) % 512 - 128;
+    		int fromZ = (i * 13) % 512 - 128;
+    		int toX = fromX + (i & 1);
+    		int toZ = fromZ + ((i >> 1) & 1);
+    		if ((fromX >> 4) == (toX >> 4) && (fromZ >> 4) == (toZ >> 4)) continue;
+    		ClaimIndex index = indexes.get(TestClaims.WORLD);
+    		if (index == null || !index.isClaimed(toX >> 4, toZ >> 4)) continue;
+    		Claim to = index.get(toX >> 4, toZ >> 4);
+    		Claim from = index.get(fromX >> 4, fromZ >> 4);
+    		if (!ClaimTransition.isSameOwner(from, to) && !to.getPermission("Liquids", "natural")) sink++;
+    	}
+    }
+
+    /**
+     * The checks of {@code ClaimEvents.onPlayerMove} for a player walking across the claims:
+     * the last claim while in the same chunk, the claims of both chunks and the diff when crossing.
+     */
+    private void movePlayer() {
+    	int lastX = Integer.MIN_VALUE;
+    	int lastZ = Integer.MIN_VALUE;
+    	for (int i = 0; i < CHECKS; i++) {
+    		int chunkX = ((i >> 4) % 40) - 10;
+    		int chunkZ = ((i >> 9) % 40) - 10;
+    		if (chunkX == lastX && chunkZ == lastZ) {
+    			if (transition.getLastClaim(TestClaims.WORLD, chunkX, chunkZ) != null) sink++;
+    			continue;
+    		}
+    		ClaimIndex index = indexes.get(TestClaims.WORLD);
+    		Claim from = transition.getLastClaim(TestClaims.WORLD, lastX, lastZ);
+    		if (from == null && lastX != Integer.MIN_VALUE) from = index.get(lastX, lastZ);
+    		Claim to = index.get(chunkX, chunkZ);
+    		sink += transition.update(from, to, chunkX, chunkZ);
+    		lastX = chunkX;
+    		lastZ = chunkZ;
+    	}
+    }
+}
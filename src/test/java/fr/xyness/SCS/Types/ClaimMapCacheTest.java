@@ -0,0 +1,191 @@
+package fr.xyness.SCS.Types;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks the cells of {@link ClaimMapCache} against the index when the square moves and the index changes.
+ */
+class ClaimMapCacheTest {
+
+    private static final long SEED = 0x3A9CL;
+
+    private static final int RADIUS = ClaimMapCache.RADIUS;
+
+    private static final int CELLS = (RADIUS * 2 + 1) * (RADIUS * 2 + 1);
+
+    @Test
+    void resolvesOnce() {
+    	CountingIndex index = new CountingIndex();
+    	Claim claim = TestClaims.claim(1);
+    	index.put(3, 4, claim);
+    	ClaimMapCache cache = new ClaimMapCache();
+    	cache.moveTo(index, 0, 0);
+    	assertEquals(CELLS, renderCount(cache, index, 0, 0));
+    	assertEquals(0, renderCount(cache, index, 0, 0));
+    	assertSame(claim, cache.getClaim(3, 4));
+    	// Outside the square, resolved every time
+    	cache.getClaim(RADIUS + 1, 0);
+    	cache.getClaim(RADIUS + 1, 0);
+    	assertEquals(2, index.takeGets());
+    }
+
+    @Test
+    void shifts() {
+    	CountingIndex index = new CountingIndex();
+    	Claim claim = TestClaims.claim(1);
+    	for (int x = -40; x < 40; x += 3) {
+    		for (int z = -40; z < 40; z += 2) {
+    			index.put(x, z, claim);
+    		}
+    	}
+    	ClaimMapCache cache = new ClaimMapCache();
+    	cache.moveTo(index, 0, 0);
+    	renderCount(cache, index, 0, 0);
+    	int side = RADIUS * 2 + 1;
+    	int[][] moves = {{1, 0}, {0, 1}, {-1, 0}, {0, -1}, {1, 1}, {-1, -1}};
+    	for (int[] move : moves) {
+    		int x = 5 + move[0];
+    		int z = 5 + move[1];
+    		cache.moveTo(index, 5, 5);
+    		renderCount(cache, index, 5, 5);
+    		cache.moveTo(index, x, z);
+    		// Only the new rows or columns
+    		int kept = (side - Math.abs(move[0])) * (side - Math.abs(move[1]));
+    		assertEquals(CELLS - kept, renderCount(cache, index, x, z));
+    	}
+    	// A jump out of the square keeps nothing
+    	cache.moveTo(index, 5 + side, 5);
+    	assertEquals(CELLS, renderCount(cache, index, 5 + side, 5));
+    }
+
+    @Test
+    void randomWalk() {
+    	Random random = new Random(SEED);
+    	CountingIndex index = new CountingIndex();
+    	Claim[] claims = {TestClaims.claim(1), TestClaims.claim(2), TestClaims.claim(3)};
+    	ClaimMapCache cache = new ClaimMapCache();
+    	int x = 0;
+    	int z = 0;
+    	for (int step = 0; step < 2_000; step++) {
+    		if (random.nextInt(10) == 0) {
+    			int cx = x + random.nextInt(30) - 15;
+    			int cz = z + random.nextInt(30) - 15;
+    			if (random.nextBoolean()) index.put(cx, cz, claims[random.nextInt(claims.length)]);
+    			else index.remove(cx, cz);
+    		}
+    		int jump = random.nextInt(8) == 0 ? 30 : 2;
+    		x += random.nextInt(jump * 2 + 1) - jump;
+    		z += random.nextInt(jump * 2 + 1) - jump;
+    		cache.moveTo(index, x, z);
+    		renderCount(cache, index, x, z);
+    	}
+    }
+
+    @Test
+    void invalidation() {
+    	CountingIndex index = new CountingIndex();
+    	Claim claim = TestClaims.claim(1);
+    	index.put(0, 0, claim);
+    	ClaimMapCache cache = new ClaimMapCache();
+    	cache.moveTo(index, 0, 0);
+    	renderCount(cache, index, 0, 0);
+
+    	// A change of the index, even far from the square
+    	index.put(1_000, 1_000, claim);
+    	cache.moveTo(index, 0, 0);
+    	assertEquals(CELLS, renderCount(cache, index, 0, 0));
+    	index.remove(0, 0);
+    	cache.moveTo(index, 1, 0);
+    	assertEquals(CELLS, renderCount(cache, index, 1, 0));
+    	assertNull(cache.getClaim(0, 0));
+
+    	// Another world
+    	CountingIndex other = new CountingIndex();
+    	other.put(0, 0, claim);
+    	cache.moveTo(other, 1, 0);
+    	assertEquals(CELLS, renderCount(cache, other, 1, 0));
+    	assertSame(claim, cache.getClaim(0, 0));
+
+    	// A world without claims
+    	cache.moveTo(null, 1, 0);
+    	assertNull(cache.getClaim(0, 0));
+
+    	cache.moveTo(index, 1, 0);
+    	renderCount(cache, index, 1, 0);
+    	cache.clear();
+    	cache.moveTo(index, 1, 0);
+    	assertEquals(CELLS, renderCount(cache, index, 1, 0));
+    }
+
+    @Test
+    void members() {
+    	Claim claim = TestClaims.claim(1);
+    	UUID viewer = new UUID(2L, 2L);
+    	ClaimMapCache cache = new ClaimMapCache();
+    	assertFalse(cache.isMember(claim, viewer));
+    	claim.addMember(viewer);
+    	assertTrue(cache.isMember(claim, viewer));
+    	// Changed without a new version, the cached relation is kept
+    	claim.getMembers().remove(viewer);
+    	assertTrue(cache.isMember(claim, viewer));
+    	claim.touch();
+    	assertFalse(cache.isMember(claim, viewer));
+    	claim.addMember(viewer);
+    	cache.clear();
+    	claim.getMembers().remove(viewer);
+    	assertFalse(cache.isMember(claim, viewer));
+    }
+
+    /**
+     * Gets every cell of the square, checks it against the index and counts the cells resolved.
+     */
+    private static int renderCount(ClaimMapCache cache, CountingIndex index, int centerX, int centerZ) {
+    	index.takeGets();
+    	for (int x = centerX - RADIUS; x <= centerX + RADIUS; x++) {
+    		for (int z = centerZ - RADIUS; z <= centerZ + RADIUS; z++) {
+    			assertSame(index.peek(x, z), cache.getClaim(x, z), x + ";" + z);
+    		}
+    	}
+    	return index.takeGets();
+    }
+
+    /**
+     * An index counting the chunks resolved from it.
+     */
+    private static final class CountingIndex extends ClaimIndex {
+
+    	private int gets;
+
+    	private boolean peeking;
+
+    	@Override
+    	public Claim get(int chunkX, int chunkZ) {
+    		if (!peeking) gets++;
+    		return super.get(chunkX, chunkZ);
+    	}
+
+    	Claim peek(int chunkX, int chunkZ) {
+    		peeking = true;
+    		try {
+    			return get(chunkX, chunkZ);
+    		} finally {
+    			peeking = false;
+    		}
+    	}
+
+    	int takeGets() {
+    		int count = gets;
+    		gets = 0;
+    		return count;
+    	}
+    }
+}
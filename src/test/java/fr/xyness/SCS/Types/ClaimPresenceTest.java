@@ -0,0 +1,127 @@
+package fr.xyness.SCS.Types;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks the presence bitmaps against the chunks of the index, inside and outside the dense window.
+ */
+class ClaimPresenceTest {
+
+    private static final long SEED = 0xB175L;
+
+    /** Chunks from the origin to the side of the dense window (512 regions of 32 chunks) */
+    private static final int WINDOW_EDGE = 512 << ClaimPresence.REGION_SHIFT;
+
+    @Test
+    void regionsAndChunks() {
+    	ClaimPresence presence = new ClaimPresence();
+    	assertFalse(presence.isRegionClaimed(0, 0));
+    	presence.add(-1, 31);
+    	assertTrue(presence.isChunkClaimed(-1, 31));
+    	assertFalse(presence.isChunkClaimed(-1, 32));
+    	assertTrue(presence.isRegionClaimed(-32, 0));
+    	assertFalse(presence.isRegionClaimed(0, 0));
+    	presence.add(-2, 31);
+    	presence.remove(-1, 31);
+    	assertTrue(presence.isRegionClaimed(-1, 31));
+    	presence.remove(-2, 31);
+    	presence.remove(-2, 31);
+    	assertFalse(presence.isRegionClaimed(-1, 31));
+    	assertFalse(presence.isChunkClaimed(-2, 31));
+    }
+
+    @Test
+    void windowEdges() {
+    	int[] edges = {WINDOW_EDGE - 1, WINDOW_EDGE, -WINDOW_EDGE, -WINDOW_EDGE - 1, Integer.MAX_VALUE, Integer.MIN_VALUE};
+    	ClaimPresence presence = new ClaimPresence();
+    	for (int x : edges) {
+    		for (int z : edges) {
+    			presence.add(x, z);
+    			assertTrue(presence.isChunkClaimed(x, z));
+    			assertTrue(presence.isRegionClaimed(x, z));
+    			presence.remove(x, z);
+    			assertFalse(presence.isChunkClaimed(x, z));
+    			assertFalse(presence.isRegionClaimed(x, z));
+    		}
+    	}
+    }
+
+    @Test
+    void clear() {
+    	ClaimPresence presence = new ClaimPresence();
+    	presence.add(0, 0);
+    	presence.add(WINDOW_EDGE * 4, -WINDOW_EDGE * 4);
+    	presence.clear();
+    	assertFalse(presence.isRegionClaimed(0, 0));
+    	assertFalse(presence.isRegionClaimed(WINDOW_EDGE * 4, -WINDOW_EDGE * 4));
+    	presence.add(WINDOW_EDGE * 4, -WINDOW_EDGE * 4);
+    	assertTrue(presence.isChunkClaimed(WINDOW_EDGE * 4, -WINDOW_EDGE * 4));
+    	assertFalse(presence.isChunkClaimed(0, 0));
+    }
+
+    @Test
+    void agreesWithIndex() {
+    	Random random = new Random(SEED);
+    	ClaimIndex index = new ClaimIndex();
+    	Map<Long, Integer> regions = new HashMap<>();
+    	Set<Long> chunks = new HashSet<>();
+    	Claim claim = TestClaims.claim(1);
+    	for (int op = 0; op < 100_000; op++) {
+    		int x = coordinate(random);
+    		int z = coordinate(random);
+    		long key = ClaimIndex.key(x, z);
+    		long region = ClaimIndex.key(x >> ClaimPresence.REGION_SHIFT, z >> ClaimPresence.REGION_SHIFT);
+    		if (random.nextInt(3) == 0) {
+    			if (index.remove(x, z) != null) {
+    				chunks.remove(key);
+    				regions.merge(region, -1, Integer::sum);
+    			}
+    		} else if (index.put(x, z, claim) == null) {
+    			chunks.add(key);
+    			regions.merge(region, 1, Integer::sum);
+    		}
+    		// The chunk and its neighbours, across region sides
+    		for (int dx = -1; dx <= 1; dx++) {
+    			for (int dz = -1; dz <= 1; dz++) {
+    				assertEquals(chunks.contains(ClaimIndex.key(x + dx, z + dz)), index.isClaimed(x + dx, z + dz));
+    				assertEquals(index.contains(x + dx, z + dz), index.isClaimed(x + dx, z + dz));
+    			}
+    		}
+    	}
+    	ClaimPresence presence = new ClaimPresence();
+    	for (long key : chunks) {
+    		presence.add(ClaimIndex.keyX(key), ClaimIndex.keyZ(key));
+    	}
+    	for (Map.Entry<Long, Integer> entry : regions.entrySet()) {
+    		int chunkX = ClaimIndex.keyX(entry.getKey()) << ClaimPresence.REGION_SHIFT;
+    		int chunkZ = ClaimIndex.keyZ(entry.getKey()) << ClaimPresence.REGION_SHIFT;
+    		assertEquals(entry.getValue() > 0, presence.isRegionClaimed(chunkX, chunkZ));
+    	}
+    }
+
+    /**
+     * A chunk coordinate around a region side, near a side of the window, or far outside it.
+     */
+    private static int coordinate(Random random) {
+    	switch (random.nextInt(4)) {
+    		case 0:
+    			return random.nextInt(96) - 48;
+    		case 1:
+    			return WINDOW_EDGE + random.nextInt(96) - 48;
+    		case 2:
+    			return -WINDOW_EDGE + random.nextInt(96) - 48;
+    		default:
+    			return random.nextInt(1 << 21) - (1 << 20);
+    	}
+    }
+}
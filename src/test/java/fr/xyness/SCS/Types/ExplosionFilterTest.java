@@ -0,0 +1,54 @@
+package fr.xyness.SCS.Types;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks {@link ExplosionFilter} against the removal of the protected blocks one at a time.
+ */
+class ExplosionFilterTest {
+
+    private static final long SEED = 0xB00E7L;
+
+    @Test
+    void sameAsPerBlock() {
+    	Random random = new Random(SEED);
+    	for (int run = 0; run < 200; run++) {
+    		Set<Long> protectedChunks = new HashSet<>();
+    		for (int i = 0; i < 6; i++) {
+    			protectedChunks.add(ClaimIndex.key(random.nextInt(4) - 2, random.nextInt(4) - 2));
+    		}
+    		List<int[]> blocks = new ArrayList<>();
+    		int count = random.nextInt(300);
+    		for (int i = 0; i < count; i++) {
+    			blocks.add(new int[] {random.nextInt(64) - 32, random.nextInt(64) - 32});
+    		}
+    		List<int[]> expected = new ArrayList<>(blocks);
+    		expected.removeIf(block -> protectedChunks.contains(ClaimIndex.key(block[0] >> 4, block[1] >> 4)));
+
+    		List<Long> checked = new ArrayList<>();
+    		ExplosionFilter.removeProtected(blocks, block -> block[0], block -> block[1], (chunkX, chunkZ) -> {
+    			checked.add(ClaimIndex.key(chunkX, chunkZ));
+    			return protectedChunks.contains(ClaimIndex.key(chunkX, chunkZ));
+    		});
+    		assertEquals(expected, blocks);
+    		// Once by chunk
+    		assertEquals(new HashSet<>(checked).size(), checked.size());
+    	}
+    }
+
+    @Test
+    void allProtected() {
+    	List<int[]> blocks = new ArrayList<>(List.of(new int[] {0, 0}, new int[] {17, -1}));
+    	ExplosionFilter.removeProtected(blocks, block -> block[0], block -> block[1], (chunkX, chunkZ) -> true);
+    	assertTrue(blocks.isEmpty());
+    }
+}
@@ -0,0 +1,39 @@
+package fr.xyness.SCS.Types;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Claims for the tests, without a server: no location, permissions nor members.
+ */
+final class TestClaims {
+
+    /** The world of the claims */
+    static final UUID WORLD = new UUID(0L, 1L);
+
+    private TestClaims() {}
+
+    /**
+     * Creates a claim of its own owner.
+     *
+     * @param id The id of the claim
+     * @param chunks The packed chunk coordinates of the claim
+     * @return The claim
+     */
+    static Claim claim(int id, long... chunks) {
+    	return claim(new UUID(1L, id), id, chunks);
+    }
+
+    /**
+     * Creates a claim of an owner.
+     *
+     * @param owner The owner of the claim
+     * @param id The id of the claim
+     * @param chunks The packed chunk coordinates of the claim
+     * @return The claim
+     */
+    static Claim claim(UUID owner, int id, long... chunks) {
+    	return new Claim(owner, WORLD, chunks, "owner", Set.of(), null, "claim-" + id, "", Map.of(), false, 0L, Set.of(), id);
+    }
+}